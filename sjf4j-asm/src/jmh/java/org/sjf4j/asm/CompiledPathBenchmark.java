@@ -14,7 +14,9 @@ import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 import org.sjf4j.Sjf4j;
+import org.sjf4j.compiled.BytecodeFindPath;
 import org.sjf4j.compiled.BytecodePath;
+import org.sjf4j.compiled.FallbackBytecodeFindPath;
 import org.sjf4j.compiled.FallbackBytecodePath;
 import org.sjf4j.exception.JsonException;
 import org.sjf4j.path.JsonPath;
@@ -1532,4 +1534,146 @@ public class CompiledPathBenchmark {
     }
 
 
+    // ═══════════════════════════════════════════════════════
+    //  BytecodeFindPath: multi-match queries
+    // ═══════════════════════════════════════════════════════
+
+    public static class Orders {
+        public List<Order> orders;
+    }
+    public static class Order {
+        public String id;
+        public List<OrderLine> lines;
+    }
+    public static class OrderLine {
+        public String sku;
+        public int qty;
+    }
+
+    @State(Scope.Thread)
+    public static class FindBenchmarkState {
+        public Root pojo;
+        public Orders orders;
+
+        // $.store.book[?@.price > 10].title
+        public JsonPath titlesRaw;
+        public FallbackBytecodeFindPath<Root, String> titlesFallback;
+        public BytecodeFindPath<Root, String> titlesAsm;
+
+        // $.orders[*].lines[?@.qty > 0].sku
+        public JsonPath skusRaw;
+        public FallbackBytecodeFindPath<Orders, String> skusFallback;
+        public BytecodeFindPath<Orders, String> skusAsm;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            pojo = Sjf4j.global().fromJson(BOOKSTORE_JSON, Root.class);
+            orders = new Orders();
+            orders.orders = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Order order = new Order();
+                order.id = "o" + i;
+                order.lines = new ArrayList<>();
+                for (int j = 0; j < 8; j++) {
+                    OrderLine line = new OrderLine();
+                    line.sku = "sku-" + i + "-" + j;
+                    line.qty = (i + j) % 3;
+                    order.lines.add(line);
+                }
+                orders.orders.add(order);
+            }
+
+            titlesRaw = JsonPath.parse("$.store.book[?@.price > 10].title");
+            titlesFallback = new FallbackBytecodeFindPath<>(titlesRaw, Root.class, String.class);
+            titlesAsm = BytecodeFindPath.compile("$.store.book[?@.price > 10].title", Root.class, String.class);
+
+            skusRaw = JsonPath.parse("$.orders[*].lines[?@.qty > 0].sku");
+            skusFallback = new FallbackBytecodeFindPath<>(skusRaw, Orders.class, String.class);
+            skusAsm = BytecodeFindPath.compile("$.orders[*].lines[?@.qty > 0].sku", Orders.class, String.class);
+
+            List<String> tOpt = titlesAsm.find(pojo);
+            if (tOpt.size() != 2 || !tOpt.equals(titlesFallback.find(pojo)) || !tOpt.equals(titlesRaw.find(pojo))) {
+                throw new AssertionError("expensive titles mismatch");
+            }
+            List<String> sOpt = skusAsm.find(orders);
+            if (sOpt.isEmpty() || !sOpt.equals(skusFallback.find(orders)) || !sOpt.equals(skusRaw.find(orders))) {
+                throw new AssertionError("order skus mismatch");
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> find_expensiveTitles_native(FindBenchmarkState s) {
+        List<String> result = new ArrayList<>();
+        Root root = s.pojo;
+        if (root == null || root.store == null || root.store.book == null) {
+            return result;
+        }
+        for (Book book : root.store.book) {
+            if (book != null && book.price != null && book.price > 10) {
+                result.add(book.title);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> find_expensiveTitles_bytecode(FindBenchmarkState s) {
+        return s.titlesAsm.find(s.pojo);
+    }
+
+    @Benchmark
+    public List<String> find_expensiveTitles_fallback(FindBenchmarkState s) {
+        return s.titlesFallback.find(s.pojo);
+    }
+
+    @Benchmark
+    public List<Object> find_expensiveTitles_rawJsonPath(FindBenchmarkState s) {
+        return s.titlesRaw.find(s.pojo);
+    }
+
+    @Benchmark
+    public List<String> find_orderSkus_native(FindBenchmarkState s) {
+        List<String> result = new ArrayList<>();
+        Orders root = s.orders;
+        if (root == null || root.orders == null) {
+            return result;
+        }
+        for (Order order : root.orders) {
+            if (order == null || order.lines == null) {
+                continue;
+            }
+            for (OrderLine line : order.lines) {
+                if (line != null && line.qty > 0) {
+                    result.add(line.sku);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<String> find_orderSkus_bytecode(FindBenchmarkState s) {
+        return s.skusAsm.find(s.orders);
+    }
+
+    @Benchmark
+    public List<String> find_orderSkus_fallback(FindBenchmarkState s) {
+        return s.skusFallback.find(s.orders);
+    }
+
+    @Benchmark
+    public List<Object> find_orderSkus_rawJsonPath(FindBenchmarkState s) {
+        return s.skusRaw.find(s.orders);
+    }
+
+    /** 流式遍历，不分配结果列表 */
+    @Benchmark
+    public int forEach_orderSkus_bytecode(FindBenchmarkState s) {
+        int[] count = new int[1];
+        s.skusAsm.forEach(s.orders, sku -> count[0]++);
+        return count[0];
+    }
+
+
 }
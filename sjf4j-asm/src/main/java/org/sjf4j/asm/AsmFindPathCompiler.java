@@ -0,0 +1,1200 @@
+package org.sjf4j.asm;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonObject;
+import org.sjf4j.compiled.BytecodeFindPath;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.Types;
+import org.sjf4j.path.FilterExpr;
+import org.sjf4j.path.FilterPredicate;
+import org.sjf4j.path.JsonPath;
+import org.sjf4j.path.PathSegment;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Emits {@link BytecodeFindPath} classes for multi-match {@link JsonPath} queries; used by
+ * {@link AsmPathCompiler#compileFindPath}.
+ * <p>
+ * Segments are compiled against the static types reachable from the root: wildcards, slices, and
+ * filters over {@code List}s and arrays become counted or iterator loops, {@code Map}s are walked
+ * through {@code values()}, and POJO properties are read through their public fields or getters,
+ * with wildcards unrolled over the declared properties. Each descendant segment becomes one private
+ * recursive method per container type it can reach.
+ *
+ * <p>Filter comparisons between singular relative or root paths and literals are inlined: integral
+ * values compare as {@code long}s, finite doubles as {@code double}s, and strings through
+ * {@code equals}/{@code compareTo}; other operand pairs call the static {@link FilterExpr}
+ * comparison helpers directly. Filter expressions with functions or non-singular paths are
+ * evaluated by the {@link FilterExpr} itself.
+ *
+ * <p>Subtrees whose static type is {@code Object}, {@link JsonObject}, {@link JsonArray}, a JOJO,
+ * a {@code Set}, or a POJO with non-public readable properties are handed back to the
+ * interpreter through {@link JsonPath#findFrom}, so results always match {@link JsonPath#find}.
+ * POJO wildcards enumerate the properties of the declared type, not of a runtime subclass.
+ */
+final class AsmFindPathCompiler {
+
+    private static final String INAME_FIND_PATH = AsmUtil.toInternalName(BytecodeFindPath.class);
+    private static final String INAME_JSON_PATH = AsmUtil.toInternalName(JsonPath.class);
+    private static final String INAME_FILTER_EXPR = AsmUtil.toInternalName(FilterExpr.class);
+    private static final String INAME_FILTER_PREDICATE = AsmUtil.toInternalName(FilterPredicate.class);
+    private static final String INAME_CONSUMER = "java/util/function/Consumer";
+    private static final String FIELD_CONSTANTS = "constants";
+    private static final String DESC_FIND_FROM =
+            "(Ljava/lang/Object;Ljava/lang/Object;ILjava/util/function/Consumer;)V";
+    private static final int PATH_CONSTANT = 0;
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+    private static final int MAX_SLICE_STEP = 1 << 30;
+
+    private AsmFindPathCompiler() {}
+
+    static BytecodeFindPath<?, ?> compile(JsonPath path, Type rootType, Type valueType) {
+        Objects.requireNonNull(path, "path");
+        Objects.requireNonNull(rootType, "rootType");
+        Objects.requireNonNull(valueType, "valueType");
+        Class<?> rootClazz = Types.rawClazz(rootType);
+        Class<?> valueClazz = Types.rawClazz(valueType);
+        String expr = path.toExpr();
+
+        if (rootClazz == Object.class) {
+            throw new JsonException("ASM BytecodeFindPath does not support Object root for '" + expr +
+                    "'; use JsonPath.find(...) for fully dynamic roots");
+        }
+        if (!_isAccessible(rootClazz)) {
+            throw new JsonException("ASM BytecodeFindPath requires a public root type for '" + expr +
+                    "', but was " + rootClazz.getName());
+        }
+        if (valueClazz.isPrimitive()) {
+            throw new JsonException("ASM BytecodeFindPath valueType must be a reference type for '" + expr +
+                    "'; use " + Types.box(valueClazz).getName() + " instead of " + valueClazz.getName());
+        }
+        PathSegment[] segments = path.segments();
+        for (int i = 1; i < segments.length; i++) {
+            PathSegment ps = segments[i];
+            if (ps instanceof PathSegment.Function || ps instanceof PathSegment.Param || ps instanceof PathSegment.Append) {
+                throw new JsonException("ASM BytecodeFindPath does not support " + ps + " segments: '" + expr + "'");
+            }
+            if (ps instanceof PathSegment.Descendant && i == segments.length - 1) {
+                throw new JsonException("descendant '..' cannot appear at the end of '" + expr + "'");
+            }
+        }
+
+        String compiledClassName = AsmUtil.generateClassName(BytecodeFindPath.class, rootClazz.getSimpleName());
+        Unit unit = new Unit(compiledClassName, path, rootType, Types.box(valueClazz), rootClazz.getClassLoader());
+        unit.constants.add(path);
+        _writeClassHead(unit, rootClazz, valueClazz);
+        _writeMethodExpr(unit);
+        _writeMethodForEach(unit);
+        while (!unit.pending.isEmpty()) {
+            _writeMethodDescend(unit, unit.pending.poll());
+        }
+        unit.cw.visitEnd();
+
+        byte[] bytes;
+        try {
+            bytes = unit.cw.toByteArray();
+        } catch (RuntimeException e) {
+            throw new JsonException("failed to generate ASM BytecodeFindPath for '" + expr + "'", e);
+        }
+        AsmClassLoader acl = AsmClassLoader.of(rootClazz.getClassLoader());
+        Class<?> compiledClass = acl.defineClazz(compiledClassName, bytes);
+        try {
+            return (BytecodeFindPath<?, ?>) compiledClass.getConstructor(Object[].class)
+                    .newInstance((Object) unit.constants.toArray());
+        } catch (Exception e) {
+            throw new JsonException("failed to instantiate ASM BytecodeFindPath for '" + expr +
+                    "' (rootType=" + rootClazz.getName() + ", valueType=" + valueClazz.getName() + ")", e);
+        }
+    }
+
+
+    /// Class skeleton
+
+    private static void _writeClassHead(Unit u, Class<?> rootClazz, Class<?> valueClazz) {
+        String signature = "Ljava/lang/Object;L" + INAME_FIND_PATH +
+                "<L" + AsmUtil.toInternalName(rootClazz) + ";L" + AsmUtil.toInternalName(valueClazz) + ";>;";
+        u.cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                u.internalName, signature, "java/lang/Object", new String[]{INAME_FIND_PATH});
+        u.cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, FIELD_CONSTANTS,
+                "[Ljava/lang/Object;", null, null).visitEnd();
+
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        // super();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        // this.constants = constants;
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, u.internalName, FIELD_CONSTANTS, "[Ljava/lang/Object;");
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void _writeMethodExpr(Unit u) {
+        // String expr() { return "$..."; }
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "expr", "()Ljava/lang/String;", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(u.expr);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // public void forEach(Root root, Consumer action) {
+    //   Objects.requireNonNull(root, "root");
+    //   Objects.requireNonNull(action, "action");
+    //   List _3 = root.getOrders();
+    //   if (_3 != null) {
+    //     Iterator _4 = _3.iterator();
+    //     while (_4.hasNext()) {
+    //       Order _5 = (Order) _4.next();
+    //       ...
+    //       if (line.getQty() > 0) action.accept(line.getSku());
+    //     }
+    //   }
+    // }
+    private static void _writeMethodForEach(Unit u) {
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "forEach",
+                "(Ljava/lang/Object;Ljava/util/function/Consumer;)V", null, null);
+        mv.visitCode();
+
+        // root = (Root) Objects.requireNonNull(root, "root");
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitLdcInsn("root");
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects",
+                "requireNonNull", "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;", false);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(Types.rawClazz(u.rootType)));
+        mv.visitVarInsn(Opcodes.ASTORE, 1);
+        // Objects.requireNonNull(action, "action");
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitLdcInsn("action");
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects",
+                "requireNonNull", "(Ljava/lang/Object;Ljava/lang/String;)Ljava/lang/Object;", false);
+        mv.visitInsn(Opcodes.POP);
+
+        Ctx c = new Ctx(mv, u.internalName, 1, 2, 3);
+        _emitMatch(u, c, 1, 1, u.rootType);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    // private void _descend0(Root root, Node node, Consumer action) {
+    //   <segments after '..' matched at node>
+    //   for (Child child : <children of node>) {
+    //     if (child != null) _descend1(root, child, action);
+    //   }
+    // }
+    private static void _writeMethodDescend(Unit u, Descend d) {
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PRIVATE, d.name, u.descendDescriptor(d.type), null, null);
+        mv.visitCode();
+        Ctx c = new Ctx(mv, u.internalName, 1, 3, 4);
+        _emitMatch(u, c, d.index + 1, 2, d.type);
+        _emitForEachChild(u, c, 2, d.type, (child, childType) -> _emitDescendInto(u, c, d.index, child, childType));
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+
+    /// Segments
+
+    /**
+     * Emits code that matches {@code segments[i..]} against the (possibly null) value in local
+     * {@code node} of static type {@code type}, passing every match to the action.
+     */
+    private static void _emitMatch(Unit u, Ctx c, int i, int node, Type type) {
+        MethodVisitor mv = c.mv;
+        if (i == u.segments.length) {
+            _emitAccept(u, c, node, type);
+            return;
+        }
+
+        // if (node == null) skip;
+        Label skip = new Label();
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        mv.visitJumpInsn(Opcodes.IFNULL, skip);
+
+        PathSegment ps = u.segments[i];
+        Kind kind = _kindOf(type);
+        if (kind == Kind.DYNAMIC) {
+            _emitFindFrom(c, i, node);
+        } else if (ps instanceof PathSegment.Name) {
+            _emitName(u, c, i, node, type, kind, ((PathSegment.Name) ps).name);
+        } else if (ps instanceof PathSegment.Index) {
+            if (kind == Kind.MAP || kind == Kind.POJO) {
+                // JSON Pointer tokens such as '/0' may address object keys; leave those to the interpreter
+                _emitFindFrom(c, i, node);
+            } else {
+                _emitIndex(u, c, i, node, type, kind, ((PathSegment.Index) ps).index);
+            }
+        } else if (ps instanceof PathSegment.Wildcard) {
+            if (kind != Kind.SCALAR) {
+                _emitForEachChild(u, c, node, type, (child, childType) -> _emitMatch(u, c, i + 1, child, childType));
+            }
+        } else if (ps instanceof PathSegment.Slice) {
+            if (kind == Kind.LIST || kind == Kind.ARRAY) {
+                _emitSlice(u, c, i, node, type, kind, (PathSegment.Slice) ps);
+            }
+        } else if (ps instanceof PathSegment.Union) {
+            for (PathSegment member : ((PathSegment.Union) ps).union) {
+                if (member instanceof PathSegment.Name && (kind == Kind.MAP || kind == Kind.POJO)) {
+                    _emitName(u, c, i, node, type, kind, ((PathSegment.Name) member).name);
+                } else if (member instanceof PathSegment.Index && (kind == Kind.LIST || kind == Kind.ARRAY)) {
+                    _emitIndex(u, c, i, node, type, kind, ((PathSegment.Index) member).index);
+                } else if (member instanceof PathSegment.Slice && (kind == Kind.LIST || kind == Kind.ARRAY)) {
+                    _emitSlice(u, c, i, node, type, kind, (PathSegment.Slice) member);
+                }
+            }
+        } else if (ps instanceof PathSegment.Filter) {
+            FilterExpr filter = ((PathSegment.Filter) ps).filterExpr;
+            if (kind == Kind.SCALAR) {
+                // A filter on a scalar tests the scalar itself
+                _emitCondition(u, c, filter, node, type, skip);
+                _emitMatch(u, c, i + 1, node, type);
+            } else {
+                _emitForEachChild(u, c, node, type, (child, childType) -> {
+                    Label rejected = new Label();
+                    _emitCondition(u, c, filter, child, childType, rejected);
+                    _emitMatch(u, c, i + 1, child, childType);
+                    mv.visitLabel(rejected);
+                });
+            }
+        } else if (ps instanceof PathSegment.Descendant) {
+            if (kind != Kind.SCALAR) {
+                _emitInvokeDescend(u, c, i, node, type);
+            }
+        } else {
+            throw new JsonException("unsupported path token '" + ps + "' at '" + u.expr + "'");
+        }
+        mv.visitLabel(skip);
+    }
+
+    private static void _emitAccept(Unit u, Ctx c, int node, Type type) {
+        Class<?> clazz = Types.rawClazz(type);
+        if (clazz != Object.class && u.valueClazz != Object.class && !u.valueClazz.isAssignableFrom(clazz)) {
+            throw new JsonException("ASM BytecodeFindPath '" + u.expr + "' does not coerce match type " +
+                    clazz.getName() + " to requested valueType " + u.valueClazz.getName());
+        }
+        // action.accept(node);
+        c.mv.visitVarInsn(Opcodes.ALOAD, c.sinkLocal);
+        c.mv.visitVarInsn(Opcodes.ALOAD, node);
+        c.mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, INAME_CONSUMER, "accept", "(Ljava/lang/Object;)V", true);
+    }
+
+    // ((JsonPath) constants[0]).findFrom(root, node, i, action);
+    private static void _emitFindFrom(Ctx c, int i, int node) {
+        MethodVisitor mv = c.mv;
+        _emitLoadConstant(c, PATH_CONSTANT);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, INAME_JSON_PATH);
+        mv.visitVarInsn(Opcodes.ALOAD, c.rootLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        mv.visitLdcInsn(i);
+        mv.visitVarInsn(Opcodes.ALOAD, c.sinkLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, INAME_JSON_PATH, "findFrom", DESC_FIND_FROM, false);
+    }
+
+    private static void _emitName(Unit u, Ctx c, int i, int node, Type type, Kind kind, String name) {
+        MethodVisitor mv = c.mv;
+        int child = c.locals.next();
+        Type childType;
+        if (kind == Kind.MAP) {
+            // V child = (V) map.get(name);
+            childType = _norm(Types.resolveTypeArgument(type, Map.class, 1));
+            mv.visitVarInsn(Opcodes.ALOAD, node);
+            mv.visitLdcInsn(name);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+            _emitCast(mv, childType);
+            mv.visitVarInsn(Opcodes.ASTORE, child);
+            if (i + 1 == u.segments.length) {
+                // A null leaf only matches when the key is present
+                Label present = new Label();
+                Label missing = new Label();
+                mv.visitVarInsn(Opcodes.ALOAD, child);
+                mv.visitJumpInsn(Opcodes.IFNONNULL, present);
+                mv.visitVarInsn(Opcodes.ALOAD, node);
+                mv.visitLdcInsn(name);
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "containsKey", "(Ljava/lang/Object;)Z", true);
+                mv.visitJumpInsn(Opcodes.IFEQ, missing);
+                mv.visitLabel(present);
+                _emitMatch(u, c, i + 1, child, childType);
+                mv.visitLabel(missing);
+                return;
+            }
+        } else if (kind == Kind.POJO) {
+            NodeRegistry.PropertyInfo pi = _pojoInfo(Types.rawClazz(type)).readableProperties.get(name);
+            if (pi == null) return;
+            childType = _emitReadProperty(mv, node, Types.rawClazz(type), pi);
+            mv.visitVarInsn(Opcodes.ASTORE, child);
+        } else {
+            return;
+        }
+        _emitMatch(u, c, i + 1, child, childType);
+    }
+
+    private static void _emitIndex(Unit u, Ctx c, int i, int node, Type type, Kind kind, int idx) {
+        if (kind != Kind.LIST && kind != Kind.ARRAY) return;
+        MethodVisitor mv = c.mv;
+        Label oob = new Label();
+        int size = c.locals.next();
+        int child = c.locals.next();
+        // int size = node.size(); / node.length;
+        _emitSize(mv, node, kind);
+        mv.visitVarInsn(Opcodes.ISTORE, size);
+        mv.visitVarInsn(Opcodes.ILOAD, size);
+        if (idx >= 0) {
+            // if (size <= idx) skip;
+            mv.visitLdcInsn(idx);
+            mv.visitJumpInsn(Opcodes.IF_ICMPLE, oob);
+        } else {
+            // if (size < -idx) skip;
+            mv.visitLdcInsn(-idx);
+            mv.visitJumpInsn(Opcodes.IF_ICMPLT, oob);
+        }
+        // E child = node.get(effectiveIdx);
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        if (idx >= 0) {
+            mv.visitLdcInsn(idx);
+        } else {
+            mv.visitVarInsn(Opcodes.ILOAD, size);
+            mv.visitLdcInsn(idx);
+            mv.visitInsn(Opcodes.IADD);
+        }
+        Type childType = _emitElementAt(mv, type, kind);
+        mv.visitVarInsn(Opcodes.ASTORE, child);
+        _emitMatch(u, c, i + 1, child, childType);
+        mv.visitLabel(oob);
+    }
+
+    // Same bounds as JsonPath._findSlice, with the start/end constants folded in.
+    private static void _emitSlice(Unit u, Ctx c, int i, int node, Type type, Kind kind, PathSegment.Slice slice) {
+        long step = slice.step == null ? 1 : slice.step;
+        if (step == 0) return;
+        step = Math.max(-MAX_SLICE_STEP, Math.min(MAX_SLICE_STEP, step));
+        MethodVisitor mv = c.mv;
+        int size = c.locals.next();
+        int k = c.locals.next();
+        int last = c.locals.next();
+        _emitSize(mv, node, kind);
+        mv.visitVarInsn(Opcodes.ISTORE, size);
+        _emitSliceBound(mv, size, slice.start, step < 0 ? -1 : 0, step < 0);
+        mv.visitVarInsn(Opcodes.ISTORE, k);
+        _emitSliceBound(mv, size, slice.end, step < 0 ? 0 : 1, step < 0);
+        mv.visitVarInsn(Opcodes.ISTORE, last);
+
+        // for (; k < last; k += step) / for (; k > last; k += step)
+        Label loop = new Label();
+        Label end = new Label();
+        mv.visitLabel(loop);
+        mv.visitVarInsn(Opcodes.ILOAD, k);
+        mv.visitVarInsn(Opcodes.ILOAD, last);
+        mv.visitJumpInsn(step > 0 ? Opcodes.IF_ICMPGE : Opcodes.IF_ICMPLE, end);
+        int child = c.locals.next();
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        mv.visitVarInsn(Opcodes.ILOAD, k);
+        Type childType = _emitElementAt(mv, type, kind);
+        mv.visitVarInsn(Opcodes.ASTORE, child);
+        _emitMatch(u, c, i + 1, child, childType);
+        mv.visitIincInsn(k, (int) step);
+        mv.visitJumpInsn(Opcodes.GOTO, loop);
+        mv.visitLabel(end);
+    }
+
+    /**
+     * Pushes a clamped slice bound. A null bound defaults to {@code size + sizeOffset} (0 or
+     * size for forward steps, size - 1 or -1 for backward steps).
+     */
+    private static void _emitSliceBound(MethodVisitor mv, int size, Long bound, int defaultSizeOffset,
+                                        boolean backward) {
+        if (bound == null) {
+            if (backward && defaultSizeOffset == 0) {
+                mv.visitLdcInsn(-1);
+            } else if (!backward && defaultSizeOffset == 0) {
+                mv.visitLdcInsn(0);
+            } else {
+                mv.visitVarInsn(Opcodes.ILOAD, size);
+                if (backward) {
+                    mv.visitInsn(Opcodes.ICONST_M1);
+                    mv.visitInsn(Opcodes.IADD);
+                }
+            }
+            return;
+        }
+        int value = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, bound));
+        if (value >= 0) {
+            // Math.min(value, backward ? size - 1 : size)
+            mv.visitLdcInsn(value);
+            mv.visitVarInsn(Opcodes.ILOAD, size);
+            if (backward) {
+                mv.visitInsn(Opcodes.ICONST_M1);
+                mv.visitInsn(Opcodes.IADD);
+            }
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", "min", "(II)I", false);
+        } else {
+            // Math.max(size + value, backward ? -1 : 0)
+            mv.visitVarInsn(Opcodes.ILOAD, size);
+            mv.visitLdcInsn(value);
+            mv.visitInsn(Opcodes.IADD);
+            mv.visitLdcInsn(backward ? -1 : 0);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", "max", "(II)I", false);
+        }
+    }
+
+    private static void _emitInvokeDescend(Unit u, Ctx c, int i, int node, Type type) {
+        // this._descendN(root, node, action);
+        MethodVisitor mv = c.mv;
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, c.rootLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        mv.visitVarInsn(Opcodes.ALOAD, c.sinkLocal);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, u.internalName, u.descendMethodOf(i, type),
+                u.descendDescriptor(type), false);
+    }
+
+    private static void _emitDescendInto(Unit u, Ctx c, int i, int child, Type childType) {
+        Kind kind = _kindOf(childType);
+        if (kind == Kind.SCALAR) return;
+        Label skip = new Label();
+        c.mv.visitVarInsn(Opcodes.ALOAD, child);
+        c.mv.visitJumpInsn(Opcodes.IFNULL, skip);
+        if (kind == Kind.DYNAMIC) {
+            _emitFindFrom(c, i, child);
+        } else {
+            _emitInvokeDescend(u, c, i, child, childType);
+        }
+        c.mv.visitLabel(skip);
+    }
+
+
+    /// Children
+
+    private interface ChildBody {
+        void emit(int childLocal, Type childType);
+    }
+
+    /**
+     * Emits a loop over the direct children of a non-null container, in the order
+     * {@code Nodes.forEachArray}/{@code Nodes.forEachObject} visit them.
+     */
+    private static void _emitForEachChild(Unit u, Ctx c, int node, Type type, ChildBody body) {
+        MethodVisitor mv = c.mv;
+        Kind kind = _kindOf(type);
+        if (kind == Kind.LIST || kind == Kind.MAP) {
+            Type childType;
+            int it = c.locals.next();
+            mv.visitVarInsn(Opcodes.ALOAD, node);
+            if (kind == Kind.LIST) {
+                // Iterator it = node.iterator();
+                childType = _norm(Types.resolveTypeArgument(type, List.class, 0));
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/List", "iterator", "()Ljava/util/Iterator;", true);
+            } else {
+                // Iterator it = node.values().iterator();
+                childType = _norm(Types.resolveTypeArgument(type, Map.class, 1));
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "values", "()Ljava/util/Collection;", true);
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Collection", "iterator", "()Ljava/util/Iterator;", true);
+            }
+            mv.visitVarInsn(Opcodes.ASTORE, it);
+            // while (it.hasNext()) { E child = (E) it.next(); ... }
+            Label loop = new Label();
+            Label end = new Label();
+            mv.visitLabel(loop);
+            mv.visitVarInsn(Opcodes.ALOAD, it);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+            mv.visitJumpInsn(Opcodes.IFEQ, end);
+            int child = c.locals.next();
+            mv.visitVarInsn(Opcodes.ALOAD, it);
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+            _emitCast(mv, childType);
+            mv.visitVarInsn(Opcodes.ASTORE, child);
+            body.emit(child, childType);
+            mv.visitJumpInsn(Opcodes.GOTO, loop);
+            mv.visitLabel(end);
+        } else if (kind == Kind.ARRAY) {
+            // for (int k = 0, n = node.length; k < n; k++) { E child = node[k]; ... }
+            int n = c.locals.next();
+            int k = c.locals.next();
+            mv.visitVarInsn(Opcodes.ALOAD, node);
+            mv.visitInsn(Opcodes.ARRAYLENGTH);
+            mv.visitVarInsn(Opcodes.ISTORE, n);
+            mv.visitInsn(Opcodes.ICONST_0);
+            mv.visitVarInsn(Opcodes.ISTORE, k);
+            Label loop = new Label();
+            Label end = new Label();
+            mv.visitLabel(loop);
+            mv.visitVarInsn(Opcodes.ILOAD, k);
+            mv.visitVarInsn(Opcodes.ILOAD, n);
+            mv.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+            int child = c.locals.next();
+            mv.visitVarInsn(Opcodes.ALOAD, node);
+            mv.visitVarInsn(Opcodes.ILOAD, k);
+            Type childType = _emitElementAt(mv, type, kind);
+            mv.visitVarInsn(Opcodes.ASTORE, child);
+            body.emit(child, childType);
+            mv.visitIincInsn(k, 1);
+            mv.visitJumpInsn(Opcodes.GOTO, loop);
+            mv.visitLabel(end);
+        } else if (kind == Kind.POJO) {
+            // Unrolled over the declared readable properties
+            Class<?> clazz = Types.rawClazz(type);
+            for (NodeRegistry.PropertyInfo pi : _pojoInfo(clazz).readableProperties.values()) {
+                int child = c.locals.next();
+                Type childType = _emitReadProperty(mv, node, clazz, pi);
+                mv.visitVarInsn(Opcodes.ASTORE, child);
+                body.emit(child, childType);
+            }
+        } else {
+            throw new AssertionError(kind);
+        }
+    }
+
+    private static void _emitSize(MethodVisitor mv, int node, Kind kind) {
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        if (kind == Kind.LIST) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/List", "size", "()I", true);
+        } else {
+            mv.visitInsn(Opcodes.ARRAYLENGTH);
+        }
+    }
+
+    /**
+     * Consumes {@code container, index} from the stack, pushes the element as a reference, and
+     * returns its normalized static type.
+     */
+    private static Type _emitElementAt(MethodVisitor mv, Type type, Kind kind) {
+        if (kind == Kind.LIST) {
+            Type childType = _norm(Types.resolveTypeArgument(type, List.class, 0));
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
+            _emitCast(mv, childType);
+            return childType;
+        }
+        Class<?> componentClazz = Types.rawClazz(type).getComponentType();
+        AsmUtil.emitArrayLoad(mv, componentClazz);
+        if (componentClazz.isPrimitive()) {
+            AsmUtil.emitBox(mv, componentClazz);
+            return Types.box(componentClazz);
+        }
+        Type childType = _norm(type instanceof GenericArrayType
+                ? ((GenericArrayType) type).getGenericComponentType() : componentClazz);
+        _emitCast(mv, childType);
+        return childType;
+    }
+
+    /**
+     * Pushes a POJO property read through its public field or getter, boxed, and returns its
+     * normalized static type.
+     */
+    private static Type _emitReadProperty(MethodVisitor mv, int node, Class<?> owner, NodeRegistry.PropertyInfo pi) {
+        Class<?> propClazz = Types.rawClazz(pi.type);
+        mv.visitVarInsn(Opcodes.ALOAD, node);
+        if (pi.publicField != null) {
+            mv.visitFieldInsn(Opcodes.GETFIELD, AsmUtil.toInternalName(owner), pi.publicField.getName(),
+                    org.objectweb.asm.Type.getDescriptor(pi.publicField.getType()));
+            propClazz = pi.publicField.getType();
+        } else {
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, AsmUtil.toInternalName(owner), pi.publicGetter.getName(),
+                    org.objectweb.asm.Type.getMethodDescriptor(pi.publicGetter), false);
+            propClazz = pi.publicGetter.getReturnType();
+        }
+        if (propClazz.isPrimitive()) {
+            AsmUtil.emitBox(mv, propClazz);
+            return Types.box(propClazz);
+        }
+        Type childType = _norm(pi.type);
+        _emitCast(mv, childType);
+        return childType;
+    }
+
+
+    /// Filters
+
+    /**
+     * Emits code that jumps to {@code rejected} unless {@code filter} holds for the value in
+     * local {@code current}, and falls through otherwise.
+     */
+    private static void _emitCondition(Unit u, Ctx c, FilterExpr filter, int current, Type currentType, Label rejected) {
+        MethodVisitor mv = c.mv;
+        if (filter instanceof FilterExpr.BinaryExpr) {
+            FilterExpr.BinaryExpr binary = (FilterExpr.BinaryExpr) filter;
+            if (binary.op() == FilterExpr.Op.AND) {
+                _emitCondition(u, c, binary.left(), current, currentType, rejected);
+                _emitCondition(u, c, binary.right(), current, currentType, rejected);
+                return;
+            }
+            if (binary.op() == FilterExpr.Op.OR) {
+                Label accepted = new Label();
+                Label tryRight = new Label();
+                _emitCondition(u, c, binary.left(), current, currentType, tryRight);
+                mv.visitJumpInsn(Opcodes.GOTO, accepted);
+                mv.visitLabel(tryRight);
+                _emitCondition(u, c, binary.right(), current, currentType, rejected);
+                mv.visitLabel(accepted);
+                return;
+            }
+            if (_emitComparison(u, c, binary, current, currentType, rejected)) return;
+        } else if (filter instanceof FilterExpr.UnaryExpr) {
+            FilterExpr.UnaryExpr unary = (FilterExpr.UnaryExpr) filter;
+            if (!unary.negated()) {
+                _emitCondition(u, c, unary.operand(), current, currentType, rejected);
+            } else {
+                Label accepted = new Label();
+                _emitCondition(u, c, unary.operand(), current, currentType, accepted);
+                mv.visitJumpInsn(Opcodes.GOTO, rejected);
+                mv.visitLabel(accepted);
+            }
+            return;
+        } else if (filter instanceof FilterExpr.LiteralExpr) {
+            if (!FilterExpr.truth(((FilterExpr.LiteralExpr) filter).value())) {
+                mv.visitJumpInsn(Opcodes.GOTO, rejected);
+            }
+            return;
+        } else if (filter instanceof FilterExpr.PathExpr) {
+            JsonPath operand = ((FilterExpr.PathExpr) filter).path();
+            if (_isCompilableOperand(u, operand, currentType)) {
+                // if (!FilterExpr.truth(value)) reject;
+                Operand value = _emitOperand(u, c, operand, current, currentType, rejected);
+                mv.visitVarInsn(Opcodes.ALOAD, value.local);
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, INAME_FILTER_EXPR, "truth", "(Ljava/lang/Object;)Z", true);
+                mv.visitJumpInsn(Opcodes.IFEQ, rejected);
+                return;
+            }
+        }
+
+        // if (!predicate.test(root, current)) reject;
+        _emitLoadConstant(c, u.constant(filter.compile()));
+        mv.visitTypeInsn(Opcodes.CHECKCAST, INAME_FILTER_PREDICATE);
+        mv.visitVarInsn(Opcodes.ALOAD, c.rootLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, current);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, INAME_FILTER_PREDICATE, "test",
+                "(Ljava/lang/Object;Ljava/lang/Object;)Z", true);
+        mv.visitJumpInsn(Opcodes.IFEQ, rejected);
+    }
+
+    /**
+     * Emits a comparison whose operands are literals or compilable singular paths; returns false,
+     * without emitting anything, for other operands.
+     */
+    private static boolean _emitComparison(Unit u, Ctx c, FilterExpr.BinaryExpr binary, int current, Type currentType,
+                                           Label rejected) {
+        Operand left = _planOperand(u, binary.left(), currentType);
+        Operand right = _planOperand(u, binary.right(), currentType);
+        if (left == null || right == null) return false;
+
+        // A missing path fails every comparison, including '!='
+        MethodVisitor mv = c.mv;
+        if (left.path != null) left = _emitOperand(u, c, left.path, current, currentType, rejected);
+        if (right.path != null) right = _emitOperand(u, c, right.path, current, currentType, rejected);
+
+        FilterExpr.Op op = binary.op();
+        Label generic = new Label();
+        Label accepted = new Label();
+        boolean ordered = op == FilterExpr.Op.EQ || op == FilterExpr.Op.NE || op == FilterExpr.Op.GT ||
+                op == FilterExpr.Op.GE || op == FilterExpr.Op.LT || op == FilterExpr.Op.LE;
+        boolean inlined = false;
+        if (ordered && (left.isLocal() || right.isLocal())) {
+            if (left.isIntegral() && right.isIntegral()) {
+                // Long.compare(a.longValue(), b.longValue())
+                _emitNullGuard(mv, left, generic);
+                _emitNullGuard(mv, right, generic);
+                _emitLong(mv, left);
+                _emitLong(mv, right);
+                mv.visitInsn(Opcodes.LCMP);
+                _emitBranchOnCompare(mv, op, rejected);
+                inlined = true;
+            } else if (left.isExactDouble() && right.isExactDouble() && (left.isDouble() || right.isDouble())) {
+                // Double.compare for finite values agrees with Numbers.compare
+                _emitNullGuard(mv, left, generic);
+                _emitNullGuard(mv, right, generic);
+                _emitFiniteGuard(mv, left, generic);
+                _emitFiniteGuard(mv, right, generic);
+                _emitDouble(mv, left);
+                _emitDouble(mv, right);
+                mv.visitInsn(Opcodes.DCMPL);
+                _emitBranchOnCompare(mv, op, rejected);
+                inlined = true;
+            } else if (left.clazz == String.class && right.clazz == String.class) {
+                _emitNullGuard(mv, left, generic);
+                _emitNullGuard(mv, right, generic);
+                _emitValue(c, left);
+                _emitValue(c, right);
+                if (op == FilterExpr.Op.EQ || op == FilterExpr.Op.NE) {
+                    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                    mv.visitJumpInsn(op == FilterExpr.Op.EQ ? Opcodes.IFEQ : Opcodes.IFNE, rejected);
+                } else {
+                    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "compareTo", "(Ljava/lang/String;)I", false);
+                    _emitBranchOnCompare(mv, op, rejected);
+                }
+                inlined = true;
+            } else if (left.clazz == Boolean.class && right.clazz == Boolean.class &&
+                    (op == FilterExpr.Op.EQ || op == FilterExpr.Op.NE)) {
+                _emitNullGuard(mv, left, generic);
+                _emitNullGuard(mv, right, generic);
+                _emitBoolean(mv, left);
+                _emitBoolean(mv, right);
+                mv.visitJumpInsn(op == FilterExpr.Op.EQ ? Opcodes.IF_ICMPNE : Opcodes.IF_ICMPEQ, rejected);
+                inlined = true;
+            }
+        }
+        if (inlined) {
+            mv.visitJumpInsn(Opcodes.GOTO, accepted);
+        }
+
+        // Nulls and every other operand pair go through the FilterExpr helpers
+        mv.visitLabel(generic);
+        _emitValue(c, left);
+        _emitValue(c, right);
+        String helper;
+        boolean negate = false;
+        switch (op) {
+            case EQ: helper = "eq"; break;
+            case NE: helper = "eq"; negate = true; break;
+            case GT: helper = "gt"; break;
+            case GE: helper = "ge"; break;
+            case LT: helper = "lt"; break;
+            case LE: helper = "le"; break;
+            case MATCH: helper = "match"; break;
+            case IN: helper = "in"; break;
+            case NIN: helper = "in"; negate = true; break;
+            default: throw new JsonException("unsupported filter operator '" + op + "' at '" + u.expr + "'");
+        }
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, INAME_FILTER_EXPR, helper,
+                "(Ljava/lang/Object;Ljava/lang/Object;)Z", true);
+        mv.visitJumpInsn(negate ? Opcodes.IFNE : Opcodes.IFEQ, rejected);
+        mv.visitLabel(accepted);
+        return true;
+    }
+
+    private static Operand _planOperand(Unit u, FilterExpr expr, Type currentType) {
+        if (expr instanceof FilterExpr.LiteralExpr) {
+            return Operand.constant(((FilterExpr.LiteralExpr) expr).value(), u);
+        }
+        if (expr instanceof FilterExpr.RegexExpr) {
+            return Operand.constant(((FilterExpr.RegexExpr) expr).pattern(), u);
+        }
+        if (expr instanceof FilterExpr.ArrayExpr && ((FilterExpr.ArrayExpr) expr).literalValues() != null) {
+            return Operand.constant(((FilterExpr.ArrayExpr) expr).literalValues(), u);
+        }
+        if (expr instanceof FilterExpr.PathExpr) {
+            JsonPath path = ((FilterExpr.PathExpr) expr).path();
+            if (_isCompilableOperand(u, path, currentType)) return Operand.pending(path);
+        }
+        return null;
+    }
+
+    /**
+     * Returns true when a filter path can be read with direct typed access: a singular path
+     * through maps, {@link JsonObject}s, public POJO properties, lists, and arrays.
+     */
+    private static boolean _isCompilableOperand(Unit u, JsonPath path, Type currentType) {
+        if (!path.isSingleGet()) return false;
+        PathSegment[] segments = path.segments();
+        Type type = path.rooted() ? u.rootType : currentType;
+        for (int k = 1; k < segments.length; k++) {
+            PathSegment ps = segments[k];
+            Class<?> clazz = Types.rawClazz(type);
+            Kind kind = _kindOf(type);
+            if (ps instanceof PathSegment.Name) {
+                String name = ((PathSegment.Name) ps).name;
+                if (kind == Kind.MAP) {
+                    type = _norm(Types.resolveTypeArgument(type, Map.class, 1));
+                } else if (kind == Kind.POJO && _pojoInfo(clazz).readableProperties.containsKey(name)) {
+                    type = _norm(_pojoInfo(clazz).readableProperties.get(name).type);
+                } else if (JsonObject.class.isAssignableFrom(clazz) && _isAccessible(clazz)) {
+                    type = Object.class;
+                } else {
+                    return false;
+                }
+            } else if (ps instanceof PathSegment.Index && (kind == Kind.LIST || kind == Kind.ARRAY)) {
+                type = kind == Kind.LIST ? _norm(Types.resolveTypeArgument(type, List.class, 0))
+                        : Types.box(clazz.getComponentType());
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a compilable filter path into a new local, jumping to {@code missing} when a segment
+     * does not resolve.
+     */
+    private static Operand _emitOperand(Unit u, Ctx c, JsonPath path, int current, Type currentType, Label missing) {
+        MethodVisitor mv = c.mv;
+        PathSegment[] segments = path.segments();
+        int local = path.rooted() ? c.rootLocal : current;
+        Type type = path.rooted() ? u.rootType : currentType;
+        for (int k = 1; k < segments.length; k++) {
+            boolean leaf = k == segments.length - 1;
+            Class<?> clazz = Types.rawClazz(type);
+            Kind kind = _kindOf(type);
+            int child = c.locals.next();
+            // if (local == null) missing;
+            mv.visitVarInsn(Opcodes.ALOAD, local);
+            mv.visitJumpInsn(Opcodes.IFNULL, missing);
+            PathSegment ps = segments[k];
+            if (ps instanceof PathSegment.Name) {
+                String name = ((PathSegment.Name) ps).name;
+                if (kind == Kind.POJO) {
+                    type = _emitReadProperty(mv, local, clazz, _pojoInfo(clazz).readableProperties.get(name));
+                    mv.visitVarInsn(Opcodes.ASTORE, child);
+                } else {
+                    boolean isMap = kind == Kind.MAP;
+                    type = isMap ? _norm(Types.resolveTypeArgument(type, Map.class, 1)) : Object.class;
+                    mv.visitVarInsn(Opcodes.ALOAD, local);
+                    mv.visitLdcInsn(name);
+                    if (isMap) {
+                        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "get",
+                                "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+                        _emitCast(mv, type);
+                    } else {
+                        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, AsmUtil.INAME_JSON_OBJECT, "getNode",
+                                "(Ljava/lang/String;)Ljava/lang/Object;", false);
+                    }
+                    mv.visitVarInsn(Opcodes.ASTORE, child);
+                    if (leaf) {
+                        // A null leaf is present-null only when the key exists
+                        Label present = new Label();
+                        mv.visitVarInsn(Opcodes.ALOAD, child);
+                        mv.visitJumpInsn(Opcodes.IFNONNULL, present);
+                        mv.visitVarInsn(Opcodes.ALOAD, local);
+                        mv.visitLdcInsn(name);
+                        if (isMap) {
+                            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "containsKey",
+                                    "(Ljava/lang/Object;)Z", true);
+                        } else {
+                            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, AsmUtil.INAME_JSON_OBJECT, "containsKey",
+                                    "(Ljava/lang/String;)Z", false);
+                        }
+                        mv.visitJumpInsn(Opcodes.IFEQ, missing);
+                        mv.visitLabel(present);
+                    }
+                }
+            } else {
+                int idx = ((PathSegment.Index) ps).index;
+                int size = c.locals.next();
+                _emitSize(mv, local, kind);
+                mv.visitVarInsn(Opcodes.ISTORE, size);
+                mv.visitVarInsn(Opcodes.ILOAD, size);
+                mv.visitLdcInsn(idx >= 0 ? idx : -idx);
+                mv.visitJumpInsn(idx >= 0 ? Opcodes.IF_ICMPLE : Opcodes.IF_ICMPLT, missing);
+                mv.visitVarInsn(Opcodes.ALOAD, local);
+                if (idx >= 0) {
+                    mv.visitLdcInsn(idx);
+                } else {
+                    mv.visitVarInsn(Opcodes.ILOAD, size);
+                    mv.visitLdcInsn(idx);
+                    mv.visitInsn(Opcodes.IADD);
+                }
+                type = _emitElementAt(mv, type, kind);
+                mv.visitVarInsn(Opcodes.ASTORE, child);
+            }
+            local = child;
+        }
+        return Operand.local(local, Types.rawClazz(type));
+    }
+
+    private static void _emitNullGuard(MethodVisitor mv, Operand operand, Label generic) {
+        if (!operand.isLocal()) return;
+        mv.visitVarInsn(Opcodes.ALOAD, operand.local);
+        mv.visitJumpInsn(Opcodes.IFNULL, generic);
+    }
+
+    private static void _emitFiniteGuard(MethodVisitor mv, Operand operand, Label generic) {
+        if (!operand.isLocal() || operand.clazz != Double.class) return;
+        mv.visitVarInsn(Opcodes.ALOAD, operand.local);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Double", "doubleValue", "()D", false);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "isFinite", "(D)Z", false);
+        mv.visitJumpInsn(Opcodes.IFEQ, generic);
+    }
+
+    private static void _emitLong(MethodVisitor mv, Operand operand) {
+        if (operand.isLocal()) {
+            mv.visitVarInsn(Opcodes.ALOAD, operand.local);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Number", "longValue", "()J", false);
+        } else {
+            mv.visitLdcInsn(((Number) operand.value).longValue());
+        }
+    }
+
+    private static void _emitDouble(MethodVisitor mv, Operand operand) {
+        if (operand.isLocal()) {
+            mv.visitVarInsn(Opcodes.ALOAD, operand.local);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Number", "doubleValue", "()D", false);
+        } else {
+            mv.visitLdcInsn(((Number) operand.value).doubleValue());
+        }
+    }
+
+    private static void _emitBoolean(MethodVisitor mv, Operand operand) {
+        if (operand.isLocal()) {
+            mv.visitVarInsn(Opcodes.ALOAD, operand.local);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+        } else {
+            mv.visitInsn((Boolean) operand.value ? Opcodes.ICONST_1 : Opcodes.ICONST_0);
+        }
+    }
+
+    private static void _emitValue(Ctx c, Operand operand) {
+        if (operand.isLocal()) {
+            c.mv.visitVarInsn(Opcodes.ALOAD, operand.local);
+        } else if (operand.value instanceof String) {
+            c.mv.visitLdcInsn(operand.value);
+        } else if (operand.value == null) {
+            c.mv.visitInsn(Opcodes.ACONST_NULL);
+        } else {
+            _emitLoadConstant(c, operand.constantIndex);
+        }
+    }
+
+    // Consumes the int from LCMP/DCMPL/compareTo and rejects when the comparison fails.
+    private static void _emitBranchOnCompare(MethodVisitor mv, FilterExpr.Op op, Label rejected) {
+        int opcode;
+        switch (op) {
+            case EQ: opcode = Opcodes.IFNE; break;
+            case NE: opcode = Opcodes.IFEQ; break;
+            case GT: opcode = Opcodes.IFLE; break;
+            case GE: opcode = Opcodes.IFLT; break;
+            case LT: opcode = Opcodes.IFGE; break;
+            case LE: opcode = Opcodes.IFGT; break;
+            default: throw new AssertionError(op);
+        }
+        mv.visitJumpInsn(opcode, rejected);
+    }
+
+
+    /// Types
+
+    private enum Kind { LIST, ARRAY, MAP, POJO, SCALAR, DYNAMIC }
+
+    private static Kind _kindOf(Type type) {
+        Class<?> clazz = Types.rawClazz(type);
+        if (clazz.isPrimitive() || clazz == String.class || clazz == Boolean.class || clazz == Character.class ||
+                Number.class.isAssignableFrom(clazz) || clazz.isEnum()) {
+            return Kind.SCALAR;
+        }
+        if (!_isAccessible(clazz)) return Kind.DYNAMIC;
+        if (clazz.isArray()) return Kind.ARRAY;
+        if (List.class.isAssignableFrom(clazz)) return Kind.LIST;
+        if (Map.class.isAssignableFrom(clazz)) return Kind.MAP;
+        if (clazz == Object.class || JsonObject.class.isAssignableFrom(clazz) ||
+                JsonArray.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz)) {
+            return Kind.DYNAMIC;
+        }
+        NodeRegistry.TypeInfo ti = NodeRegistry.registerTypeInfo(clazz);
+        NodeRegistry.PojoInfo pi = ti.pojoInfo;
+        if (ti.valueCodecInfo != null || pi == null || pi.isJojo || pi.isJajo) return Kind.DYNAMIC;
+        for (NodeRegistry.PropertyInfo prop : pi.readableProperties.values()) {
+            if (prop.publicField == null && prop.publicGetter == null) return Kind.DYNAMIC;
+        }
+        return Kind.POJO;
+    }
+
+    private static NodeRegistry.PojoInfo _pojoInfo(Class<?> clazz) {
+        return NodeRegistry.registerTypeInfo(clazz).pojoInfo;
+    }
+
+    /**
+     * Boxes primitive types and widens types the generated class cannot name to {@code Object}.
+     */
+    private static Type _norm(Type type) {
+        Class<?> clazz = Types.rawClazz(type);
+        if (clazz.isPrimitive()) return Types.box(clazz);
+        return _isAccessible(clazz) ? type : Object.class;
+    }
+
+    private static boolean _isAccessible(Class<?> clazz) {
+        while (clazz.isArray()) clazz = clazz.getComponentType();
+        if (clazz.isPrimitive()) return true;
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) return false;
+        }
+        return true;
+    }
+
+    private static void _emitCast(MethodVisitor mv, Type type) {
+        Class<?> clazz = Types.rawClazz(type);
+        if (clazz != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(clazz));
+        }
+    }
+
+    // this.constants[idx]
+    private static void _emitLoadConstant(Ctx c, int idx) {
+        c.mv.visitVarInsn(Opcodes.ALOAD, 0);
+        c.mv.visitFieldInsn(Opcodes.GETFIELD, c.internalName, FIELD_CONSTANTS, "[Ljava/lang/Object;");
+        c.mv.visitLdcInsn(idx);
+        c.mv.visitInsn(Opcodes.AALOAD);
+    }
+
+    /// Compilation state
+
+    private static final class Unit {
+        final String internalName;
+        final String expr;
+        final PathSegment[] segments;
+        final Type rootType;
+        final Class<?> valueClazz;
+        final ClassWriter cw;
+        final List<Object> constants = new ArrayList<>();
+        final Map<String, Descend> descends = new HashMap<>();
+        final Deque<Descend> pending = new ArrayDeque<>();
+
+        Unit(String className, JsonPath path, Type rootType, Class<?> valueClazz, ClassLoader loader) {
+            this.internalName = AsmUtil.toInternalName(className);
+            this.expr = path.toExpr();
+            this.segments = path.segments();
+            this.rootType = rootType;
+            this.valueClazz = valueClazz;
+            // Frame computation may need to load application types; resolve them from the root type's loader.
+            this.cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+                @Override
+                protected ClassLoader getClassLoader() {
+                    return loader != null ? loader : AsmFindPathCompiler.class.getClassLoader();
+                }
+            };
+        }
+
+        int constant(Object value) {
+            constants.add(value);
+            return constants.size() - 1;
+        }
+
+        /**
+         * Returns the generated method for descendant segment {@code index} over {@code type},
+         * scheduling it on first use.
+         */
+        String descendMethodOf(int index, Type type) {
+            String key = index + "|" + type.getTypeName();
+            Descend d = descends.get(key);
+            if (d == null) {
+                d = new Descend("_descend" + descends.size(), index, type);
+                descends.put(key, d);
+                pending.add(d);
+            }
+            return d.name;
+        }
+
+        String descendDescriptor(Type type) {
+            return "(" + org.objectweb.asm.Type.getDescriptor(Types.rawClazz(rootType)) +
+                    org.objectweb.asm.Type.getDescriptor(Types.rawClazz(type)) +
+                    "L" + INAME_CONSUMER + ";)V";
+        }
+    }
+
+    private static final class Descend {
+        final String name;
+        final int index;
+        final Type type;
+
+        Descend(String name, int index, Type type) {
+            this.name = name;
+            this.index = index;
+            this.type = type;
+        }
+    }
+
+    private static final class Ctx {
+        final MethodVisitor mv;
+        final int rootLocal;
+        final int sinkLocal;
+        final Locals locals;
+        final String internalName;
+
+        Ctx(MethodVisitor mv, String internalName, int rootLocal, int sinkLocal, int firstLocal) {
+            this.mv = mv;
+            this.internalName = internalName;
+            this.rootLocal = rootLocal;
+            this.sinkLocal = sinkLocal;
+            this.locals = new Locals(firstLocal);
+        }
+    }
+
+    private static final class Locals {
+        private int next;
+
+        Locals(int first) {
+            this.next = first;
+        }
+
+        int next() {
+            return next++;
+        }
+    }
+
+    /**
+     * A comparison operand: a literal constant, a filter path still to be emitted, or a local
+     * holding the path's value.
+     */
+    private static final class Operand {
+        final Object value;
+        final int constantIndex;
+        final JsonPath path;
+        final int local;
+        final Class<?> clazz;
+
+        private Operand(Object value, int constantIndex, JsonPath path, int local, Class<?> clazz) {
+            this.value = value;
+            this.constantIndex = constantIndex;
+            this.path = path;
+            this.local = local;
+            this.clazz = clazz;
+        }
+
+        static Operand constant(Object value, Unit u) {
+            boolean inline = value == null || value instanceof String;
+            return new Operand(value, inline ? -1 : u.constant(value), null, -1,
+                    value == null ? null : value.getClass());
+        }
+
+        static Operand pending(JsonPath path) {
+            return new Operand(null, -1, path, -1, null);
+        }
+
+        static Operand local(int local, Class<?> clazz) {
+            return new Operand(null, -1, null, local, clazz);
+        }
+
+        boolean isLocal() {
+            return local >= 0;
+        }
+
+        boolean isIntegral() {
+            return clazz == Integer.class || clazz == Long.class || clazz == Short.class || clazz == Byte.class;
+        }
+
+        boolean isDouble() {
+            return clazz == Double.class;
+        }
+
+        /**
+         * Returns true when converting the value to {@code double} keeps its exact numeric order.
+         */
+        boolean isExactDouble() {
+            if (isLocal()) {
+                return clazz == Double.class || clazz == Integer.class || clazz == Short.class || clazz == Byte.class;
+            }
+            if (value instanceof Double) return !((Double) value).isNaN() && !((Double) value).isInfinite();
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) return true;
+            return value instanceof Long && Math.abs((Long) value) <= MAX_EXACT_DOUBLE;
+        }
+    }
+
+}
@@ -0,0 +1,701 @@
+package org.sjf4j.asm;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.annotation.mapper.NullValuePolicy;
+import org.sjf4j.compiled.BytecodeMapper;
+import org.sjf4j.compiled.MapperCompiler;
+import org.sjf4j.compiled.MappingSpec;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.NodeFacade;
+import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.Types;
+import org.sjf4j.path.JsonPath;
+import org.sjf4j.path.PathSegment;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+
+/**
+ * ASM-backed {@link MapperCompiler} that emits one {@link BytecodeMapper} class per root
+ * {@link MappingSpec}.
+ * <p>
+ * Each spec becomes a private method of the generated class that instantiates the target through
+ * its public no-args constructor and assigns every mapped property with direct getter/field reads
+ * and setter/field writes. Source paths are read segment by segment with null checks, the way
+ * {@link AsmPathCompiler} reads them. Nested specs from {@link MappingSpec#using()} are compiled
+ * into sibling methods of the same class, including through {@code List}, {@code Set}, and
+ * {@code Map} values, so no intermediate node tree is built.
+ *
+ * <p>Leaf conversion follows the {@code @CompiledMapper} rules: assignable values are assigned
+ * directly, scalar mismatches use strict {@code Nodes.toXxx(...)} conversion, and anything else
+ * falls back to {@link NodeFacade#readNode(Object, Type)} on the global {@link Sjf4j}.
+ *
+ * <p>Unsupported shapes fail fast at compile time: non-public types, targets without a public
+ * no-args constructor, unwritable target properties, and source paths with index segments.
+ */
+public class AsmMapperCompiler implements MapperCompiler {
+
+    private static final String INAME_BYTECODE_MAPPER = AsmUtil.toInternalName(BytecodeMapper.class);
+    private static final String INAME_FUNCTION = AsmUtil.toInternalName(Function.class);
+    private static final String FIELD_CONSTANTS = "constants";
+
+    @Override
+    public BytecodeMapper<?, ?> compileMapper(MappingSpec<?, ?> spec) {
+        Objects.requireNonNull(spec, "spec");
+        Class<?> sourceClazz = spec.sourceType();
+        Class<?> targetClazz = spec.targetType();
+        ClassLoader loader = targetClazz.getClassLoader() != null
+                ? targetClazz.getClassLoader() : sourceClazz.getClassLoader();
+
+        String compiledClassName = AsmUtil.generateClassName(BytecodeMapper.class,
+                sourceClazz.getSimpleName() + "To" + targetClazz.getSimpleName());
+        Unit unit = new Unit(compiledClassName, spec, loader);
+        _writeClassHead(unit);
+        String rootMethod = unit.methodOf(spec);
+        while (!unit.pending.isEmpty()) {
+            _writeMethodMapSpec(unit, unit.pending.poll());
+        }
+        _writeMethodTypes(unit, sourceClazz, targetClazz);
+        _writeMethodMap(unit, spec, rootMethod);
+        unit.cw.visitEnd();
+
+        AsmClassLoader acl = AsmClassLoader.of(loader);
+        Class<?> compiledClass = acl.defineClazz(compiledClassName, unit.cw.toByteArray());
+        try {
+            return (BytecodeMapper<?, ?>) compiledClass.getConstructor(Object[].class)
+                    .newInstance((Object) unit.constants.toArray());
+        } catch (Exception e) {
+            throw new JsonException("failed to instantiate ASM BytecodeMapper for " + spec, e);
+        }
+    }
+
+
+    /// Class skeleton
+
+    private void _writeClassHead(Unit u) {
+        u.cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL,
+                u.internalName, null, "java/lang/Object", new String[]{INAME_BYTECODE_MAPPER});
+        u.cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, FIELD_CONSTANTS,
+                "[Ljava/lang/Object;", null, null).visitEnd();
+
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        // super();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        // this.constants = constants;
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, u.internalName, FIELD_CONSTANTS, "[Ljava/lang/Object;");
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void _writeMethodTypes(Unit u, Class<?> sourceClazz, Class<?> targetClazz) {
+        // Class sourceType() { return Source.class; }
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "sourceType", "()Ljava/lang/Class;", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(org.objectweb.asm.Type.getType(sourceClazz));
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        // Class targetType() { return Target.class; }
+        mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "targetType", "()Ljava/lang/Class;", null, null);
+        mv.visitCode();
+        mv.visitLdcInsn(org.objectweb.asm.Type.getType(targetClazz));
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void _writeMethodMap(Unit u, MappingSpec<?, ?> spec, String rootMethod) {
+        // Object map(Object source) { return _map0((Source) source); }
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PUBLIC, "map",
+                "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(spec.sourceType()));
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, u.internalName, rootMethod, _mapDescriptor(spec), false);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+
+    /// Spec methods
+
+    // private Target _map0(Source source) {
+    //   if (source == null) return null;
+    //   Target target = new Target();
+    //
+    //   Customer _3 = source.getCustomer();
+    //   String _4 = _3 == null ? null : _3.getName();
+    //   if (_4 != null) target.setCustomerName(_4);
+    //
+    //   List _5 = source.getProducts();
+    //   if (_5 != null) target.setProducts(<copy of _5, each element through _map1>);
+    //   ...
+    //   return target;
+    // }
+    private void _writeMethodMapSpec(Unit u, MappingSpec<?, ?> spec) {
+        Class<?> sourceClazz = spec.sourceType();
+        Class<?> targetClazz = spec.targetType();
+        _requirePublic(sourceClazz, spec);
+        _requirePublic(targetClazz, spec);
+        NodeRegistry.PojoInfo targetInfo = NodeRegistry.registerTypeInfo(targetClazz).pojoInfo;
+        if (targetInfo == null || targetClazz.isInterface() || Modifier.isAbstract(targetClazz.getModifiers())) {
+            throw new JsonException("ASM BytecodeMapper target " + targetClazz.getName() +
+                    " must be a concrete POJO for " + spec);
+        }
+        _requirePublicNoArgsCtor(targetClazz, spec);
+
+        Map<String, NodeRegistry.PropertyInfo> writable = new LinkedHashMap<>();
+        for (NodeRegistry.PropertyInfo pi : targetInfo.properties.values()) {
+            if (pi.publicSetter != null ||
+                    (pi.publicField != null && !Modifier.isFinal(pi.publicField.getModifiers()))) {
+                writable.put(pi.name, pi);
+            }
+        }
+        for (MappingSpec.Rule rule : spec.rules().values()) {
+            if (rule.kind() != MappingSpec.Rule.Kind.IGNORE && !writable.containsKey(rule.target())) {
+                throw new JsonException("target property '" + rule.target() + "' on " + targetClazz.getName() +
+                        " is not writable through a public setter or public field for " + spec);
+            }
+        }
+
+        MethodVisitor mv = u.cw.visitMethod(Opcodes.ACC_PRIVATE, u.methodOf(spec), _mapDescriptor(spec), null, null);
+        mv.visitCode();
+        Locals locals = new Locals(3);
+
+        // if (source == null) return null;
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        Label notNull = new Label();
+        mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+        mv.visitInsn(Opcodes.ACONST_NULL);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitLabel(notNull);
+
+        // Target target = new Target();
+        String targetIName = AsmUtil.toInternalName(targetClazz);
+        mv.visitTypeInsn(Opcodes.NEW, targetIName);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, targetIName, "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ASTORE, 2);
+
+        for (NodeRegistry.PropertyInfo prop : writable.values()) {
+            MappingSpec.Rule rule = spec.rules().get(prop.name);
+            int valueLocal;
+            Type valueType;
+            if (rule == null) {
+                if (!_canReadByName(sourceClazz, prop.name)) continue;
+                valueLocal = locals.next();
+                valueType = _emitReadPath(mv, locals, new String[]{prop.name}, sourceClazz, valueLocal, prop.name);
+            } else if (rule.kind() == MappingSpec.Rule.Kind.IGNORE) {
+                continue;
+            } else if (rule.kind() == MappingSpec.Rule.Kind.COMPUTE) {
+                // Object _n = ((Function) constants[i]).apply(source);
+                valueLocal = locals.next();
+                _emitLoadConstant(mv, u, rule.computer(), INAME_FUNCTION);
+                mv.visitVarInsn(Opcodes.ALOAD, 1);
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, INAME_FUNCTION, "apply",
+                        "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+                mv.visitVarInsn(Opcodes.ASTORE, valueLocal);
+                valueType = Object.class;
+            } else {
+                valueLocal = locals.next();
+                valueType = _emitReadPath(mv, locals, _parseSource(rule.source(), spec), sourceClazz,
+                        valueLocal, rule.source());
+            }
+            _emitAssign(mv, u, locals, spec, prop, valueLocal, valueType);
+        }
+
+        // return target;
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private boolean _canReadByName(Class<?> sourceClazz, String name) {
+        if (sourceClazz == Object.class || Map.class.isAssignableFrom(sourceClazz) ||
+                sourceClazz == JsonObject.class) {
+            return true;
+        }
+        NodeRegistry.PojoInfo pi = NodeRegistry.registerTypeInfo(sourceClazz).pojoInfo;
+        if (pi == null) return false;
+        NodeRegistry.PropertyInfo propInfo = pi.readableProperties.get(name);
+        if (propInfo != null) return propInfo.publicField != null || propInfo.publicGetter != null;
+        return pi.isJojo;
+    }
+
+    private String[] _parseSource(String source, MappingSpec<?, ?> spec) {
+        if (!source.startsWith("$") && !source.startsWith("/")) {
+            return new String[]{source};
+        }
+        PathSegment[] segments = JsonPath.parse(source).segments();
+        if (segments.length < 2) {
+            throw new JsonException("source path '" + source + "' must not be the root for " + spec);
+        }
+        String[] names = new String[segments.length - 1];
+        for (int i = 1; i < segments.length; i++) {
+            if (!(segments[i] instanceof PathSegment.Name)) {
+                throw new JsonException("ASM BytecodeMapper supports only property/key segments in source path '" +
+                        source + "' for " + spec);
+            }
+            names[i - 1] = ((PathSegment.Name) segments[i]).name;
+        }
+        return names;
+    }
+
+    /**
+     * Reads a source property chain into {@code valueLocal}; a null intermediate yields null.
+     */
+    private Type _emitReadPath(MethodVisitor mv, Locals locals, String[] names, Class<?> sourceClazz,
+                               int valueLocal, String expr) {
+        Label isNull = new Label();
+        Label done = new Label();
+        int currentLocal = 1;
+        Type currentType = sourceClazz;
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                // if (_n == null) goto isNull;
+                mv.visitVarInsn(Opcodes.ALOAD, currentLocal);
+                mv.visitJumpInsn(Opcodes.IFNULL, isNull);
+            }
+            int childLocal = locals.next();
+            currentType = AsmPathCompiler._emitGetChildByName(mv, currentLocal, childLocal, names[i],
+                    currentType, Types.rawClazz(currentType), expr);
+            currentLocal = childLocal;
+        }
+        mv.visitVarInsn(Opcodes.ALOAD, currentLocal);
+        mv.visitVarInsn(Opcodes.ASTORE, valueLocal);
+        if (names.length > 1) {
+            mv.visitJumpInsn(Opcodes.GOTO, done);
+            mv.visitLabel(isNull);
+            mv.visitInsn(Opcodes.ACONST_NULL);
+            mv.visitVarInsn(Opcodes.ASTORE, valueLocal);
+            mv.visitLabel(done);
+        }
+        return currentType;
+    }
+
+    // if (_n != null) { target.setXxx(convert(_n)); } else if (SET_TO_NULL) { target.setXxx(null); }
+    private void _emitAssign(MethodVisitor mv, Unit u, Locals locals, MappingSpec<?, ?> spec,
+                             NodeRegistry.PropertyInfo prop, int valueLocal, Type valueType) {
+        Label isNull = new Label();
+        Label end = new Label();
+        mv.visitVarInsn(Opcodes.ALOAD, valueLocal);
+        mv.visitJumpInsn(Opcodes.IFNULL, isNull);
+
+        mv.visitVarInsn(Opcodes.ALOAD, valueLocal);
+        _emitConvert(mv, u, locals, spec, valueType, prop.type,
+                "'" + prop.name + "' on " + spec.targetType().getName());
+        int convertedLocal = locals.next();
+        mv.visitVarInsn(Opcodes.ASTORE, convertedLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, 2);
+        mv.visitVarInsn(Opcodes.ALOAD, convertedLocal);
+        _emitWrite(mv, spec.targetType(), prop);
+        mv.visitJumpInsn(Opcodes.GOTO, end);
+
+        mv.visitLabel(isNull);
+        if (spec.nulls() == NullValuePolicy.SET_TO_NULL && !Types.rawClazz(_writeType(prop)).isPrimitive()) {
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitInsn(Opcodes.ACONST_NULL);
+            _emitWrite(mv, spec.targetType(), prop);
+        }
+        mv.visitLabel(end);
+    }
+
+    private Class<?> _writeType(NodeRegistry.PropertyInfo prop) {
+        return prop.publicSetter != null ? prop.publicSetter.getParameterTypes()[0] : prop.publicField.getType();
+    }
+
+    private void _emitWrite(MethodVisitor mv, Class<?> targetClazz, NodeRegistry.PropertyInfo prop) {
+        if (prop.publicSetter != null) {
+            // target.setXxx(value);
+            Method setter = prop.publicSetter;
+            Class<?> returnClazz = setter.getReturnType();
+            AsmUtil.emitCastOrUnbox(mv, setter.getParameterTypes()[0]);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, AsmUtil.toInternalName(targetClazz),
+                    setter.getName(), org.objectweb.asm.Type.getMethodDescriptor(setter), false);
+            if (returnClazz != void.class) {
+                mv.visitInsn(returnClazz == long.class || returnClazz == double.class ? Opcodes.POP2 : Opcodes.POP);
+            }
+        } else {
+            // target.xxx = value;
+            Class<?> fieldClazz = prop.publicField.getType();
+            AsmUtil.emitCastOrUnbox(mv, fieldClazz);
+            mv.visitFieldInsn(Opcodes.PUTFIELD, AsmUtil.toInternalName(targetClazz),
+                    prop.publicField.getName(), org.objectweb.asm.Type.getDescriptor(fieldClazz));
+        }
+    }
+
+
+    /// Conversion
+
+    /**
+     * Converts the non-null value on top of the stack from {@code srcType} to {@code tgtType},
+     * leaving a reference assignable to the boxed target class.
+     */
+    private void _emitConvert(MethodVisitor mv, Unit u, Locals locals, MappingSpec<?, ?> scope,
+                              Type srcType, Type tgtType, String where) {
+        Class<?> srcClazz = Types.rawBox(srcType);
+        Class<?> tgtClazz = Types.rawBox(tgtType);
+
+        MappingSpec<?, ?> nested = _findNested(u, scope, srcClazz, tgtClazz);
+        if (nested != null) {
+            // this._mapN((Nested) value)
+            int valueLocal = locals.next();
+            mv.visitVarInsn(Opcodes.ASTORE, valueLocal);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, valueLocal);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(nested.sourceType()));
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, u.internalName, u.methodOf(nested),
+                    _mapDescriptor(nested), false);
+            return;
+        }
+
+        if (Map.class.isAssignableFrom(tgtClazz) && Map.class.isAssignableFrom(srcClazz)) {
+            Class<?> implClazz = _containerImpl(tgtClazz, LinkedHashMap.class);
+            if (implClazz != null) {
+                _emitConvertMap(mv, u, locals, scope, srcType, tgtType, implClazz, where);
+                return;
+            }
+        }
+        if (Collection.class.isAssignableFrom(tgtClazz) && Collection.class.isAssignableFrom(srcClazz)) {
+            Class<?> implClazz = _containerImpl(tgtClazz, ArrayList.class);
+            if (implClazz == null) implClazz = _containerImpl(tgtClazz, LinkedHashSet.class);
+            if (implClazz != null) {
+                _emitConvertCollection(mv, u, locals, scope, srcType, tgtType, implClazz, where);
+                return;
+            }
+        }
+
+        if (tgtClazz.isAssignableFrom(srcClazz)) {
+            if (tgtClazz != Object.class) {
+                mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(tgtClazz));
+            }
+            return;
+        }
+
+        String converter = _strictConverter(tgtClazz);
+        if (converter != null) {
+            // Nodes.toXxx(value)
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, AsmUtil.INAME_NODES, converter,
+                    "(Ljava/lang/Object;)" + org.objectweb.asm.Type.getDescriptor(tgtClazz), false);
+            return;
+        }
+        if (tgtClazz.isEnum()) {
+            // (E) Nodes.toEnum(value, E.class)
+            mv.visitLdcInsn(org.objectweb.asm.Type.getType(tgtClazz));
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, AsmUtil.INAME_NODES, "toEnum",
+                    "(Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Enum;", false);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(tgtClazz));
+            return;
+        }
+
+        // (T) Sjf4j.global().nodeFacade().readNode(value, (Type) constants[i])
+        int valueLocal = locals.next();
+        mv.visitVarInsn(Opcodes.ASTORE, valueLocal);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, AsmUtil.toInternalName(Sjf4j.class), "global",
+                "()Lorg/sjf4j/Sjf4j;", false);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, AsmUtil.toInternalName(Sjf4j.class), "nodeFacade",
+                "()" + org.objectweb.asm.Type.getDescriptor(NodeFacade.class), false);
+        mv.visitVarInsn(Opcodes.ALOAD, valueLocal);
+        _emitLoadConstant(mv, u, tgtType, "java/lang/reflect/Type");
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, AsmUtil.toInternalName(NodeFacade.class), "readNode",
+                "(Ljava/lang/Object;Ljava/lang/reflect/Type;)Ljava/lang/Object;", true);
+        if (tgtClazz != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(tgtClazz));
+        }
+    }
+
+    // Collection out = new ArrayList();
+    // for (Iterator it = src.iterator(); it.hasNext(); ) {
+    //   Object e = it.next();
+    //   out.add(e == null ? null : convert(e));
+    // }
+    private void _emitConvertCollection(MethodVisitor mv, Unit u, Locals locals, MappingSpec<?, ?> scope,
+                                        Type srcType, Type tgtType, Class<?> implClazz, String where) {
+        Type srcElemType = Types.resolveTypeArgument(srcType, Collection.class, 0);
+        Type tgtElemType = Types.resolveTypeArgument(tgtType, Collection.class, 0);
+        int srcLocal = locals.next();
+        int outLocal = locals.next();
+        int itLocal = locals.next();
+        mv.visitVarInsn(Opcodes.ASTORE, srcLocal);
+        _emitNew(mv, implClazz);
+        mv.visitVarInsn(Opcodes.ASTORE, outLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, srcLocal);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, "java/util/Collection");
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Collection", "iterator",
+                "()Ljava/util/Iterator;", true);
+        mv.visitVarInsn(Opcodes.ASTORE, itLocal);
+
+        Label loop = new Label();
+        Label end = new Label();
+        mv.visitLabel(loop);
+        mv.visitVarInsn(Opcodes.ALOAD, itLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+        mv.visitJumpInsn(Opcodes.IFEQ, end);
+        mv.visitVarInsn(Opcodes.ALOAD, itLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+        int elemLocal = _emitConvertNullable(mv, u, locals, scope, srcElemType, tgtElemType, where);
+        mv.visitVarInsn(Opcodes.ALOAD, outLocal);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, "java/util/Collection");
+        mv.visitVarInsn(Opcodes.ALOAD, elemLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Collection", "add", "(Ljava/lang/Object;)Z", true);
+        mv.visitInsn(Opcodes.POP);
+        mv.visitJumpInsn(Opcodes.GOTO, loop);
+        mv.visitLabel(end);
+        mv.visitVarInsn(Opcodes.ALOAD, outLocal);
+    }
+
+    // Map out = new LinkedHashMap();
+    // for (Iterator it = src.entrySet().iterator(); it.hasNext(); ) {
+    //   Map.Entry e = (Map.Entry) it.next();
+    //   out.put(convert(e.getKey()), convert(e.getValue()));
+    // }
+    private void _emitConvertMap(MethodVisitor mv, Unit u, Locals locals, MappingSpec<?, ?> scope,
+                                 Type srcType, Type tgtType, Class<?> implClazz, String where) {
+        Type srcKeyType = Types.resolveTypeArgument(srcType, Map.class, 0);
+        Type tgtKeyType = Types.resolveTypeArgument(tgtType, Map.class, 0);
+        Type srcValueType = Types.resolveTypeArgument(srcType, Map.class, 1);
+        Type tgtValueType = Types.resolveTypeArgument(tgtType, Map.class, 1);
+        int srcLocal = locals.next();
+        int outLocal = locals.next();
+        int itLocal = locals.next();
+        int entryLocal = locals.next();
+        mv.visitVarInsn(Opcodes.ASTORE, srcLocal);
+        _emitNew(mv, implClazz);
+        mv.visitVarInsn(Opcodes.ASTORE, outLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, srcLocal);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, "java/util/Map");
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Set", "iterator", "()Ljava/util/Iterator;", true);
+        mv.visitVarInsn(Opcodes.ASTORE, itLocal);
+
+        Label loop = new Label();
+        Label end = new Label();
+        mv.visitLabel(loop);
+        mv.visitVarInsn(Opcodes.ALOAD, itLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+        mv.visitJumpInsn(Opcodes.IFEQ, end);
+        mv.visitVarInsn(Opcodes.ALOAD, itLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, "java/util/Map$Entry");
+        mv.visitVarInsn(Opcodes.ASTORE, entryLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, entryLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map$Entry", "getKey", "()Ljava/lang/Object;", true);
+        int keyLocal = _emitConvertNullable(mv, u, locals, scope, srcKeyType, tgtKeyType, where);
+        mv.visitVarInsn(Opcodes.ALOAD, entryLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map$Entry", "getValue", "()Ljava/lang/Object;", true);
+        int valueLocal = _emitConvertNullable(mv, u, locals, scope, srcValueType, tgtValueType, where);
+        mv.visitVarInsn(Opcodes.ALOAD, outLocal);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, "java/util/Map");
+        mv.visitVarInsn(Opcodes.ALOAD, keyLocal);
+        mv.visitVarInsn(Opcodes.ALOAD, valueLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Map", "put",
+                "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+        mv.visitInsn(Opcodes.POP);
+        mv.visitJumpInsn(Opcodes.GOTO, loop);
+        mv.visitLabel(end);
+        mv.visitVarInsn(Opcodes.ALOAD, outLocal);
+    }
+
+    /**
+     * Converts the possibly-null Object on top of the stack and returns the local holding the result.
+     */
+    private int _emitConvertNullable(MethodVisitor mv, Unit u, Locals locals, MappingSpec<?, ?> scope,
+                                     Type srcType, Type tgtType, String where) {
+        int rawLocal = locals.next();
+        int resultLocal = locals.next();
+        mv.visitVarInsn(Opcodes.ASTORE, rawLocal);
+        Label notNull = new Label();
+        Label done = new Label();
+        mv.visitVarInsn(Opcodes.ALOAD, rawLocal);
+        mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+        mv.visitInsn(Opcodes.ACONST_NULL);
+        mv.visitVarInsn(Opcodes.ASTORE, resultLocal);
+        mv.visitJumpInsn(Opcodes.GOTO, done);
+        mv.visitLabel(notNull);
+        mv.visitVarInsn(Opcodes.ALOAD, rawLocal);
+        Class<?> srcClazz = Types.rawBox(srcType);
+        if (srcClazz != Object.class) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, AsmUtil.toInternalName(srcClazz));
+        }
+        _emitConvert(mv, u, locals, scope, srcType, tgtType, where);
+        mv.visitVarInsn(Opcodes.ASTORE, resultLocal);
+        mv.visitLabel(done);
+        return resultLocal;
+    }
+
+    /**
+     * Finds a nested spec that statically accepts {@code srcClazz} and produces {@code tgtClazz}.
+     * The current spec's {@code using} list is searched first, then the root spec's.
+     */
+    private MappingSpec<?, ?> _findNested(Unit u, MappingSpec<?, ?> scope, Class<?> srcClazz, Class<?> tgtClazz) {
+        if (srcClazz == Object.class) return null;
+        for (MappingSpec<?, ?> nested : scope.using()) {
+            if (nested.sourceType().isAssignableFrom(srcClazz) && tgtClazz.isAssignableFrom(nested.targetType())) {
+                return nested;
+            }
+        }
+        if (scope != u.root) {
+            return _findNested(u, u.root, srcClazz, tgtClazz);
+        }
+        return null;
+    }
+
+    private static String _strictConverter(Class<?> boxedClazz) {
+        if (boxedClazz == String.class) return "toString";
+        if (boxedClazz == Character.class) return "toChar";
+        if (boxedClazz == Long.class) return "toLong";
+        if (boxedClazz == Integer.class) return "toInt";
+        if (boxedClazz == Short.class) return "toShort";
+        if (boxedClazz == Byte.class) return "toByte";
+        if (boxedClazz == Double.class) return "toDouble";
+        if (boxedClazz == Float.class) return "toFloat";
+        if (boxedClazz == BigInteger.class) return "toBigInteger";
+        if (boxedClazz == BigDecimal.class) return "toBigDecimal";
+        if (boxedClazz == Boolean.class) return "toBoolean";
+        if (boxedClazz == Number.class) return "toNumber";
+        return null;
+    }
+
+    /**
+     * Returns the class to instantiate for a container target, or null when none fits.
+     */
+    private static Class<?> _containerImpl(Class<?> tgtClazz, Class<?> defaultImpl) {
+        if (tgtClazz.isAssignableFrom(defaultImpl)) return defaultImpl;
+        if (tgtClazz.isInterface() || Modifier.isAbstract(tgtClazz.getModifiers()) ||
+                !Modifier.isPublic(tgtClazz.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> ctor = tgtClazz.getConstructor();
+            return Modifier.isPublic(ctor.getModifiers()) ? tgtClazz : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+
+    /// Helpers
+
+    private void _emitNew(MethodVisitor mv, Class<?> clazz) {
+        String iname = AsmUtil.toInternalName(clazz);
+        mv.visitTypeInsn(Opcodes.NEW, iname);
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, iname, "<init>", "()V", false);
+    }
+
+    // (Cast) this.constants[i]
+    private void _emitLoadConstant(MethodVisitor mv, Unit u, Object constant, String castIName) {
+        int idx = u.constants.size();
+        u.constants.add(constant);
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, u.internalName, FIELD_CONSTANTS, "[Ljava/lang/Object;");
+        mv.visitLdcInsn(idx);
+        mv.visitInsn(Opcodes.AALOAD);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, castIName);
+    }
+
+    private static String _mapDescriptor(MappingSpec<?, ?> spec) {
+        return "(" + org.objectweb.asm.Type.getDescriptor(spec.sourceType()) + ")" +
+                org.objectweb.asm.Type.getDescriptor(spec.targetType());
+    }
+
+    private void _requirePublic(Class<?> clazz, MappingSpec<?, ?> spec) {
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                throw new JsonException("ASM BytecodeMapper requires public type " + clazz.getName() +
+                        " for " + spec);
+            }
+        }
+    }
+
+    private void _requirePublicNoArgsCtor(Class<?> clazz, MappingSpec<?, ?> spec) {
+        try {
+            Constructor<?> ctor = clazz.getConstructor();
+            if (Modifier.isPublic(ctor.getModifiers())) return;
+        } catch (NoSuchMethodException ignored) {
+            // reported below
+        }
+        throw new JsonException("ASM BytecodeMapper target " + clazz.getName() +
+                " requires a public no-args constructor for " + spec);
+    }
+
+
+    /// Compilation state
+
+    private static final class Unit {
+        final String internalName;
+        final MappingSpec<?, ?> root;
+        final ClassWriter cw;
+        final List<Object> constants = new ArrayList<>();
+        final Map<MappingSpec<?, ?>, String> methods = new IdentityHashMap<>();
+        final Deque<MappingSpec<?, ?>> pending = new ArrayDeque<>();
+
+        Unit(String className, MappingSpec<?, ?> root, ClassLoader loader) {
+            this.internalName = AsmUtil.toInternalName(className);
+            this.root = root;
+            // Frame computation may need to load application types; resolve them from the mapped types' loader.
+            this.cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+                @Override
+                protected ClassLoader getClassLoader() {
+                    return loader != null ? loader : AsmMapperCompiler.class.getClassLoader();
+                }
+            };
+        }
+
+        /**
+         * Returns the generated method name for a spec, scheduling it on first use.
+         */
+        String methodOf(MappingSpec<?, ?> spec) {
+            String name = methods.get(spec);
+            if (name == null) {
+                name = "_map" + methods.size();
+                methods.put(spec, name);
+                pending.add(spec);
+            }
+            return name;
+        }
+    }
+
+    private static final class Locals {
+        private int next;
+
+        Locals(int first) {
+            this.next = first;
+        }
+
+        int next() {
+            return next++;
+        }
+    }
+
+}
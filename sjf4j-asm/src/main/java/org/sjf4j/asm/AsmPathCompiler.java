@@ -6,6 +6,7 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
+import org.sjf4j.compiled.BytecodeFindPath;
 import org.sjf4j.compiled.BytecodePath;
 import org.sjf4j.compiled.PathCompiler;
 import org.sjf4j.exception.JsonException;
@@ -42,9 +43,17 @@ import java.util.Set;
  *
  * <p>Unsupported shapes fail fast instead of silently delegating back to the reflective fallback
  * implementation.
+ *
+ * <p>Multi-match queries are compiled into {@link BytecodeFindPath} classes by
+ * {@link AsmFindPathCompiler}.
  */
 public class AsmPathCompiler implements PathCompiler {
 
+    @Override
+    public BytecodeFindPath<?, ?> compileFindPath(JsonPath path, Type rootType, Type valueType) {
+        return AsmFindPathCompiler.compile(path, rootType, valueType);
+    }
+
     @Override
     public BytecodePath<?, ?> compilePath(JsonPath path, Type rootType, Type valueType) {
         Objects.requireNonNull(path, "path");
@@ -402,8 +411,8 @@ public class AsmPathCompiler implements PathCompiler {
         }
     }
 
-    private Type _emitGetChildByName(MethodVisitor mv, int srcLocal, int dstLocal, String name,
-                                     Type currentType, Class<?> currentClazz, String expr) {
+    static Type _emitGetChildByName(MethodVisitor mv, int srcLocal, int dstLocal, String name,
+                                    Type currentType, Class<?> currentClazz, String expr) {
         if (Object.class == currentClazz) {
             // Object _2 = Nodes.getInObject(_1, name);
             mv.visitVarInsn(Opcodes.ALOAD, srcLocal);
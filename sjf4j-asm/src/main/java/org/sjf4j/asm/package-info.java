@@ -3,7 +3,11 @@
  * <p>
  * This package provides a {@link org.sjf4j.compiled.PathCompiler} implementation
  * that generates {@link org.sjf4j.compiled.BytecodePath} classes at runtime for
- * supported typed {@link org.sjf4j.path.JsonPath} read and write operations.
+ * supported typed {@link org.sjf4j.path.JsonPath} read and write operations,
+ * {@link org.sjf4j.compiled.BytecodeFindPath} classes for multi-match queries,
+ * and a {@link org.sjf4j.compiled.MapperCompiler} implementation that turns a
+ * runtime {@link org.sjf4j.compiled.MappingSpec} into a direct
+ * {@link org.sjf4j.compiled.BytecodeMapper}.
  * It remains usable for applications that can accept runtime class generation
  * and the ASM dependency.
  * <p>
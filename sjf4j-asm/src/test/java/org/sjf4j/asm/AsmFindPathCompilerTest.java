@@ -0,0 +1,242 @@
+package org.sjf4j.asm;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonObject;
+import org.sjf4j.compiled.BytecodeFindPath;
+import org.sjf4j.compiled.FallbackBytecodeFindPath;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.path.JsonPath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsmFindPathCompilerTest {
+
+    @Test
+    public void testWildcardOverListArrayMapAndPojo() {
+        Store store = sampleStore();
+        assertMatchesInterpreter(store, "$.books[*].title");
+        assertMatchesInterpreter(store, "$.featured[*].price");
+        assertMatchesInterpreter(store, "$.byIsbn.*.title");
+        assertMatchesInterpreter(store, "$.books[0].*");
+        assertMatchesInterpreter(store, "$.counts[*]");
+        assertMatchesInterpreter(store, "$.books[*].tags[*]");
+
+        BytecodeFindPath<Store, String> path = BytecodeFindPath.compile("$.books[*].title", Store.class, String.class);
+        assertEquals(Arrays.asList("Sayings", "Sword", "Moby", "Ring"), path.find(store));
+    }
+
+    @Test
+    public void testIndexSliceAndUnion() {
+        Store store = sampleStore();
+        assertMatchesInterpreter(store, "$.books[-1].title");
+        assertMatchesInterpreter(store, "$.books[9].title");
+        assertMatchesInterpreter(store, "$.books[1:3].title");
+        assertMatchesInterpreter(store, "$.books[::-1].title");
+        assertMatchesInterpreter(store, "$.books[-2:].title");
+        assertMatchesInterpreter(store, "$.books[3:0:-2].title");
+        assertMatchesInterpreter(store, "$.counts[0,-1,7]");
+        assertMatchesInterpreter(store, "$.counts[1:2,0]");
+        assertMatchesInterpreter(store, "$.books[0]['title','price','missing']");
+        assertMatchesInterpreter(store, "$.byIsbn['b','a','z'].title");
+    }
+
+    @Test
+    public void testInlineComparisons() {
+        Store store = sampleStore();
+        assertMatchesInterpreter(store, "$.books[?@.price > 10].title");
+        assertMatchesInterpreter(store, "$.books[?@.price <= 8.95].title");
+        assertMatchesInterpreter(store, "$.books[?@.stock == 3].title");
+        assertMatchesInterpreter(store, "$.books[?@.stock != 3].title");
+        assertMatchesInterpreter(store, "$.books[?@.stock >= 0].title");
+        assertMatchesInterpreter(store, "$.books[?@.title == 'Moby'].price");
+        assertMatchesInterpreter(store, "$.books[?@.title > 'R'].title");
+        assertMatchesInterpreter(store, "$.books[?@.available == true].title");
+        assertMatchesInterpreter(store, "$.books[?@.category == null].title");
+        assertMatchesInterpreter(store, "$.books[?@.price > $.threshold].title");
+        assertMatchesInterpreter(store, "$.books[?@.tags[0] == 'classic'].title");
+        assertMatchesInterpreter(store, "$.counts[?@ > 1]");
+    }
+
+    @Test
+    public void testLogicalRegexInAndExistence() {
+        Store store = sampleStore();
+        assertMatchesInterpreter(store, "$.books[?@.price > 10 && @.available].title");
+        assertMatchesInterpreter(store, "$.books[?@.price < 9 || @.stock == 0].title");
+        assertMatchesInterpreter(store, "$.books[?!(@.price > 10)].title");
+        assertMatchesInterpreter(store, "$.books[?@.title =~ /S.*/].title");
+        assertMatchesInterpreter(store, "$.books[?@.title in ['Moby', 'Ring']].price");
+        assertMatchesInterpreter(store, "$.books[?@.title nin ['Moby', 'Ring']].price");
+        assertMatchesInterpreter(store, "$.books[?@.stock].title");
+        assertMatchesInterpreter(store, "$.books[?@.category].title");
+        assertMatchesInterpreter(store, "$.books[?length(@.tags) > 1].title");
+        assertMatchesInterpreter(store, "$.byIsbn[?@.price > 10].title");
+    }
+
+    @Test
+    public void testMissingAndNullOperands() {
+        Store store = sampleStore();
+        store.books.get(0).stock = null;
+        store.books.get(1).tags = new ArrayList<>();
+        assertMatchesInterpreter(store, "$.books[?@.stock != 3].title");
+        assertMatchesInterpreter(store, "$.books[?@.stock == null].title");
+        assertMatchesInterpreter(store, "$.books[?@.tags[0] != 'x'].title");
+        assertMatchesInterpreter(store, "$.books[?@.nope != 1].title");
+        assertMatchesInterpreter(store, "$.extra[?@.n != 1].n");
+        assertMatchesInterpreter(store, "$.meta[?@ != 'x']");
+    }
+
+    @Test
+    public void testDescendantOverTypedAndDynamicNodes() {
+        Store store = sampleStore();
+        assertMatchesInterpreter(store, "$..title");
+        assertMatchesInterpreter(store, "$..price");
+        assertMatchesInterpreter(store, "$..books[1].title");
+        assertMatchesInterpreter(store, "$..[?@.price > 10].title");
+        assertMatchesInterpreter(store, "$..*");
+        assertMatchesInterpreter(store, "$..n");
+        assertMatchesInterpreter(store, "$.books..tags[0]");
+    }
+
+    @Test
+    public void testDynamicSubtreesUseInterpreter() {
+        Store store = sampleStore();
+        assertMatchesInterpreter(store, "$.extra[*].n");
+        assertMatchesInterpreter(store, "$.meta.*");
+        assertMatchesInterpreter(store, "$.meta.list[?@ > 1]");
+        assertMatchesInterpreter(store, "$.extra[?@.n > 1].n");
+    }
+
+    @Test
+    public void testForEachStreamsMatchesInOrder() {
+        Store store = sampleStore();
+        BytecodeFindPath<Store, Double> path = BytecodeFindPath.compile("$.books[?@.price > 10].price", Store.class, Double.class);
+        assertAsmCompiled(path);
+        assertEquals(JsonPath.parse("$.books[?@.price > 10].price").toExpr(), path.expr());
+
+        List<Double> seen = new ArrayList<>();
+        path.forEach(store, seen::add);
+        assertEquals(Arrays.asList(12.99, 22.99), seen);
+        assertEquals(seen, path.find(store));
+
+        store.books = null;
+        assertTrue(path.find(store).isEmpty());
+        assertThrows(NullPointerException.class, () -> path.find(null));
+    }
+
+    @Test
+    public void testPresentNullLeafIsReported() {
+        Store store = sampleStore();
+        store.byIsbn.put("n", null);
+        BytecodeFindPath<Store, Book> path = BytecodeFindPath.compile("$.byIsbn['n','z']", Store.class, Book.class);
+        assertAsmCompiled(path);
+        assertEquals(JsonPath.parse("$.byIsbn['n','z']").find(store), path.find(store));
+        assertEquals(1, path.find(store).size());
+    }
+
+    @Test
+    public void testRejectsUnsupportedShapes() {
+        assertThrows(JsonException.class, () -> BytecodeFindPath.compile("$.books[*]", Object.class, Object.class));
+        assertThrows(JsonException.class, () -> BytecodeFindPath.compile("$.books[*].price", Store.class, double.class));
+        assertThrows(JsonException.class, () -> BytecodeFindPath.compile("$.books[*].title", Store.class, Integer.class));
+        assertThrows(JsonException.class, () -> BytecodeFindPath.compile("$.books..", Store.class, Object.class));
+        assertThrows(JsonException.class, () -> BytecodeFindPath.compile("$.books.length()", Store.class, Object.class));
+    }
+
+    private static void assertMatchesInterpreter(Store store, String expr) {
+        BytecodeFindPath<Store, Object> path = BytecodeFindPath.compile(expr, Store.class, Object.class);
+        assertAsmCompiled(path);
+        assertEquals(JsonPath.parse(expr).find(store), path.find(store), expr);
+    }
+
+    private static void assertAsmCompiled(BytecodeFindPath<?, ?> path) {
+        assertFalse(path instanceof FallbackBytecodeFindPath);
+        assertTrue(path.getClass().getName().startsWith("org.sjf4j.bytecode.generated.BytecodeFindPath_"));
+    }
+
+    private static Store sampleStore() {
+        Store store = new Store();
+        store.books = new ArrayList<>();
+        store.books.add(new Book("Sayings", 8.95, 3, true, "reference", "classic"));
+        store.books.add(new Book("Sword", 12.99, 0, false, null, "fiction", "classic"));
+        store.books.add(new Book("Moby", 8.99, 5, true, null, "fiction"));
+        store.books.add(new Book("Ring", 22.99, 1, true, "fantasy"));
+        store.featured = new Book[]{store.books.get(3), null, store.books.get(0)};
+        store.byIsbn = new LinkedHashMap<>();
+        store.byIsbn.put("a", store.books.get(0));
+        store.byIsbn.put("b", store.books.get(2));
+        store.counts = new int[]{1, 2, 3};
+        store.threshold = 9;
+
+        JsonObject first = new JsonObject();
+        first.put("n", 1);
+        JsonObject second = new JsonObject();
+        second.put("n", 2.5);
+        second.put("title", "Dynamic");
+        JsonArray extra = new JsonArray();
+        extra.add(first);
+        extra.add(second);
+        store.extra = extra;
+
+        store.meta = new JsonObject();
+        store.meta.put("list", new JsonArray(Arrays.asList(1, 2, 3)));
+        store.meta.put("price", 99);
+        return store;
+    }
+
+    public static class Store {
+        public List<Book> books;
+        public Book[] featured;
+        public Map<String, Book> byIsbn;
+        public int[] counts;
+        public int threshold;
+        public Object extra;
+        public JsonObject meta;
+    }
+
+    public static class Book {
+        private String title;
+        public double price;
+        public Integer stock;
+        private boolean available;
+        public String category;
+        public List<String> tags;
+
+        public Book() {}
+
+        Book(String title, double price, Integer stock, boolean available, String category, String... tags) {
+            this.title = title;
+            this.price = price;
+            this.stock = stock;
+            this.available = available;
+            this.category = category;
+            this.tags = new ArrayList<>(Arrays.asList(tags));
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public void setAvailable(boolean available) {
+            this.available = available;
+        }
+    }
+
+}
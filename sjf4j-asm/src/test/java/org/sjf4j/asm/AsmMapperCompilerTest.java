@@ -0,0 +1,318 @@
+package org.sjf4j.asm;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.annotation.mapper.NullValuePolicy;
+import org.sjf4j.compiled.BytecodeMapper;
+import org.sjf4j.compiled.MappingSpec;
+import org.sjf4j.exception.JsonException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsmMapperCompilerTest {
+
+    private static final MappingSpec<Item, ItemDto> ITEM_SPEC =
+            MappingSpec.builder(Item.class, ItemDto.class).build();
+
+    @Test
+    public void testPathsNestedListsAndMapCopies() {
+        BytecodeMapper<Order, OrderDto> mapper = BytecodeMapper.compile(orderSpec(NullValuePolicy.SET_TO_NULL));
+        assertTrue(mapper.getClass().getName().startsWith("org.sjf4j.bytecode.generated."));
+        assertSame(Order.class, mapper.sourceType());
+        assertSame(OrderDto.class, mapper.targetType());
+
+        Order order = sampleOrder();
+        OrderDto dto = mapper.map(order);
+        assertEquals("Ada", dto.getCustomerName());
+        assertEquals("London", dto.getCity());
+        assertEquals("gold", dto.getPriority());
+        assertEquals("web", dto.getChannel());
+        assertEquals(2, dto.getItems().size());
+        assertEquals("pen", dto.getItems().get(0).getName());
+        assertEquals(3L, dto.getItems().get(0).getQuantity());
+        assertNull(dto.getItems().get(1));
+        assertEquals(order.getAttributes(), dto.getAttributes());
+        assertNotSame(order.getAttributes(), dto.getAttributes());
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(dto.getTags()));
+        assertTrue(dto.getTags() instanceof Set);
+        assertEquals("pen", dto.getItemsByCode().get("p").getName());
+
+        assertNull(mapper.map(null));
+    }
+
+    @Test
+    public void testNullValuePolicy() {
+        Order order = sampleOrder();
+        order.setCustomer(null);
+        order.setItems(null);
+
+        OrderDto set = BytecodeMapper.compile(orderSpec(NullValuePolicy.SET_TO_NULL)).map(order);
+        assertNull(set.getCustomerName());
+        assertNull(set.getCity());
+        assertNull(set.getItems());
+
+        OrderDto ignored = BytecodeMapper.compile(orderSpec(NullValuePolicy.IGNORE)).map(order);
+        assertEquals("unknown", ignored.getCustomerName());
+        assertEquals("nowhere", ignored.getCity());
+        assertNull(ignored.getItems());
+    }
+
+    @Test
+    public void testStrictConversionComputeAndIgnore() {
+        MappingSpec<Map, ItemDto> spec = MappingSpec.builder(Map.class, ItemDto.class)
+                .map("name", "$.info.title")
+                .compute("label", m -> m.get("name") + "#" + m.get("quantity"))
+                .ignore("level")
+                .build();
+        BytecodeMapper<Map, ItemDto> mapper = BytecodeMapper.compile(spec);
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("title", "book");
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put("info", info);
+        source.put("name", "ignored-by-rule");
+        source.put("quantity", 7);
+        source.put("level", "HIGH");
+        source.put("price", 12);
+
+        ItemDto dto = mapper.map(source);
+        assertEquals("book", dto.getName());
+        assertEquals(7L, dto.getQuantity());
+        assertEquals("ignored-by-rule#7", dto.getLabel());
+        assertNull(dto.getLevel());
+        assertEquals(12.0, dto.price, 0.0);
+
+        source.put("quantity", "7");
+        assertThrows(JsonException.class, () -> mapper.map(source));
+    }
+
+    @Test
+    public void testEnumAndPrimitiveTargets() {
+        MappingSpec<Item, ItemDto> spec = MappingSpec.builder(Item.class, ItemDto.class)
+                .map("level", "grade")
+                .build();
+        Item item = new Item("pen", 3);
+        item.setGrade("LOW");
+        ItemDto dto = BytecodeMapper.compile(spec).map(item);
+        assertEquals(Level.LOW, dto.getLevel());
+        assertEquals(3L, dto.getQuantity());
+        assertEquals(0.0, dto.price, 0.0);
+    }
+
+    @Test
+    public void testRecursiveNestedSpec() {
+        // The nested spec has no `using` of its own, so it resolves children through the root spec's list.
+        MappingSpec<Node, NodeDto> child = MappingSpec.builder(Node.class, NodeDto.class).build();
+        MappingSpec<Node, NodeDto> root = MappingSpec.builder(Node.class, NodeDto.class).using(child).build();
+
+        Node node = new Node("root", new Node("mid", new Node("leaf", null)));
+        NodeDto dto = BytecodeMapper.compile(root).map(node);
+        assertEquals("root", dto.getName());
+        assertEquals("mid", dto.getChild().getName());
+        assertEquals("leaf", dto.getChild().getChild().getName());
+        assertNull(dto.getChild().getChild().getChild());
+    }
+
+    @Test
+    public void testUnsupportedShapesFailFast() {
+        assertThrows(JsonException.class, () -> BytecodeMapper.compile(
+                MappingSpec.builder(Item.class, ItemDto.class).map("missing", "name").build()));
+        assertThrows(JsonException.class, () -> BytecodeMapper.compile(
+                MappingSpec.builder(Order.class, OrderDto.class).map("city", "$.items[0].name").build()));
+        assertThrows(JsonException.class, () -> BytecodeMapper.compile(
+                MappingSpec.builder(Item.class, NoDefaultCtor.class).build()));
+        assertThrows(JsonException.class, () -> MappingSpec.builder(Item.class, ItemDto.class)
+                .map("name", "name").ignore("name"));
+    }
+
+    private static MappingSpec<Order, OrderDto> orderSpec(NullValuePolicy nulls) {
+        return MappingSpec.builder(Order.class, OrderDto.class)
+                .nulls(nulls)
+                .map("customerName", "$.customer.name")
+                .map("city", "/customer/address/city")
+                .map("priority", "$.attributes.priority")
+                .map("channel", "$.metadata.channel")
+                .using(ITEM_SPEC)
+                .build();
+    }
+
+    private static Order sampleOrder() {
+        Order order = new Order();
+        order.setCustomer(new Customer("Ada", new Address("London")));
+        order.setItems(new ArrayList<>(Arrays.asList(new Item("pen", 3), null)));
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("priority", "gold");
+        order.setAttributes(attributes);
+        JsonObject metadata = new JsonObject();
+        metadata.put("channel", "web");
+        order.setMetadata(metadata);
+        order.setTags(new ArrayList<>(Arrays.asList("a", "b", "a")));
+        Map<String, Item> itemsByCode = new LinkedHashMap<>();
+        itemsByCode.put("p", new Item("pen", 3));
+        order.setItemsByCode(itemsByCode);
+        return order;
+    }
+
+
+    public enum Level {LOW, HIGH}
+
+    public static class Address {
+        private String city;
+
+        public Address() {}
+        public Address(String city) { this.city = city; }
+
+        public String getCity() { return city; }
+        public void setCity(String city) { this.city = city; }
+    }
+
+    public static class Customer {
+        private String name;
+        private Address address;
+
+        public Customer() {}
+        public Customer(String name, Address address) {
+            this.name = name;
+            this.address = address;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Address getAddress() { return address; }
+        public void setAddress(Address address) { this.address = address; }
+    }
+
+    public static class Item {
+        private String name;
+        private int quantity;
+        private String grade;
+
+        public Item() {}
+        public Item(String name, int quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public String getGrade() { return grade; }
+        public void setGrade(String grade) { this.grade = grade; }
+    }
+
+    public static class ItemDto {
+        private String name;
+        private long quantity;
+        private String label;
+        private Level level;
+        public double price;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public long getQuantity() { return quantity; }
+        public void setQuantity(long quantity) { this.quantity = quantity; }
+        public String getLabel() { return label; }
+        public void setLabel(String label) { this.label = label; }
+        public Level getLevel() { return level; }
+        public void setLevel(Level level) { this.level = level; }
+    }
+
+    public static class Order {
+        private Customer customer;
+        private List<Item> items;
+        private Map<String, String> attributes;
+        private JsonObject metadata;
+        private List<String> tags;
+        private Map<String, Item> itemsByCode;
+
+        public Customer getCustomer() { return customer; }
+        public void setCustomer(Customer customer) { this.customer = customer; }
+        public List<Item> getItems() { return items; }
+        public void setItems(List<Item> items) { this.items = items; }
+        public Map<String, String> getAttributes() { return attributes; }
+        public void setAttributes(Map<String, String> attributes) { this.attributes = attributes; }
+        public JsonObject getMetadata() { return metadata; }
+        public void setMetadata(JsonObject metadata) { this.metadata = metadata; }
+        public List<String> getTags() { return tags; }
+        public void setTags(List<String> tags) { this.tags = tags; }
+        public Map<String, Item> getItemsByCode() { return itemsByCode; }
+        public void setItemsByCode(Map<String, Item> itemsByCode) { this.itemsByCode = itemsByCode; }
+    }
+
+    public static class OrderDto {
+        private String customerName = "unknown";
+        private String city = "nowhere";
+        private String priority;
+        private String channel;
+        private List<ItemDto> items;
+        private Map<String, String> attributes;
+        private LinkedHashSet<String> tags;
+        private Map<String, ItemDto> itemsByCode;
+
+        public String getCustomerName() { return customerName; }
+        public void setCustomerName(String customerName) { this.customerName = customerName; }
+        public String getCity() { return city; }
+        public void setCity(String city) { this.city = city; }
+        public String getPriority() { return priority; }
+        public void setPriority(String priority) { this.priority = priority; }
+        public String getChannel() { return channel; }
+        public void setChannel(String channel) { this.channel = channel; }
+        public List<ItemDto> getItems() { return items; }
+        public void setItems(List<ItemDto> items) { this.items = items; }
+        public Map<String, String> getAttributes() { return attributes; }
+        public void setAttributes(Map<String, String> attributes) { this.attributes = attributes; }
+        public LinkedHashSet<String> getTags() { return tags; }
+        public void setTags(LinkedHashSet<String> tags) { this.tags = tags; }
+        public Map<String, ItemDto> getItemsByCode() { return itemsByCode; }
+        public void setItemsByCode(Map<String, ItemDto> itemsByCode) { this.itemsByCode = itemsByCode; }
+    }
+
+    public static class Node {
+        private String name;
+        private Node child;
+
+        public Node() {}
+        public Node(String name, Node child) {
+            this.name = name;
+            this.child = child;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Node getChild() { return child; }
+        public void setChild(Node child) { this.child = child; }
+    }
+
+    public static class NodeDto {
+        private String name;
+        private NodeDto child;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public NodeDto getChild() { return child; }
+        public void setChild(NodeDto child) { this.child = child; }
+    }
+
+    public static class NoDefaultCtor {
+        private final String name;
+
+        public NoDefaultCtor(String name) { this.name = name; }
+
+        public String getName() { return name; }
+    }
+
+}
@@ -15,6 +15,10 @@ import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 import org.sjf4j.annotation.mapper.jdbc.CompiledJdbcMapper;
 import org.sjf4j.compiled.CompiledNodes;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
+import org.sjf4j.facade.StreamingWriter;
+import org.sjf4j.facade.simple.SimpleJsonWriter;
 import org.sjf4j.node.Nodes;
 import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.builder.StaticSqlSource;
@@ -27,6 +31,8 @@ import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.RowBounds;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -41,6 +47,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Measures ResultSet-to-object conversion only. Each invocation calls {@code executeQuery()} during
@@ -109,6 +117,11 @@ public class CompiledJdbcMapperBenchmark {
                     throw new AssertionError("Unexpected benchmark row count");
                 }
             }
+            try (ResultSet resultSet = select.executeQuery(); Stream<User> users = mapper.userStream(resultSet)) {
+                if (users.count() != ROW_COUNT) {
+                    throw new AssertionError("Unexpected streamed benchmark row count");
+                }
+            }
             validateMybatisUsers("automatic", handle(mybatisAutoStatement));
             validateMybatisUsers("explicit", handle(mybatisExplicitStatement));
         }
@@ -180,6 +193,31 @@ public class CompiledJdbcMapperBenchmark {
         return state.mapper.users(state.resultSet);
     }
 
+    /**
+     * Streaming-vs-list pair: both fold every mapped row into one aggregate. The list variant
+     * materializes all rows first; the stream and consumer variants keep one row at a time.
+     */
+    @Benchmark
+    public long aggregate_sjf4j_list(BenchmarkState state) {
+        long sum = 0;
+        for (User user : state.mapper.users(state.resultSet)) sum += user.getId();
+        return sum;
+    }
+
+    @Benchmark
+    public long aggregate_sjf4j_stream(BenchmarkState state) {
+        try (Stream<User> users = state.mapper.userStream(state.resultSet)) {
+            return users.mapToLong(User::getId).sum();
+        }
+    }
+
+    @Benchmark
+    public long aggregate_sjf4j_consumer(BenchmarkState state) {
+        long[] sum = {0};
+        state.mapper.eachUser(state.resultSet, user -> sum[0] += user.getId());
+        return sum[0];
+    }
+
     @Benchmark
     public List<User> users_handwritten_by_label(BenchmarkState state) throws SQLException {
         ArrayList<User> users = new ArrayList<User>();
@@ -263,11 +301,42 @@ public class CompiledJdbcMapperBenchmark {
     }
 
 
+    /**
+     * ResultSet-to-JSON pair on the built-in writer: direct typed getters with pre-encoded names
+     * versus materializing {@code Map} rows and serializing them afterwards.
+     */
+    @Benchmark
+    public int json_sjf4j_direct(BenchmarkState state) throws IOException {
+        StringWriter out = new StringWriter(64 * ROW_COUNT);
+        try (StreamingWriter writer = new SimpleJsonWriter(out)) {
+            state.mapper.usersJson(state.resultSet, writer);
+            writer.flush();
+        }
+        return out.getBuffer().length();
+    }
+
+    @Benchmark
+    public int json_sjf4j_maps(BenchmarkState state) throws IOException {
+        StringWriter out = new StringWriter(64 * ROW_COUNT);
+        try (StreamingWriter writer = new SimpleJsonWriter(out)) {
+            StreamingIO.writeNode(writer, state.mapper.maps(state.resultSet), StreamingContext.EMPTY);
+            writer.flush();
+        }
+        return out.getBuffer().length();
+    }
+
+
     @CompiledJdbcMapper
     public interface JdbcMapper {
         List<User> users(ResultSet resultSet);
 
+        Stream<User> userStream(ResultSet resultSet);
+
+        void eachUser(ResultSet resultSet, Consumer<? super User> action);
+
         List<Map<String, Object>> maps(ResultSet resultSet);
+
+        void usersJson(ResultSet resultSet, StreamingWriter writer);
     }
 
     public static final class User {
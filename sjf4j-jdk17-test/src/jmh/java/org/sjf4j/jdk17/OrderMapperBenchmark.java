@@ -18,7 +18,9 @@ import org.sjf4j.annotation.mapper.CompiledMapper;
 import org.sjf4j.annotation.mapper.MapperOptions;
 import org.sjf4j.annotation.mapper.NullValuePolicy;
 import org.sjf4j.annotation.mapper.Mapping;
+import org.sjf4j.compiled.BytecodeMapper;
 import org.sjf4j.compiled.CompiledNodes;
+import org.sjf4j.compiled.MappingSpec;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -53,6 +55,8 @@ public class OrderMapperBenchmark {
         public Order missingCustomer;
         public Sjf4jIgnoreMapper sjf4jIgnoreMapper;
         public Sjf4jSetMapper sjf4jSetMapper;
+        public BytecodeMapper<Order, OrderDTO> sjf4jRuntimeIgnoreMapper;
+        public BytecodeMapper<Order, OrderDTO> sjf4jRuntimeSetMapper;
         public MapStructMapper mapStructMapper;
         public HandMapper handMapper;
 
@@ -82,6 +86,8 @@ public class OrderMapperBenchmark {
 
             sjf4jIgnoreMapper = CompiledNodes.instanceOf(Sjf4jIgnoreMapper.class);
             sjf4jSetMapper = CompiledNodes.instanceOf(Sjf4jSetMapper.class);
+            sjf4jRuntimeIgnoreMapper = BytecodeMapper.compile(runtimeSpec(NullValuePolicy.IGNORE));
+            sjf4jRuntimeSetMapper = BytecodeMapper.compile(runtimeSpec(NullValuePolicy.SET_TO_NULL));
             mapStructMapper = Mappers.getMapper(MapStructMapper.class);
             handMapper = new HandMapper();
 
@@ -89,6 +95,10 @@ public class OrderMapperBenchmark {
             assertOrderEqual(handMapper.map(noProducts), sjf4jIgnoreMapper.map(noProducts), "sjf4j ignore noProducts");
             assertOrderEqual(handMapper.map(missingCustomer), sjf4jIgnoreMapper.map(missingCustomer), "sjf4j ignore missingCustomer");
             assertOrderEqual(handMapper.map(full), sjf4jSetMapper.map(full), "sjf4j set full");
+            assertOrderEqual(handMapper.map(full), sjf4jRuntimeIgnoreMapper.map(full), "sjf4j runtime ignore full");
+            assertOrderEqual(handMapper.map(noProducts), sjf4jRuntimeIgnoreMapper.map(noProducts), "sjf4j runtime ignore noProducts");
+            assertOrderEqual(handMapper.map(missingCustomer), sjf4jRuntimeIgnoreMapper.map(missingCustomer), "sjf4j runtime ignore missingCustomer");
+            assertOrderEqual(handMapper.map(full), sjf4jRuntimeSetMapper.map(full), "sjf4j runtime set full");
             assertOrderEqual(handMapper.map(full), mapStructMapper.map(full), "mapstruct full");
         }
     }
@@ -103,6 +113,16 @@ public class OrderMapperBenchmark {
         return state.sjf4jSetMapper.map(state.full);
     }
 
+    @Benchmark
+    public OrderDTO full_sjf4j_runtime_ignore(BenchmarkState state) {
+        return state.sjf4jRuntimeIgnoreMapper.map(state.full);
+    }
+
+    @Benchmark
+    public OrderDTO full_sjf4j_runtime_set(BenchmarkState state) {
+        return state.sjf4jRuntimeSetMapper.map(state.full);
+    }
+
     @Benchmark
     public OrderDTO full_mapstruct(BenchmarkState state) {
         return state.mapStructMapper.map(state.full);
@@ -118,6 +138,11 @@ public class OrderMapperBenchmark {
         return state.sjf4jIgnoreMapper.map(state.noProducts);
     }
 
+    @Benchmark
+    public OrderDTO noProducts_sjf4j_runtime_ignore(BenchmarkState state) {
+        return state.sjf4jRuntimeIgnoreMapper.map(state.noProducts);
+    }
+
     @Benchmark
     public OrderDTO noProducts_hand(BenchmarkState state) {
         return state.handMapper.map(state.noProducts);
@@ -128,6 +153,11 @@ public class OrderMapperBenchmark {
         return state.sjf4jIgnoreMapper.map(state.missingCustomer);
     }
 
+    @Benchmark
+    public OrderDTO missingCustomer_sjf4j_runtime_ignore(BenchmarkState state) {
+        return state.sjf4jRuntimeIgnoreMapper.map(state.missingCustomer);
+    }
+
     @Benchmark
     public OrderDTO missingCustomer_hand(BenchmarkState state) {
         return state.handMapper.map(state.missingCustomer);
@@ -165,6 +195,25 @@ public class OrderMapperBenchmark {
         ProductDTO productToProductDTO(Product product);
     }
 
+    /**
+     * Same rules as {@link Sjf4jIgnoreMapper}, declared at runtime and compiled by sjf4j-asm.
+     */
+    private static MappingSpec<Order, OrderDTO> runtimeSpec(NullValuePolicy nulls) {
+        MappingSpec<Product, ProductDTO> productSpec = MappingSpec.builder(Product.class, ProductDTO.class).build();
+        return MappingSpec.builder(Order.class, OrderDTO.class)
+                .nulls(nulls)
+                .map("customerName", "$.customer.name")
+                .map("billingStreetAddress", "$.customer.billingAddress.street")
+                .map("billingCity", "$.customer.billingAddress.city")
+                .map("shippingStreetAddress", "$.customer.shippingAddress.street")
+                .map("shippingCity", "$.customer.shippingAddress.city")
+                .map("priority", "$.attributes.priority")
+                .map("salesChannel", "$.metadata.salesChannel")
+                .map("attributes", "attributes")
+                .using(productSpec)
+                .build();
+    }
+
     @org.mapstruct.Mapper
     public interface MapStructMapper {
         @org.mapstruct.Mapping(target = "customerName", source = "customer.name")
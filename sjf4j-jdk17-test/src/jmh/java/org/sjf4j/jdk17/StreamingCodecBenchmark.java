@@ -0,0 +1,137 @@
+package org.sjf4j.jdk17;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.annotation.node.CompiledCodec;
+import org.sjf4j.annotation.node.NodeCreator;
+import org.sjf4j.annotation.node.NodeProperty;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code @CompiledCodec} generated streaming codecs against the
+ * reflective {@code StreamingIO.readPojo}/{@code writePojo} binding for the
+ * same model shape, on the shared streaming path of the simple JSON facade.
+ *
+ * <pre>{@code
+ * ./gradlew :sjf4j-jdk17-test:jmh
+ * }</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Threads(1)
+public class StreamingCodecBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{
+                StreamingCodecBenchmark.class.getSimpleName()
+        });
+    }
+
+    private static final Sjf4j SIMPLE = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+
+    private static final String USER_JSON = "{\"id\":1024,\"name\":\"Alice\",\"email\":\"alice@example.com\"," +
+            "\"age\":30,\"active\":true,\"score\":98.5,\"tags\":[\"admin\",\"ops\"]," +
+            "\"address\":{\"city\":\"Singapore\",\"zip\":\"018956\"}}";
+
+    private static final String POINT_JSON = "{\"x\":3,\"y\":4,\"label\":\"origin\"}";
+
+    public static class Address {
+        public String city;
+        public String zip;
+    }
+
+    public static class User {
+        public long id;
+        public String name;
+        public String email;
+        public int age;
+        public boolean active;
+        public double score;
+        public List<String> tags;
+        public Address address;
+    }
+
+    @CompiledCodec
+    public static class CodecUser {
+        public long id;
+        public String name;
+        public String email;
+        public int age;
+        public boolean active;
+        public double score;
+        public List<String> tags;
+        public Address address;
+    }
+
+    public static class Point {
+        public final int x;
+        public final int y;
+        public String label;
+
+        @NodeCreator
+        public Point(@NodeProperty("x") int x, @NodeProperty("y") int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    @CompiledCodec
+    public static class CodecPoint {
+        public final int x;
+        public final int y;
+        public String label;
+
+        @NodeCreator
+        public CodecPoint(@NodeProperty("x") int x, @NodeProperty("y") int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static final User USER = SIMPLE.fromJson(USER_JSON, User.class);
+    private static final CodecUser CODEC_USER = SIMPLE.fromJson(USER_JSON, CodecUser.class);
+
+    @Benchmark
+    public User readReflective() {
+        return SIMPLE.fromJson(USER_JSON, User.class);
+    }
+
+    @Benchmark
+    public CodecUser readCompiled() {
+        return SIMPLE.fromJson(USER_JSON, CodecUser.class);
+    }
+
+    @Benchmark
+    public Point readCreatorReflective() {
+        return SIMPLE.fromJson(POINT_JSON, Point.class);
+    }
+
+    @Benchmark
+    public CodecPoint readCreatorCompiled() {
+        return SIMPLE.fromJson(POINT_JSON, CodecPoint.class);
+    }
+
+    @Benchmark
+    public String writeReflective() {
+        return SIMPLE.toJsonString(USER);
+    }
+
+    @Benchmark
+    public String writeCompiled() {
+        return SIMPLE.toJsonString(CODEC_USER);
+    }
+
+}
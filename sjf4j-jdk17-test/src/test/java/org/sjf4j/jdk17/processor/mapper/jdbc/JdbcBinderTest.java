@@ -0,0 +1,185 @@
+package org.sjf4j.jdk17.processor.mapper.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.annotation.mapper.jdbc.CompiledJdbcBinder;
+import org.sjf4j.annotation.mapper.jdbc.JdbcParameters;
+import org.sjf4j.annotation.node.NodeProperty;
+import org.sjf4j.annotation.node.NodeValue;
+import org.sjf4j.annotation.node.RawToValue;
+import org.sjf4j.annotation.node.ValueToRaw;
+import org.sjf4j.compiled.CompiledNodes;
+import org.sjf4j.exception.BindingException;
+import org.sjf4j.exception.JsonException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.brokenStatement;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.recordingStatement;
+
+class JdbcBinderTest {
+
+    @Test
+    void bindsDeclaredPropertiesInFieldOrder() {
+        Binder binder = CompiledNodes.instanceOf(Binder.class);
+        List<String> calls = new ArrayList<>();
+        User user = new User();
+        user.id = 7L;
+        user.setName("Ada");
+        user.age = 36;
+        user.status = Status.ACTIVE;
+        user.joined = Instant.parse("2024-01-02T03:04:05Z");
+        user.avatar = new byte[]{1, 2};
+
+        binder.bind(recordingStatement(calls), user);
+        assertEquals(List.of("setLong(1, 7)", "setString(2, Ada)", "setInt(3, 36)", "setNull(4, 4)",
+                "setString(5, ACTIVE)", "setTimestamp(6, " + Timestamp.from(user.joined) + ")", "setBytes(7, [1, 2])"), calls);
+    }
+
+    @Test
+    void bindsRecordsInParameterOrderWithCodecs() {
+        Binder binder = CompiledNodes.instanceOf(Binder.class);
+        List<String> calls = new ArrayList<>();
+        Order order = new Order("A-1", new BigInteger("42"), new BigDecimal("9.50"),
+                LocalDate.of(2024, 1, 2), Instant.ofEpochMilli(1000), new Sku("S-9"));
+
+        binder.order(recordingStatement(calls), order);
+        assertEquals(List.of("setObject(1, S-9)", "setObject(2, 1000)", "setBigDecimal(3, 42)",
+                "setString(4, A-1)", "setObject(5, 2024-01-02)"), calls);
+
+        calls.clear();
+        binder.order(recordingStatement(calls), new Order("A-2", null, null, null, null, null));
+        assertEquals(List.of("setNull(1, 0)", "setNull(2, 0)", "setNull(3, 3)", "setString(4, A-2)",
+                "setNull(5, 91)"), calls);
+    }
+
+    @Test
+    void bindsJojoDeclaredAndDynamicProperties() {
+        Binder binder = CompiledNodes.instanceOf(Binder.class);
+        List<String> calls = new ArrayList<>();
+        Jojo jojo = new Jojo();
+        jojo.name = "Ada";
+        jojo.put("city", "London");
+
+        binder.jojo(recordingStatement(calls), jojo);
+        assertEquals(List.of("setString(1, Ada)", "setObject(2, London)", "setNull(3, 0)"), calls);
+    }
+
+    @Test
+    void batchesWithFlushSize() {
+        Binder binder = CompiledNodes.instanceOf(Binder.class);
+        List<String> calls = new ArrayList<>();
+        List<Jojo> values = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Jojo jojo = new Jojo();
+            jojo.name = "n" + i;
+            values.add(jojo);
+        }
+
+        int[] counts = binder.insertAll(recordingStatement(calls), values, 2);
+        assertArrayEquals(new int[]{1, 1, 1, 1, 1}, counts);
+        assertEquals(List.of("executeBatch", "executeBatch", "executeBatch"),
+                calls.stream().filter(call -> call.equals("executeBatch")).toList());
+        assertEquals("executeBatch", calls.get(calls.size() - 1));
+        assertEquals(5, calls.stream().filter(call -> call.equals("addBatch")).count());
+        int firstFlush = calls.indexOf("executeBatch");
+        assertEquals("addBatch", calls.get(firstFlush - 1));
+        assertEquals(2, calls.subList(0, firstFlush).stream().filter(call -> call.equals("addBatch")).count());
+
+        calls.clear();
+        binder.insertEach(recordingStatement(calls), List.of(), 10);
+        assertEquals(List.of(), calls);
+        assertArrayEquals(new int[0], binder.insertAll(recordingStatement(calls), List.of(), 10));
+    }
+
+    @Test
+    void rejectsInvalidInputAndWrapsSqlExceptions() {
+        Binder binder = CompiledNodes.instanceOf(Binder.class);
+        PreparedStatement ps = recordingStatement(new ArrayList<>());
+
+        assertThrows(JsonException.class, () -> binder.insertAll(ps, List.of(new Jojo()), 0));
+        assertThrows(BindingException.class, () -> binder.bind(ps, null));
+        assertInstanceOf(SQLException.class, assertThrows(BindingException.class,
+                () -> binder.bind(brokenStatement(), new User())).getCause());
+        assertInstanceOf(SQLException.class, assertThrows(BindingException.class,
+                () -> binder.insertAll(brokenStatement(), List.of(new Jojo()), 10)).getCause());
+    }
+
+    @CompiledJdbcBinder
+    interface Binder {
+        void bind(PreparedStatement ps, User user);
+
+        @JdbcParameters({"sku", "placed", "quantity", "order_id", "day"})
+        void order(PreparedStatement ps, Order order);
+
+        @JdbcParameters({"name", "city", "missing"})
+        void jojo(PreparedStatement ps, Jojo jojo);
+
+        @JdbcParameters({"name"})
+        int[] insertAll(PreparedStatement ps, List<? extends Jojo> values, int flushSize);
+
+        @JdbcParameters({"name"})
+        void insertEach(PreparedStatement ps, Iterable<Jojo> values, int flushSize);
+    }
+
+    enum Status { ACTIVE }
+
+    static class Entity {
+        public Long id;
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    static class User extends Entity {
+        public int age;
+        public Integer rank;
+        public Status status;
+        public Instant joined;
+        public byte[] avatar;
+        private String secret = "hidden";
+        public static String ignored = "static";
+    }
+
+    record Order(@NodeProperty("order_id") String id, BigInteger quantity, BigDecimal total, LocalDate day,
+                 @NodeProperty(codecName = "epochMillis") Instant placed, Sku sku) {
+    }
+
+    @NodeValue
+    record Sku(String code) {
+        @RawToValue
+        public static Sku of(String code) {
+            return new Sku(code);
+        }
+
+        @ValueToRaw
+        public String raw() {
+            return code;
+        }
+    }
+
+    public static final class Jojo extends JsonObject {
+        public String name;
+
+        public Jojo() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.sjf4j.jdk17.processor.mapper.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.annotation.mapper.Mapping;
+import org.sjf4j.annotation.mapper.jdbc.CompiledJdbcMapper;
+import org.sjf4j.compiled.CompiledNodes;
+import org.sjf4j.compiled.JdbcJsonWriter;
+import org.sjf4j.exception.BindingException;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
+import org.sjf4j.facade.StreamingWriter;
+import org.sjf4j.facade.simple.SimpleJsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.brokenResult;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.typedResult;
+
+class JdbcJsonWriterTest {
+    private static final String[] COLUMNS = {"id", "name", "score", "balance", "active", "tags"};
+    private static final int[] TYPES = {Types.INTEGER, Types.VARCHAR, Types.DOUBLE, Types.DECIMAL, Types.BOOLEAN, Types.OTHER};
+
+    private static ResultSet users() {
+        return typedResult(COLUMNS, TYPES,
+                new Object[]{1, "Ada", 1.5, new BigDecimal("10.50"), true, List.of("a", "b")},
+                new Object[]{2, "Gr\"ace", null, null, null, null});
+    }
+
+    @Test
+    void writesSameJsonAsMapRows() {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+
+        String direct = json(writer -> mapper.users(users(), writer));
+        String viaMaps = json(writer -> {
+            try {
+                StreamingIO.writeNode(writer, mapper.maps(users()), StreamingContext.EMPTY);
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        assertEquals("[{\"id\":1,\"name\":\"Ada\",\"score\":1.5,\"balance\":10.50,\"active\":true,\"tags\":[\"a\",\"b\"]},"
+                + "{\"id\":2,\"name\":\"Gr\\\"ace\",\"score\":null,\"balance\":null,\"active\":null,\"tags\":null}]", direct);
+        assertEquals(viaMaps, direct);
+    }
+
+    @Test
+    void appliesMappingTargetPaths() {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+
+        assertEquals("[{\"userId\":1,\"profile\":{\"name\":\"Ada\",\"score\":{\"value\":1.5}},\"active\":true},"
+                        + "{\"userId\":2,\"profile\":{\"name\":\"Gr\\\"ace\",\"score\":{\"value\":null}},\"active\":null}]",
+                json(writer -> mapper.nested(users(), writer)));
+        assertEquals("null", json(writer -> mapper.nested(null, writer)));
+        assertEquals("[]", json(writer -> mapper.nested(typedResult(COLUMNS, TYPES), writer)));
+    }
+
+    @Test
+    void runtimeWriterSkipsNullsAndCountsRows() {
+        JdbcJsonWriter writer = JdbcJsonWriter.builder()
+                .map("ID", "/user/id")
+                .ignore("tags")
+                .context(new StreamingContext(StreamingContext.StreamingMode.AUTO, false))
+                .build();
+        long[] count = {0};
+
+        assertEquals("[{\"user\":{\"id\":1},\"name\":\"Ada\",\"score\":1.5,\"balance\":10.50,\"active\":true},"
+                + "{\"user\":{\"id\":2},\"name\":\"Gr\\\"ace\"}]", json(out -> count[0] = writer.writeArray(users(), out)));
+        assertEquals(2, count[0]);
+    }
+
+    @Test
+    void rejectsConflictingTargetsAndWrapsSqlExceptions() {
+        JdbcJsonWriter conflicting = JdbcJsonWriter.builder().map("id", "$.name.id").build();
+        assertThrows(BindingException.class, () -> json(out -> conflicting.writeArray(users(), out)));
+        assertThrows(JsonException.class, () -> JdbcJsonWriter.builder().map("id", "$.items[0]"));
+
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+        assertInstanceOf(SQLException.class, assertThrows(BindingException.class,
+                () -> json(writer -> mapper.users(brokenResult(), writer))).getCause());
+    }
+
+    private static String json(Consumer<StreamingWriter> body) {
+        StringWriter out = new StringWriter();
+        try (SimpleJsonWriter writer = new SimpleJsonWriter(out)) {
+            body.accept(writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return out.toString();
+    }
+
+    @CompiledJdbcMapper
+    interface Mapper {
+        void users(ResultSet rs, StreamingWriter writer);
+
+        List<Map<String, Object>> maps(ResultSet rs);
+
+        @Mapping(target = "userId", source = "id")
+        @Mapping(target = "$.profile.name", source = "name")
+        @Mapping(target = "/profile/score/value", source = "score")
+        @Mapping(target = "balance", ignore = true)
+        @Mapping(target = "tags", ignore = true)
+        void nested(ResultSet rs, StreamingWriter writer);
+    }
+}
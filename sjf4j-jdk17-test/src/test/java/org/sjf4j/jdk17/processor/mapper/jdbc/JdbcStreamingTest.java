@@ -0,0 +1,182 @@
+package org.sjf4j.jdk17.processor.mapper.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.annotation.mapper.jdbc.ColumnProjectionPolicy;
+import org.sjf4j.annotation.mapper.jdbc.CompiledJdbcMapper;
+import org.sjf4j.annotation.mapper.jdbc.JdbcMapperOptions;
+import org.sjf4j.compiled.CompiledNodes;
+import org.sjf4j.exception.BindingException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.brokenFindColumnResult;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.brokenResult;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.indexedResult;
+import static org.sjf4j.jdk17.processor.mapper.jdbc.JdbcTestSupport.result;
+
+class JdbcStreamingTest {
+    private static final String[] COLUMNS = {"name", "age"};
+
+    @Test
+    void streamsRowsWithColumnsResolvedOnce() throws SQLException {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+        int[] findColumns = {0};
+
+        try (Stream<User> users = mapper.stream(indexedResult(COLUMNS, findColumns,
+                new Object[]{"Ada", 36}, new Object[]{"Grace", 45}, new Object[]{"Linus", 28}))) {
+            assertEquals(List.of("Ada", "Grace", "Linus"), users.map(user -> user.name).collect(Collectors.toList()));
+        }
+        assertEquals(2, findColumns[0]);
+
+        try (Stream<User> users = mapper.stream(indexedResult(COLUMNS, findColumns))) {
+            assertEquals(0, users.count());
+        }
+        assertEquals(2, findColumns[0]);
+        assertNull(mapper.stream(null));
+    }
+
+    @Test
+    void closedStreamStopsWithoutReadingAhead() throws SQLException {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+        ResultSet rs = indexedResult(COLUMNS, new int[]{0},
+                new Object[]{"Ada", 36}, new Object[]{"Grace", 45}, new Object[]{"Linus", 28});
+
+        try (Stream<User> users = mapper.stream(rs)) {
+            assertEquals("Ada", users.findFirst().orElseThrow().name);
+        }
+        // The caller still owns the cursor, which is positioned on the last mapped row.
+        assertTrue(rs.next());
+        assertEquals("Grace", rs.getString(1));
+    }
+
+    @Test
+    void iteratesLazilyAndLeavesCursorToCaller() throws SQLException {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+        ResultSet rs = indexedResult(COLUMNS, new int[]{0},
+                new Object[]{"Ada", 36}, new Object[]{"Grace", 45}, new Object[]{"Linus", 28});
+
+        Iterator<User> users = mapper.iterator(rs);
+        assertTrue(users.hasNext());
+        assertTrue(users.hasNext());
+        User first = users.next();
+        assertEquals("Ada", first.name);
+        assertEquals(36, first.age);
+        assertTrue(rs.next());
+        assertEquals("Grace", rs.getString(1));
+
+        Iterator<User> rest = mapper.iterator(rs);
+        assertEquals("Linus", rest.next().name);
+        assertFalse(rest.hasNext());
+        assertThrows(NoSuchElementException.class, rest::next);
+    }
+
+    @Test
+    void passesEachRowToConsumer() {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+        List<User> users = new ArrayList<>();
+        mapper.each(result(COLUMNS, new Object[]{"Ada", 36}, new Object[]{"Grace", 45}), users::add);
+        assertEquals(2, users.size());
+        assertEquals("Grace", users.get(1).name);
+        assertEquals(45, users.get(1).age);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        mapper.eachRow(result(new String[]{"name"}, new Object[]{"Ada"}, new Object[]{"Grace"}), rows::add);
+        assertEquals(List.of(Map.of("name", "Ada"), Map.of("name", "Grace")), rows);
+    }
+
+    @Test
+    void consumerExceptionsPropagateUnchanged() throws SQLException {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+        ResultSet rs = result(COLUMNS, new Object[]{"Ada", 36}, new Object[]{"Grace", 45}, new Object[]{"Linus", 28});
+        IllegalStateException failure = new IllegalStateException("stop");
+        int[] seen = {0};
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> mapper.each(rs, user -> {
+            seen[0]++;
+            throw failure;
+        })));
+        assertEquals(1, seen[0]);
+        assertTrue(rs.next());
+        assertEquals("Grace", rs.getString("name"));
+    }
+
+    @Test
+    void streamsMapsAndPresentColumns() {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+
+        try (Stream<Map<String, Object>> rows = mapper.rows(result(new String[]{"name", "age"},
+                new Object[]{"Ada", 36}, new Object[]{"Grace", 45}))) {
+            assertEquals(List.of(Map.of("name", "Ada", "age", 36), Map.of("name", "Grace", "age", 45)),
+                    rows.collect(Collectors.toList()));
+        }
+
+        Iterator<Present> present = mapper.present(result(new String[]{"name"}, new Object[]{"Ada"}, new Object[]{"Grace"}));
+        Present first = present.next();
+        assertEquals("Ada", first.name);
+        assertEquals(7, first.age);
+        assertEquals("Grace", present.next().name);
+        assertFalse(present.hasNext());
+    }
+
+    @Test
+    void wrapsSqlExceptionsAndEndsIteration() {
+        Mapper mapper = CompiledNodes.instanceOf(Mapper.class);
+
+        assertInstanceOf(SQLException.class, assertThrows(BindingException.class,
+                () -> mapper.stream(brokenResult()).count()).getCause());
+        assertInstanceOf(SQLException.class, assertThrows(BindingException.class,
+                () -> mapper.each(brokenFindColumnResult(), user -> { })).getCause());
+
+        Iterator<User> users = mapper.iterator(brokenFindColumnResult());
+        assertInstanceOf(SQLException.class, assertThrows(BindingException.class, users::hasNext).getCause());
+        assertFalse(users.hasNext());
+    }
+
+    @CompiledJdbcMapper
+    interface Mapper {
+        Stream<User> stream(ResultSet rs);
+
+        Iterator<User> iterator(ResultSet rs);
+
+        void each(ResultSet rs, Consumer<? super User> action);
+
+        void eachRow(ResultSet rs, Consumer<Map<String, Object>> action);
+
+        Stream<Map<String, Object>> rows(ResultSet rs);
+
+        @JdbcMapperOptions(columnProjection = ColumnProjectionPolicy.PRESENT_ONLY)
+        Iterator<Present> present(ResultSet rs);
+    }
+
+    static class User {
+        public String name;
+        public int age;
+
+        public User() {
+        }
+    }
+
+    static class Present {
+        public String name;
+        public int age = 7;
+
+        public Present() {
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package org.sjf4j.jdk17.processor.mapper.jdbc;
 
 import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 
 final class JdbcTestSupport {
@@ -129,6 +131,78 @@ final class JdbcTestSupport {
                 });
     }
 
+    static ResultSet typedResult(String[] columns, int[] types, Object[]... rows) {
+        int[] row = {-1};
+        Object[] last = {null};
+        return (ResultSet) Proxy.newProxyInstance(JdbcTestSupport.class.getClassLoader(),
+                new Class[]{ResultSet.class}, (proxy, method, arguments) -> {
+                    if (method.getName().equals("next")) {
+                        return ++row[0] < rows.length;
+                    }
+                    if (method.getName().equals("getMetaData")) {
+                        return metadata(columns, types);
+                    }
+                    if (method.getName().equals("wasNull")) {
+                        return last[0] == null;
+                    }
+                    if (method.getName().startsWith("get")) {
+                        Object value = last[0] = rows[row[0]][indexedColumn(arguments[0]) - 1];
+                        switch (method.getName()) {
+                            case "getLong":
+                                return value == null ? 0L : ((Number) value).longValue();
+                            case "getDouble":
+                                return value == null ? 0.0 : ((Number) value).doubleValue();
+                            case "getBoolean":
+                                return value != null && (Boolean) value;
+                            case "getObject":
+                            case "getString":
+                            case "getBigDecimal":
+                                return value;
+                            default:
+                                throw new AssertionError("unexpected getter " + method.getName());
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Records parameter setters as {@code setXxx(index, value)} entries, plus {@code addBatch} and
+     * {@code executeBatch}; each executed batch reports one update per pending row.
+     */
+    static PreparedStatement recordingStatement(List<String> calls) {
+        int[] pending = {0};
+        return (PreparedStatement) Proxy.newProxyInstance(JdbcTestSupport.class.getClassLoader(),
+                new Class[]{PreparedStatement.class}, (proxy, method, arguments) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set")) {
+                        Object value = arguments[1] instanceof byte[] ? Arrays.toString((byte[]) arguments[1]) : arguments[1];
+                        calls.add(name + "(" + arguments[0] + ", " + value + ")");
+                        return null;
+                    }
+                    if (name.equals("addBatch")) {
+                        pending[0]++;
+                        calls.add(name);
+                        return null;
+                    }
+                    if (name.equals("executeBatch")) {
+                        int[] counts = new int[pending[0]];
+                        Arrays.fill(counts, 1);
+                        pending[0] = 0;
+                        calls.add(name);
+                        return counts;
+                    }
+                    return null;
+                });
+    }
+
+    static PreparedStatement brokenStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(JdbcTestSupport.class.getClassLoader(),
+                new Class[]{PreparedStatement.class}, (proxy, method, arguments) -> {
+                    throw new SQLException("broken");
+                });
+    }
+
     static ResultSet brokenResult() {
         return broken("next");
     }
@@ -168,6 +242,10 @@ final class JdbcTestSupport {
     }
 
     private static ResultSetMetaData metadata(String[] columns) {
+        return metadata(columns, null);
+    }
+
+    private static ResultSetMetaData metadata(String[] columns, int[] types) {
         return (ResultSetMetaData) Proxy.newProxyInstance(JdbcTestSupport.class.getClassLoader(),
                 new Class[]{ResultSetMetaData.class}, (proxy, method, arguments) -> {
                     if (method.getName().equals("getColumnCount")) {
@@ -176,6 +254,9 @@ final class JdbcTestSupport {
                     if (method.getName().equals("getColumnLabel")) {
                         return columns[(Integer) arguments[0] - 1];
                     }
+                    if (method.getName().equals("getColumnType") && types != null) {
+                        return types[(Integer) arguments[0] - 1];
+                    }
                     return null;
                 });
     }
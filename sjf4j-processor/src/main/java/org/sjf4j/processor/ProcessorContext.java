@@ -58,4 +58,11 @@ public final class ProcessorContext {
     public void error(Element element, String message) {
         messager.printMessage(Diagnostic.Kind.ERROR, message, element);
     }
+
+    /**
+     * Reports a compile warning attached to the supplied source element.
+     */
+    public void warning(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
 }
@@ -1,28 +1,37 @@
 package org.sjf4j.processor;
 
+import org.sjf4j.annotation.node.CompiledCodec;
+import org.sjf4j.annotation.node.CompiledPojo;
 import org.sjf4j.annotation.path.CompiledPath;
 import org.sjf4j.annotation.mapper.CompiledMapper;
 import org.sjf4j.annotation.mapper.MapperOptions;
+import org.sjf4j.annotation.mapper.jdbc.CompiledJdbcBinder;
 import org.sjf4j.annotation.mapper.jdbc.CompiledJdbcMapper;
 import org.sjf4j.annotation.mapper.jdbc.JdbcMapperOptions;
+import org.sjf4j.annotation.mapper.jdbc.JdbcParameters;
 import org.sjf4j.processor.path.PathGenerator;
 import org.sjf4j.processor.mapper.MapperGenerator;
+import org.sjf4j.processor.mapper.JdbcBinderGenerator;
 import org.sjf4j.processor.mapper.JdbcMapperGenerator;
+import org.sjf4j.processor.node.PojoInfoGenerator;
+import org.sjf4j.processor.node.StreamingCodecGenerator;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
- * Annotation processor entry point for SJF4J compiled path and mapper
- * interfaces.
+ * Annotation processor entry point for SJF4J compiled path, mapper, and JDBC
+ * binder interfaces, and for build-time POJO metadata.
  *
  * <p>The entry point keeps round handling intentionally small: it validates that
  * method-level annotations are attached to the proper owning interface, then
@@ -31,6 +40,12 @@ import java.util.Set;
  * cross-feature annotation rules centralized without mixing path and mapper code
  * generation logic.</p>
  *
+ * <p>{@code @CompiledPojo} classes, and every class in the packages named by the
+ * {@code sjf4j.compiledPojoPackages} option, are handed to
+ * {@link PojoInfoGenerator}; its {@code ServiceLoader} registration is written
+ * once, in the final round.  {@code @CompiledCodec} classes are handed to
+ * {@link StreamingCodecGenerator}.</p>
+ *
  * <p>The processor returns {@code false} from {@link #process(Set,
  * RoundEnvironment)} so other processors can still observe SJF4J annotations in
  * the same compilation.</p>
@@ -46,6 +61,8 @@ import java.util.Set;
 
         "org.sjf4j.annotation.mapper.CompiledMapper",
          "org.sjf4j.annotation.mapper.jdbc.CompiledJdbcMapper",
+        "org.sjf4j.annotation.mapper.jdbc.CompiledJdbcBinder",
+        "org.sjf4j.annotation.mapper.jdbc.JdbcParameters",
         "org.sjf4j.annotation.mapper.Mapping",
         "org.sjf4j.annotation.mapper.Mappings",
         "org.sjf4j.annotation.mapper.MapperOptions",
@@ -53,18 +70,26 @@ import java.util.Set;
         "org.sjf4j.annotation.mapper.MappingCreator",
         "org.sjf4j.annotation.mapper.MappingCreators",
         "org.sjf4j.annotation.mapper.MappingIfParentPresent",
-        "org.sjf4j.annotation.mapper.EnsureMapping"
+        "org.sjf4j.annotation.mapper.EnsureMapping",
+
+        "org.sjf4j.annotation.node.CompiledPojo",
+        "org.sjf4j.annotation.node.CompiledCodec"
 })
+@SupportedOptions(PojoInfoGenerator.PACKAGES_OPTION)
 public final class Sjf4jProcessor extends AbstractProcessor {
 
     private static final String ANNO_COMPILED_PATH = CompiledPath.class.getName();
     private static final String ANNO_COMPILED_MAPPER = CompiledMapper.class.getName();
     private static final String ANNO_COMPILED_JDBC_MAPPER = CompiledJdbcMapper.class.getName();
+    private static final String ANNO_COMPILED_JDBC_BINDER = CompiledJdbcBinder.class.getName();
 
     private ProcessorContext context;
     private PathGenerator pathGenerator;
     private MapperGenerator mapperGenerator;
     private JdbcMapperGenerator jdbcMapperGenerator;
+    private JdbcBinderGenerator jdbcBinderGenerator;
+    private PojoInfoGenerator pojoInfoGenerator;
+    private StreamingCodecGenerator streamingCodecGenerator;
 
     /**
      * Uses the newest source level supported by the current compiler.
@@ -74,6 +99,20 @@ public final class Sjf4jProcessor extends AbstractProcessor {
         return SourceVersion.latestSupported();
     }
 
+    /**
+     * Claims every root element when whole packages are listed for
+     * {@code PojoInfo} generation, since those classes carry no SJF4J annotation.
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> types = super.getSupportedAnnotationTypes();
+        String packages = processingEnv == null ? null : processingEnv.getOptions().get(PojoInfoGenerator.PACKAGES_OPTION);
+        if (packages == null || packages.trim().isEmpty()) return types;
+        Set<String> all = new LinkedHashSet<>(types);
+        all.add("*");
+        return all;
+    }
+
     /**
      * Initializes shared processor state and generators for this compiler run.
      */
@@ -84,11 +123,17 @@ public final class Sjf4jProcessor extends AbstractProcessor {
         this.pathGenerator = new PathGenerator(context);
         this.mapperGenerator = new MapperGenerator(context);
         this.jdbcMapperGenerator = new JdbcMapperGenerator(context);
+        this.jdbcBinderGenerator = new JdbcBinderGenerator(context);
+        this.pojoInfoGenerator = new PojoInfoGenerator(context,
+                processingEnv.getOptions().get(PojoInfoGenerator.PACKAGES_OPTION));
+        this.streamingCodecGenerator = new StreamingCodecGenerator(context);
     }
 
     /**
      * Validates annotation placement and emits implementations for discovered
-     * {@code @CompiledPath} and {@code @CompiledMapper} interfaces.
+     * {@code @CompiledPath} and {@code @CompiledMapper} interfaces, plus
+     * {@code PojoInfo} providers for {@code @CompiledPojo} models and streaming
+     * codecs for {@code @CompiledCodec} models.
      */
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
@@ -118,6 +163,32 @@ public final class Sjf4jProcessor extends AbstractProcessor {
                 jdbcMapperGenerator.generate((TypeElement) element);
             }
         }
+        for (Element element : roundEnv.getElementsAnnotatedWith(CompiledJdbcBinder.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                context.error(element, "@CompiledJdbcBinder can be applied only to interfaces");
+            } else if (element.getAnnotation(CompiledMapper.class) != null
+                    || element.getAnnotation(CompiledJdbcMapper.class) != null) {
+                context.error(element, "An interface cannot be annotated with both @CompiledJdbcBinder and a mapper annotation");
+            } else {
+                jdbcBinderGenerator.generate((TypeElement) element);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(CompiledPojo.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                context.error(element, "@CompiledPojo can be applied only to classes");
+            } else {
+                pojoInfoGenerator.generateAnnotated((TypeElement) element);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(CompiledCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                context.error(element, "@CompiledCodec can be applied only to classes");
+            } else {
+                streamingCodecGenerator.generate((TypeElement) element);
+            }
+        }
+        pojoInfoGenerator.generateListed(roundEnv.getRootElements());
+        if (roundEnv.processingOver()) pojoInfoGenerator.finish();
         return false;
     }
 
@@ -131,7 +202,10 @@ public final class Sjf4jProcessor extends AbstractProcessor {
     private void validateAnnotation(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         for (TypeElement anno : annotations) {
             String annoName = anno.getQualifiedName().toString();
-            if (ANNO_COMPILED_PATH.equals(annoName) || ANNO_COMPILED_MAPPER.equals(annoName) || ANNO_COMPILED_JDBC_MAPPER.equals(annoName)) continue;
+            if (!annoName.startsWith("org.sjf4j.annotation.path.")
+                    && !annoName.startsWith("org.sjf4j.annotation.mapper.")) continue;
+            if (ANNO_COMPILED_PATH.equals(annoName) || ANNO_COMPILED_MAPPER.equals(annoName)
+                    || ANNO_COMPILED_JDBC_MAPPER.equals(annoName) || ANNO_COMPILED_JDBC_BINDER.equals(annoName)) continue;
             for (Element element : roundEnv.getElementsAnnotatedWith(anno)) {
                 if ("org.sjf4j.annotation.mapper.MappingCreator".equals(annoName)
                         || "org.sjf4j.annotation.mapper.MappingCreators".equals(annoName)) {
@@ -154,7 +228,11 @@ public final class Sjf4jProcessor extends AbstractProcessor {
                     context.error(element, "@" + anno.getSimpleName() + " can be applied only to methods");
                 } else {
                     Element owner = element.getEnclosingElement();
-                    if (annoName.startsWith("org.sjf4j.annotation.mapper.")) {
+                    if (JdbcParameters.class.getName().equals(annoName)) {
+                        if (owner.getKind() != ElementKind.INTERFACE || owner.getAnnotation(CompiledJdbcBinder.class) == null) {
+                            context.error(element, "@JdbcParameters is valid only on methods in an @CompiledJdbcBinder interface");
+                        }
+                    } else if (annoName.startsWith("org.sjf4j.annotation.mapper.")) {
                         if (MapperOptions.class.getName().equals(annoName)
                                 && owner.getKind() == ElementKind.INTERFACE
                                 && owner.getAnnotation(CompiledJdbcMapper.class) != null) {
@@ -0,0 +1,448 @@
+package org.sjf4j.processor.mapper;
+
+import org.sjf4j.annotation.mapper.jdbc.JdbcParameters;
+import org.sjf4j.annotation.node.NodeProperty;
+import org.sjf4j.annotation.node.NodeValue;
+import org.sjf4j.processor.GeneratedClass;
+import org.sjf4j.processor.GeneratorUtil;
+import org.sjf4j.processor.NameAllocator;
+import org.sjf4j.processor.ProcessorContext;
+import org.sjf4j.processor.SourceWriter;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Emits direct {@code PreparedStatement} parameter binders for {@code @CompiledJdbcBinder} interfaces.
+ * Property access and the JDBC setter for each parameter are fixed at compile time; batch methods
+ * delegate flushing to the shared {@code JdbcBatch} runtime helper.
+ */
+public final class JdbcBinderGenerator {
+    private final ProcessorContext ctx;
+    private NameAllocator helperNames;
+    private Map<String, String> codecFields;
+
+    public JdbcBinderGenerator(ProcessorContext ctx) {
+        this.ctx = ctx;
+    }
+
+    public void generate(TypeElement iface) {
+        if (!validateInterface(iface)) return;
+        GeneratedClass out = new GeneratedClass(ctx, iface, GeneratorUtil.COMPILED_IMPL_POSTFIX);
+        helperNames = new NameAllocator();
+        codecFields = new HashMap<String, String>();
+        for (Element member : ctx.elements.getAllMembers(iface)) {
+            if (member.getKind() == ElementKind.METHOD) {
+                helperNames.reserve(member.getSimpleName().toString());
+            }
+        }
+
+        Set<String> names = new HashSet<String>();
+        for (Element member : iface.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD) continue;
+            if (!member.getModifiers().contains(Modifier.ABSTRACT)) continue;
+
+            ExecutableElement method = (ExecutableElement) member;
+            if (!names.add(method.getSimpleName().toString())) {
+                error(method, "@CompiledJdbcBinder does not support overloaded binder method names");
+                return;
+            }
+            if (!generateMethod(method, out)) return;
+        }
+        out.emit();
+    }
+
+    private boolean validateInterface(TypeElement iface) {
+        if (!iface.getTypeParameters().isEmpty()) {
+            error(iface, "@CompiledJdbcBinder interfaces must not declare type parameters");
+            return false;
+        }
+        for (Element member : ctx.elements.getAllMembers(iface)) {
+            if (member.getKind() != ElementKind.METHOD) continue;
+            if (!member.getModifiers().contains(Modifier.ABSTRACT)) continue;
+            if (!((ExecutableElement) member).getTypeParameters().isEmpty()) {
+                error(member, "@CompiledJdbcBinder methods must not declare type parameters");
+                return false;
+            }
+            if (member.getEnclosingElement().equals(iface)) continue;
+            error(member, "Inherited abstract binder methods are not supported; declare methods directly");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean generateMethod(ExecutableElement method, GeneratedClass out) {
+        if (!binderAnnotationsOnly(method)) return false;
+        List<? extends VariableElement> parameters = method.getParameters();
+        boolean batch = parameters.size() == 3;
+        if ((parameters.size() != 2 && !batch)
+                || !is(parameters.get(0).asType(), "java.sql.PreparedStatement")
+                || (batch && parameters.get(2).asType().getKind() != TypeKind.INT)) {
+            error(method, "@CompiledJdbcBinder methods must be void m(PreparedStatement, T) or "
+                    + "int[] m(PreparedStatement, Iterable<T>, int flushSize)");
+            return false;
+        }
+        TypeMirror returnType = method.getReturnType();
+        if (batch ? returnType.getKind() != TypeKind.VOID && !is(returnType, "int[]")
+                : returnType.getKind() != TypeKind.VOID) {
+            error(method, batch ? "@CompiledJdbcBinder batch methods must return void or int[]"
+                    : "@CompiledJdbcBinder bind methods must return void");
+            return false;
+        }
+
+        TypeMirror value = parameters.get(1).asType();
+        if (batch) {
+            value = elementType(value);
+            if (value == null) {
+                error(method, "@CompiledJdbcBinder batch methods require an Iterable<T> values parameter");
+                return false;
+            }
+        }
+        if (value.getKind() != TypeKind.DECLARED || GeneratorUtil.asTypeElement(value) == null
+                || GeneratorUtil.asTypeElement(value).getKind() == ElementKind.ENUM) {
+            error(method, "@CompiledJdbcBinder requires a POJO, record, or JOJO value type");
+            return false;
+        }
+
+        List<Parameter> plan = plan(method, value, out);
+        if (plan == null) return false;
+
+        String helper = helperNames.local(method.getSimpleName() + "_Params");
+        final TypeMirror finalValue = value;
+        out.addMethod(writer -> {
+            if (batch) emitBatchMethod(writer, method, helper);
+            else emitBindMethod(writer, method, helper);
+        });
+        out.addHelper(writer -> emitParams(writer, finalValue, plan, helper));
+        return true;
+    }
+
+    private boolean binderAnnotationsOnly(ExecutableElement method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            TypeElement element = (TypeElement) annotation.getAnnotationType().asElement();
+            String name = element.getQualifiedName().toString();
+            if (name.equals(JdbcParameters.class.getName())) continue;
+            if (name.startsWith("org.sjf4j.annotation.mapper.")) {
+                error(method, "@CompiledJdbcBinder does not support " + element.getSimpleName());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TypeMirror elementType(TypeMirror values) {
+        TypeElement iterable = ctx.elements.getTypeElement("java.lang.Iterable");
+        if (values.getKind() != TypeKind.DECLARED
+                || !ctx.types.isAssignable(ctx.types.erasure(values), ctx.types.erasure(iterable.asType()))) {
+            return null;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) values).getTypeArguments();
+        if (arguments.size() != 1) return null;
+        TypeMirror element = arguments.get(0);
+        if (element.getKind() == TypeKind.WILDCARD) element = ((WildcardType) element).getExtendsBound();
+        return element;
+    }
+
+
+    /// Plan
+
+    /**
+     * Resolves the statement parameters in placeholder order. Without {@code @JdbcParameters}, the
+     * declared instance fields of the value type, superclass fields first, define the order; fields
+     * without a public field or getter are not properties and are skipped.
+     */
+    private List<Parameter> plan(ExecutableElement method, TypeMirror type, GeneratedClass out) {
+        TypeElement element = GeneratorUtil.asTypeElement(type);
+        boolean jojo = GeneratorUtil.isJojoType(ctx, type);
+        LinkedHashMap<String, Parameter> declared = new LinkedHashMap<String, Parameter>();
+        for (TypeElement owner : hierarchy(element)) {
+            for (Element member : owner.getEnclosedElements()) {
+                if (member.getKind() != ElementKind.FIELD) continue;
+                Set<Modifier> modifiers = member.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+                String javaName = member.getSimpleName().toString();
+                String name = GeneratorUtil.nodePropertyName(member, javaName);
+                Parameter parameter = modifiers.contains(Modifier.PUBLIC)
+                        ? fieldParameter(type, (VariableElement) member, name)
+                        : getterParameter(type, element, javaName, name, member);
+                if (parameter == null) parameter = getterParameter(type, element, name, name, member);
+                if (parameter != null) declared.put(name, parameter);
+            }
+        }
+
+        JdbcParameters parameters = method.getAnnotation(JdbcParameters.class);
+        List<Parameter> plan = new ArrayList<Parameter>();
+        if (parameters == null) {
+            plan.addAll(declared.values());
+        } else {
+            for (String name : parameters.value()) {
+                Parameter parameter = declared.get(name);
+                if (parameter == null) parameter = lookupParameter(type, element, name, jojo);
+                if (parameter == null) {
+                    error(method, "Cannot resolve readable property '" + name + "' on " + type);
+                    return null;
+                }
+                plan.add(parameter);
+            }
+        }
+        if (plan.isEmpty()) {
+            error(method, "@CompiledJdbcBinder value type " + type + " has no readable properties; use @JdbcParameters");
+            return null;
+        }
+        for (Parameter parameter : plan) {
+            if (!resolveBinding(method, parameter, out)) return null;
+        }
+        return plan;
+    }
+
+    private List<TypeElement> hierarchy(TypeElement element) {
+        List<TypeElement> types = new ArrayList<TypeElement>();
+        for (TypeElement current = element; current != null; ) {
+            String name = current.getQualifiedName().toString();
+            if (name.equals("java.lang.Object") || name.equals("java.lang.Record")
+                    || name.equals("org.sjf4j.JsonObject")) break;
+            types.add(current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? GeneratorUtil.asTypeElement(superclass) : null;
+        }
+        Collections.reverse(types);
+        return types;
+    }
+
+    private Parameter lookupParameter(TypeMirror type, TypeElement element, String name, boolean jojo) {
+        ExecutableElement getter = jojo ? GeneratorUtil.findJojoReadable(ctx, element, type, name)
+                : GeneratorUtil.findReadable(ctx, element, type, name);
+        if (getter != null) {
+            TypeMirror getterType = ((ExecutableType) ctx.types.asMemberOf((DeclaredType) type, getter)).getReturnType();
+            return new Parameter(name, getterType, "value." + getter.getSimpleName() + "()", getter, null);
+        }
+        VariableElement field = jojo ? GeneratorUtil.findJojoReadableField(ctx, element, name)
+                : GeneratorUtil.findReadableField(ctx, element, name);
+        if (field != null) return fieldParameter(type, field, name);
+        if (!jojo) return null;
+        // Names without a declared JOJO property come from the dynamic map at bind time.
+        return new Parameter(name, ctx.elements.getTypeElement("java.lang.Object").asType(),
+                "value.getNode(\"" + GeneratorUtil.escape(name) + "\")", null, null);
+    }
+
+    private Parameter fieldParameter(TypeMirror type, VariableElement field, String name) {
+        return new Parameter(name, ctx.types.asMemberOf((DeclaredType) type, field),
+                "value." + field.getSimpleName(), field, null);
+    }
+
+    private Parameter getterParameter(TypeMirror type, TypeElement element, String lookup, String name, Element field) {
+        ExecutableElement getter = GeneratorUtil.findReadable(ctx, element, type, lookup);
+        if (getter == null || GeneratorUtil.isJsonBaseMember(getter)) return null;
+        TypeMirror getterType = ((ExecutableType) ctx.types.asMemberOf((DeclaredType) type, getter)).getReturnType();
+        return new Parameter(name, getterType, "value." + getter.getSimpleName() + "()", getter, field);
+    }
+
+
+    /// Bindings
+
+    /**
+     * Chooses the JDBC setter. An explicit {@code codecName}/{@code codecPattern} or a
+     * {@code @NodeValue} type binds the codec's raw value; otherwise JDBC-native types use their setter.
+     */
+    private boolean resolveBinding(ExecutableElement method, Parameter parameter, GeneratedClass out) {
+        NodeProperty property = nodeProperty(parameter.member);
+        if (property == null) property = nodeProperty(parameter.field);
+        String codecName = property == null || NodeProperty.CODEC_NAME_UNSET.equals(property.codecName())
+                ? null : property.codecName();
+        String codecPattern = property == null || property.codecPattern().isEmpty() ? null : property.codecPattern();
+        TypeElement element = GeneratorUtil.asTypeElement(parameter.type);
+        if (codecName != null || codecPattern != null
+                || (element != null && element.getAnnotation(NodeValue.class) != null)) {
+            parameter.codec = codecField(out, parameter.type, codecName, codecPattern);
+            parameter.setter = "setObject";
+            parameter.sqlType = "NULL";
+            return true;
+        }
+        String name = parameter.type.toString();
+        if (parameter.type.getKind().isPrimitive()) {
+            String boxed = ctx.types.boxedClass((javax.lang.model.type.PrimitiveType) parameter.type)
+                    .getQualifiedName().toString();
+            if (!jdbcNative(parameter, boxed)) return false;
+            parameter.primitive = true;
+            return true;
+        }
+        if (element != null && element.getKind() == ElementKind.ENUM) {
+            parameter.setter = "setString";
+            parameter.conversion = "%s.name()";
+            parameter.sqlType = "VARCHAR";
+            return true;
+        }
+        if (jdbcNative(parameter, name)) return true;
+        error(method, "Unsupported JDBC parameter property '" + parameter.name + "' of type " + parameter.type
+                + "; declare @NodeProperty(codecName = ...) to bind it through a ValueCodec");
+        return false;
+    }
+
+    private static boolean jdbcNative(Parameter parameter, String type) {
+        switch (type) {
+            case "java.lang.Integer": return set(parameter, "setInt", null, "INTEGER");
+            case "java.lang.Long": return set(parameter, "setLong", null, "BIGINT");
+            case "java.lang.Short": return set(parameter, "setShort", null, "SMALLINT");
+            case "java.lang.Byte": return set(parameter, "setByte", null, "TINYINT");
+            case "java.lang.Double": return set(parameter, "setDouble", null, "DOUBLE");
+            case "java.lang.Float": return set(parameter, "setFloat", null, "REAL");
+            case "java.lang.Boolean": return set(parameter, "setBoolean", null, "BOOLEAN");
+            case "java.lang.Character": return set(parameter, "setString", "String.valueOf(%s)", "CHAR");
+            case "java.lang.String": return set(parameter, "setString", null, "VARCHAR");
+            case "java.math.BigDecimal": return set(parameter, "setBigDecimal", null, "DECIMAL");
+            case "java.math.BigInteger": return set(parameter, "setBigDecimal", "new java.math.BigDecimal(%s)", "DECIMAL");
+            case "java.sql.Date": return set(parameter, "setDate", null, "DATE");
+            case "java.sql.Time": return set(parameter, "setTime", null, "TIME");
+            case "java.sql.Timestamp": return set(parameter, "setTimestamp", null, "TIMESTAMP");
+            case "java.time.Instant": return set(parameter, "setTimestamp", "java.sql.Timestamp.from(%s)", "TIMESTAMP");
+            case "java.time.LocalDate": return set(parameter, "setObject", null, "DATE");
+            case "java.time.LocalTime": return set(parameter, "setObject", null, "TIME");
+            case "java.time.LocalDateTime": return set(parameter, "setObject", null, "TIMESTAMP");
+            case "java.time.OffsetDateTime": return set(parameter, "setObject", null, "TIMESTAMP_WITH_TIMEZONE");
+            case "java.util.UUID": return set(parameter, "setObject", null, "OTHER");
+            case "java.lang.Object": return set(parameter, "setObject", null, "NULL");
+            case "byte[]": return set(parameter, "setBytes", null, "VARBINARY");
+            default: return false;
+        }
+    }
+
+    private static boolean set(Parameter parameter, String setter, String conversion, String sqlType) {
+        parameter.setter = setter;
+        parameter.conversion = conversion;
+        parameter.sqlType = sqlType;
+        return true;
+    }
+
+    private static NodeProperty nodeProperty(Element member) {
+        return member == null ? null : member.getAnnotation(NodeProperty.class);
+    }
+
+    private String codecField(GeneratedClass out, TypeMirror type, String codecName, String codecPattern) {
+        TypeMirror raw = ctx.types.erasure(GeneratorUtil.boxed(ctx, type));
+        String arguments = raw + ".class, \"" + GeneratorUtil.escape(codecName == null ? "" : codecName) + "\""
+                + (codecPattern == null ? "" : ", \"" + GeneratorUtil.escape(codecPattern) + "\"");
+        String existing = codecFields.get(arguments);
+        if (existing != null) return existing;
+        String field = helperNames.local("_sjf4j_codec_" + codecFields.size());
+        codecFields.put(arguments, field);
+        out.addField(writer -> writer.line("private static final org.sjf4j.node.NodeRegistry.ValueCodecInfo " + field
+                + " = org.sjf4j.node.NodeRegistry.resolveValueCodecOrElseThrow(" + arguments + ");"));
+        return field;
+    }
+
+
+    /// Emit
+
+    private void emitBindMethod(SourceWriter writer, ExecutableElement method, String helper) {
+        writer.line("");
+        writer.line("@Override");
+        writer.line("public void " + method.getSimpleName() + "(java.sql.PreparedStatement ps, "
+                + method.getParameters().get(1).asType() + " value) {");
+        writer.indent();
+        writer.line("try {");
+        writer.indent();
+        writer.line(helper + "(ps, value);");
+        writer.dedent();
+        writer.line("} catch (java.sql.SQLException e) {");
+        writer.indent();
+        writer.line("throw new org.sjf4j.exception.BindingException(\"Failed to bind JDBC parameters\", e);");
+        writer.dedent();
+        writer.line("}");
+        writer.dedent();
+        writer.line("}");
+    }
+
+    private void emitBatchMethod(SourceWriter writer, ExecutableElement method, String helper) {
+        boolean counts = method.getReturnType().getKind() != TypeKind.VOID;
+        TypeMirror value = elementType(method.getParameters().get(1).asType());
+        writer.line("");
+        writer.line("@Override");
+        writer.line("public " + method.getReturnType() + " " + method.getSimpleName() + "(java.sql.PreparedStatement ps, "
+                + method.getParameters().get(1).asType() + " values, int flushSize) {");
+        writer.indent();
+        writer.line((counts ? "return " : "") + "org.sjf4j.compiled.JdbcBatch.<" + value + ">execute(ps, values, flushSize, "
+                + "(statement, value) -> " + helper + "(statement, value));");
+        writer.dedent();
+        writer.line("}");
+    }
+
+    private void emitParams(SourceWriter writer, TypeMirror type, List<Parameter> plan, String helper) {
+        NameAllocator locals = new NameAllocator();
+        locals.reserve("ps");
+        locals.reserve("value");
+        writer.line("");
+        writer.line("private static void " + helper + "(java.sql.PreparedStatement ps, " + type
+                + " value) throws java.sql.SQLException {");
+        writer.indent();
+        writer.line("if (value == null) {");
+        writer.indent();
+        writer.line("throw new org.sjf4j.exception.BindingException(\"Cannot bind JDBC parameters from a null value\");");
+        writer.dedent();
+        writer.line("}");
+        for (int index = 0; index < plan.size(); index++) {
+            Parameter parameter = plan.get(index);
+            int position = index + 1;
+            if (parameter.primitive) {
+                String read = parameter.conversion == null ? parameter.read
+                        : String.format(parameter.conversion, parameter.read);
+                writer.line("ps." + parameter.setter + "(" + position + ", " + read + ");");
+                continue;
+            }
+            String local = locals.local("p" + position);
+            writer.line(GeneratorUtil.boxed(ctx, parameter.type) + " " + local + " = " + parameter.read + ";");
+            String bound = parameter.codec != null ? parameter.codec + ".valueToRaw(" + local + ")"
+                    : parameter.conversion == null ? local : String.format(parameter.conversion, local);
+            writer.line("if (" + local + " == null) ps.setNull(" + position + ", java.sql.Types." + parameter.sqlType + ");");
+            writer.line("else ps." + parameter.setter + "(" + position + ", " + bound + ");");
+        }
+        writer.dedent();
+        writer.line("}");
+    }
+
+    private boolean is(TypeMirror type, String name) {
+        return type.toString().equals(name);
+    }
+
+    private void error(Element element, String message) {
+        ctx.error(element, message);
+    }
+
+    private static final class Parameter {
+        final String name;
+        final TypeMirror type;
+        final String read;
+        final Element member;
+        final Element field;
+        String setter;
+        String conversion;
+        String sqlType;
+        String codec;
+        boolean primitive;
+
+        Parameter(String name, TypeMirror type, String read, Element member, Element field) {
+            this.name = name;
+            this.type = type;
+            this.read = read;
+            this.member = member;
+            this.field = field;
+        }
+    }
+}
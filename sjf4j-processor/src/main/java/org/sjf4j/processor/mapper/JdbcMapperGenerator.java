@@ -108,29 +108,54 @@ public final class JdbcMapperGenerator {
 
     private boolean generateMethod(TypeElement iface, ExecutableElement method, TypeMirror returnType, GeneratedClass out) {
         if (!jdbcAnnotationsOnly(method)) return false;
-        if (method.getReturnType().getKind() == TypeKind.VOID) {
+        if (method.getParameters().size() == 2
+                && is(method.getParameters().get(1).asType(), "org.sjf4j.facade.StreamingWriter")) {
+            return generateJsonMethod(method, out);
+        }
+        boolean callback = method.getParameters().size() == 2
+                && isDeclared(method.getParameters().get(1).asType(), "java.util.function.Consumer");
+        if (method.getReturnType().getKind() == TypeKind.VOID && !callback) {
             error(method, "@CompiledJdbcMapper does not support update methods");
             return false;
         }
-        boolean currentRow = method.getParameters().size() == 2;
-        if ((method.getParameters().size() != 1 && !currentRow)
+        if (callback && method.getReturnType().getKind() != TypeKind.VOID) {
+            error(method, "@CompiledJdbcMapper Consumer methods must return void");
+            return false;
+        }
+        boolean currentRow = method.getParameters().size() == 2 && !callback;
+        if ((method.getParameters().size() != 1 && !currentRow && !callback)
                 || !is(method.getParameters().get(0).asType(), "java.sql.ResultSet")
                 || (currentRow && method.getParameters().get(1).asType().getKind() != TypeKind.INT)) {
-            error(method, "@CompiledJdbcMapper methods must have ResultSet or ResultSet, int parameters");
+            error(method, "@CompiledJdbcMapper methods must have ResultSet, ResultSet, int, or ResultSet, Consumer parameters");
             return false;
         }
 
         TypeMirror row = returnType;
-        boolean list = false;
-        if (isDeclared(row, "java.util.List")) {
+        RowsShape shape = RowsShape.SINGLE;
+        if (callback) {
+            row = method.getParameters().get(1).asType();
+            shape = RowsShape.CONSUMER;
+        } else if (isDeclared(row, "java.util.List")) {
+            shape = RowsShape.LIST;
+        } else if (isDeclared(row, "java.util.stream.Stream")) {
+            shape = RowsShape.STREAM;
+        } else if (isDeclared(row, "java.util.Iterator")) {
+            shape = RowsShape.ITERATOR;
+        }
+        if (shape != RowsShape.SINGLE) {
             List<? extends TypeMirror> arguments = ((DeclaredType) row).getTypeArguments();
-            if (arguments.size() != 1 || arguments.get(0).getKind() != TypeKind.DECLARED) {
-                error(method, "@CompiledJdbcMapper List results must declare an element type");
+            TypeMirror element = arguments.size() == 1 ? arguments.get(0) : null;
+            if (callback && element != null && element.getKind() == TypeKind.WILDCARD) {
+                // Consumer<? super T> accepts T; the lower bound is the row type.
+                element = ((javax.lang.model.type.WildcardType) element).getSuperBound();
+            }
+            if (element == null || element.getKind() != TypeKind.DECLARED) {
+                error(method, "@CompiledJdbcMapper " + shape.label + " results must declare an element type");
                 return false;
             }
-            list = true;
-            row = arguments.get(0);
+            row = element;
         }
+        boolean list = shape != RowsShape.SINGLE;
         if (currentRow && list) {
             error(method, "@CompiledJdbcMapper current-row methods do not support List results");
             return false;
@@ -139,7 +164,7 @@ public final class JdbcMapperGenerator {
         JdbcMapperOptions options = method.getAnnotation(JdbcMapperOptions.class);
         if (options != null) {
             if (list && options.singleResult() != SingleResultPolicy.FAIL_ON_MULTIPLE) {
-                error(method, "@JdbcMapperOptions.singleResult is supported only on non-List @CompiledJdbcMapper methods");
+                error(method, "@JdbcMapperOptions.singleResult is supported only on single-row @CompiledJdbcMapper methods");
                 return false;
             }
             if (currentRow && options.singleResult() != SingleResultPolicy.FAIL_ON_MULTIPLE) {
@@ -175,12 +200,17 @@ public final class JdbcMapperGenerator {
         final TypeMirror finalRow = row;
         final RowPlan finalPlan = plan;
         final boolean finalList = list;
+        final RowsShape finalShape = shape;
         final SingleResultPolicy policy = options == null
                 ? SingleResultPolicy.FAIL_ON_MULTIPLE
                 : options.singleResult();
         final String rowHelper = helperNames.local(method.getSimpleName() + "_Row");
-        out.addMethod(writer -> emitMethod(writer, method, returnType, finalRow, finalPlan, map, finalList, policy,
-                currentRow, rowHelper));
+        if (shape == RowsShape.LIST || shape == RowsShape.SINGLE) {
+            out.addMethod(writer -> emitMethod(writer, method, returnType, finalRow, finalPlan, map, finalList, policy,
+                    currentRow, rowHelper));
+        } else {
+            out.addMethod(writer -> emitLazyMethod(writer, method, returnType, finalRow, finalPlan, map, finalShape, rowHelper));
+        }
         if (map) {
             out.addHelper(writer -> emitMapRow(writer, rowHelper, finalList || currentRow));
         } else {
@@ -201,6 +231,90 @@ public final class JdbcMapperGenerator {
         return true;
     }
 
+    /**
+     * JSON writer methods stream rows into a {@code StreamingWriter} through a per-method
+     * {@code JdbcJsonWriter}; {@code @Mapping} renames, nests, or ignores result columns.
+     */
+    private boolean generateJsonMethod(ExecutableElement method, GeneratedClass out) {
+        if (method.getReturnType().getKind() != TypeKind.VOID
+                || !is(method.getParameters().get(0).asType(), "java.sql.ResultSet")) {
+            error(method, "@CompiledJdbcMapper JSON writer methods must be void m(ResultSet, StreamingWriter)");
+            return false;
+        }
+        if (method.getAnnotation(JdbcMapperOptions.class) != null) {
+            error(method, "@JdbcMapperOptions does not apply to JSON writer methods");
+            return false;
+        }
+        List<String> calls = new ArrayList<String>();
+        Set<String> columns = new HashSet<String>();
+        for (Mapping mapping : method.getAnnotationsByType(Mapping.class)) {
+            if (!validMapping(method, mapping)) return false;
+            if (autoMarker(mapping)) continue;
+            if (mapping.compute().length() != 0) {
+                error(method, "@CompiledJdbcMapper JSON writer methods do not support @Mapping.compute");
+                return false;
+            }
+            if (mapping.target().length() == 0) {
+                error(method, "@Mapping requires a non-empty target");
+                return false;
+            }
+            String target = mapping.target();
+            String column;
+            if (mapping.ignore() || mapping.source().length() != 0) {
+                column = mapping.source().length() == 0 ? target : jdbcSource(method, mapping.source());
+                if (column == null) return false;
+            } else if (rootPathName(target) != null) {
+                column = rootPathName(target);
+            } else {
+                error(method, "@Mapping target '" + target + "' requires a source column");
+                return false;
+            }
+            if (!mapping.ignore() && (target.startsWith("$") || target.startsWith("/")) && !namePath(target)) {
+                error(method, "@CompiledJdbcMapper JSON writer target paths support property names only");
+                return false;
+            }
+            if (!columns.add(column.toLowerCase(java.util.Locale.ROOT))) {
+                error(method, "Duplicate @Mapping source column '" + column + "'");
+                return false;
+            }
+            calls.add(mapping.ignore()
+                    ? ".ignore(\"" + GeneratorUtil.escape(column) + "\")"
+                    : ".map(\"" + GeneratorUtil.escape(column) + "\", \"" + GeneratorUtil.escape(target) + "\")");
+        }
+
+        String field = helperNames.local(method.getSimpleName() + "_Json");
+        out.addField(writer -> {
+            StringBuilder init = new StringBuilder("private static final org.sjf4j.compiled.JdbcJsonWriter ")
+                    .append(field).append(" = org.sjf4j.compiled.JdbcJsonWriter.builder()");
+            for (String call : calls) init.append(call);
+            writer.line(init.append(".build();").toString());
+        });
+        out.addMethod(writer -> {
+            writer.line("");
+            writer.line("@Override");
+            writer.line("public void " + method.getSimpleName()
+                    + "(java.sql.ResultSet rs, org.sjf4j.facade.StreamingWriter writer) {");
+            writer.indent();
+            writer.line(field + ".writeArray(rs, writer);");
+            writer.dedent();
+            writer.line("}");
+        });
+        return true;
+    }
+
+    private boolean namePath(String target) {
+        try {
+            PathSegment[] segments = JsonPath.parse(target).segments();
+            if (segments.length < 2) return false;
+            for (int index = 1; index < segments.length; index++) {
+                if (!(segments[index] instanceof PathSegment.Name)) return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     private boolean jdbcAnnotationsOnly(ExecutableElement method) {
         for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
             TypeElement element = (TypeElement) annotation.getAnnotationType().asElement();
@@ -352,6 +466,54 @@ public final class JdbcMapperGenerator {
         writer.line("}");
     }
 
+    /**
+     * Emits lazy {@code Stream}, {@code Iterator}, and {@code Consumer} entry points. Column resolution
+     * moves into a {@code JdbcRows.RowPlanner} that runs once on the first row; its reader maps the
+     * current row with the resolved indexes, so no more than one row is held.
+     */
+    private void emitLazyMethod(SourceWriter writer, ExecutableElement method, TypeMirror returnType, TypeMirror row,
+                                RowPlan plan, boolean map, RowsShape shape, String rowHelper) {
+        boolean callback = shape == RowsShape.CONSUMER;
+        writer.line("");
+        writer.line("@Override");
+        writer.line("public " + returnType + " " + method.getSimpleName() + "(java.sql.ResultSet rs"
+                + (callback ? ", " + method.getParameters().get(1).asType() + " action" : "") + ") {");
+        writer.indent();
+        writer.line(callback ? "if (rs == null) return;" : "if (rs == null) return null;");
+        String entry = shape == RowsShape.STREAM ? "stream" : shape == RowsShape.ITERATOR ? "iterator" : "forEach";
+        writer.line((callback ? "" : "return ") + "org.sjf4j.compiled.JdbcRows.<" + row + ">" + entry + "(rs, () -> {");
+        writer.indent();
+        String reader;
+        if (map) {
+            writer.line("java.sql.ResultSetMetaData meta = rs.getMetaData();");
+            emitJdbcColumns(writer, "meta", "columns");
+            reader = rowHelper + "(rs, columns)";
+        } else if (plan.jojo) {
+            writer.line("java.sql.ResultSetMetaData meta = rs.getMetaData();");
+            emitJojoColumns(writer, "meta", plan);
+            reader = jojoCall(rowHelper);
+        } else if (plan.presentOnly) {
+            writer.line("java.sql.ResultSetMetaData meta = rs.getMetaData();");
+            emitPresentIndexes(writer, plan);
+            // The reader lambda captures effectively final copies of the resolved indexes.
+            for (int index = 0; index < plan.properties.size(); index++) {
+                writer.line("int resolved" + index + " = column" + index + ";");
+            }
+            reader = indexedCall(rowHelper, plan, "resolved");
+        } else {
+            for (int index = 0; index < plan.properties.size(); index++) {
+                writer.line("int column" + index + " = rs.findColumn(\""
+                        + GeneratorUtil.escape(plan.properties.get(index).column) + "\");");
+            }
+            reader = indexedCall(rowHelper, plan);
+        }
+        writer.line("return () -> " + reader + ";");
+        writer.dedent();
+        writer.line(callback ? "}, action);" : "});");
+        writer.dedent();
+        writer.line("}");
+    }
+
     private void emitMapRow(SourceWriter writer, String rowHelper, boolean indexed) {
         writer.line("");
         writer.line("private java.util.Map<String, Object> " + rowHelper
@@ -405,8 +567,12 @@ public final class JdbcMapperGenerator {
     }
 
     private String indexedCall(String rowHelper, RowPlan plan) {
+        return indexedCall(rowHelper, plan, "column");
+    }
+
+    private String indexedCall(String rowHelper, RowPlan plan, String prefix) {
         StringBuilder value = new StringBuilder(rowHelper).append("(rs");
-        for (int index = 0; index < plan.properties.size(); index++) value.append(", column").append(index);
+        for (int index = 0; index < plan.properties.size(); index++) value.append(", ").append(prefix).append(index);
         return value.append(')').toString();
     }
 
@@ -1065,6 +1231,20 @@ public final class JdbcMapperGenerator {
         ctx.error(element, message);
     }
 
+    private enum RowsShape {
+        SINGLE("single-row"),
+        LIST("List"),
+        STREAM("Stream"),
+        ITERATOR("Iterator"),
+        CONSUMER("Consumer");
+
+        final String label;
+
+        RowsShape(String label) {
+            this.label = label;
+        }
+    }
+
     private static final class RowPlan {
         final boolean constructor;
         final List<Property> properties;
@@ -0,0 +1,710 @@
+package org.sjf4j.processor.node;
+
+import org.sjf4j.annotation.node.NamingStrategy;
+import org.sjf4j.annotation.node.NodeBinding;
+import org.sjf4j.annotation.node.NodeCreator;
+import org.sjf4j.annotation.node.NodeIgnore;
+import org.sjf4j.annotation.node.NodeProperty;
+import org.sjf4j.annotation.node.NodeValue;
+import org.sjf4j.annotation.node.OneOf;
+import org.sjf4j.annotation.node.PropertyStrategy;
+import org.sjf4j.processor.GeneratorUtil;
+import org.sjf4j.processor.ProcessorContext;
+import org.sjf4j.util.Strings;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Source-level port of {@code ReflectUtil.analyzePojo} for the default
+ * {@code BEAN_FIELD} strategy, shared by the compiled POJO generators.
+ *
+ * <p>The analysis resolves the same property families, names, aliases, codecs,
+ * creator, and binding flags as the runtime, and additionally requires every
+ * member it picks to be callable from generated code in the model's package.
+ * Anything it cannot reproduce exactly is reported as {@link Unsupported} so the
+ * model stays on reflective analysis.</p>
+ */
+final class PojoAnalyzer {
+
+    private static final String[] FRAMEWORK_PREFIX = {
+            "java.", "javax.", "jakarta.", "jdk.",
+            "com.fasterxml.jackson.", "tools.jackson.", "com.google.gson."
+    };
+    private static final String[] CREATOR_ANNOTATIONS = {
+            "tools.jackson.annotation.JsonCreator",
+            "com.fasterxml.jackson.annotation.JsonCreator",
+            "com.alibaba.fastjson2.annotation.JSONCreator"
+    };
+
+    private final ProcessorContext ctx;
+
+    PojoAnalyzer(ProcessorContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Reproduces the runtime {@code BEAN_FIELD} analysis for one class, or
+     * throws {@link Unsupported} when generated code could not match it.
+     */
+    Model analyze(TypeElement type) throws Unsupported {
+        if (type.getKind() != ElementKind.CLASS) throw new Unsupported("not a class");
+        if (!_isPojoCandidate(type)) throw new Unsupported("not a POJO candidate");
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) throw new Unsupported("abstract class");
+        if (GeneratorUtil.isJojoType(ctx, type.asType()) || GeneratorUtil.isJajoType(ctx, type.asType())) {
+            throw new Unsupported("JOJO/JAJO types are not supported");
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement te = (TypeElement) e;
+            if (te.getModifiers().contains(Modifier.PRIVATE)) throw new Unsupported("private class");
+            if (te.getNestingKind() == NestingKind.LOCAL || te.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new Unsupported("local class");
+            }
+            if (te.getNestingKind() == NestingKind.MEMBER && !te.getModifiers().contains(Modifier.STATIC)) {
+                throw new Unsupported("inner (non-static) class");
+            }
+        }
+        if (type.getAnnotation(OneOf.class) != null) throw new Unsupported("@OneOf type");
+
+        Model model = new Model(type, ctx.elements.getPackageOf(type).getQualifiedName().toString());
+        NodeBinding binding = null;
+        for (TypeElement cur = type; cur != null && binding == null; cur = _superclass(cur)) {
+            if (cur.getAnnotation(NodeValue.class) != null) throw new Unsupported("@NodeValue type");
+            binding = cur.getAnnotation(NodeBinding.class);
+        }
+        if (binding != null) {
+            if (binding.propertyStrategy() != PropertyStrategy.BEAN_FIELD) {
+                throw new Unsupported("propertyStrategy " + binding.propertyStrategy());
+            }
+            model.naming = binding.naming() == NamingStrategy.IDENTITY ? null : binding.naming();
+            model.readDynamic = binding.readDynamic();
+            model.writeDynamic = binding.writeDynamic();
+        }
+
+        _analyzeCreator(model);
+
+        Map<String, Family> families = new LinkedHashMap<>();
+        boolean hasHiddenDeclaredFields = false;
+        TypeElement cur = type;
+        do {
+            if (!cur.getTypeParameters().isEmpty()) throw new Unsupported("generic type " + cur.getQualifiedName());
+            TypeMirror superType = cur.getSuperclass();
+            if (superType instanceof DeclaredType && !((DeclaredType) superType).getTypeArguments().isEmpty()) {
+                throw new Unsupported("generic superclass of " + cur.getQualifiedName());
+            }
+            List<VariableElement> fields = ElementFilter.fieldsIn(cur.getEnclosedElements());
+            hasHiddenDeclaredFields |= _reserveFieldFamilies(fields, families);
+            _collectBeanFamilies(cur, families);
+            _collectFieldFamilies(fields, families);
+            cur = _superclass(cur);
+        } while (_isPojoCandidate(cur));
+
+        Map<String, String> aliasMap = model.aliasMap;
+        for (Family family : families.values()) {
+            model.hasExplicitBinding |= family.explicitName != null || family.fieldExplicitName != null;
+            Property property = new Property();
+            boolean fieldGetter = false;
+            boolean fieldSetter = false;
+            if (family.canUseGetter()) property.getter = family.getter;
+            if (family.canUseSetter()) property.setter = family.setter;
+            if (family.field != null) {
+                if (property.getter == null) {
+                    property.getter = family.field;
+                    fieldGetter = true;
+                }
+                if (property.setter == null && !family.field.getModifiers().contains(Modifier.FINAL)) {
+                    property.setter = family.field;
+                    fieldSetter = true;
+                }
+            }
+            if (property.getter == null && property.setter == null) continue;
+            if (family.field != null) {
+                if (!family.field.getModifiers().contains(Modifier.PUBLIC) && (fieldGetter || fieldSetter)) {
+                    model.hasNonPublicFields = true;
+                }
+                if (property.getter == null && !family.canUseGetter()) model.hasNonPublicWriterGap = true;
+                if (property.setter == null && !family.canUseSetter()) model.hasNonPublicReaderGap = true;
+            }
+            _assertCompatibleTypes(family, "getter", family.getterType, "setter", family.setterType);
+            _assertCompatibleTypes(family, "field", family.fieldType, "getter", family.getterType);
+            _assertCompatibleTypes(family, "field", family.fieldType, "setter", family.setterType);
+            _checkAccessible(model, property.getter);
+            _checkAccessible(model, property.setter);
+
+            property.type = family.getterType != null ? family.getterType
+                    : family.setterType != null ? family.setterType : family.fieldType;
+            _checkTypeAccessible(model, property.type);
+            family.addExplicitName(family.fieldExplicitName);
+            property.name = family.explicitName != null ? family.explicitName
+                    : model.naming == null ? family.implicitName : model.naming.translate(family.implicitName);
+            if (model.argNames != null) {
+                int implicitIdx = model.argNames.indexOf(family.implicitName);
+                if (implicitIdx >= 0 && !property.name.equals(family.implicitName)) {
+                    throw new Unsupported("property '" + property.name + "' renames creator-bound property '"
+                            + family.implicitName + "'");
+                }
+            }
+            property.codecName = family.codecName;
+            property.codecPattern = family.codecPattern;
+            TypeElement rawElement = property.type.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) property.type).asElement() : null;
+            property.oneOfType = rawElement != null && rawElement.getAnnotation(OneOf.class) != null;
+            for (Property other : model.properties) {
+                if (other.name.equals(property.name)) {
+                    throw new Unsupported("multiple property families resolve to JSON property '" + property.name + "'");
+                }
+            }
+            model.properties.add(property);
+
+            if (family.aliases != null) for (String alias : family.aliases) {
+                if (alias == null || alias.isEmpty() || alias.equals(property.name)) continue;
+                if (aliasMap == null) aliasMap = new LinkedHashMap<>();
+                String old = aliasMap.put(alias, property.name);
+                if (old != null && !old.equals(property.name)) {
+                    throw new Unsupported("alias '" + alias + "' is mapped to multiple properties");
+                }
+            }
+        }
+        model.propertyAliasMap = aliasMap;
+        if (!model.hasNonPublicFields && model.properties.isEmpty() && hasHiddenDeclaredFields) {
+            model.hasNonPublicFields = true;
+        }
+        return model;
+    }
+
+    private void _analyzeCreator(Model model) throws Unsupported {
+        TypeElement type = model.type;
+        ExecutableElement creator = null;
+        List<ExecutableElement> ctors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement ctor : ctors) {
+            if (_hasCreatorAnnotation(ctor)) {
+                if (creator != null) throw new Unsupported("multiple creator definitions");
+                creator = ctor;
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getModifiers().contains(Modifier.STATIC) || !_hasCreatorAnnotation(method)) continue;
+            if (creator != null) throw new Unsupported("multiple creator definitions");
+            if (!ctx.types.isAssignable(ctx.types.erasure(method.getReturnType()), ctx.types.erasure(type.asType()))) {
+                throw new Unsupported("creator method must return " + type.getQualifiedName());
+            }
+            creator = method;
+        }
+        if (creator == null && ctors.size() == 1) creator = ctors.get(0);
+
+        if (creator == null) {
+            for (ExecutableElement ctor : ctors) {
+                if (ctor.getParameters().isEmpty()) creator = ctor;
+            }
+            if (creator == null) throw new Unsupported("no creator or no-args constructor");
+        }
+        _checkAccessible(model, creator);
+        model.creator = creator;
+        if (creator.getParameters().isEmpty()) return;
+
+        model.argNames = new ArrayList<>();
+        for (VariableElement param : creator.getParameters()) {
+            String name = GeneratorUtil.explicitNodePropertyName(param);
+            if (name == null) {
+                String implicit = param.getSimpleName().toString();
+                name = model.naming == null ? implicit : model.naming.translate(implicit);
+            }
+            if (model.argNames.contains(name)) throw new Unsupported("duplicate creator argument '" + name + "'");
+            model.argNames.add(name);
+            _checkTypeAccessible(model, param.asType());
+            model.argCodecNames.add(_codecName(param));
+            model.argCodecPatterns.add(_codecPattern(param));
+        }
+        for (int i = 0; i < creator.getParameters().size(); i++) {
+            String[] aliases = _aliases(creator.getParameters().get(i));
+            if (aliases == null) continue;
+            if (model.aliasMap == null) model.aliasMap = new LinkedHashMap<>();
+            for (String alias : aliases) {
+                if (model.aliasMap.put(alias, model.argNames.get(i)) != null) {
+                    throw new Unsupported("alias '" + alias + "' is mapped to multiple properties");
+                }
+            }
+        }
+    }
+
+    private boolean _reserveFieldFamilies(List<VariableElement> fields, Map<String, Family> families)
+            throws Unsupported {
+        boolean hasHiddenDeclaredFields = false;
+        for (VariableElement field : fields) {
+            Set<Modifier> mods = field.getModifiers();
+            if (mods.contains(Modifier.STATIC)) continue;
+            if (mods.contains(Modifier.TRANSIENT)) {
+                if (field.getAnnotation(NodeProperty.class) != null) {
+                    throw new Unsupported("transient field '" + field.getSimpleName() + "' cannot use @NodeProperty");
+                }
+                continue;
+            }
+            if (!mods.contains(Modifier.PUBLIC)) hasHiddenDeclaredFields = true;
+            if (_isIgnored(field, field.asType())) continue;
+            String name = field.getSimpleName().toString();
+            if (!families.containsKey(name)) families.put(name, new Family(name));
+        }
+        return hasHiddenDeclaredFields;
+    }
+
+    private void _collectFieldFamilies(List<VariableElement> fields, Map<String, Family> families)
+            throws Unsupported {
+        for (VariableElement field : fields) {
+            Set<Modifier> mods = field.getModifiers();
+            if (mods.contains(Modifier.STATIC) || mods.contains(Modifier.TRANSIENT)) continue;
+            if (_isIgnored(field, field.asType())) continue;
+            String explicitName = GeneratorUtil.explicitNodePropertyName(field);
+            String[] aliases = _aliases(field);
+            String codecName = _codecName(field);
+            String codecPattern = _codecPattern(field);
+            boolean oneOf = field.getAnnotation(OneOf.class) != null;
+            boolean explicit = field.getAnnotation(NodeProperty.class) != null || explicitName != null
+                    || oneOf || codecName != null || codecPattern != null || aliases != null;
+            if (!mods.contains(Modifier.PUBLIC) && !explicit) continue;
+            String name = field.getSimpleName().toString();
+            Family family = families.get(name);
+            if (family == null) continue;
+            if (explicitName != null && !explicitName.equals(name)) {
+                Family beanFamily = families.get(explicitName);
+                if (beanFamily != null && (beanFamily.getter != null || beanFamily.setter != null)) {
+                    family = beanFamily;
+                }
+            }
+            if (family.field == null) {
+                if (oneOf) throw new Unsupported("@OneOf field '" + name + "'");
+                family.field = field;
+                family.fieldType = field.asType();
+                family.fieldExplicitName = explicitName;
+                family.addAliases(aliases);
+                family.mergeCodecName(codecName);
+                family.mergeCodecPattern(codecPattern);
+            }
+        }
+    }
+
+    private void _collectBeanFamilies(TypeElement owner, Map<String, Family> families) throws Unsupported {
+        for (ExecutableElement method : ElementFilter.methodsIn(owner.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.STATIC)) continue;
+            String implicit = _beanImplicitName(method);
+            if (implicit == null) continue;
+            boolean explicit = method.getAnnotation(NodeProperty.class) != null
+                    || GeneratorUtil.explicitNodePropertyName(method) != null || _aliases(method) != null;
+            if (!method.getModifiers().contains(Modifier.PUBLIC) && !explicit) continue;
+            Family family = families.get(implicit);
+            if (family == null) {
+                family = new Family(implicit);
+                families.put(implicit, family);
+            }
+            boolean isGetter = method.getParameters().isEmpty();
+            TypeMirror resolvedType = isGetter ? method.getReturnType() : method.getParameters().get(0).asType();
+            if (resolvedType.getKind() == TypeKind.TYPEVAR) throw new Unsupported("generic accessor " + method);
+            if (isGetter && family.getter != null) {
+                _mergeGetter(method, resolvedType, family);
+                if (family.getter != method) continue;
+            } else if (!isGetter && family.setter != null) {
+                _mergeSetter(method, resolvedType, family);
+                if (family.setter != method) continue;
+            } else if (isGetter) {
+                family.getter = method;
+                family.getterType = resolvedType;
+            } else {
+                family.setter = method;
+                family.setterType = resolvedType;
+            }
+            if (method.getAnnotation(NodeIgnore.class) != null || _isIgnoredType(resolvedType)) {
+                if (isGetter) family.ignoreGetter = true;
+                else family.ignoreSetter = true;
+                continue;
+            }
+            family.addExplicitName(GeneratorUtil.explicitNodePropertyName(method));
+            family.addAliases(_aliases(method));
+            family.mergeCodecName(_codecName(method));
+            family.mergeCodecPattern(_codecPattern(method));
+        }
+    }
+
+    private void _mergeGetter(ExecutableElement method, TypeMirror resolvedType, Family family) throws Unsupported {
+        int order = _compareSpecificity(family.getter, method);
+        if (order < 0) {
+            family.getter = method;
+            family.getterType = resolvedType;
+            return;
+        }
+        if (order > 0) return;
+        boolean currentIs = family.getter.getSimpleName().toString().startsWith("is");
+        boolean candidateIs = method.getSimpleName().toString().startsWith("is");
+        if (candidateIs != currentIs) {
+            if (candidateIs) {
+                family.getter = method;
+                family.getterType = resolvedType;
+            }
+            return;
+        }
+        throw new Unsupported("ambiguous getter methods for property '" + family.implicitName + "'");
+    }
+
+    private void _mergeSetter(ExecutableElement method, TypeMirror resolvedType, Family family) throws Unsupported {
+        ExecutableElement current = family.setter;
+        int order = current.getSimpleName().contentEquals(method.getSimpleName())
+                && ctx.types.isSameType(ctx.types.erasure(current.getParameters().get(0).asType()),
+                        ctx.types.erasure(method.getParameters().get(0).asType()))
+                ? _compareSpecificity(current, method) : 0;
+        if (order < 0) {
+            family.setter = method;
+            family.setterType = resolvedType;
+            return;
+        }
+        if (order > 0) return;
+        throw new Unsupported("ambiguous setter methods for property '" + family.implicitName + "'");
+    }
+
+    private int _compareSpecificity(ExecutableElement current, ExecutableElement candidate) {
+        TypeMirror currentDecl = ctx.types.erasure(current.getEnclosingElement().asType());
+        TypeMirror candidateDecl = ctx.types.erasure(candidate.getEnclosingElement().asType());
+        if (ctx.types.isSameType(currentDecl, candidateDecl)) return 0;
+        if (ctx.types.isSubtype(candidateDecl, currentDecl)) return -1;
+        if (ctx.types.isSubtype(currentDecl, candidateDecl)) return 1;
+        return 0;
+    }
+
+    private void _assertCompatibleTypes(Family family, String leftLabel, TypeMirror left,
+                                        String rightLabel, TypeMirror right) throws Unsupported {
+        if (left == null || right == null) return;
+        if (GeneratorUtil.isAssignableBoxed(ctx, left, right) || GeneratorUtil.isAssignableBoxed(ctx, right, left)) return;
+        throw new Unsupported("incompatible " + leftLabel + "/" + rightLabel + " types for property '"
+                + family.implicitName + "'");
+    }
+
+    private String _beanImplicitName(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        TypeMirror ret = method.getReturnType();
+        int params = method.getParameters().size();
+        if (params == 0 && ret.getKind() != TypeKind.VOID) {
+            if (name.startsWith("get") && name.length() > 3) return Strings.decapitalize(name.substring(3));
+            if ((ret.getKind() == TypeKind.BOOLEAN || ret.toString().equals("java.lang.Boolean"))
+                    && name.startsWith("is") && name.length() > 2) {
+                return Strings.decapitalize(name.substring(2));
+            }
+        }
+        if (params == 1 && ret.getKind() == TypeKind.VOID && name.startsWith("set") && name.length() > 3) {
+            return Strings.decapitalize(name.substring(3));
+        }
+        return null;
+    }
+
+    private boolean _isIgnored(Element element, TypeMirror type) {
+        return element.getAnnotation(NodeIgnore.class) != null || _isIgnoredType(type);
+    }
+
+    private boolean _isIgnoredType(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getAnnotation(NodeIgnore.class) != null;
+    }
+
+    private boolean _isPojoCandidate(TypeElement te) {
+        if (te == null || te.getKind() == ElementKind.INTERFACE || te.getKind() == ElementKind.ENUM
+                || te.getKind() == ElementKind.ANNOTATION_TYPE) {
+            return false;
+        }
+        String name = te.getQualifiedName().toString();
+        if (name.equals("java.lang.Object") || name.equals("java.lang.String") || name.equals("java.lang.Boolean")) {
+            return false;
+        }
+        TypeMirror erased = ctx.types.erasure(te.asType());
+        if (ctx.types.isSameType(erased, ctx.types.erasure(ctx.jsonObjectType))
+                || ctx.types.isSameType(erased, ctx.types.erasure(ctx.jsonArrayType))) {
+            return false;
+        }
+        if (_isSubtypeOf(erased, "java.lang.Number") || _isSubtypeOf(erased, "java.util.Map")
+                || _isSubtypeOf(erased, "java.util.Collection")) {
+            return false;
+        }
+        for (String prefix : FRAMEWORK_PREFIX) if (name.startsWith(prefix)) return false;
+        return true;
+    }
+
+    private boolean _isSubtypeOf(TypeMirror erased, String name) {
+        TypeElement target = ctx.elements.getTypeElement(name);
+        return target != null && ctx.types.isSubtype(erased, ctx.types.erasure(target.asType()));
+    }
+
+    private TypeElement _superclass(TypeElement type) {
+        TypeMirror superType = type.getSuperclass();
+        return superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+    }
+
+    private boolean _hasCreatorAnnotation(Element element) {
+        if (element.getAnnotation(NodeCreator.class) != null) return true;
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (Arrays.asList(CREATOR_ANNOTATIONS).contains(name)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Requires a member chosen for direct calls to be reachable from generated
+     * code in the model's package.
+     */
+    private void _checkAccessible(Model model, Element member) throws Unsupported {
+        if (member == null) return;
+        Set<Modifier> mods = member.getModifiers();
+        if (mods.contains(Modifier.PRIVATE)) {
+            throw new Unsupported("private member '" + member.getSimpleName() + "' would be used");
+        }
+        TypeElement owner = (TypeElement) member.getEnclosingElement();
+        boolean samePackage = ctx.elements.getPackageOf(owner).getQualifiedName().contentEquals(model.packageName);
+        if (!mods.contains(Modifier.PUBLIC) && !samePackage) {
+            throw new Unsupported("member '" + member.getSimpleName() + "' of " + owner.getQualifiedName()
+                    + " is not accessible from package " + model.packageName);
+        }
+        if (member.getKind() == ElementKind.FIELD && !owner.getModifiers().contains(Modifier.PUBLIC) && !samePackage) {
+            throw new Unsupported("field '" + member.getSimpleName() + "' is declared in an inaccessible class");
+        }
+    }
+
+    private void _checkTypeAccessible(Model model, TypeMirror type) throws Unsupported {
+        switch (type.getKind()) {
+            case BOOLEAN: case BYTE: case SHORT: case INT: case LONG: case CHAR: case FLOAT: case DOUBLE:
+                return;
+            case ARRAY:
+                _checkTypeAccessible(model, ((ArrayType) type).getComponentType());
+                return;
+            case WILDCARD: {
+                WildcardType wt = (WildcardType) type;
+                if (wt.getExtendsBound() != null) _checkTypeAccessible(model, wt.getExtendsBound());
+                if (wt.getSuperBound() != null) _checkTypeAccessible(model, wt.getSuperBound());
+                return;
+            }
+            case DECLARED: {
+                DeclaredType dt = (DeclaredType) type;
+                for (Element e = dt.asElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+                    Set<Modifier> mods = e.getModifiers();
+                    boolean samePackage = ctx.elements.getPackageOf(e).getQualifiedName().contentEquals(model.packageName);
+                    if (mods.contains(Modifier.PRIVATE) || (!mods.contains(Modifier.PUBLIC) && !samePackage)) {
+                        throw new Unsupported("type " + type + " is not accessible from package " + model.packageName);
+                    }
+                }
+                TypeMirror enclosing = dt.getEnclosingType();
+                if (enclosing.getKind() == TypeKind.DECLARED
+                        && !((DeclaredType) enclosing).getTypeArguments().isEmpty()) {
+                    throw new Unsupported("inner class of generic type " + type);
+                }
+                for (TypeMirror arg : dt.getTypeArguments()) _checkTypeAccessible(model, arg);
+                return;
+            }
+            default:
+                throw new Unsupported("unsupported property type " + type);
+        }
+    }
+
+    private String _codecName(Element element) {
+        NodeProperty ann = element.getAnnotation(NodeProperty.class);
+        if (ann == null || NodeProperty.CODEC_NAME_UNSET.equals(ann.codecName())) return null;
+        return ann.codecName();
+    }
+
+    private String _codecPattern(Element element) {
+        NodeProperty ann = element.getAnnotation(NodeProperty.class);
+        return ann == null || ann.codecPattern().isEmpty() ? null : ann.codecPattern();
+    }
+
+    private String[] _aliases(Element element) {
+        NodeProperty ann = element.getAnnotation(NodeProperty.class);
+        if (ann != null && ann.aliases().length > 0) return ann.aliases();
+        String[] aliases = _annotationStrings(element, "tools.jackson.annotation.JsonAlias", "value");
+        if (aliases != null) return aliases;
+        aliases = _annotationStrings(element, "com.fasterxml.jackson.annotation.JsonAlias", "value");
+        if (aliases != null) return aliases;
+        return _annotationStrings(element, "com.alibaba.fastjson2.annotation.JSONField", "alternateNames");
+    }
+
+    private static String[] _annotationStrings(Element element, String annotationName, String memberName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet()) {
+                if (!e.getKey().getSimpleName().contentEquals(memberName)) continue;
+                Object value = e.getValue().getValue();
+                List<String> result = new ArrayList<>();
+                if (value instanceof List) {
+                    for (Object item : (List<?>) value) {
+                        Object v = ((AnnotationValue) item).getValue();
+                        if (v instanceof String) result.add((String) v);
+                    }
+                } else if (value instanceof String) {
+                    result.add((String) value);
+                }
+                return result.isEmpty() ? null : result.toArray(new String[0]);
+            }
+            return null;
+        }
+        return null;
+    }
+
+
+
+    /**
+     * Returns the simple name of a class generated next to the model, keeping
+     * the {@code $} of nested models so the runtime can derive it from
+     * {@code Class.getName()}.
+     */
+    String generatedSimpleName(Model model, String postfix) {
+        String binaryName = ctx.elements.getBinaryName(model.type).toString();
+        return (model.packageName.isEmpty() ? binaryName
+                : binaryName.substring(model.packageName.length() + 1)) + postfix;
+    }
+
+    /// Accessor expressions
+
+    /**
+     * Returns the expression reading a getter or field from a local named {@code pojo}.
+     */
+    String readExpr(Model model, Element member) {
+        if (member.getKind() == ElementKind.FIELD) return fieldTarget(model, member);
+        return "pojo." + member.getSimpleName() + "()";
+    }
+
+    /**
+     * Returns the statement writing {@code value} through a setter or field of a local named {@code pojo}.
+     */
+    String writeExpr(Model model, Element member, String value) {
+        if (member.getKind() == ElementKind.FIELD) return fieldTarget(model, member) + " = " + value;
+        return "pojo." + member.getSimpleName() + "(" + value + ")";
+    }
+
+    /**
+     * Returns the declared type a setter or field accepts.
+     */
+    TypeMirror valueType(Element member) {
+        if (member.getKind() == ElementKind.FIELD) return member.asType();
+        return ((ExecutableElement) member).getParameters().get(0).asType();
+    }
+
+    /**
+     * Hidden superclass fields are reached through a cast to their declaring class.
+     */
+    String fieldTarget(Model model, Element member) {
+        TypeElement owner = (TypeElement) member.getEnclosingElement();
+        if (owner.equals(model.type)) return "pojo." + member.getSimpleName();
+        return "((" + owner.getQualifiedName() + ") pojo)." + member.getSimpleName();
+    }
+
+    String castType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return GeneratorUtil.boxed(ctx, type).toString();
+        return type.toString();
+    }
+
+
+    /// Model
+
+    static final class Model {
+        final TypeElement type;
+        final String packageName;
+        NamingStrategy naming;
+        boolean readDynamic = true;
+        boolean writeDynamic = true;
+        ExecutableElement creator;
+        List<String> argNames;
+        final List<String> argCodecNames = new ArrayList<>();
+        final List<String> argCodecPatterns = new ArrayList<>();
+        Map<String, String> aliasMap;
+        Map<String, String> propertyAliasMap;
+        final List<Property> properties = new ArrayList<>();
+        boolean hasExplicitBinding;
+        boolean hasNonPublicFields;
+        boolean hasNonPublicReaderGap;
+        boolean hasNonPublicWriterGap;
+
+        Model(TypeElement type, String packageName) {
+            this.type = type;
+            this.packageName = packageName;
+        }
+    }
+
+    static final class Property {
+        String name;
+        TypeMirror type;
+        Element getter;
+        Element setter;
+        String codecName;
+        String codecPattern;
+        boolean oneOfType;
+    }
+
+    private static final class Family {
+        final String implicitName;
+        VariableElement field;
+        TypeMirror fieldType;
+        String fieldExplicitName;
+        ExecutableElement getter;
+        TypeMirror getterType;
+        ExecutableElement setter;
+        TypeMirror setterType;
+        boolean ignoreGetter;
+        boolean ignoreSetter;
+        String explicitName;
+        String codecName;
+        String codecPattern;
+        List<String> aliases;
+
+        Family(String implicitName) { this.implicitName = implicitName; }
+
+        void addExplicitName(String name) throws Unsupported {
+            if (name == null || name.isEmpty()) return;
+            if (explicitName == null) explicitName = name;
+            else if (!explicitName.equals(name)) {
+                throw new Unsupported("conflicting explicit names for property '" + implicitName + "'");
+            }
+        }
+
+        void addAliases(String[] src) {
+            if (src == null || src.length == 0) return;
+            if (aliases == null) aliases = new ArrayList<>();
+            for (String alias : src) if (alias != null && !alias.isEmpty()) aliases.add(alias);
+        }
+
+        void mergeCodecName(String cn) throws Unsupported {
+            if (cn == null) return;
+            if (codecName == null) codecName = cn;
+            else if (!codecName.equals(cn)) throw new Unsupported("conflicting codecName for property '" + implicitName + "'");
+        }
+
+        void mergeCodecPattern(String cp) throws Unsupported {
+            if (cp == null) return;
+            if (codecPattern == null) codecPattern = cp;
+            else if (!codecPattern.equals(cp)) throw new Unsupported("conflicting codecPattern for property '" + implicitName + "'");
+        }
+
+        boolean canUseGetter() { return getter != null && !ignoreGetter; }
+
+        boolean canUseSetter() { return setter != null && !ignoreSetter; }
+    }
+
+    static final class Unsupported extends Exception {
+        Unsupported(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+}
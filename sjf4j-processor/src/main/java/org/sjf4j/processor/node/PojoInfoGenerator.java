@@ -0,0 +1,411 @@
+package org.sjf4j.processor.node;
+
+import org.sjf4j.annotation.node.NamingStrategy;
+import org.sjf4j.annotation.node.PropertyStrategy;
+import org.sjf4j.node.PojoInfoProvider;
+import org.sjf4j.processor.GeneratorUtil;
+import org.sjf4j.processor.ProcessorContext;
+import org.sjf4j.processor.SourceWriter;
+import org.sjf4j.processor.node.PojoAnalyzer.Model;
+import org.sjf4j.processor.node.PojoAnalyzer.Property;
+import org.sjf4j.processor.node.PojoAnalyzer.Unsupported;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Emits build-time {@code PojoInfoProvider} classes for {@code @CompiledPojo}
+ * models and for classes in packages listed by the
+ * {@value #PACKAGES_OPTION} processor option.
+ *
+ * <p>The analysis mirrors {@code ReflectUtil.analyzePojo} for the default
+ * {@code BEAN_FIELD} strategy: the same property families, name resolution,
+ * creator selection, aliases, codecs, and binding flags. Getters, setters,
+ * fields, and creators are then called directly from one generated switch-based
+ * accessor class, so registering the model needs no member scanning, method
+ * handles, or lambda bootstrapping. Models the analysis cannot reproduce are
+ * skipped and keep reflective analysis at runtime.</p>
+ */
+public final class PojoInfoGenerator {
+
+    public static final String PACKAGES_OPTION = "sjf4j.compiledPojoPackages";
+
+    private static final String POSTFIX = "_PojoInfo";
+    private static final String SERVICE_FILE = "META-INF/services/" + PojoInfoProvider.class.getName();
+    private static final String NODE_REGISTRY = "org.sjf4j.node.NodeRegistry";
+    private static final String TYPES = "org.sjf4j.node.Types";
+
+    private final ProcessorContext ctx;
+    private final PojoAnalyzer analyzer;
+    private final Set<String> packages;
+    private final Set<String> seen = new HashSet<>();
+    private final List<String> providers = new ArrayList<>();
+
+    public PojoInfoGenerator(ProcessorContext ctx, String packagesOption) {
+        this.ctx = ctx;
+        this.analyzer = new PojoAnalyzer(ctx);
+        this.packages = new LinkedHashSet<>();
+        if (packagesOption != null) {
+            for (String pkg : packagesOption.split(",")) {
+                pkg = pkg.trim();
+                if (!pkg.isEmpty()) packages.add(pkg);
+            }
+        }
+    }
+
+    /**
+     * Returns true when whole packages were listed through the processor option.
+     */
+    public boolean hasPackages() {
+        return !packages.isEmpty();
+    }
+
+    /**
+     * Generates a provider for an explicitly annotated model, warning when the
+     * model has to stay on reflective analysis.
+     */
+    public void generateAnnotated(TypeElement type) {
+        if (!seen.add(type.getQualifiedName().toString())) return;
+        try {
+            _emit(analyzer.analyze(type));
+        } catch (Unsupported e) {
+            ctx.warning(type, "@CompiledPojo " + type.getQualifiedName()
+                    + " keeps reflective POJO analysis: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Generates providers for every supported class (including static nested
+     * classes) declared in a listed package; other classes are skipped silently.
+     */
+    public void generateListed(Set<? extends Element> rootElements) {
+        if (packages.isEmpty()) return;
+        for (Element element : rootElements) {
+            if (!(element instanceof TypeElement)) continue;
+            PackageElement pkg = ctx.elements.getPackageOf(element);
+            if (!packages.contains(pkg.getQualifiedName().toString())) continue;
+            _generateListed((TypeElement) element);
+        }
+    }
+
+    private void _generateListed(TypeElement type) {
+        if (type.getKind() == ElementKind.CLASS && !_isProvider(type)
+                && seen.add(type.getQualifiedName().toString())) {
+            try {
+                _emit(analyzer.analyze(type));
+            } catch (Unsupported ignored) {}
+        }
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            if (nested.getModifiers().contains(Modifier.STATIC)) _generateListed(nested);
+        }
+    }
+
+    /**
+     * Writes the {@code ServiceLoader} registration for all providers generated
+     * in this compilation. Called once, in the final processing round.
+     */
+    public void finish() {
+        if (providers.isEmpty()) return;
+        try {
+            FileObject file = ctx.filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String provider : providers) {
+                    writer.write(provider);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            ctx.messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+
+    private boolean _isProvider(TypeElement type) {
+        TypeElement provider = ctx.elements.getTypeElement(PojoInfoProvider.class.getName());
+        return provider != null && ctx.types.isAssignable(type.asType(), provider.asType());
+    }
+
+
+    /// Emission
+
+    private void _emit(Model model) {
+        TypeElement type = model.type;
+        String simpleName = analyzer.generatedSimpleName(model, POSTFIX);
+        String qualifiedName = model.packageName.isEmpty() ? simpleName : model.packageName + "." + simpleName;
+        String pojo = type.getQualifiedName().toString();
+
+        try (SourceWriter out = new SourceWriter(ctx, type, qualifiedName)) {
+            out.line("// Generated by SJF4J");
+            if (!model.packageName.isEmpty()) out.line("package " + model.packageName + ";");
+            out.line("");
+            out.line("");
+            out.line("public final class " + simpleName + " implements " + PojoInfoProvider.class.getName() + " {");
+            out.indent();
+            out.line("");
+            out.line("public " + simpleName + "() {");
+            out.line("}");
+            out.line("");
+            out.line("@Override");
+            out.line("public Class<?> pojoClass() {");
+            out.line("    return " + pojo + ".class;");
+            out.line("}");
+            out.line("");
+            _emitCreatePojoInfo(out, model, pojo);
+            out.line("");
+            _emitAccessor(out, model, pojo);
+            if (model.argNames != null) {
+                out.line("");
+                _emitCreator(out, model, pojo);
+            }
+            out.dedent();
+            out.line("}");
+        } catch (IOException e) {
+            ctx.error(type, "Failed to generate " + qualifiedName + ": " + e.getMessage());
+            return;
+        }
+        providers.add(qualifiedName);
+    }
+
+    private void _emitCreatePojoInfo(SourceWriter out, Model model, String pojo) {
+        String registry = NODE_REGISTRY;
+        out.line("@Override");
+        out.line("public " + registry + ".PojoInfo createPojoInfo() {");
+        out.indent();
+        boolean sharedAliases = model.aliasMap != null;
+        if (model.propertyAliasMap != null) {
+            out.line("java.util.Map<String, String> aliasMap = new java.util.HashMap<>();");
+            for (Map.Entry<String, String> e : model.propertyAliasMap.entrySet()) {
+                out.line("aliasMap.put(\"" + GeneratorUtil.escape(e.getKey()) + "\", \""
+                        + GeneratorUtil.escape(e.getValue()) + "\");");
+            }
+        }
+
+        if (model.argNames == null) {
+            out.line(registry + ".CreatorInfo creatorInfo = new " + registry + ".CreatorInfo(" + pojo + ".class,");
+            out.line("        new Accessor(-1), null, null, null, null, null, null, null);");
+        } else {
+            int n = model.argNames.size();
+            List<? extends VariableElement> params = model.creator.getParameters();
+            StringBuilder names = new StringBuilder();
+            StringBuilder types = new StringBuilder();
+            StringBuilder codecNames = new StringBuilder();
+            StringBuilder codecs = new StringBuilder();
+            StringBuilder indexes = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                String sep = i == 0 ? "" : ", ";
+                names.append(sep).append('"').append(GeneratorUtil.escape(model.argNames.get(i))).append('"');
+                types.append(sep).append(_typeExpr(params.get(i).asType()));
+                String codecName = model.argCodecNames.get(i);
+                codecNames.append(sep).append(codecName == null ? "null" : "\"" + GeneratorUtil.escape(codecName) + "\"");
+                codecs.append(sep).append(_codecExpr(_boxedRaw(params.get(i).asType()),
+                        codecName, model.argCodecPatterns.get(i)));
+            }
+            out.line("java.util.Map<String, Integer> argIndexes = new java.util.HashMap<>();");
+            for (int i = 0; i < n; i++) {
+                out.line("argIndexes.put(\"" + GeneratorUtil.escape(model.argNames.get(i)) + "\", " + i + ");");
+            }
+            out.line(registry + ".CreatorInfo creatorInfo = new " + registry + ".CreatorInfo(" + pojo + ".class,");
+            out.line("        null, new Creator(),");
+            out.line("        new String[]{" + names + "},");
+            out.line("        new java.lang.reflect.Type[]{" + types + "},");
+            out.line("        new String[]{" + codecNames + "},");
+            out.line("        new " + registry + ".ValueCodecInfo[]{" + codecs + "},");
+            out.line("        argIndexes, " + (sharedAliases ? "aliasMap" : "null") + ");");
+        }
+
+        out.line("java.util.Map<String, " + registry + ".PropertyInfo> properties = new java.util.LinkedHashMap<>();");
+        for (int i = 0; i < model.properties.size(); i++) {
+            Property p = model.properties.get(i);
+            String raw = _rawLiteral(p.type);
+            String getter = p.getter == null ? "null" : "new Accessor(" + i + ")";
+            String setter = p.setter == null ? "null" : "new Accessor(" + i + ")";
+            out.line("properties.put(\"" + GeneratorUtil.escape(p.name) + "\", new " + registry + ".PropertyInfo(\""
+                    + GeneratorUtil.escape(p.name) + "\",");
+            out.line("        " + _typeExpr(p.type) + ", null,");
+            out.line("        null, null, " + getter + ",");
+            out.line("        null, null, " + setter + ",");
+            out.line("        " + (p.oneOfType ? "org.sjf4j.node.ReflectUtil.resolveOneOfInfo(" + raw + ")" : "null") + ", "
+                    + (p.codecName == null ? "null" : "\"" + GeneratorUtil.escape(p.codecName) + "\"") + ", "
+                    + _codecExpr(raw, p.codecName, p.codecPattern) + "));");
+        }
+
+        String aliasProperties = "null";
+        if (model.propertyAliasMap != null) {
+            out.line("java.util.Map<String, " + registry + ".PropertyInfo> aliasProperties = new java.util.HashMap<>(properties);");
+            out.line("for (java.util.Map.Entry<String, String> alias : aliasMap.entrySet()) {");
+            out.line("    " + registry + ".PropertyInfo pi = properties.get(alias.getValue());");
+            out.line("    if (pi != null) aliasProperties.put(alias.getKey(), pi);");
+            out.line("}");
+            aliasProperties = "aliasProperties";
+        }
+        out.line("return new " + registry + ".PojoInfo(" + pojo + ".class, creatorInfo,");
+        out.line("        " + (model.naming == null ? "null" : NamingStrategy.class.getName() + "." + model.naming.name())
+                + ", " + PropertyStrategy.class.getName() + ".BEAN_FIELD, "
+                + model.readDynamic + ", " + model.writeDynamic + ",");
+        out.line("        properties, " + aliasProperties + ",");
+        out.line("        " + model.hasExplicitBinding + ", " + model.hasNonPublicFields + ", "
+                + model.hasNonPublicReaderGap + ", " + model.hasNonPublicWriterGap + ");");
+        out.dedent();
+        out.line("}");
+    }
+
+    private void _emitAccessor(SourceWriter out, Model model, String pojo) {
+        boolean noArgs = model.argNames == null;
+        out.line("private static final class Accessor implements " + (noArgs ? "java.util.function.Supplier<Object>, " : "")
+                + "java.util.function.Function<Object, Object>, java.util.function.BiConsumer<Object, Object> {");
+        out.indent();
+        out.line("private final int index;");
+        out.line("");
+        out.line("Accessor(int index) {");
+        out.line("    this.index = index;");
+        out.line("}");
+        if (noArgs) {
+            out.line("");
+            out.line("@Override");
+            out.line("public Object get() {");
+            out.line("    return new " + pojo + "();");
+            out.line("}");
+        }
+        out.line("");
+        out.line("@Override");
+        out.line("public Object apply(Object o) {");
+        out.indent();
+        out.line(pojo + " pojo = (" + pojo + ") o;");
+        out.line("switch (index) {");
+        for (int i = 0; i < model.properties.size(); i++) {
+            Element getter = model.properties.get(i).getter;
+            if (getter == null) continue;
+            out.line("    case " + i + ": return " + analyzer.readExpr(model, getter) + ";");
+        }
+        out.line("    default: throw new IllegalStateException(\"no getter #\" + index);");
+        out.line("}");
+        out.dedent();
+        out.line("}");
+        out.line("");
+        out.line("@Override");
+        out.line("@SuppressWarnings(\"unchecked\")");
+        out.line("public void accept(Object o, Object v) {");
+        out.indent();
+        out.line(pojo + " pojo = (" + pojo + ") o;");
+        out.line("switch (index) {");
+        for (int i = 0; i < model.properties.size(); i++) {
+            Element setter = model.properties.get(i).setter;
+            if (setter == null) continue;
+            out.line("    case " + i + ": " + analyzer.writeExpr(model, setter, "(" + analyzer.castType(analyzer.valueType(setter)) + ") v") + "; return;");
+        }
+        out.line("    default: throw new IllegalStateException(\"no setter #\" + index);");
+        out.line("}");
+        out.dedent();
+        out.line("}");
+        out.dedent();
+        out.line("}");
+    }
+
+    private void _emitCreator(SourceWriter out, Model model, String pojo) {
+        ExecutableElement creator = model.creator;
+        StringBuilder args = new StringBuilder();
+        List<? extends VariableElement> params = creator.getParameters();
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) args.append(", ");
+            args.append("(").append(analyzer.castType(params.get(i).asType())).append(") args[").append(i).append("]");
+        }
+        String call = creator.getKind() == ElementKind.CONSTRUCTOR
+                ? "new " + pojo + "(" + args + ")"
+                : pojo + "." + creator.getSimpleName() + "(" + args + ")";
+        out.line("private static final class Creator implements java.util.function.Function<Object[], Object> {");
+        out.line("    @Override");
+        out.line("    @SuppressWarnings(\"unchecked\")");
+        out.line("    public Object apply(Object[] args) {");
+        out.line("        return " + call + ";");
+        out.line("    }");
+        out.line("}");
+    }
+
+    private String _rawLiteral(TypeMirror type) {
+        return ctx.types.erasure(type).toString() + ".class";
+    }
+
+    private String _boxedRaw(TypeMirror type) {
+        return ctx.types.erasure(GeneratorUtil.boxed(ctx, type)).toString() + ".class";
+    }
+
+    private String _codecExpr(String rawLiteral, String codecName, String codecPattern) {
+        if (codecName == null && codecPattern == null) return "null";
+        return NODE_REGISTRY + ".resolveValueCodecOrElseThrow(" + rawLiteral + ", "
+                + (codecName == null ? "null" : "\"" + GeneratorUtil.escape(codecName) + "\"") + ", "
+                + (codecPattern == null ? "null" : "\"" + GeneratorUtil.escape(codecPattern) + "\"") + ")";
+    }
+
+    /**
+     * Builds a {@code java.lang.reflect.Type} expression equal to what
+     * reflection reports for the same declared type.
+     */
+    private String _typeExpr(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY: {
+                TypeMirror component = ((ArrayType) type).getComponentType();
+                if (_isGeneric(component)) {
+                    return "new " + TYPES + ".GenericArrayTypeImpl(" + _typeExpr(component) + ")";
+                }
+                return _rawLiteral(type);
+            }
+            case WILDCARD: {
+                WildcardType wt = (WildcardType) type;
+                if (wt.getExtendsBound() != null) {
+                    return "new " + TYPES + ".WildcardTypeImpl(new java.lang.reflect.Type[]{"
+                            + _typeExpr(wt.getExtendsBound()) + "}, null)";
+                }
+                if (wt.getSuperBound() != null) {
+                    return "new " + TYPES + ".WildcardTypeImpl(null, new java.lang.reflect.Type[]{"
+                            + _typeExpr(wt.getSuperBound()) + "})";
+                }
+                return "new " + TYPES + ".WildcardTypeImpl(null, null)";
+            }
+            case DECLARED: {
+                DeclaredType dt = (DeclaredType) type;
+                if (dt.getTypeArguments().isEmpty()) return _rawLiteral(type);
+                StringBuilder args = new StringBuilder();
+                for (TypeMirror arg : dt.getTypeArguments()) {
+                    if (args.length() > 0) args.append(", ");
+                    args.append(_typeExpr(arg));
+                }
+                Element enclosing = dt.asElement().getEnclosingElement();
+                String owner = enclosing instanceof TypeElement ? _rawLiteral(enclosing.asType()) : "null";
+                return "new " + TYPES + ".ParameterizedTypeImpl(" + _rawLiteral(type)
+                        + ", new java.lang.reflect.Type[]{" + args + "}, " + owner + ")";
+            }
+            default:
+                return _rawLiteral(type);
+        }
+    }
+
+    private boolean _isGeneric(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) return _isGeneric(((ArrayType) type).getComponentType());
+        return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+
+}
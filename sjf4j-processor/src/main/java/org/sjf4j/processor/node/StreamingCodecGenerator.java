@@ -0,0 +1,455 @@
+package org.sjf4j.processor.node;
+
+import org.sjf4j.processor.GeneratorUtil;
+import org.sjf4j.processor.ProcessorContext;
+import org.sjf4j.processor.SourceWriter;
+import org.sjf4j.processor.node.PojoAnalyzer.Model;
+import org.sjf4j.processor.node.PojoAnalyzer.Property;
+import org.sjf4j.processor.node.PojoAnalyzer.Unsupported;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Emits a {@code StreamingCodec} for each {@code @CompiledCodec} model.
+ *
+ * <p>The generated reader switches on property names and aliases, reads
+ * primitives, boxed numbers, strings, big numbers, and enums with the matching
+ * {@code StreamingReader} call, and builds the model through its no-args
+ * constructor or its creator. Creator arguments and properties read before the
+ * creator runs are kept in typed locals, mirroring
+ * {@code NodeRegistry.PojoCreationSession}. The writer emits pre-encoded names
+ * and primitive writes. Every other property goes through the public
+ * {@code StreamingIO} property helpers, so containers, nested POJOs, value
+ * codecs, and {@code @OneOf} types keep their runtime semantics.</p>
+ */
+public final class StreamingCodecGenerator {
+
+    private static final String POSTFIX = "_StreamingCodec";
+    private static final String STREAMING_IO = "org.sjf4j.facade.StreamingIO";
+    private static final String TOKEN = "org.sjf4j.facade.StreamingReader.Token";
+
+    private final ProcessorContext ctx;
+    private final PojoAnalyzer analyzer;
+    private final Set<String> seen = new HashSet<>();
+
+    public StreamingCodecGenerator(ProcessorContext ctx) {
+        this.ctx = ctx;
+        this.analyzer = new PojoAnalyzer(ctx);
+    }
+
+    /**
+     * Generates a codec for an annotated model, warning when the model has to
+     * stay on reflective binding.
+     */
+    public void generate(TypeElement type) {
+        if (!seen.add(type.getQualifiedName().toString())) return;
+        Model model;
+        try {
+            model = analyzer.analyze(type);
+        } catch (Unsupported e) {
+            ctx.warning(type, "@CompiledCodec " + type.getQualifiedName()
+                    + " keeps reflective streaming binding: " + e.getMessage());
+            return;
+        }
+        _emit(model);
+    }
+
+
+    /// Emission
+
+    private void _emit(Model model) {
+        TypeElement type = model.type;
+        String simpleName = analyzer.generatedSimpleName(model, POSTFIX);
+        String qualifiedName = model.packageName.isEmpty() ? simpleName : model.packageName + "." + simpleName;
+        String pojo = type.getQualifiedName().toString();
+
+        boolean needsPojoInfo = false;
+        for (Property p : model.properties) needsPojoInfo |= !_isScalar(p);
+        boolean needsCreatorInfo = false;
+        if (model.argNames != null) {
+            for (int i = 0; i < model.argNames.size(); i++) needsCreatorInfo |= !_isScalarArg(model, i);
+        }
+
+        try (SourceWriter out = new SourceWriter(ctx, type, qualifiedName)) {
+            out.line("// Generated by SJF4J");
+            if (!model.packageName.isEmpty()) out.line("package " + model.packageName + ";");
+            out.line("");
+            out.line("");
+            out.line("public final class " + simpleName + " implements org.sjf4j.facade.StreamingCodec<" + pojo + "> {");
+            out.indent();
+            out.line("");
+            if (needsPojoInfo || needsCreatorInfo) {
+                out.line("private static final org.sjf4j.node.NodeRegistry.PojoInfo POJO_INFO =");
+                out.line("        org.sjf4j.node.NodeRegistry.registerPojoOrElseThrow(" + pojo + ".class);");
+            }
+            if (needsCreatorInfo) {
+                out.line("private static final org.sjf4j.node.NodeRegistry.CreatorInfo CREATOR_INFO = POJO_INFO.creatorInfo;");
+            }
+            for (int i = 0; i < model.properties.size(); i++) {
+                Property p = model.properties.get(i);
+                if (!_isScalar(p)) {
+                    out.line("private static final org.sjf4j.node.NodeRegistry.PropertyInfo P" + i
+                            + " = POJO_INFO.properties.get(\"" + GeneratorUtil.escape(p.name) + "\");");
+                }
+                if (p.getter != null) {
+                    out.line("private static final org.sjf4j.facade.EncodedName N" + i
+                            + " = org.sjf4j.facade.EncodedName.of(\"" + GeneratorUtil.escape(p.name) + "\");");
+                }
+            }
+            out.line("");
+            out.line("public " + simpleName + "() {");
+            out.line("}");
+            out.line("");
+            _emitRead(out, model, pojo);
+            out.line("");
+            _emitWrite(out, model, pojo);
+            out.line("");
+            out.line("private static <T> T readNull(org.sjf4j.facade.StreamingReader reader) throws java.io.IOException {");
+            out.line("    reader.nextNull();");
+            out.line("    return null;");
+            out.line("}");
+            out.dedent();
+            out.line("}");
+        } catch (IOException e) {
+            ctx.error(type, "Failed to generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void _emitRead(SourceWriter out, Model model, String pojo) {
+        boolean creator = model.argNames != null;
+        out.line("@Override");
+        out.line("@SuppressWarnings(\"unchecked\")");
+        out.line("public " + pojo + " read(org.sjf4j.facade.StreamingReader reader, "
+                + "org.sjf4j.facade.StreamingContext context) throws java.io.IOException {");
+        out.indent();
+        if (creator) {
+            List<? extends VariableElement> params = model.creator.getParameters();
+            for (int i = 0; i < params.size(); i++) {
+                TypeMirror t = params.get(i).asType();
+                out.line(_localType(t) + " a" + i + " = " + _defaultValue(t) + ";");
+                out.line("boolean hasA" + i + " = false;");
+            }
+            for (int i = 0; i < model.properties.size(); i++) {
+                Property p = model.properties.get(i);
+                if (p.setter == null) continue;
+                TypeMirror t = analyzer.valueType(p.setter);
+                out.line(_localType(t) + " p" + i + " = " + _defaultValue(t) + ";");
+                out.line("boolean hasP" + i + " = false;");
+            }
+        } else {
+            out.line(pojo + " pojo = new " + pojo + "();");
+        }
+
+        out.line("reader.startObject();");
+        out.line("while (reader.peekToken() != " + TOKEN + ".END_OBJECT) {");
+        out.indent();
+        out.line("switch (reader.nextName()) {");
+        out.indent();
+        Map<Integer, List<String>> argLabels = new LinkedHashMap<>();
+        Map<Integer, List<String>> propertyLabels = new LinkedHashMap<>();
+        _labels(model, argLabels, propertyLabels);
+        for (Map.Entry<Integer, List<String>> e : argLabels.entrySet()) {
+            int i = e.getKey();
+            _caseLabels(out, e.getValue());
+            out.indent();
+            String argName = GeneratorUtil.escape(model.argNames.get(i));
+            out.line("if (hasA" + i + ") throw new org.sjf4j.exception.BindingException("
+                    + "\"duplicate creator argument assignment for '" + argName + "'\");");
+            out.line("hasA" + i + " = true;");
+            TypeMirror t = model.creator.getParameters().get(i).asType();
+            if (_isScalarArg(model, i) && t.getKind().isPrimitive()) {
+                out.line("if (reader.peekToken() == " + TOKEN + ".NULL) reader.nextNull();");
+                out.line("else a" + i + " = " + _scalarRead(t) + ";");
+            } else if (_isScalarArg(model, i)) {
+                out.line("a" + i + " = " + _nullableScalarRead(t) + ";");
+            } else {
+                _assignObject(out, "a" + i, t, STREAMING_IO + ".readCreatorArg(reader, CREATOR_INFO, " + i
+                        + ", " + pojo + ".class, context)");
+            }
+            out.line("break;");
+            out.dedent();
+            out.line("}");
+        }
+        for (Map.Entry<Integer, List<String>> e : propertyLabels.entrySet()) {
+            int i = e.getKey();
+            Property p = model.properties.get(i);
+            _caseLabels(out, e.getValue());
+            out.indent();
+            if (p.setter == null) {
+                out.line("reader.skipNext();");
+            } else {
+                TypeMirror t = analyzer.valueType(p.setter);
+                String value;
+                if (!_isScalar(p)) {
+                    value = STREAMING_IO + ".readProperty(reader, P" + i + ", " + pojo + ".class, context)";
+                } else if (t.getKind().isPrimitive()) {
+                    value = _scalarRead(t);
+                } else {
+                    value = _nullableScalarRead(t);
+                }
+                if (creator) {
+                    if (_isScalar(p)) out.line("p" + i + " = " + value + ";");
+                    else _assignObject(out, "p" + i, t, value);
+                    out.line("hasP" + i + " = true;");
+                } else if (_isScalar(p)) {
+                    out.line(analyzer.writeExpr(model, p.setter, value) + ";");
+                } else {
+                    out.line(_localType(t) + " v = (" + analyzer.castType(t) + ") " + value + ";");
+                    out.line(analyzer.writeExpr(model, p.setter, "v") + ";");
+                }
+            }
+            out.line("break;");
+            out.dedent();
+            out.line("}");
+        }
+        out.line("default:");
+        out.line("    reader.skipNext();");
+        out.dedent();
+        out.line("}");
+        out.dedent();
+        out.line("}");
+        out.line("reader.endObject();");
+
+        if (creator) {
+            StringBuilder args = new StringBuilder();
+            for (int i = 0; i < model.argNames.size(); i++) {
+                if (i > 0) args.append(", ");
+                args.append('a').append(i);
+            }
+            String call = model.creator.getKind() == ElementKind.CONSTRUCTOR
+                    ? "new " + pojo + "(" + args + ")"
+                    : pojo + "." + model.creator.getSimpleName() + "(" + args + ")";
+            out.line(pojo + " pojo = " + call + ";");
+            for (int i = 0; i < model.properties.size(); i++) {
+                Property p = model.properties.get(i);
+                if (p.setter == null) continue;
+                out.line("if (hasP" + i + ") " + analyzer.writeExpr(model, p.setter, "p" + i) + ";");
+            }
+        }
+        out.line("return pojo;");
+        out.dedent();
+        out.line("}");
+    }
+
+    private void _emitWrite(SourceWriter out, Model model, String pojo) {
+        out.line("@Override");
+        out.line("public void write(org.sjf4j.facade.StreamingWriter writer, " + pojo + " pojo, "
+                + "org.sjf4j.facade.StreamingContext context) throws java.io.IOException {");
+        out.indent();
+        out.line("writer.startObject();");
+        out.line("int cnt = 0;");
+        for (int i = 0; i < model.properties.size(); i++) {
+            Property p = model.properties.get(i);
+            if (p.getter == null) continue;
+            TypeMirror t = _getterType(p.getter);
+            String read = analyzer.readExpr(model, p.getter);
+            if (t.getKind().isPrimitive() && _isScalar(p)) {
+                out.line("if (cnt++ > 0) writer.writeObjectComma();");
+                out.line("writer.writeEncodedName(N" + i + ");");
+                out.line(_scalarWrite(t, read) + ";");
+                continue;
+            }
+            out.line("{");
+            out.indent();
+            out.line((_isScalar(p) ? _localType(t) : "Object") + " v = " + read + ";");
+            out.line("if (v != null || context.includeNulls) {");
+            out.line("    if (cnt++ > 0) writer.writeObjectComma();");
+            out.line("    writer.writeEncodedName(N" + i + ");");
+            if (_isScalar(p)) {
+                out.line("    if (v == null) writer.writeNull();");
+                out.line("    else " + _scalarWrite(t, "v") + ";");
+            } else {
+                out.line("    " + STREAMING_IO + ".writeProperty(writer, P" + i + ", v, context);");
+            }
+            out.line("}");
+            out.dedent();
+            out.line("}");
+        }
+        out.line("writer.endObject();");
+        out.dedent();
+        out.line("}");
+    }
+
+    /**
+     * Resolves JSON keys the way {@code StreamingIO.readPojo} does: creator
+     * arguments and their aliases win, then property names, then property
+     * aliases, which replace a same-named property like
+     * {@code PojoInfo.aliasProperties}.
+     */
+    private void _labels(Model model, Map<Integer, List<String>> argLabels,
+                         Map<Integer, List<String>> propertyLabels) {
+        Map<String, Integer> args = new LinkedHashMap<>();
+        if (model.argNames != null) {
+            for (int i = 0; i < model.argNames.size(); i++) args.put(model.argNames.get(i), i);
+            Map<String, String> creatorAliases = model.aliasMap != null ? model.propertyAliasMap : null;
+            if (creatorAliases != null) {
+                for (Map.Entry<String, String> e : creatorAliases.entrySet()) {
+                    Integer idx = args.get(e.getValue());
+                    if (idx != null && !args.containsKey(e.getKey())) args.put(e.getKey(), idx);
+                }
+            }
+        }
+        Map<String, Integer> properties = new LinkedHashMap<>();
+        for (int i = 0; i < model.properties.size(); i++) properties.put(model.properties.get(i).name, i);
+        if (model.propertyAliasMap != null) {
+            for (Map.Entry<String, String> e : model.propertyAliasMap.entrySet()) {
+                Integer idx = _indexOf(model, e.getValue());
+                if (idx != null) properties.put(e.getKey(), idx);
+            }
+        }
+        for (Map.Entry<String, Integer> e : args.entrySet()) {
+            argLabels.computeIfAbsent(e.getValue(), k -> new ArrayList<>()).add(e.getKey());
+        }
+        for (Map.Entry<String, Integer> e : properties.entrySet()) {
+            if (args.containsKey(e.getKey())) continue;
+            propertyLabels.computeIfAbsent(e.getValue(), k -> new ArrayList<>()).add(e.getKey());
+        }
+    }
+
+    private static Integer _indexOf(Model model, String name) {
+        for (int i = 0; i < model.properties.size(); i++) {
+            if (model.properties.get(i).name.equals(name)) return i;
+        }
+        return null;
+    }
+
+    private static void _caseLabels(SourceWriter out, List<String> labels) {
+        for (int j = 0; j < labels.size(); j++) {
+            String label = "case \"" + GeneratorUtil.escape(labels.get(j)) + "\":";
+            out.line(j == labels.size() - 1 ? label + " {" : label);
+        }
+    }
+
+    private void _assignObject(SourceWriter out, String local, TypeMirror type, String value) {
+        if (type.getKind().isPrimitive()) {
+            out.line("Object v = " + value + ";");
+            out.line("if (v != null) " + local + " = (" + analyzer.castType(type) + ") v;");
+        } else {
+            out.line(local + " = (" + analyzer.castType(type) + ") " + value + ";");
+        }
+    }
+
+    private TypeMirror _getterType(Element getter) {
+        if (getter.getKind() == ElementKind.FIELD) return getter.asType();
+        return ((javax.lang.model.element.ExecutableElement) getter).getReturnType();
+    }
+
+
+    /// Scalars
+
+    private boolean _isScalar(Property p) {
+        if (p.codecName != null || p.codecPattern != null) return false;
+        if (!_isScalarType(p.type)) return false;
+        return (p.getter == null || _isScalarType(_getterType(p.getter)))
+                && (p.setter == null || _isScalarType(analyzer.valueType(p.setter)));
+    }
+
+    private boolean _isScalarArg(Model model, int i) {
+        return model.argCodecNames.get(i) == null && model.argCodecPatterns.get(i) == null
+                && _isScalarType(model.creator.getParameters().get(i).asType());
+    }
+
+    /**
+     * Scalars are the types {@code StreamingIO} reads and writes before it
+     * consults value codecs, so reading them directly keeps its semantics.
+     */
+    private boolean _isScalarType(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN: case BYTE: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE:
+                return true;
+            case DECLARED:
+                break;
+            default:
+                return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() == ElementKind.ENUM) return true;
+        switch (((TypeElement) element).getQualifiedName().toString()) {
+            case "java.lang.String":
+            case "java.lang.Boolean":
+            case "java.lang.Byte":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long":
+            case "java.lang.Float":
+            case "java.lang.Double":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private String _scalarRead(TypeMirror type) {
+        TypeMirror boxed = GeneratorUtil.boxed(ctx, type);
+        Element element = ((DeclaredType) boxed).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return ((TypeElement) element).getQualifiedName() + ".valueOf(reader.nextString())";
+        }
+        switch (((TypeElement) element).getQualifiedName().toString()) {
+            case "java.lang.String": return "reader.nextString()";
+            case "java.lang.Boolean": return "reader.nextBoolean()";
+            case "java.lang.Byte": return "reader.nextByte()";
+            case "java.lang.Short": return "reader.nextShort()";
+            case "java.lang.Integer": return "reader.nextInt()";
+            case "java.lang.Long": return "reader.nextLong()";
+            case "java.lang.Float": return "reader.nextFloat()";
+            case "java.lang.Double": return "reader.nextDouble()";
+            case "java.math.BigInteger": return "reader.nextBigInteger()";
+            default: return "reader.nextBigDecimal()";
+        }
+    }
+
+    private String _nullableScalarRead(TypeMirror type) {
+        return "reader.peekToken() == " + TOKEN + ".NULL ? readNull(reader) : " + _scalarRead(type);
+    }
+
+    private String _scalarWrite(TypeMirror type, String value) {
+        TypeMirror boxed = GeneratorUtil.boxed(ctx, type);
+        Element element = ((DeclaredType) boxed).asElement();
+        if (element.getKind() == ElementKind.ENUM) return "writer.writeString(" + value + ".name())";
+        switch (((TypeElement) element).getQualifiedName().toString()) {
+            case "java.lang.String": return "writer.writeString(" + value + ")";
+            case "java.lang.Boolean": return "writer.writeBoolean(" + value + ")";
+            case "java.lang.Byte":
+            case "java.lang.Short":
+            case "java.lang.Integer":
+            case "java.lang.Long": return "writer.writeNumber((long) " + value + ")";
+            case "java.lang.Double": return "writer.writeNumber((double) " + value + ")";
+            default: return "writer.writeNumber((Number) " + value + ")";
+        }
+    }
+
+    private String _localType(TypeMirror type) {
+        return type.getKind().isPrimitive() ? type.toString() : analyzer.castType(type);
+    }
+
+    private static String _defaultValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN: return "false";
+            case BYTE: return "(byte) 0";
+            case SHORT: return "(short) 0";
+            case INT: return "0";
+            case LONG: return "0L";
+            case FLOAT: return "0f";
+            case DOUBLE: return "0d";
+            case CHAR: return "'\\0'";
+            default: return "null";
+        }
+    }
+
+}
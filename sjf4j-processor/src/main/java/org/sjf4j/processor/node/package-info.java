@@ -0,0 +1,20 @@
+/**
+ * Build-time POJO metadata for {@code @CompiledPojo} models, and streaming
+ * codecs for {@code @CompiledCodec} models.
+ *
+ * <p>The generator repeats the runtime {@code BEAN_FIELD} analysis on source
+ * elements and emits one {@code PojoInfoProvider} per model.  Its accessors and
+ * creator are plain switch-based classes that call getters, setters, fields, and
+ * constructors directly, and the providers are registered for
+ * {@code ServiceLoader}, so registering these models at runtime needs neither
+ * reflection scanning nor method-handle or lambda bootstrapping.</p>
+ *
+ * <p>Models the analysis cannot reproduce exactly are left to reflective
+ * analysis: explicitly annotated ones with a warning, package-listed ones
+ * silently.</p>
+ *
+ * <p>Both generators share {@code PojoAnalyzer}.  A streaming codec reads and
+ * writes scalar properties with direct reader and writer calls and hands every
+ * other property to the public {@code StreamingIO} helpers.</p>
+ */
+package org.sjf4j.processor.node;
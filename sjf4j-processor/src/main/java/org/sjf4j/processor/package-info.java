@@ -1,6 +1,6 @@
 /**
- * Annotation-processing infrastructure shared by SJF4J's compiled path and
- * compiled mapper generators.
+ * Annotation-processing infrastructure shared by SJF4J's compiled path,
+ * compiled mapper, and compiled POJO metadata generators.
  *
  * <p>The processor favors small, direct generated Java over runtime reflection
  * or interpreted path/mapping execution.  Shared classes in this package keep
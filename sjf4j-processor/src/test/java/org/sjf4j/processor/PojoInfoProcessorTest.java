@@ -0,0 +1,278 @@
+package org.sjf4j.processor;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.ReflectUtil;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PojoInfoProcessorTest {
+
+    private static final Sjf4j SIMPLE = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+
+    @Test
+    public void generateProvidersForAnnotatedModels() throws Exception {
+        Path dir = Files.createTempDirectory("sjf4j-pojo-info-test");
+        Path src = dir.resolve("src/testcase");
+        Path out = dir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(out);
+
+        write(src.resolve("Person.java"),
+                "package testcase;\n" +
+                "import java.util.List;\n" +
+                "import java.util.Map;\n" +
+                "import org.sjf4j.annotation.node.CompiledPojo;\n" +
+                "import org.sjf4j.annotation.node.NodeIgnore;\n" +
+                "import org.sjf4j.annotation.node.NodeProperty;\n" +
+                "@CompiledPojo\n" +
+                "public class Person extends Base {\n" +
+                "  private String name;\n" +
+                "  private int age;\n" +
+                "  private boolean active;\n" +
+                "  @NodeProperty(value = \"nick_name\", aliases = {\"nick\"})\n" +
+                "  public String nickName;\n" +
+                "  public List<String> tags;\n" +
+                "  public Map<String, List<Integer>> scores;\n" +
+                "  @NodeIgnore public String secret;\n" +
+                "  String hidden;\n" +
+                "  public String getName() { return name; }\n" +
+                "  public void setName(String name) { this.name = name; }\n" +
+                "  public int getAge() { return age; }\n" +
+                "  public void setAge(int age) { this.age = age; }\n" +
+                "  public boolean isActive() { return active; }\n" +
+                "  public void setActive(boolean active) { this.active = active; }\n" +
+                "}\n");
+        write(src.resolve("Base.java"),
+                "package testcase;\n" +
+                "public class Base {\n" +
+                "  public long id;\n" +
+                "}\n");
+        write(src.resolve("Point.java"),
+                "package testcase;\n" +
+                "import org.sjf4j.annotation.node.CompiledPojo;\n" +
+                "import org.sjf4j.annotation.node.NodeCreator;\n" +
+                "import org.sjf4j.annotation.node.NodeProperty;\n" +
+                "@CompiledPojo\n" +
+                "public class Point {\n" +
+                "  private final int x;\n" +
+                "  private final int y;\n" +
+                "  public String label;\n" +
+                "  @NodeCreator\n" +
+                "  public Point(@NodeProperty(aliases = \"px\") int x, int y) { this.x = x; this.y = y; }\n" +
+                "  public int getX() { return x; }\n" +
+                "  public int getY() { return y; }\n" +
+                "}\n");
+        write(src.resolve("Box.java"),
+                "package testcase;\n" +
+                "import org.sjf4j.annotation.node.CompiledPojo;\n" +
+                "@CompiledPojo\n" +
+                "public class Box<T> {\n" +
+                "  public T value;\n" +
+                "}\n");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Boolean ok = compile(out, diagnostics, null, src.resolve("Person.java"), src.resolve("Base.java"),
+                src.resolve("Point.java"), src.resolve("Box.java"));
+        assertTrue(ok, "Compilation should succeed: " + diagnosticsToString(diagnostics));
+        assertTrue(Files.exists(out.resolve("testcase/Person_PojoInfo.class")));
+        assertTrue(Files.exists(out.resolve("testcase/Point_PojoInfo.class")));
+        assertFalse(Files.exists(out.resolve("testcase/Box_PojoInfo.class")));
+        assertTrue(diagnosticsToString(diagnostics).contains("testcase.Box keeps reflective POJO analysis"),
+                diagnosticsToString(diagnostics));
+        String services = new String(Files.readAllBytes(
+                out.resolve("META-INF/services/org.sjf4j.node.PojoInfoProvider")), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("testcase.Person_PojoInfo", "testcase.Point_PojoInfo"),
+                Arrays.asList(services.trim().split("\n")));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader());
+        Class<?> personClass = Class.forName("testcase.Person", true, loader);
+        Class<?> pointClass = Class.forName("testcase.Point", true, loader);
+
+        NodeRegistry.PojoInfo person = assertGenerated(personClass);
+        assertEquals(Arrays.asList("name", "age", "active", "nick_name", "tags", "scores", "id"),
+                new ArrayList<>(person.properties.keySet()));
+        assertTrue(person.aliasProperties.containsKey("nick"));
+
+        Object p = SIMPLE.fromJson("{\"name\":\"han\",\"age\":7,\"active\":true,\"nick\":\"h\"," +
+                "\"tags\":[\"a\"],\"scores\":{\"m\":[1,2]},\"id\":9}", personClass);
+        assertEquals("{\"name\":\"han\",\"age\":7,\"active\":true,\"nick_name\":\"h\",\"tags\":[\"a\"]," +
+                "\"scores\":{\"m\":[1,2]},\"id\":9}", SIMPLE.toJsonString(p));
+
+        NodeRegistry.PojoInfo point = assertGenerated(pointClass);
+        assertTrue(point.hasCreatorBinding);
+        assertNull(point.creatorInfo.argsCreatorHandle);
+        assertNotNull(point.creatorInfo.argsCreatorFunction);
+        Object pt = SIMPLE.fromJson("{\"px\":3,\"y\":4,\"label\":\"p\"}", pointClass);
+        assertEquals("{\"x\":3,\"y\":4,\"label\":\"p\"}", SIMPLE.toJsonString(pt));
+    }
+
+    @Test
+    public void generateProvidersForListedPackages() throws Exception {
+        Path dir = Files.createTempDirectory("sjf4j-pojo-info-package-test");
+        Path src = dir.resolve("src/testcase/dto");
+        Path other = dir.resolve("src/testcase/other");
+        Path out = dir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(other);
+        Files.createDirectories(out);
+
+        write(src.resolve("Order.java"),
+                "package testcase.dto;\n" +
+                "import java.util.List;\n" +
+                "import org.sjf4j.annotation.node.NodeBinding;\n" +
+                "import org.sjf4j.annotation.node.NamingStrategy;\n" +
+                "@NodeBinding(naming = NamingStrategy.SNAKE_CASE)\n" +
+                "public class Order {\n" +
+                "  public String orderId;\n" +
+                "  public List<Line> lineItems;\n" +
+                "  public static class Line {\n" +
+                "    public String sku;\n" +
+                "    public int qty;\n" +
+                "  }\n" +
+                "  public interface Marker {}\n" +
+                "}\n");
+        write(other.resolve("Skipped.java"),
+                "package testcase.other;\n" +
+                "public class Skipped {\n" +
+                "  public String name;\n" +
+                "}\n");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Boolean ok = compile(out, diagnostics, "testcase.dto", src.resolve("Order.java"), other.resolve("Skipped.java"));
+        assertTrue(ok, "Compilation should succeed: " + diagnosticsToString(diagnostics));
+        assertTrue(Files.exists(out.resolve("testcase/dto/Order_PojoInfo.class")));
+        assertTrue(Files.exists(out.resolve("testcase/dto/Order$Line_PojoInfo.class")));
+        assertFalse(Files.exists(out.resolve("testcase/other/Skipped_PojoInfo.class")));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader());
+        Class<?> orderClass = Class.forName("testcase.dto.Order", true, loader);
+        Class<?> lineClass = Class.forName("testcase.dto.Order$Line", true, loader);
+        NodeRegistry.PojoInfo order = assertGenerated(orderClass);
+        assertEquals(Arrays.asList("order_id", "line_items"), new ArrayList<>(order.properties.keySet()));
+        assertGenerated(lineClass);
+
+        String json = "{\"order_id\":\"o1\",\"line_items\":[{\"sku\":\"a\",\"qty\":2}]}";
+        assertEquals(json, SIMPLE.toJsonString(SIMPLE.fromJson(json, orderClass)));
+    }
+
+    @Test
+    public void skipBrokenProviderEntries() throws Exception {
+        Path dir = Files.createTempDirectory("sjf4j-pojo-info-broken-test");
+        Path src = dir.resolve("src/testcase");
+        Path out = dir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(out);
+
+        write(src.resolve("Tag.java"),
+                "package testcase;\n" +
+                "import org.sjf4j.annotation.node.CompiledPojo;\n" +
+                "@CompiledPojo\n" +
+                "public class Tag {\n" +
+                "  public String name;\n" +
+                "}\n");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Boolean ok = compile(out, diagnostics, null, src.resolve("Tag.java"));
+        assertTrue(ok, "Compilation should succeed: " + diagnosticsToString(diagnostics));
+        Path services = out.resolve("META-INF/services/org.sjf4j.node.PojoInfoProvider");
+        write(services, "testcase.Missing_PojoInfo\n" +
+                new String(Files.readAllBytes(services), StandardCharsets.UTF_8));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader());
+        Class<?> tagClass = Class.forName("testcase.Tag", true, loader);
+        assertGenerated(tagClass);
+        assertEquals("{\"name\":\"t\"}", SIMPLE.toJsonString(SIMPLE.fromJson("{\"name\":\"t\"}", tagClass)));
+    }
+
+    /**
+     * Checks that the registry used the generated provider and that its metadata
+     * matches what reflective analysis derives for the same class.
+     */
+    private static NodeRegistry.PojoInfo assertGenerated(Class<?> clazz) {
+        NodeRegistry.PojoInfo generated = NodeRegistry.registerPojoOrElseThrow(clazz);
+        NodeRegistry.PojoInfo reflected = ReflectUtil.analyzePojo(clazz, true);
+        assertEquals(new ArrayList<>(reflected.properties.keySet()), new ArrayList<>(generated.properties.keySet()));
+        assertEquals(reflected.aliasProperties == null ? null : reflected.aliasProperties.keySet(),
+                generated.aliasProperties == null ? null : generated.aliasProperties.keySet());
+        for (Map.Entry<String, NodeRegistry.PropertyInfo> e : generated.properties.entrySet()) {
+            NodeRegistry.PropertyInfo expected = reflected.properties.get(e.getKey());
+            NodeRegistry.PropertyInfo actual = e.getValue();
+            assertEquals(expected.type, actual.type, e.getKey());
+            assertEquals(expected.getterHandle != null, actual.getterLambda != null, e.getKey());
+            assertEquals(expected.setterHandle != null, actual.setterLambda != null, e.getKey());
+            assertNull(actual.getterHandle);
+            assertNull(actual.setterHandle);
+            if (actual.getterLambda != null) {
+                assertTrue(actual.getterLambda.getClass().getName().startsWith(clazz.getName() + "_PojoInfo$"));
+            }
+        }
+        assertEquals(reflected.namingStrategy, generated.namingStrategy);
+        assertEquals(reflected.hasExplicitBinding, generated.hasExplicitBinding);
+        assertEquals(reflected.hasCreatorBinding, generated.hasCreatorBinding);
+        assertEquals(reflected.hasNonPublicFields, generated.hasNonPublicFields);
+        assertEquals(reflected.hasNonPublicReaderGap, generated.hasNonPublicReaderGap);
+        assertEquals(reflected.hasNonPublicWriterGap, generated.hasNonPublicWriterGap);
+        assertEquals(reflected.creatorInfo.hasNoArgsCreator(), generated.creatorInfo.hasNoArgsCreator());
+        assertArrayEquals(reflected.creatorInfo.argNames, generated.creatorInfo.argNames);
+        assertArrayEquals(reflected.creatorInfo.argTypes, generated.creatorInfo.argTypes);
+        assertEquals(reflected.creatorInfo.aliasMap, generated.creatorInfo.aliasMap);
+        return generated;
+    }
+
+    private static Boolean compile(Path out, DiagnosticCollector<JavaFileObject> diagnostics, String packages,
+                                   Path... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "JDK compiler is required");
+        StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        files.setLocation(StandardLocation.CLASS_OUTPUT, Arrays.asList(out.toFile()));
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"), "-parameters",
+                "-processor", Sjf4jProcessor.class.getName()));
+        if (packages != null) options.add("-Asjf4j.compiledPojoPackages=" + packages);
+        List<File> inputs = new ArrayList<>();
+        for (Path source : sources) inputs.add(source.toFile());
+        return compiler.getTask(null, files, diagnostics, options, null,
+                files.getJavaFileObjectsFromFiles(inputs)).call();
+    }
+
+    private static String diagnosticsToString(DiagnosticCollector<JavaFileObject> diagnostics) {
+        StringBuilder sb = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            sb.append(diagnostic.getMessage(null)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void write(Path path, String content) throws Exception {
+        try (FileWriter w = new FileWriter(path.toFile())) {
+            w.write(content);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.sjf4j.processor;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.BindingException;
+import org.sjf4j.facade.StreamingCodec;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.ValueCodec;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingCodecProcessorTest {
+
+    private static final Sjf4j SIMPLE = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+    private static final Sjf4j SIMPLE_NO_NULLS = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider())
+            .includeNulls(false).build();
+
+    @Test
+    public void generateCodecsForAnnotatedModels() throws Exception {
+        Path dir = Files.createTempDirectory("sjf4j-streaming-codec-test");
+        Path src = dir.resolve("src/testcase");
+        Path out = dir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(out);
+
+        write(src.resolve("Account.java"),
+                "package testcase;\n" +
+                "import java.math.BigDecimal;\n" +
+                "import java.util.List;\n" +
+                "import java.util.Map;\n" +
+                "import org.sjf4j.annotation.node.CompiledCodec;\n" +
+                "import org.sjf4j.annotation.node.NodeIgnore;\n" +
+                "import org.sjf4j.annotation.node.NodeProperty;\n" +
+                "@CompiledCodec\n" +
+                "public class Account {\n" +
+                "  public enum Level { LOW, HIGH }\n" +
+                "  private String name;\n" +
+                "  private int age;\n" +
+                "  private boolean active;\n" +
+                "  public Long score;\n" +
+                "  public double ratio;\n" +
+                "  public BigDecimal balance;\n" +
+                "  public Level level;\n" +
+                "  @NodeProperty(value = \"nick_name\", aliases = {\"nick\"})\n" +
+                "  public String nickName;\n" +
+                "  public List<String> tags;\n" +
+                "  public Map<String, List<Integer>> scores;\n" +
+                "  public Address address;\n" +
+                "  @NodeIgnore public String secret;\n" +
+                "  public String getName() { return name; }\n" +
+                "  public void setName(String name) { this.name = name; }\n" +
+                "  public int getAge() { return age; }\n" +
+                "  public void setAge(int age) { this.age = age; }\n" +
+                "  public boolean isActive() { return active; }\n" +
+                "  public void setActive(boolean active) { this.active = active; }\n" +
+                "}\n");
+        write(src.resolve("Address.java"),
+                "package testcase;\n" +
+                "public class Address {\n" +
+                "  public String city;\n" +
+                "  public int zip;\n" +
+                "}\n");
+        write(src.resolve("Point.java"),
+                "package testcase;\n" +
+                "import java.util.List;\n" +
+                "import org.sjf4j.annotation.node.CompiledCodec;\n" +
+                "import org.sjf4j.annotation.node.NodeCreator;\n" +
+                "import org.sjf4j.annotation.node.NodeProperty;\n" +
+                "@CompiledCodec\n" +
+                "public class Point {\n" +
+                "  private final int x;\n" +
+                "  private final int y;\n" +
+                "  private final List<Integer> path;\n" +
+                "  public String label;\n" +
+                "  @NodeCreator\n" +
+                "  public Point(@NodeProperty(aliases = \"px\") int x, int y, List<Integer> path) {\n" +
+                "    this.x = x; this.y = y; this.path = path;\n" +
+                "  }\n" +
+                "  public int getX() { return x; }\n" +
+                "  public int getY() { return y; }\n" +
+                "  public List<Integer> getPath() { return path; }\n" +
+                "}\n");
+        write(src.resolve("Box.java"),
+                "package testcase;\n" +
+                "import org.sjf4j.annotation.node.CompiledCodec;\n" +
+                "@CompiledCodec\n" +
+                "public class Box<T> {\n" +
+                "  public T value;\n" +
+                "}\n");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Boolean ok = compile(out, diagnostics, src.resolve("Account.java"), src.resolve("Address.java"),
+                src.resolve("Point.java"), src.resolve("Box.java"));
+        assertTrue(ok, "Compilation should succeed: " + diagnosticsToString(diagnostics));
+        assertTrue(Files.exists(out.resolve("testcase/Account_StreamingCodec.class")));
+        assertTrue(Files.exists(out.resolve("testcase/Point_StreamingCodec.class")));
+        assertFalse(Files.exists(out.resolve("testcase/Address_StreamingCodec.class")));
+        assertFalse(Files.exists(out.resolve("testcase/Box_StreamingCodec.class")));
+        assertFalse(Files.exists(out.resolve("META-INF/services/org.sjf4j.node.PojoInfoProvider")));
+        assertTrue(diagnosticsToString(diagnostics).contains("testcase.Box keeps reflective streaming binding"),
+                diagnosticsToString(diagnostics));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader());
+        Class<?> accountClass = Class.forName("testcase.Account", true, loader);
+        Class<?> pointClass = Class.forName("testcase.Point", true, loader);
+        assertTrue(StreamingCodec.class.isAssignableFrom(
+                Class.forName("testcase.Account_StreamingCodec", true, loader)));
+
+        Object account = SIMPLE.fromJson("{\"name\":\"han\",\"age\":7,\"active\":true,\"score\":12," +
+                "\"ratio\":0.5,\"balance\":10.25,\"level\":\"HIGH\",\"nick\":\"h\",\"secret\":\"s\"," +
+                "\"tags\":[\"a\"],\"scores\":{\"m\":[1,2]},\"address\":{\"city\":\"x\",\"zip\":1}," +
+                "\"unknown\":{\"a\":[1]}}", accountClass);
+        assertEquals("{\"name\":\"han\",\"age\":7,\"active\":true,\"score\":12,\"ratio\":0.5," +
+                "\"balance\":10.25,\"level\":\"HIGH\",\"nick_name\":\"h\",\"tags\":[\"a\"]," +
+                "\"scores\":{\"m\":[1,2]},\"address\":{\"city\":\"x\",\"zip\":1}}", SIMPLE.toJsonString(account));
+
+        Object sparse = SIMPLE.fromJson("{\"name\":null,\"score\":null,\"age\":3}", accountClass);
+        assertEquals("{\"age\":3,\"active\":false,\"ratio\":0.0}", SIMPLE_NO_NULLS.toJsonString(sparse));
+        assertEquals("{\"name\":null,\"age\":3,\"active\":false,\"score\":null,\"ratio\":0.0,\"balance\":null," +
+                "\"level\":null,\"nick_name\":null,\"tags\":null,\"scores\":null,\"address\":null}",
+                SIMPLE.toJsonString(sparse));
+
+        Object pt = SIMPLE.fromJson("{\"label\":\"p\",\"px\":3,\"y\":4,\"path\":[1,2]}", pointClass);
+        assertEquals("{\"x\":3,\"y\":4,\"path\":[1,2],\"label\":\"p\"}", SIMPLE.toJsonString(pt));
+        Object defaults = SIMPLE.fromJson("{\"y\":null}", pointClass);
+        assertEquals("{\"x\":0,\"y\":0}", SIMPLE_NO_NULLS.toJsonString(defaults));
+        assertThrows(BindingException.class, () -> SIMPLE.fromJson("{\"x\":1,\"px\":2}", pointClass));
+    }
+
+    @Test
+    public void generateCodecsForCharAndCodecPrimitives() throws Exception {
+        NodeRegistry.registerValueCodec("hex", new ValueCodec.SimpleValueCodec<>(Long.class, String.class,
+                Long::toHexString, s -> Long.parseLong(s, 16)));
+        Path dir = Files.createTempDirectory("sjf4j-streaming-codec-test");
+        Path src = dir.resolve("src/testcase");
+        Path out = dir.resolve("classes");
+        Files.createDirectories(src);
+        Files.createDirectories(out);
+
+        write(src.resolve("Flags.java"),
+                "package testcase;\n" +
+                "import org.sjf4j.annotation.node.CompiledCodec;\n" +
+                "import org.sjf4j.annotation.node.NodeProperty;\n" +
+                "@CompiledCodec\n" +
+                "public class Flags {\n" +
+                "  public char mark;\n" +
+                "  @NodeProperty(codecName = \"hex\") public long mask;\n" +
+                "  public int count;\n" +
+                "}\n");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Boolean ok = compile(out, diagnostics, src.resolve("Flags.java"));
+        assertTrue(ok, "Compilation should succeed: " + diagnosticsToString(diagnostics));
+        assertTrue(Files.exists(out.resolve("testcase/Flags_StreamingCodec.class")));
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader());
+        Class<?> flagsClass = Class.forName("testcase.Flags", true, loader);
+        Object flags = SIMPLE.fromJson("{\"mark\":\"x\",\"mask\":\"ff\",\"count\":2}", flagsClass);
+        assertEquals('x', flagsClass.getField("mark").getChar(flags));
+        assertEquals(255L, flagsClass.getField("mask").getLong(flags));
+        assertEquals("{\"mark\":\"x\",\"mask\":\"ff\",\"count\":2}", SIMPLE.toJsonString(flags));
+    }
+
+    private static Boolean compile(Path out, DiagnosticCollector<JavaFileObject> diagnostics,
+                                   Path... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "JDK compiler is required");
+        StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        files.setLocation(StandardLocation.CLASS_OUTPUT, Arrays.asList(out.toFile()));
+        List<String> options = new ArrayList<>(Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"), "-parameters",
+                "-processor", Sjf4jProcessor.class.getName()));
+        List<File> inputs = new ArrayList<>();
+        for (Path source : sources) inputs.add(source.toFile());
+        return compiler.getTask(null, files, diagnostics, options, null,
+                files.getJavaFileObjectsFromFiles(inputs)).call();
+    }
+
+    private static String diagnosticsToString(DiagnosticCollector<JavaFileObject> diagnostics) {
+        StringBuilder sb = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            sb.append(diagnostic.getMessage(null)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void write(Path path, String content) throws Exception {
+        try (FileWriter w = new FileWriter(path.toFile())) {
+            w.write(content);
+        }
+    }
+}
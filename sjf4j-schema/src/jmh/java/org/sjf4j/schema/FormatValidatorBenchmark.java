@@ -14,6 +14,8 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.sjf4j.path.PathSyntax;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -48,6 +50,9 @@ public class FormatValidatorBenchmark {
     private final String email = "alice.smith+tag@example-service.internal";
     private final String hostname = "api-01.example-service.internal";
     private final String ipv4 = "203.0.113.42";
+    private final String ipv6 = "2001:db8:85a3::8a2e:370:7334";
+    private final String ipv6Mixed = "::ffff:192.0.2.128";
+    private final String uri = "https://user@api.example.com:8443/v1/items/42?expand=owner&sort=-id#top";
     private final String duration = "P1Y2M3DT4H5M6S";
     private final String jsonPointer = "/a~1b/c~0d/0/-/tail";
     private final String relativeJsonPointer = "12/a~1b/c~0d/0";
@@ -126,6 +131,36 @@ public class FormatValidatorBenchmark {
         return LEGACY_IPV4_PATTERN.matcher(ipv4).matches();
     }
 
+    @Benchmark
+    public boolean ipv6_current() {
+        return FormatValidator.IPV6.validate(ipv6);
+    }
+
+    @Benchmark
+    public boolean ipv6_legacy_inet_address() {
+        return legacyValidateIpv6(ipv6);
+    }
+
+    @Benchmark
+    public boolean ipv6_mixed_current() {
+        return FormatValidator.IPV6.validate(ipv6Mixed);
+    }
+
+    @Benchmark
+    public boolean ipv6_mixed_legacy_inet_address() {
+        return legacyValidateIpv6(ipv6Mixed);
+    }
+
+    @Benchmark
+    public boolean uri_current() {
+        return FormatUtil.validateUri(uri);
+    }
+
+    @Benchmark
+    public boolean uri_legacy_java_net_uri() {
+        return legacyValidateUri(uri);
+    }
+
     @Benchmark
     public boolean duration_current() {
         return FormatValidator.DURATION.validate(duration);
@@ -156,6 +191,25 @@ public class FormatValidatorBenchmark {
         return legacyValidateRelativeJsonPointer(relativeJsonPointer);
     }
 
+    private static boolean legacyValidateIpv6(String value) {
+        if (value == null || value.isEmpty() || !value.contains(":")) return false;
+        try {
+            InetAddress.getByName(value);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean legacyValidateUri(String value) {
+        try {
+            if (FormatUtil.hasUnbracketedIpv6Authority(value)) return false;
+            return new URI(value).isAbsolute();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     private static boolean legacyValidateEmail(String value) {
         if (value == null || value.isEmpty()) return false;
         int at = FormatValidator._findEmailAt(value);
@@ -18,6 +18,8 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.sjf4j.Sjf4j;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 
@@ -83,6 +85,17 @@ public class SchemaBenchmark {
             "\"multipleOf\":2" +
             "}";
 
+    private static final String PATTERN_PROPERTIES_SCHEMA_JSON =
+            "{" +
+            "\"type\":\"object\"," +
+            "\"patternProperties\":{" +
+            "   \"^x-\":{\"type\":\"string\"}," +
+            "   \"^[a-z]+$\":{\"type\":\"integer\"}," +
+            "   \"^k[0-9]+_(even|odd)$\":{\"type\":\"integer\",\"minimum\":0}" +
+            "}," +
+            "\"additionalProperties\":false" +
+            "}";
+
     private static final String OBJECT_NODE_JSON =
             "{" +
             "\"id\":10," +
@@ -110,11 +123,13 @@ public class SchemaBenchmark {
         public SchemaPlan arraySchema;
         public SchemaPlan stringSchema;
         public SchemaPlan numberSchema;
+        public SchemaPlan patternPropertiesSchema;
 
         public Object objectNode;
         public Object arrayNode;
         public String stringNode;
         public Number numberNode;
+        public Map<String, Object> patternPropertiesNode;
 
         @Setup(Level.Trial)
         public void setup() {
@@ -133,10 +148,20 @@ public class SchemaBenchmark {
             JsonSchema numberSchemaDoc = JsonSchema.fromJson(NUMBER_SCHEMA_JSON);
             numberSchema = numberSchemaDoc.createPlan();
 
+            JsonSchema patternPropertiesSchemaDoc = JsonSchema.fromJson(PATTERN_PROPERTIES_SCHEMA_JSON);
+            patternPropertiesSchema = patternPropertiesSchemaDoc.createPlan();
+
             objectNode = Sjf4j.global().fromJson(OBJECT_NODE_JSON);
             arrayNode = Sjf4j.global().fromJson(ARRAY_NODE_JSON);
             stringNode = "alice@example.com";
             numberNode = 84;
+
+            patternPropertiesNode = new LinkedHashMap<>();
+            for (int i = 0; i < 2000; i++) {
+                patternPropertiesNode.put("k" + i + ((i & 1) == 0 ? "_even" : "_odd"), i);
+            }
+            patternPropertiesNode.put("x-trace", "abc");
+            patternPropertiesNode.put("count", 3);
         }
     }
 
@@ -166,4 +191,10 @@ public class SchemaBenchmark {
         return state.numberSchema.validate(state.numberNode, state.failFastEnabled, state.strictFormatEnabled);
     }
 
+    @Benchmark
+    public Object schema_validate_pattern_properties_map(SchemaState state) {
+        return state.patternPropertiesSchema.validate(state.patternPropertiesNode,
+                state.failFastEnabled, state.strictFormatEnabled);
+    }
+
 }
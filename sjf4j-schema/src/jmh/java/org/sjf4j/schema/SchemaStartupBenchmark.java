@@ -0,0 +1,81 @@
+package org.sjf4j.schema;
+
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sjf4j.Sjf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Time-to-first-validation in a fresh JVM.
+ * <p>
+ * Every measured call runs once per fork, so the score includes class
+ * initialization of the schema module, including whatever built-in
+ * metaschemas the first validation actually needs.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@Fork(value = 20)
+@Threads(1)
+public class SchemaStartupBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Main.main(new String[]{"SchemaStartupBenchmark"});
+    }
+
+    private static final String USER_SCHEMA_JSON =
+            "{" +
+            "\"type\":\"object\"," +
+            "\"required\":[\"id\",\"name\"]," +
+            "\"properties\":{" +
+            "   \"id\":{\"type\":\"integer\",\"minimum\":1}," +
+            "   \"name\":{\"type\":\"string\",\"minLength\":2}," +
+            "   \"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\"}}" +
+            "}" +
+            "}";
+
+    private static final String DRAFT07_USER_SCHEMA_JSON =
+            "{" +
+            "\"$schema\":\"http://json-schema.org/draft-07/schema#\"," +
+            "\"type\":\"object\"," +
+            "\"required\":[\"id\",\"name\"]," +
+            "\"properties\":{" +
+            "   \"id\":{\"type\":\"integer\",\"minimum\":1}," +
+            "   \"name\":{\"type\":\"string\",\"minLength\":2}" +
+            "}" +
+            "}";
+
+    private static final String USER_JSON = "{\"id\":7,\"name\":\"alice\",\"tags\":[\"a\",\"b\"]}";
+
+    @Benchmark
+    public Object startup_firstValidation_defaultDialect() {
+        SchemaPlan plan = JsonSchema.fromJson(USER_SCHEMA_JSON).createPlan();
+        return plan.validate(Sjf4j.global().fromJson(USER_JSON));
+    }
+
+    @Benchmark
+    public Object startup_firstValidation_draft07() {
+        SchemaPlan plan = JsonSchema.fromJson(DRAFT07_USER_SCHEMA_JSON).createPlan();
+        return plan.validate(Sjf4j.global().fromJson(USER_JSON));
+    }
+
+    @Benchmark
+    public Object startup_firstValidation_againstMetaschema() {
+        SchemaPlan metaschema = SchemaRegistry.globalResolve(URI.create("https://json-schema.org/draft/2020-12/schema"));
+        return metaschema.validate(Sjf4j.global().fromJson(USER_SCHEMA_JSON));
+    }
+
+}
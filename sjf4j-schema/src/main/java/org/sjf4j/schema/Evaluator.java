@@ -12,16 +12,20 @@ import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.BitSet;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Per-keyword evaluator used by compiled schemas.
@@ -440,7 +444,7 @@ public interface Evaluator {
         final PathSegment keywordPs;
         final URI schemaUri;
         final String pattern;
-        final Pattern pn;
+        final RegexMatcher pn;
         /**
          * Creates evaluator for pattern keyword.
          */
@@ -448,7 +452,7 @@ public interface Evaluator {
             this.keywordPs = keywordPs;
             this.schemaUri = schemaUri;
             this.pattern = Objects.requireNonNull(pattern);
-            this.pn = SchemaUtil.compileRegexPattern(pattern, "pattern");
+            this.pn = SchemaUtil.compileRegexMatcher(pattern, "pattern");
         }
 
         /**
@@ -459,7 +463,7 @@ public interface Evaluator {
             if (instance.jsonType() != JsonType.STRING) return true;
 
             String actual = Nodes.toString(instance.node());
-            if (!pn.matcher(actual).find()) {
+            if (!pn.find(actual)) {
                 ctx.addError(instance, ps, keywordPs, schemaUri, "pattern",
                         "expected string matching pattern '" + pattern + "'");
                 return false;
@@ -609,30 +613,62 @@ public interface Evaluator {
 
     // properties / patternProperties / additionalProperties
     final class PropertiesEvaluator implements Evaluator {
+        static final int PATTERN_MEMO_LIMIT = 1024;
+        static final int[] NO_PATTERNS = new int[0];
+
         final Map<String, SchemaPlan> properties;
-        final Pattern[] patterns;
+        final RegexMatcher[] patterns;
         final SchemaPlan[] patternPlans;
         final SchemaPlan additionalPropertiesPlan;
+        // key -> indexes of matching patterns; only kept when some pattern needs java.util.regex
+        final Map<String, int[]> patternMemo;
         public PropertiesEvaluator(Map<String, SchemaPlan> properties,
                                    Map<String, SchemaPlan> patternProperties,
                                    SchemaPlan additionalPropertiesPlan) {
             this.properties = properties;
+            boolean memo = false;
             if (patternProperties != null) {
-                this.patterns = new Pattern[patternProperties.size()];
+                this.patterns = new RegexMatcher[patternProperties.size()];
                 this.patternPlans = new SchemaPlan[patternProperties.size()];
                 int i = 0;
                 for (Map.Entry<String, SchemaPlan> entry : patternProperties.entrySet()) {
-                    this.patterns[i] = SchemaUtil.compileRegexPattern(entry.getKey(), "patternProperties");
+                    this.patterns[i] = SchemaUtil.compileRegexMatcher(entry.getKey(), "patternProperties");
                     this.patternPlans[i] = entry.getValue();
+                    memo |= !patterns[i].isFastPath();
                     i++;
                 }
             } else {
                 this.patterns = null;
                 this.patternPlans = null;
             }
+            this.patternMemo = memo ? new ConcurrentHashMap<>() : null;
             this.additionalPropertiesPlan = additionalPropertiesPlan;
         }
 
+        /**
+         * Returns indexes of patternProperties entries matching {@code key}.
+         * <p>
+         * Objects validated by one plan usually repeat the same keys, so regex
+         * results are memoized per key up to {@link #PATTERN_MEMO_LIMIT} keys.
+         */
+        int[] matchPatterns(String key) {
+            if (patternMemo != null) {
+                int[] cached = patternMemo.get(key);
+                if (cached != null) return cached;
+            }
+            int[] matched = NO_PATTERNS;
+            int count = 0;
+            for (int i = 0; i < patterns.length; i++) {
+                if (patterns[i].find(key)) {
+                    if (count == matched.length) matched = Arrays.copyOf(matched, Math.max(2, count * 2));
+                    matched[count++] = i;
+                }
+            }
+            if (count != matched.length) matched = Arrays.copyOf(matched, count);
+            if (patternMemo != null && patternMemo.size() < PATTERN_MEMO_LIMIT) patternMemo.put(key, matched);
+            return matched;
+        }
+
         /**
          * Validates properties, patternProperties, and additionalProperties.
          * <p>
@@ -664,18 +700,16 @@ public interface Evaluator {
                 }
 
                 if (patterns != null) {
-                    for (int i = 0; i < patterns.length; i++) {
-                        if (patterns[i].matcher(key).find()) {
-                            SchemaPlan plan = patternPlans[i];
-                            if (plan != null) {
-                                InstancedNode subInstance = instance.inferSubByKey(key, value, ctx.reusedLeaf());
-                                PathSegment cps = ps == null ? null : new PathSegment.Name(ps, key);
-                                boolean subResult = plan.evaluate(subInstance, cps, ctx);
-                                if (subResult) instance.markEvaluated(propIdx);
-                                result = result && subResult;
-                                if (ctx.shouldAbort()) return result;
-                                matched = true;
-                            }
+                    for (int i : matchPatterns(key)) {
+                        SchemaPlan plan = patternPlans[i];
+                        if (plan != null) {
+                            InstancedNode subInstance = instance.inferSubByKey(key, value, ctx.reusedLeaf());
+                            PathSegment cps = ps == null ? null : new PathSegment.Name(ps, key);
+                            boolean subResult = plan.evaluate(subInstance, cps, ctx);
+                            if (subResult) instance.markEvaluated(propIdx);
+                            result = result && subResult;
+                            if (ctx.shouldAbort()) return result;
+                            matched = true;
                         }
                     }
                 }
@@ -965,6 +999,9 @@ public interface Evaluator {
         }
         /**
          * Validates prefixItems and items schemas for array elements.
+         * <p>
+         * In parallel mode, an {@code items} range at or above the context
+         * threshold is split into chunks validated on the fork-join pool.
          */
         @Override
         public boolean evaluate(InstancedNode instance, PathSegment ps, ValidationContext ctx) {
@@ -984,7 +1021,12 @@ public interface Evaluator {
                 }
                 if (result) instance.markEvaluated(0, i);
             }
-            if (itemsPlan != null) {
+            if (itemsPlan != null && ctx.shouldParallelize(size - i)) {
+                boolean subResult = _evaluateParallel(instance, actual, i, size, ps, ctx);
+                result = result && subResult;
+                if (ctx.shouldAbort()) return result;
+                if (result) instance.markEvaluated(0, size);
+            } else if (itemsPlan != null) {
                 for (; i < size; i++) {
                     InstancedNode subInstance = instance.inferSubByIndex(i, Nodes.getInArray(actual, i), null);
                     PathSegment cps = ps == null ? null : new PathSegment.Index(ps, i);
@@ -996,6 +1038,57 @@ public interface Evaluator {
             }
             return result;
         }
+
+        /**
+         * Validates items {@code [from, to)} in forked chunks.
+         * <p>
+         * Each chunk owns a forked context; chunk messages are joined in index
+         * order, so the result matches sequential validation. When a failure
+         * decides the outcome (fail-fast or ignore-error probing), chunks stop at
+         * the lowest failing index seen so far and only messages up to the
+         * first failing chunk are joined.
+         */
+        private boolean _evaluateParallel(InstancedNode instance, Object actual, int from, int to,
+                                          PathSegment ps, ValidationContext ctx) {
+            int chunkSize = ctx.parallelChunkSize(to - from);
+            int chunkCount = (to - from + chunkSize - 1) / chunkSize;
+            boolean stopOnFailure = ctx.isFailFast() || ctx.isIgnoringErrors();
+            AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+            ValidationContext[] chunkCtxs = new ValidationContext[chunkCount];
+            boolean[] chunkResults = new boolean[chunkCount];
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunkCount);
+            for (int c = 0; c < chunkCount; c++) {
+                int chunkIdx = c;
+                int start = from + c * chunkSize;
+                int end = Math.min(to, start + chunkSize);
+                ValidationContext chunkCtx = ctx.fork();
+                chunkCtxs[c] = chunkCtx;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    boolean chunkResult = true;
+                    for (int j = start; j < end; j++) {
+                        if (stopOnFailure && j > firstFailure.get()) break;
+                        InstancedNode subInstance = instance.inferSubByIndexDetached(j, Nodes.getInArray(actual, j));
+                        PathSegment cps = ps == null ? null : new PathSegment.Index(ps, j);
+                        boolean subResult = itemsPlan.evaluate(subInstance, cps, chunkCtx);
+                        chunkResult = chunkResult && subResult;
+                        if ((!subResult && stopOnFailure) || chunkCtx.shouldAbort()) {
+                            firstFailure.accumulateAndGet(j, Math::min);
+                            break;
+                        }
+                    }
+                    chunkResults[chunkIdx] = chunkResult;
+                }));
+            }
+            ctx.invokeAll(tasks);
+
+            boolean result = true;
+            for (int c = 0; c < chunkCount; c++) {
+                ctx.join(chunkCtxs[c]);
+                result = result && chunkResults[c];
+                if (!result && stopOnFailure) break;
+            }
+            return result;
+        }
     }
 
 
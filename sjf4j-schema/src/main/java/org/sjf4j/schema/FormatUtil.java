@@ -38,15 +38,26 @@ final class FormatUtil {
         }
     }
 
+    /**
+     * Validates an absolute RFC 3986 {@code URI} in a single pass.
+     * <p>
+     * Authority rules follow the previous {@link URI}-based check: an explicit
+     * port must be non-empty digits, and an unbracketed IPv6 host is rejected
+     * because {@code ':'} is not a reg-name character.
+     */
     static boolean validateUri(String value) {
-        if (value == null || value.isEmpty() || !_isAsciiOnly(value)) return false;
-        try {
-            if (hasUnbracketedIpv6Authority(value)) return false;
-            URI uri = new URI(value);
-            return uri.isAbsolute() && _hasValidUriPort(uri.getRawAuthority());
-        } catch (Exception e) {
-            return false;
+        if (value == null || value.isEmpty()) return false;
+        int len = value.length();
+        int i = _scanUriScheme(value, len);
+        if (i < 0) return false;
+        if (i + 1 < len && value.charAt(i) == '/' && value.charAt(i + 1) == '/') {
+            i = _scanUriAuthority(value, i + 2, len);
+            if (i < 0) return false;
         }
+        i = _scanUriChars(value, i, len, false);
+        if (i >= 0 && i < len && value.charAt(i) == '?') i = _scanUriChars(value, i + 1, len, true);
+        if (i >= 0 && i < len && value.charAt(i) == '#') i = _scanUriChars(value, i + 1, len, true);
+        return i == len;
     }
 
     static boolean validateUriReference(String value) {
@@ -62,13 +73,14 @@ final class FormatUtil {
 
     static boolean validateHostname(String value, boolean allowUnicode) {
         if (value == null || value.isEmpty()) return false;
-        String normalized = allowUnicode ? normalizeIdnHostnameSeparators(value) : value;
+        if (!allowUnicode) return validateAsciiHostname(value, 0, value.length());
+        String normalized = normalizeIdnHostnameSeparators(value);
         if (normalized.isEmpty() || normalized.length() > 253 || normalized.startsWith(".") || normalized.endsWith(".")) return false;
         // Name conversion is required for Bidi rules that span labels. Label
         // conversion below remains necessary for length and A-label checks.
         boolean ascii = _isAsciiOnly(normalized);
-        if (allowUnicode && ICU != null && !ascii && ICU.toAsciiName(normalized) == null) return false;
-        if (ascii) return _validateAsciiHostname(normalized);
+        if (ICU != null && !ascii && ICU.toAsciiName(normalized) == null) return false;
+        if (ascii) return _validateAsciiHostname(normalized, 0, normalized.length());
         String[] parts = normalized.split("\\.", -1);
         int asciiLength = 0;
         for (int i = 0; i < parts.length; i++) {
@@ -230,6 +242,130 @@ final class FormatUtil {
         return _isDigits(hostPort, colon + 1);
     }
 
+    /// URI scanning
+
+    private static final int URI_UNRESERVED = 1;
+    private static final int URI_SUB_DELIM = 2;
+    private static final byte[] URI_CHAR_CLASS = new byte[128];
+
+    static {
+        for (char ch = 'a'; ch <= 'z'; ch++) URI_CHAR_CLASS[ch] = URI_UNRESERVED;
+        for (char ch = 'A'; ch <= 'Z'; ch++) URI_CHAR_CLASS[ch] = URI_UNRESERVED;
+        for (char ch = '0'; ch <= '9'; ch++) URI_CHAR_CLASS[ch] = URI_UNRESERVED;
+        for (char ch : "-._~".toCharArray()) URI_CHAR_CLASS[ch] = URI_UNRESERVED;
+        for (char ch : "!$&'()*+,;=".toCharArray()) URI_CHAR_CLASS[ch] = URI_SUB_DELIM;
+    }
+
+    private static boolean _isUriUnreservedOrSubDelim(char ch) {
+        return ch < 128 && URI_CHAR_CLASS[ch] != 0;
+    }
+
+    /**
+     * Returns the index after the {@code scheme ":"} prefix, or -1.
+     */
+    private static int _scanUriScheme(String value, int len) {
+        char first = value.charAt(0);
+        if (!((first >= 'a' && first <= 'z') || (first >= 'A' && first <= 'Z'))) return -1;
+        for (int i = 1; i < len; i++) {
+            char ch = value.charAt(i);
+            if (ch == ':') return i + 1;
+            if (!((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')
+                    || ch == '+' || ch == '-' || ch == '.')) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Scans {@code authority} from {@code start}; returns its end index or -1 if invalid.
+     */
+    private static int _scanUriAuthority(String value, int start, int len) {
+        int end = start;
+        int at = -1;
+        while (end < len) {
+            char ch = value.charAt(end);
+            if (ch == '/' || ch == '?' || ch == '#') break;
+            if (ch == '@' && at < 0) at = end;
+            end++;
+        }
+        int host = start;
+        if (at >= 0) {
+            // userinfo = *( unreserved / pct-encoded / sub-delims / ":" )
+            for (int i = start; i < at; i++) {
+                char ch = value.charAt(i);
+                if (ch == '%') {
+                    if (!_isPctEncoded(value, i, at)) return -1;
+                    i += 2;
+                } else if (ch != ':' && !_isUriUnreservedOrSubDelim(ch)) return -1;
+            }
+            host = at + 1;
+        }
+        int i = host;
+        if (i < end && value.charAt(i) == '[') {
+            int close = value.indexOf(']', i + 1);
+            if (close < 0 || close >= end || !_isIpLiteral(value, i + 1, close)) return -1;
+            i = close + 1;
+        } else {
+            while (i < end) {
+                char ch = value.charAt(i);
+                if (ch == ':') break;
+                if (ch == '%') {
+                    if (!_isPctEncoded(value, i, end)) return -1;
+                    i += 2;
+                } else if (!_isUriUnreservedOrSubDelim(ch)) return -1;
+                i++;
+            }
+        }
+        if (i == end) return end;
+        if (value.charAt(i) != ':' || i == host || i + 1 == end) return -1;
+        for (i++; i < end; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+        }
+        return end;
+    }
+
+    private static boolean _isIpLiteral(String value, int start, int end) {
+        if (start < end && (value.charAt(start) == 'v' || value.charAt(start) == 'V')) {
+            // IPvFuture = "v" 1*HEXDIG "." 1*( unreserved / sub-delims / ":" )
+            int i = start + 1;
+            while (i < end && FormatValidator._isHexDigit(value.charAt(i))) i++;
+            if (i == start + 1 || i >= end || value.charAt(i) != '.' || ++i == end) return false;
+            for (; i < end; i++) {
+                char ch = value.charAt(i);
+                if (ch != ':' && !_isUriUnreservedOrSubDelim(ch)) return false;
+            }
+            return true;
+        }
+        return FormatValidator._validateIpv6(value, start, end);
+    }
+
+    /**
+     * Scans path ({@code pchar / "/"}) or, with {@code queryOrFragment},
+     * query/fragment ({@code pchar / "/" / "?"}) characters from {@code start}.
+     * Returns the index of the first character outside that set, or -1 on a
+     * malformed percent-encoding.
+     */
+    private static int _scanUriChars(String value, int start, int len, boolean queryOrFragment) {
+        int i = start;
+        while (i < len) {
+            char ch = value.charAt(i);
+            if (ch == '%') {
+                if (!_isPctEncoded(value, i, len)) return -1;
+                i += 3;
+                continue;
+            }
+            if (!_isUriUnreservedOrSubDelim(ch) && ch != ':' && ch != '@' && ch != '/'
+                    && !(queryOrFragment && ch == '?')) break;
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean _isPctEncoded(String value, int i, int end) {
+        return i + 2 < end && FormatValidator._isHexDigit(value.charAt(i + 1))
+                && FormatValidator._isHexDigit(value.charAt(i + 2));
+    }
+
     private static boolean _isDigits(String value, int offset) {
         if (offset >= value.length()) return false;
         for (int i = offset; i < value.length(); i++) {
@@ -239,10 +375,22 @@ final class FormatUtil {
         return true;
     }
 
-    private static boolean _validateAsciiHostname(String value) {
-        int labelStart = 0;
-        for (int i = 0; i <= value.length(); i++) {
-            if (i < value.length() && value.charAt(i) != '.') continue;
+    /**
+     * Validates an ASCII-only {@code hostname} in {@code [start, end)} without copying it.
+     */
+    static boolean validateAsciiHostname(String value, int start, int end) {
+        if (start >= end || end - start > 253) return false;
+        if (value.charAt(start) == '.' || value.charAt(end - 1) == '.') return false;
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) > 0x7F) return false;
+        }
+        return _validateAsciiHostname(value, start, end);
+    }
+
+    private static boolean _validateAsciiHostname(String value, int start, int end) {
+        int labelStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && value.charAt(i) != '.') continue;
             if (i == labelStart || i - labelStart > 63) return false;
             if (!_isValidAsciiHostnameLabel(value, labelStart, i)) return false;
             labelStart = i + 1;
@@ -1,7 +1,6 @@
 package org.sjf4j.schema;
 
 import java.net.IDN;
-import java.net.InetAddress;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -11,6 +10,10 @@ import java.util.regex.PatternSyntaxException;
  * Validators are stateless and shared as singleton instances. The
  * implementations are intentionally pragmatic and lightweight rather than full
  * RFC-complete parsers for every standard format.
+ * <p>
+ * Hot formats (date/time, uuid, ipv4/ipv6, email, hostname, uri) are
+ * single-pass scanners over index ranges of the input string; they do not
+ * allocate substrings, matchers, or exceptions on the common path.
  */
 public interface FormatValidator {
 
@@ -70,15 +73,7 @@ public interface FormatValidator {
 
     FormatValidator URI_REFERENCE = FormatUtil::validateUriReference;
 
-    FormatValidator IPV6 = value -> {
-        if (value == null || value.isEmpty() || !value.contains(":")) return false;
-        try {
-            InetAddress.getByName(value);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    };
+    FormatValidator IPV6 = FormatValidator::_validateIpv6;
 
     FormatValidator JSON_POINTER = FormatValidator::_validateJsonPointer;
 
@@ -178,18 +173,22 @@ public interface FormatValidator {
         if (value == null || value.isEmpty()) return false;
         int at = _findEmailAt(value);
         if (at <= 0 || at == value.length() - 1) return false;
-        return _validateEmailLocal(value.substring(0, at)) && _validateEmailDomain(value.substring(at + 1), false);
+        return _validateEmailLocal(value, 0, at) && _validateEmailDomain(value, at + 1, value.length(), false);
     }
 
     static boolean _validateEmailLocal(String local) {
-        if (local.isEmpty()) return false;
-        if (local.charAt(0) == '"') {
-            return _isQuotedEmailLocal(local);
+        return _validateEmailLocal(local, 0, local.length());
+    }
+
+    static boolean _validateEmailLocal(String value, int start, int end) {
+        if (start >= end) return false;
+        if (value.charAt(start) == '"') {
+            return _isQuotedEmailLocal(value, start, end);
         }
-        if (local.charAt(0) == '.' || local.charAt(local.length() - 1) == '.') return false;
+        if (value.charAt(start) == '.' || value.charAt(end - 1) == '.') return false;
         boolean segment = false;
-        for (int i = 0; i < local.length(); i++) {
-            char ch = local.charAt(i);
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
             if (ch == '.') {
                 if (!segment) return false;
                 segment = false;
@@ -304,23 +303,31 @@ public interface FormatValidator {
     }
 
     static boolean _validateEmailDomain(String domain, boolean allowUnicode) {
-        if (domain.isEmpty()) return false;
-        if (domain.charAt(0) == '[' && domain.charAt(domain.length() - 1) == ']') {
-            String literal = domain.substring(1, domain.length() - 1);
-            if (literal.regionMatches(true, 0, "IPv6:", 0, 5)) return IPV6.validate(literal.substring(5));
-            return IPV4.validate(literal);
+        return _validateEmailDomain(domain, 0, domain.length(), allowUnicode);
+    }
+
+    static boolean _validateEmailDomain(String value, int start, int end, boolean allowUnicode) {
+        if (start >= end) return false;
+        if (value.charAt(start) == '[' && value.charAt(end - 1) == ']') {
+            if (value.regionMatches(true, start + 1, "IPv6:", 0, 5)) return _validateIpv6(value, start + 6, end - 1);
+            return _validateIpv4(value, start + 1, end - 1);
         }
-        return FormatUtil.validateHostname(domain, allowUnicode);
+        if (!allowUnicode) return FormatUtil.validateAsciiHostname(value, start, end);
+        return FormatUtil.validateHostname(value.substring(start, end), true);
     }
 
     static boolean _validateTime(String value) {
-        if (value == null || value.length() < 9) return false;
-        if (value.charAt(2) != ':' || value.charAt(5) != ':') return false;
-        int hour = _parseInt(value, 0, 2);
-        int minute = _parseInt(value, 3, 5);
-        int second = _parseInt(value, 6, 8);
+        return value != null && _validateTime(value, 0);
+    }
+
+    static boolean _validateTime(String value, int start) {
+        if (value.length() - start < 9) return false;
+        if (value.charAt(start + 2) != ':' || value.charAt(start + 5) != ':') return false;
+        int hour = _parseInt(value, start, start + 2);
+        int minute = _parseInt(value, start + 3, start + 5);
+        int second = _parseInt(value, start + 6, start + 8);
         if (hour < 0 || minute < 0 || second < 0) return false;
-        int offsetStart = 8;
+        int offsetStart = start + 8;
         if (offsetStart < value.length() && value.charAt(offsetStart) == '.') {
             offsetStart++;
             int digitsStart = offsetStart;
@@ -332,11 +339,10 @@ public interface FormatValidator {
             if (offsetStart == digitsStart) return false;
         }
         if (offsetStart >= value.length()) return false;
-        String offset = value.substring(offsetStart);
         if (hour > 23 || minute > 59) return false;
-        if (second == 60) return _isValidLeapSecond(hour, minute, offset);
+        if (second == 60) return _isValidLeapSecond(hour, minute, value, offsetStart);
         if (second > 59) return false;
-        return _isValidOffset(offset);
+        return _isValidOffset(value, offsetStart);
     }
 
     static int _findEmailAt(String value) {
@@ -366,13 +372,17 @@ public interface FormatValidator {
     }
 
     static boolean _isQuotedEmailLocal(String local) {
-        return local.length() >= 2 && local.charAt(local.length() - 1) == '"';
+        return _isQuotedEmailLocal(local, 0, local.length());
+    }
+
+    static boolean _isQuotedEmailLocal(String value, int start, int end) {
+        return end - start >= 2 && value.charAt(end - 1) == '"';
     }
 
     static boolean _validateDateTime(String value) {
         if (value == null || value.length() < 20) return false;
         if (value.charAt(10) != 'T' && value.charAt(10) != 't') return false;
-        return _isValidDate(value.substring(0, 10)) && _validateTime(value.substring(11));
+        return _isValidDate(value, 0) && _validateTime(value, 11);
     }
 
     static boolean _validateUuid(String value) {
@@ -415,10 +425,17 @@ public interface FormatValidator {
     }
 
     static boolean _isValidDate(String value) {
-        if (value == null || value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') return false;
-        int year = _parseInt(value, 0, 4);
-        int month = _parseInt(value, 5, 7);
-        int day = _parseInt(value, 8, 10);
+        return value != null && value.length() == 10 && _isValidDate(value, 0);
+    }
+
+    /**
+     * Validates the ten-character {@code full-date} starting at {@code start}.
+     */
+    static boolean _isValidDate(String value, int start) {
+        if (value.length() - start < 10 || value.charAt(start + 4) != '-' || value.charAt(start + 7) != '-') return false;
+        int year = _parseInt(value, start, start + 4);
+        int month = _parseInt(value, start + 5, start + 7);
+        int day = _parseInt(value, start + 8, start + 10);
         if (year < 0 || month < 1 || month > 12 || day < 1) return false;
         int maxDay;
         switch (month) {
@@ -439,14 +456,16 @@ public interface FormatValidator {
     }
 
     static boolean _validateIpv4(String value) {
-        if (value == null) return false;
-        int len = value.length();
-        int start = 0;
+        return value != null && _validateIpv4(value, 0, value.length());
+    }
+
+    static boolean _validateIpv4(String value, int from, int to) {
+        int start = from;
         for (int octet = 0; octet < 4; octet++) {
-            if (start >= len) return false;
+            if (start >= to) return false;
             int end = start;
             int number = 0;
-            while (end < len) {
+            while (end < to) {
                 char ch = value.charAt(end);
                 if (ch < '0' || ch > '9') break;
                 if (end - start == 3) return false;
@@ -455,13 +474,59 @@ public interface FormatValidator {
             }
             if (end == start || number > 255) return false;
             if (end - start > 1 && value.charAt(start) == '0') return false;
-            if (octet == 3) return end == len;
-            if (end >= len || value.charAt(end) != '.') return false;
+            if (octet == 3) return end == to;
+            if (end >= to || value.charAt(end) != '.') return false;
             start = end + 1;
         }
         return false;
     }
 
+    static boolean _validateIpv6(String value) {
+        return value != null && _validateIpv6(value, 0, value.length());
+    }
+
+    /**
+     * Validates an RFC 4291 text address in {@code [from, to)}.
+     * <p>
+     * Accepts up to eight 1-4 digit hex groups, one {@code ::} compression, and
+     * a trailing dotted IPv4 part counting as two groups. Zone ids, prefix
+     * lengths, and surrounding whitespace are rejected.
+     */
+    static boolean _validateIpv6(String value, int from, int to) {
+        if (from >= to) return false;
+        int i = from;
+        int groups = 0;
+        boolean compressed = false;
+        if (value.charAt(i) == ':') {
+            if (i + 1 >= to || value.charAt(i + 1) != ':') return false;
+            compressed = true;
+            i += 2;
+            if (i == to) return true;
+        }
+        while (true) {
+            int groupStart = i;
+            while (i < to && _isHexDigit(value.charAt(i))) {
+                if (++i - groupStart > 4) return false;
+            }
+            if (i < to && value.charAt(i) == '.') {
+                if (!_validateIpv4(value, groupStart, to)) return false;
+                groups += 2;
+                break;
+            }
+            if (i == groupStart) return false;
+            groups++;
+            if (i == to) break;
+            if (value.charAt(i) != ':' || ++i == to) return false;
+            if (value.charAt(i) == ':') {
+                if (compressed) return false;
+                compressed = true;
+                if (++i == to) break;
+            }
+            if (groups >= 8) return false;
+        }
+        return compressed ? groups <= 7 : groups == 8;
+    }
+
     static boolean _validateDuration(String value) {
         if (value == null || value.length() <= 1 || !_isAsciiDigitsOnly(value)) return false;
         int len = value.length();
@@ -558,20 +623,33 @@ public interface FormatValidator {
     }
 
     static boolean _isValidOffset(String offset) {
-        if (offset.length() == 1) return offset.charAt(0) == 'Z' || offset.charAt(0) == 'z';
-        if (offset.length() != 6 || (offset.charAt(0) != '+' && offset.charAt(0) != '-') || offset.charAt(3) != ':') return false;
-        int hour = _parseInt(offset, 1, 3);
-        int minute = _parseInt(offset, 4, 6);
+        return _isValidOffset(offset, 0);
+    }
+
+    /**
+     * Validates a {@code time-offset} that runs from {@code start} to the end of the value.
+     */
+    static boolean _isValidOffset(String value, int start) {
+        int len = value.length() - start;
+        if (len == 1) return value.charAt(start) == 'Z' || value.charAt(start) == 'z';
+        char sign = value.charAt(start);
+        if (len != 6 || (sign != '+' && sign != '-') || value.charAt(start + 3) != ':') return false;
+        int hour = _parseInt(value, start + 1, start + 3);
+        int minute = _parseInt(value, start + 4, start + 6);
         return hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59;
     }
 
     static boolean _isValidLeapSecond(int hour, int minute, String offset) {
-        if (!_isValidOffset(offset)) return false;
-        if (offset.length() == 1) return hour == 23 && minute == 59;
-        int offsetHour = _parseInt(offset, 1, 3);
-        int offsetMinute = _parseInt(offset, 4, 6);
+        return _isValidLeapSecond(hour, minute, offset, 0);
+    }
+
+    static boolean _isValidLeapSecond(int hour, int minute, String value, int offsetStart) {
+        if (!_isValidOffset(value, offsetStart)) return false;
+        if (value.length() - offsetStart == 1) return hour == 23 && minute == 59;
+        int offsetHour = _parseInt(value, offsetStart + 1, offsetStart + 3);
+        int offsetMinute = _parseInt(value, offsetStart + 4, offsetStart + 6);
         int total = offsetHour * 60 + offsetMinute;
-        if (offset.charAt(0) == '+') total = -total;
+        if (value.charAt(offsetStart) == '+') total = -total;
         int utcMinutes = hour * 60 + minute + total;
         utcMinutes %= 1440;
         if (utcMinutes < 0) utcMinutes += 1440;
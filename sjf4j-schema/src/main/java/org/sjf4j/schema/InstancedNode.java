@@ -244,6 +244,20 @@ public final class InstancedNode {
         return subInstance;
     }
 
+    /**
+     * Returns a fresh child instance for an array index without touching the
+     * parent's sub-instance cache.
+     * <p>
+     * Used by parallel item validation, where several threads create children
+     * of the same parent concurrently. The parent is only read for lazy path
+     * materialization.
+     */
+    InstancedNode inferSubByIndexDetached(int idx, Object subNode) {
+        if (jsonType != JsonType.ARRAY)
+            throw new JsonException("Type mismatch: inferSubByIndexDetached() requires ARRAY node, but was " + jsonType);
+        return InstancedNode.infer(subNode, null).bindPathIndex(this, idx);
+    }
+
 
     /**
      * Detects cyclic schema references for the current runtime instance branch.
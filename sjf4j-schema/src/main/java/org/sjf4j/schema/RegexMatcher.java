@@ -0,0 +1,333 @@
+package org.sjf4j.schema;
+
+import java.util.regex.Pattern;
+
+/**
+ * Compiled {@code find()} test for schema regex keywords.
+ * <p>
+ * Simple patterns are answered by direct string scans: anchored or unanchored
+ * literals (e.g. {@code ^x-}, {@code \.json$}) and single ASCII character-class
+ * runs (e.g. {@code ^[a-z0-9_]+$}). Everything else falls back to a
+ * {@link Pattern} compiled by {@link SchemaUtil#compileRegexPattern}.
+ * <p>
+ * Fast paths reproduce {@link Pattern#find()} semantics exactly, including
+ * Java's {@code $} also matching before one trailing line terminator.
+ * Instances are immutable and thread-safe.
+ */
+abstract class RegexMatcher {
+
+    final String pattern;
+
+    RegexMatcher(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Returns whether the pattern matches anywhere in {@code input}.
+     */
+    abstract boolean find(String input);
+
+    /**
+     * Returns whether this matcher avoids {@code java.util.regex}.
+     */
+    boolean isFastPath() {
+        return true;
+    }
+
+    /**
+     * Creates a matcher, using a fast path when the pattern shape allows it.
+     */
+    static RegexMatcher of(String pattern, String keyword) {
+        RegexMatcher fast = _parseFastPath(pattern);
+        if (fast != null) return fast;
+        return new Regex(pattern, SchemaUtil.compileRegexPattern(pattern, keyword));
+    }
+
+
+    /// Fast path parsing
+
+    private static RegexMatcher _parseFastPath(String pattern) {
+        int len = pattern.length();
+        int start = 0;
+        int end = len;
+        boolean anchorStart = false;
+        boolean anchorEnd = false;
+        if (start < end && pattern.charAt(start) == '^') {
+            anchorStart = true;
+            start++;
+        }
+        if (end > start && pattern.charAt(end - 1) == '$' && !_isEscapedAt(pattern, start, end - 1)) {
+            anchorEnd = true;
+            end--;
+        }
+
+        if (start < end) {
+            char first = pattern.charAt(start);
+            if (first == '[' || (first == '\\' && end - start >= 2 && _isClassEscape(pattern.charAt(start + 1)))) {
+                return _parseClassRun(pattern, start, end, anchorStart, anchorEnd);
+            }
+        }
+
+        String literal = _parseLiteral(pattern, start, end);
+        if (literal == null) return null;
+        return new Literal(pattern, literal, anchorStart, anchorEnd);
+    }
+
+    private static boolean _isEscapedAt(String pattern, int from, int idx) {
+        int backslashes = 0;
+        for (int i = idx - 1; i >= from && pattern.charAt(i) == '\\'; i--) backslashes++;
+        return (backslashes & 1) == 1;
+    }
+
+    private static boolean _isMeta(char ch) {
+        switch (ch) {
+            case '\\': case '^': case '$': case '.': case '|': case '?': case '*': case '+':
+            case '(': case ')': case '[': case ']': case '{': case '}':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean _isClassEscape(char ch) {
+        return ch == 'd' || ch == 'w';
+    }
+
+    /**
+     * Parses literal characters and escaped punctuation; returns null for any regex construct.
+     */
+    private static String _parseLiteral(String pattern, int start, int end) {
+        StringBuilder sb = null;
+        for (int i = start; i < end; i++) {
+            char ch = pattern.charAt(i);
+            if (ch == '\\') {
+                if (i + 1 >= end) return null;
+                char next = pattern.charAt(i + 1);
+                if (next >= 0x80 || Character.isLetterOrDigit(next)) return null;
+                if (sb == null) sb = new StringBuilder(end - start).append(pattern, start, i);
+                sb.append(next);
+                i++;
+                continue;
+            }
+            if (_isMeta(ch) || Character.isSurrogate(ch)) return null;
+            if (sb != null) sb.append(ch);
+        }
+        return sb == null ? pattern.substring(start, end) : sb.toString();
+    }
+
+    /**
+     * Parses one ASCII class ({@code [...]}, {@code \d}, {@code \w}) followed
+     * by an optional {@code +} or {@code *} quantifier.
+     */
+    private static RegexMatcher _parseClassRun(String pattern, int start, int end,
+                                               boolean anchorStart, boolean anchorEnd) {
+        long lo = 0L;
+        long hi = 0L;
+        boolean negated = false;
+        int i = start;
+        if (pattern.charAt(i) == '\\') {
+            long[] bits = _classEscapeBits(pattern.charAt(i + 1));
+            lo = bits[0];
+            hi = bits[1];
+            i += 2;
+        } else {
+            i++;
+            if (i < end && pattern.charAt(i) == '^') {
+                negated = true;
+                i++;
+            }
+            boolean empty = true;
+            while (true) {
+                if (i >= end) return null;
+                char ch = pattern.charAt(i);
+                if (ch == ']' && !empty) {
+                    i++;
+                    break;
+                }
+                int from;
+                if (ch == '\\') {
+                    if (i + 1 >= end) return null;
+                    char next = pattern.charAt(i + 1);
+                    if (_isClassEscape(next)) {
+                        long[] bits = _classEscapeBits(next);
+                        lo |= bits[0];
+                        hi |= bits[1];
+                        i += 2;
+                        empty = false;
+                        continue;
+                    }
+                    if (next >= 0x80 || Character.isLetterOrDigit(next)) return null;
+                    from = next;
+                    i += 2;
+                } else {
+                    // Java treats nested '[' and '&&' inside a class as set operations.
+                    if (ch >= 0x80 || ch == '[' || ch == '&' || ch == ']') return null;
+                    from = ch;
+                    i++;
+                }
+                int to = from;
+                if (i + 1 < end && pattern.charAt(i) == '-' && pattern.charAt(i + 1) != ']') {
+                    char ch2 = pattern.charAt(i + 1);
+                    if (ch2 == '\\' || ch2 >= 0x80 || ch2 == '[' || ch2 == '&' || ch2 < from) return null;
+                    to = ch2;
+                    i += 2;
+                }
+                for (int c = from; c <= to; c++) {
+                    if (c < 64) lo |= 1L << c;
+                    else hi |= 1L << (c - 64);
+                }
+                empty = false;
+            }
+        }
+
+        int min;
+        boolean repeat;
+        if (i == end) {
+            // A negated single-char class consumes a whole supplementary code point.
+            if (negated && anchorStart && anchorEnd) return null;
+            min = 1;
+            repeat = false;
+        } else if (i + 1 == end && pattern.charAt(i) == '+') {
+            min = 1;
+            repeat = true;
+        } else if (i + 1 == end && pattern.charAt(i) == '*') {
+            min = 0;
+            repeat = true;
+        } else {
+            return null;
+        }
+        return new ClassRun(pattern, lo, hi, negated, min, repeat, anchorStart, anchorEnd);
+    }
+
+    private static long[] _classEscapeBits(char escape) {
+        long lo = 0x03FF000000000000L; // '0'-'9'
+        long hi = 0L;
+        if (escape == 'w') {
+            hi = 0x07FFFFFE87FFFFFEL; // 'A'-'Z', '_', 'a'-'z'
+        }
+        return new long[]{lo, hi};
+    }
+
+    /**
+     * Returns the end of the matchable region, excluding one trailing line
+     * terminator that Java's {@code $} may match before.
+     */
+    static int _dollarEnd(String input) {
+        int len = input.length();
+        if (len == 0) return 0;
+        char last = input.charAt(len - 1);
+        if (last == '\n') {
+            return len >= 2 && input.charAt(len - 2) == '\r' ? len - 2 : len - 1;
+        }
+        if (last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029') return len - 1;
+        return len;
+    }
+
+
+    /// Implementations
+
+    static final class Literal extends RegexMatcher {
+        final String literal;
+        final boolean anchorStart;
+        final boolean anchorEnd;
+
+        Literal(String pattern, String literal, boolean anchorStart, boolean anchorEnd) {
+            super(pattern);
+            this.literal = literal;
+            this.anchorStart = anchorStart;
+            this.anchorEnd = anchorEnd;
+        }
+
+        @Override
+        boolean find(String input) {
+            if (!anchorEnd) {
+                return anchorStart ? input.startsWith(literal) : input.contains(literal);
+            }
+            int len = input.length();
+            int n = literal.length();
+            if (_endsWithAt(input, len, n)) return true;
+            int end = _dollarEnd(input);
+            return end != len && _endsWithAt(input, end, n);
+        }
+
+        private boolean _endsWithAt(String input, int end, int n) {
+            int from = end - n;
+            if (from < 0 || (anchorStart && from != 0)) return false;
+            return input.startsWith(literal, from);
+        }
+    }
+
+    static final class ClassRun extends RegexMatcher {
+        final long lo;
+        final long hi;
+        final boolean negated;
+        final int min;
+        final boolean repeat;
+        final boolean anchorStart;
+        final boolean anchorEnd;
+
+        ClassRun(String pattern, long lo, long hi, boolean negated, int min, boolean repeat,
+                 boolean anchorStart, boolean anchorEnd) {
+            super(pattern);
+            this.lo = lo;
+            this.hi = hi;
+            this.negated = negated;
+            this.min = min;
+            this.repeat = repeat;
+            this.anchorStart = anchorStart;
+            this.anchorEnd = anchorEnd;
+        }
+
+        private boolean _accepts(char ch) {
+            boolean in = ch < 64 ? (lo & (1L << ch)) != 0 : ch < 128 && (hi & (1L << (ch - 64))) != 0;
+            return in != negated;
+        }
+
+        @Override
+        boolean find(String input) {
+            if (min == 0 && !(anchorStart && anchorEnd)) return true;
+            if (anchorStart && anchorEnd) {
+                return _fullMatch(input, input.length()) || _fullMatch(input, _dollarEnd(input));
+            }
+            if (anchorStart) return !input.isEmpty() && _accepts(input.charAt(0));
+            if (anchorEnd) {
+                int len = input.length();
+                if (len > 0 && _accepts(input.charAt(len - 1))) return true;
+                int end = _dollarEnd(input);
+                return end != len && end > 0 && _accepts(input.charAt(end - 1));
+            }
+            for (int i = 0; i < input.length(); i++) {
+                if (_accepts(input.charAt(i))) return true;
+            }
+            return false;
+        }
+
+        private boolean _fullMatch(String input, int end) {
+            if (end < min || (!repeat && end != 1)) return false;
+            for (int i = 0; i < end; i++) {
+                if (!_accepts(input.charAt(i))) return false;
+            }
+            return true;
+        }
+    }
+
+    static final class Regex extends RegexMatcher {
+        final Pattern compiled;
+
+        Regex(String pattern, Pattern compiled) {
+            super(pattern);
+            this.compiled = compiled;
+        }
+
+        @Override
+        boolean find(String input) {
+            return compiled.matcher(input).find();
+        }
+
+        @Override
+        boolean isFastPath() {
+            return false;
+        }
+    }
+
+}
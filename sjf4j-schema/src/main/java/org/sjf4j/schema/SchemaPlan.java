@@ -3,8 +3,14 @@ package org.sjf4j.schema;
 import org.sjf4j.path.PathSegment;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Compiled schema resource ready for validation.
@@ -18,6 +24,19 @@ import java.util.Map;
  */
 public final class SchemaPlan {
 
+    /**
+     * Default minimum number of {@code items} elements before parallel
+     * validation splits an array across the pool.
+     */
+    public static final int DEFAULT_PARALLEL_ITEMS_THRESHOLD = 2048;
+
+    /**
+     * Default number of nodes remembered by {@link #validateCached(Object)}.
+     */
+    public static final int DEFAULT_VALIDATION_CACHE_SIZE = 1024;
+
+    private volatile ValidationCache validationCache;
+
     /// Validate
 
     public ValidationResult validate(Object node) {
@@ -35,6 +54,31 @@ public final class SchemaPlan {
      * collected messages are available in the returned result.
      */
     public ValidationResult validate(Object node, boolean failFast, boolean strictFormat) {
+        return _validate(node, new ValidationContext(failFast, strictFormat));
+    }
+
+    public ValidationResult validateParallel(Object node, ForkJoinPool pool) {
+        return validateParallel(node, pool, DEFAULT_PARALLEL_ITEMS_THRESHOLD, false, false);
+    }
+
+    /**
+     * Validates one instance, splitting large {@code items} ranges across a pool.
+     * <p>
+     * Arrays whose remaining {@code items} range holds at least
+     * {@code threshold} elements are validated in chunks on the given
+     * {@link ForkJoinPool}; smaller arrays and all other keywords run on the
+     * calling thread. Messages keep the same instance-path order as
+     * {@link #validate(Object, boolean, boolean)}, and in fail-fast mode the
+     * reported error is the one with the lowest failing index.
+     */
+    public ValidationResult validateParallel(Object node, ForkJoinPool pool, int threshold,
+                                             boolean failFast, boolean strictFormat) {
+        Objects.requireNonNull(pool, "pool");
+        if (threshold < 1) throw new IllegalArgumentException("threshold must be >= 1, but was " + threshold);
+        return _validate(node, new ValidationContext(failFast, strictFormat, pool, threshold));
+    }
+
+    private ValidationResult _validate(Object node, ValidationContext ctx) {
         if (booleanSchema) {
             if (booleanValue) {
                 return ValidationResult.SUCCESS;
@@ -47,12 +91,93 @@ public final class SchemaPlan {
         }
 
         InstancedNode instance = InstancedNode.infer(node);
-        ValidationContext ctx = new ValidationContext(failFast, strictFormat);
-        PathSegment ps = failFast ? null : PathSegment.Root.INSTANCE;
+        PathSegment ps = ctx.isFailFast() ? null : PathSegment.Root.INSTANCE;
         evaluate(instance, ps, ctx);
         return ctx.toResult();
     }
 
+    public List<ValidationResult> validateAll(List<?> nodes, Executor executor) {
+        return validateAll(nodes, executor, false, false);
+    }
+
+    /**
+     * Validates a batch of independent instances on the given executor.
+     * <p>
+     * Each instance gets its own validation context; results are returned in
+     * the same order as {@code nodes}. The first runtime failure (for example a
+     * cyclic schema reference) is rethrown on the calling thread after all
+     * submitted validations have finished.
+     */
+    public List<ValidationResult> validateAll(List<?> nodes, Executor executor,
+                                              boolean failFast, boolean strictFormat) {
+        Objects.requireNonNull(nodes, "nodes");
+        Objects.requireNonNull(executor, "executor");
+        List<CompletableFuture<ValidationResult>> futures = new ArrayList<>(nodes.size());
+        for (Object node : nodes) {
+            futures.add(CompletableFuture.supplyAsync(() -> validate(node, failFast, strictFormat), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+        List<ValidationResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<ValidationResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    public ValidationResult validateCached(Object node) {
+        return validateCached(node, false);
+    }
+
+    /**
+     * Validates a node the caller treats as immutable, memoizing passes by identity.
+     * <p>
+     * A container or POJO that previously passed this plan, with the same or
+     * stricter format checking, returns {@link ValidationResult#SUCCESS}
+     * without re-evaluation. Failures and scalar nodes are never cached.
+     * Mutating a node after passing it here leaves a stale entry; call
+     * {@link ValidationCache#clear()} if that can happen.
+     */
+    public ValidationResult validateCached(Object node, boolean strictFormat) {
+        if (!ValidationCache.isCacheable(node)) return validate(node, false, strictFormat);
+        ValidationCache cache = validationCache();
+        if (cache.hasPassed(node, strictFormat)) return ValidationResult.SUCCESS;
+        ValidationResult result = validate(node, false, strictFormat);
+        if (result.isValid() && result.count() == 0) cache.recordPass(node, strictFormat);
+        return result;
+    }
+
+    /**
+     * Returns the memo used by {@link #validateCached(Object, boolean)}, creating
+     * it with {@link #DEFAULT_VALIDATION_CACHE_SIZE} entries on first use.
+     */
+    public ValidationCache validationCache() {
+        ValidationCache cache = validationCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = validationCache;
+                if (cache == null) {
+                    cache = new ValidationCache(DEFAULT_VALIDATION_CACHE_SIZE);
+                    validationCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Replaces the validation memo with an empty one bounded to {@code maxEntries} nodes.
+     */
+    public void setValidationCacheSize(int maxEntries) {
+        validationCache = new ValidationCache(maxEntries);
+    }
+
     public boolean isValid(Object node) {
         ValidationResult result = validate(node, true, false);
         return result.isValid();
@@ -308,6 +308,9 @@ public class SchemaRegistry {
 
         if (allowBuild) {
             ObjectSchema schema = byIdSchemas.get(id);
+            if (schema == null && this == GLOBAL_SCHEMA_REGISTRY && _loadBuiltin(id)) {
+                schema = byIdSchemas.get(id);
+            }
             if (schema != null) {
                 return SchemaPlanner.buildAndPutPlan(schema, this);
             }
@@ -350,7 +353,7 @@ public class SchemaRegistry {
         if (this != GLOBAL_SCHEMA_REGISTRY) {
             return GLOBAL_SCHEMA_REGISTRY.resolveSchema(uri);
         }
-        return null;
+        return _loadBuiltin(id) ? byIdSchemas.get(id) : null;
     }
 
 
@@ -374,8 +377,8 @@ public class SchemaRegistry {
     }
 
     private boolean _contains(String id) {
-        return byIdPlans.containsKey(id) || byIdSchemas.containsKey(id) ||
-                (this != GLOBAL_SCHEMA_REGISTRY && GLOBAL_SCHEMA_REGISTRY.contains(id));
+        if (byIdPlans.containsKey(id) || byIdSchemas.containsKey(id)) return true;
+        return this == GLOBAL_SCHEMA_REGISTRY ? BUILTIN_SCHEMAS.containsKey(id) : GLOBAL_SCHEMA_REGISTRY._contains(id);
     }
 
     /**
@@ -386,6 +389,8 @@ public class SchemaRegistry {
         idSet.addAll(byIdSchemas.keySet());
         if (this != GLOBAL_SCHEMA_REGISTRY) {
             idSet.addAll(GLOBAL_SCHEMA_REGISTRY.idSet());
+        } else {
+            idSet.addAll(BUILTIN_SCHEMAS.keySet());
         }
         return idSet;
     }
@@ -394,11 +399,19 @@ public class SchemaRegistry {
     public static final SchemaRegistry GLOBAL_SCHEMA_REGISTRY = new SchemaRegistry();
     public static final URI DEFAULT_JSON_SCHEMA_DIR = URI.create("classpath:/json-schemas/");
 
+    /**
+     * Built-in metaschema resources keyed by every normalized URI they answer
+     * to: canonical {@code $id}, classpath retrieval URI and optional alias.
+     * Entries stay in place after loading so lookups remain stable.
+     */
+    private static final Map<String, BuiltinSchema> BUILTIN_SCHEMAS = new ConcurrentHashMap<>();
+
     /**
      * Resolves a schema from the global built-in registry.
      * <p>
-     * Built-in schema models are indexed at class initialization time, while
-     * compiled plans are still created lazily on first resolution.
+     * Built-in schema files are only catalogued at class initialization time.
+     * Each one is parsed and indexed the first time a lookup needs it, and its
+     * compiled plan is still created lazily on first resolution.
      */
     public static SchemaPlan globalResolve(URI uri) {
         return GLOBAL_SCHEMA_REGISTRY.resolve(uri);
@@ -409,35 +422,81 @@ public class SchemaRegistry {
     }
 
     static {
-        _indexGlobalSchemaByPath("draft07/schema.json", "https://json-schema.org/draft-07/schema");
-
-        _indexGlobalSchemaByPath("draft2019-09/meta/core.json", null);
-        _indexGlobalSchemaByPath("draft2019-09/meta/applicator.json", null);
-        _indexGlobalSchemaByPath("draft2019-09/meta/validation.json", null);
-        _indexGlobalSchemaByPath("draft2019-09/meta/meta-data.json", null);
-        _indexGlobalSchemaByPath("draft2019-09/meta/format.json", null);
-        _indexGlobalSchemaByPath("draft2019-09/meta/content.json", null);
-        _indexGlobalSchemaByPath("draft2019-09/schema.json", null);
-
-        _indexGlobalSchemaByPath("draft2020-12/meta/core.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/applicator.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/validation.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/meta-data.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/format-annotation.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/format-assertion.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/unevaluated.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/meta/content.json", null);
-        _indexGlobalSchemaByPath("draft2020-12/schema.json", null);
-    }
-
-    private static void _indexGlobalSchemaByPath(String filePath, String alias) {
-        URI uri = DEFAULT_JSON_SCHEMA_DIR.resolve(filePath);
-        ObjectSchema schema = SchemaUtil.loadSchemaFromLocalUri(uri);
-        if (schema == null) throw new SchemaException(SchemaUtil.formatSchemaLine(SchemaUtil.Code.SCHEMA_LOAD,
-                "global schema not found", null, uri.toString()));
-        GLOBAL_SCHEMA_REGISTRY.index(schema);
-        if (alias != null && !alias.isEmpty()) {
-            GLOBAL_SCHEMA_REGISTRY._putSchema(URI.create(alias), schema);
+        _catalogGlobalSchema("draft07/schema.json", "http://json-schema.org/draft-07/schema",
+                "https://json-schema.org/draft-07/schema");
+
+        _catalogGlobalSchema("draft2019-09/meta/core.json", "https://json-schema.org/draft/2019-09/meta/core", null);
+        _catalogGlobalSchema("draft2019-09/meta/applicator.json", "https://json-schema.org/draft/2019-09/meta/applicator", null);
+        _catalogGlobalSchema("draft2019-09/meta/validation.json", "https://json-schema.org/draft/2019-09/meta/validation", null);
+        _catalogGlobalSchema("draft2019-09/meta/meta-data.json", "https://json-schema.org/draft/2019-09/meta/meta-data", null);
+        _catalogGlobalSchema("draft2019-09/meta/format.json", "https://json-schema.org/draft/2019-09/meta/format", null);
+        _catalogGlobalSchema("draft2019-09/meta/content.json", "https://json-schema.org/draft/2019-09/meta/content", null);
+        _catalogGlobalSchema("draft2019-09/schema.json", "https://json-schema.org/draft/2019-09/schema", null);
+
+        _catalogGlobalSchema("draft2020-12/meta/core.json", "https://json-schema.org/draft/2020-12/meta/core", null);
+        _catalogGlobalSchema("draft2020-12/meta/applicator.json", "https://json-schema.org/draft/2020-12/meta/applicator", null);
+        _catalogGlobalSchema("draft2020-12/meta/validation.json", "https://json-schema.org/draft/2020-12/meta/validation", null);
+        _catalogGlobalSchema("draft2020-12/meta/meta-data.json", "https://json-schema.org/draft/2020-12/meta/meta-data", null);
+        _catalogGlobalSchema("draft2020-12/meta/format-annotation.json", "https://json-schema.org/draft/2020-12/meta/format-annotation", null);
+        _catalogGlobalSchema("draft2020-12/meta/format-assertion.json", "https://json-schema.org/draft/2020-12/meta/format-assertion", null);
+        _catalogGlobalSchema("draft2020-12/meta/unevaluated.json", "https://json-schema.org/draft/2020-12/meta/unevaluated", null);
+        _catalogGlobalSchema("draft2020-12/meta/content.json", "https://json-schema.org/draft/2020-12/meta/content", null);
+        _catalogGlobalSchema("draft2020-12/schema.json", "https://json-schema.org/draft/2020-12/schema", null);
+    }
+
+    private static void _catalogGlobalSchema(String filePath, String canonicalUri, String alias) {
+        BuiltinSchema builtin = new BuiltinSchema(DEFAULT_JSON_SCHEMA_DIR.resolve(filePath),
+                URI.create(canonicalUri), alias == null ? null : URI.create(alias));
+        BUILTIN_SCHEMAS.put(SchemaUtil.normalizeUriKey(builtin.retrievalUri), builtin);
+        BUILTIN_SCHEMAS.put(SchemaUtil.normalizeUriKey(builtin.canonicalUri), builtin);
+        if (builtin.alias != null) {
+            BUILTIN_SCHEMAS.put(SchemaUtil.normalizeUriKey(builtin.alias), builtin);
+        }
+    }
+
+    /**
+     * Parses and indexes the built-in schema answering to {@code id}, once.
+     *
+     * @return false if {@code id} is not a built-in schema URI
+     * @throws SchemaException if the schema file is missing or declares a
+     *                         different {@code $id} than catalogued
+     */
+    private static boolean _loadBuiltin(String id) {
+        BuiltinSchema builtin = BUILTIN_SCHEMAS.get(id);
+        if (builtin == null) return false;
+        if (builtin.loaded) return true;
+        synchronized (builtin) {
+            if (builtin.loaded) return true;
+            String uri = builtin.retrievalUri.toString();
+            ObjectSchema schema = SchemaUtil.loadSchemaFromLocalUri(builtin.retrievalUri);
+            if (schema == null) throw new SchemaException(SchemaUtil.formatSchemaLine(SchemaUtil.Code.SCHEMA_LOAD,
+                    "global schema not found", null, uri));
+            URI declared = schema.getCanonicalUri();
+            if (declared == null || !SchemaUtil.normalizeUriKey(declared)
+                    .equals(SchemaUtil.normalizeUriKey(builtin.canonicalUri))) {
+                throw new SchemaException(SchemaUtil.formatSchemaLine(SchemaUtil.Code.SCHEMA_LOAD,
+                        "global schema declares $id '" + declared + "', expected '" + builtin.canonicalUri + "'",
+                        null, uri));
+            }
+            GLOBAL_SCHEMA_REGISTRY.index(schema);
+            if (builtin.alias != null) {
+                GLOBAL_SCHEMA_REGISTRY._putSchema(builtin.alias, schema);
+            }
+            builtin.loaded = true;
+        }
+        return true;
+    }
+
+    private static final class BuiltinSchema {
+        private final URI retrievalUri;
+        private final URI canonicalUri;
+        private final URI alias;
+        private volatile boolean loaded;
+
+        private BuiltinSchema(URI retrievalUri, URI canonicalUri, URI alias) {
+            this.retrievalUri = retrievalUri;
+            this.canonicalUri = canonicalUri;
+            this.alias = alias;
         }
     }
 
@@ -10,7 +10,9 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -183,25 +185,52 @@ public final class SchemaUtil {
     private static final String ECMA_WS_CLASS = "[" + ECMA_WS_CHARS + "]";
     private static final String ECMA_NON_WS_CLASS = "[^" + ECMA_WS_CHARS + "]";
 
+    // Process-wide caches keyed by the raw schema pattern. Entries stop being
+    // added once the limit is reached so generated schemas cannot grow them unbounded.
+    private static final int REGEX_CACHE_LIMIT = 4096;
+    private static final Map<String, Pattern> REGEX_PATTERN_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, RegexMatcher> REGEX_MATCHER_CACHE = new ConcurrentHashMap<>();
+
 
     /**
      * Compiles a regex for schema keywords such as {@code pattern}.
      * <p>
      * The helper first tries Java's regex engine directly, then retries after a
      * small normalization pass for verbose Unicode property names often used in
-     * JSON Schema test suites.
+     * JSON Schema test suites. Compiled patterns are cached process-wide, so
+     * plans that repeat the same pattern share one {@link Pattern}.
      */
     public static Pattern compileRegexPattern(String pattern, String keyword) {
         Objects.requireNonNull(pattern, "pattern");
+        Pattern cached = REGEX_PATTERN_CACHE.get(pattern);
+        if (cached != null) return cached;
         String normalized = normalizeEcma262Regex(pattern);
         normalized = normalizeUnicodeProperties(normalized);
+        Pattern compiled;
         try {
-            return Pattern.compile(normalized);
+            compiled = Pattern.compile(normalized);
         } catch (PatternSyntaxException e) {
             throw new SchemaException(formatSchemaLine(Code.SCHEMA_INVALID,
                     "invalid regex for keyword '" + keyword + "': " + pattern,
                     (String) null, (String) null), e);
         }
+        if (REGEX_PATTERN_CACHE.size() < REGEX_CACHE_LIMIT) REGEX_PATTERN_CACHE.putIfAbsent(pattern, compiled);
+        return compiled;
+    }
+
+    /**
+     * Returns a cached {@link RegexMatcher} for a schema regex keyword.
+     * <p>
+     * Simple literal and character-class patterns skip {@code java.util.regex};
+     * all others delegate to {@link #compileRegexPattern}.
+     */
+    static RegexMatcher compileRegexMatcher(String pattern, String keyword) {
+        Objects.requireNonNull(pattern, "pattern");
+        RegexMatcher cached = REGEX_MATCHER_CACHE.get(pattern);
+        if (cached != null) return cached;
+        RegexMatcher matcher = RegexMatcher.of(pattern, keyword);
+        if (REGEX_MATCHER_CACHE.size() < REGEX_CACHE_LIMIT) REGEX_MATCHER_CACHE.putIfAbsent(pattern, matcher);
+        return matcher;
     }
 
     static String normalizeEcma262Regex(String pattern) {
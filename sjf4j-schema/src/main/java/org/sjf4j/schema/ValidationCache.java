@@ -0,0 +1,190 @@
+package org.sjf4j.schema;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Identity-keyed memo of successful validations for one {@link SchemaPlan}.
+ * <p>
+ * Only passing results without messages are remembered. Keys are held weakly
+ * and compared by identity, so a cached node is released once the caller drops
+ * it, and an equal but distinct node is validated again. The memo is bounded
+ * and evicts the least recently used node when full.
+ * <p>
+ * Callers opt in through {@link SchemaPlan#validateCached(Object)} and must not
+ * mutate a node after it has been validated that way. Instances are
+ * thread-safe.
+ */
+public final class ValidationCache {
+
+    private static final byte PASS_LENIENT = 1;
+    private static final byte PASS_STRICT = 2;
+
+    private final int maxEntries;
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+    private final LinkedHashMap<IdentityKey, Byte> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    ValidationCache(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be >= 1, but was " + maxEntries);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<IdentityKey, Byte>(Math.min(maxEntries, 64), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdentityKey, Byte> eldest) {
+                if (size() <= ValidationCache.this.maxEntries) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns whether a node may be memoized.
+     * <p>
+     * Scalars are cheap to validate and boxed values have no stable identity,
+     * so only containers and POJOs are cached.
+     */
+    static boolean isCacheable(Object node) {
+        return node != null && !(node instanceof CharSequence) && !(node instanceof Number)
+                && !(node instanceof Boolean) && !(node instanceof Character);
+    }
+
+    /**
+     * Returns whether {@code node} has already passed with at least the given format strictness.
+     */
+    synchronized boolean hasPassed(Object node, boolean strictFormat) {
+        _purge();
+        Byte flags = entries.get(new IdentityKey(node, null));
+        if (flags != null && (flags & (strictFormat ? PASS_STRICT : PASS_STRICT | PASS_LENIENT)) != 0) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    synchronized void recordPass(Object node, boolean strictFormat) {
+        _purge();
+        IdentityKey key = new IdentityKey(node, queue);
+        Byte flags = entries.get(key);
+        byte merged = (byte) ((flags == null ? 0 : flags) | (strictFormat ? PASS_STRICT : PASS_LENIENT));
+        entries.put(key, merged);
+    }
+
+    /**
+     * Drops all memoized nodes; statistics are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        while (queue.poll() != null) {
+            // drain
+        }
+    }
+
+    /**
+     * Returns a snapshot of hit, miss, and eviction counts.
+     */
+    public synchronized Stats stats() {
+        _purge();
+        return new Stats(hits, misses, evictions, entries.size(), maxEntries);
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    private void _purge() {
+        Reference<?> ref = queue.poll();
+        if (ref == null) return;
+        // Cleared keys no longer compare equal to anything, so remove them by scan.
+        while (queue.poll() != null) {
+            // drain
+        }
+        for (Iterator<IdentityKey> it = entries.keySet().iterator(); it.hasNext(); ) {
+            if (it.next().get() == null) it.remove();
+        }
+    }
+
+    private static final class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        IdentityKey(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IdentityKey)) return false;
+            Object referent = get();
+            return referent != null && referent == ((IdentityKey) o).get();
+        }
+    }
+
+    /**
+     * Immutable statistics snapshot of a {@link ValidationCache}.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final int maxEntries;
+
+        Stats(long hits, long misses, long evictions, int size, int maxEntries) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.maxEntries = maxEntries;
+        }
+
+        public long hitCount() {
+            return hits;
+        }
+
+        public long missCount() {
+            return misses;
+        }
+
+        public long evictionCount() {
+            return evictions;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int maxEntries() {
+            return maxEntries;
+        }
+
+        /**
+         * Returns hits divided by lookups, or 0 when nothing has been looked up.
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "ValidationCache.Stats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions +
+                    ", size=" + size + ", maxEntries=" + maxEntries + "}";
+        }
+    }
+
+}
@@ -7,6 +7,8 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Mutable validation state shared across evaluator invocations.
@@ -14,10 +16,16 @@ import java.util.List;
  * Holds message aggregation, fail-fast control, temporary ignore-error scopes,
  * and dynamic-anchor resolution stack for nested schema evaluation. One context
  * instance is created per validation call and is not thread-safe.
+ * <p>
+ * When a parallel pool is configured, large item ranges are validated on
+ * forked child contexts (see {@link #fork()}) whose messages are joined back in
+ * instance order by the owning thread.
  */
 public class ValidationContext {
     private final boolean failFast;
     private final boolean strictFormat;
+    private final ForkJoinPool parallelPool;
+    private final int parallelThreshold;
     private final List<ValidationMessage> messages;
     // Validation-scoped scratch wrapper reused only for non-converted scalar/null
     // child instances. Container nodes and converted value nodes must allocate
@@ -30,8 +38,14 @@ public class ValidationContext {
     private Deque<SchemaPlan> planStack;
 
     ValidationContext(boolean failFast, boolean strictFormat) {
+        this(failFast, strictFormat, null, 0);
+    }
+
+    ValidationContext(boolean failFast, boolean strictFormat, ForkJoinPool parallelPool, int parallelThreshold) {
         this.failFast = failFast;
         this.strictFormat = strictFormat;
+        this.parallelPool = parallelPool;
+        this.parallelThreshold = parallelThreshold;
         this.messages = failFast ? null : new ArrayList<>();
         this.reusedLeaf = InstancedNode.infer(null);
     }
@@ -72,6 +86,11 @@ public class ValidationContext {
         return failFast && !valid;
     }
 
+    /**
+     * Returns true while at least one error-ignore frame is active.
+     */
+    public boolean isIgnoringErrors() {return ignoreErrorAdding > 0;}
+
     // Ignore
     /**
      * Pushes an error-ignore frame.
@@ -102,6 +121,67 @@ public class ValidationContext {
         return reusedLeaf;
     }
 
+    // Parallel
+    /**
+     * Returns true when an item range of the given size should be split across
+     * the configured parallel pool.
+     */
+    boolean shouldParallelize(int rangeSize) {
+        return parallelPool != null && rangeSize >= parallelThreshold;
+    }
+
+    /**
+     * Returns the item count handled by one forked chunk for a parallel range.
+     * <p>
+     * Chunks are sized so every worker gets a few of them for load balancing,
+     * but never fall below a floor that keeps fork overhead negligible.
+     */
+    int parallelChunkSize(int rangeSize) {
+        int perWorker = rangeSize / (parallelPool.getParallelism() * 4);
+        return Math.max(perWorker, Math.max(1, Math.min(parallelThreshold, 256)));
+    }
+
+    /**
+     * Creates a child context for one forked item chunk.
+     * <p>
+     * The child inherits format, fail-fast, ignore-depth, and dynamic scope
+     * state, but owns its own message buffer and leaf wrapper so it can run on
+     * another thread. Results are merged back with {@link #join(ValidationContext)}.
+     */
+    ValidationContext fork() {
+        ValidationContext child = new ValidationContext(failFast, strictFormat, parallelPool, parallelThreshold);
+        child.ignoreErrorAdding = ignoreErrorAdding;
+        if (planStack != null) child.planStack = new ArrayDeque<>(planStack);
+        return child;
+    }
+
+    /**
+     * Appends messages and validity of a forked child context.
+     * <p>
+     * Callers join children in instance order to keep message order stable.
+     */
+    void join(ValidationContext child) {
+        if (child.messages != null && messages != null) {
+            messages.addAll(child.messages);
+        }
+        if (child.lastMessage != null) lastMessage = child.lastMessage;
+        if (!child.valid) valid = false;
+    }
+
+    /**
+     * Runs forked chunk tasks on the configured pool and waits for all of them.
+     * <p>
+     * When already running inside a fork-join worker the tasks are forked into
+     * the current pool so nested parallel ranges do not block worker threads.
+     */
+    void invokeAll(List<ForkJoinTask<?>> tasks) {
+        if (ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            parallelPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+    }
+
     // message
     /**
      * Adds a validation error message.
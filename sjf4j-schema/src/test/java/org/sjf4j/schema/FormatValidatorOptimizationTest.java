@@ -2,6 +2,10 @@ package org.sjf4j.schema;
 
 import org.junit.jupiter.api.Test;
 
+import java.net.InetAddress;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -115,4 +119,148 @@ class FormatValidatorOptimizationTest {
         assertTrue(FormatValidator._validateUriTemplate("{=a,b}"));
         assertFalse(FormatValidator._validateUriTemplate("{,}"));
     }
+
+    @Test
+    void validatesIpv6WithDirectGroupScanner() {
+        assertTrue(FormatValidator._validateIpv6("::"));
+        assertTrue(FormatValidator._validateIpv6("::1"));
+        assertTrue(FormatValidator._validateIpv6("d6::"));
+        assertTrue(FormatValidator._validateIpv6("1:d6::42"));
+        assertTrue(FormatValidator._validateIpv6("1:2:3:4:5:6:7:8"));
+        assertTrue(FormatValidator._validateIpv6("::ffff:192.168.0.1"));
+        assertTrue(FormatValidator._validateIpv6("1:2:3:4:5:6:1.2.3.4"));
+        assertTrue(FormatValidator._validateIpv6("1000:1000:1000:1000:1000:1000:255.255.255.255"));
+        assertFalse(FormatValidator._validateIpv6(""));
+        assertFalse(FormatValidator._validateIpv6("1"));
+        assertFalse(FormatValidator._validateIpv6("127.0.0.1"));
+        assertFalse(FormatValidator._validateIpv6("1:::2"));
+        assertFalse(FormatValidator._validateIpv6("1::d6::42"));
+        assertFalse(FormatValidator._validateIpv6(":2:3:4:5:6:7:8"));
+        assertFalse(FormatValidator._validateIpv6("1:2:3:4:5:6:7:"));
+        assertFalse(FormatValidator._validateIpv6("1:2:3:4:5:6:7"));
+        assertFalse(FormatValidator._validateIpv6("1:2:3:4:5:6:7:8:9"));
+        assertFalse(FormatValidator._validateIpv6("1::2:3:4:5:6:7:8"));
+        assertFalse(FormatValidator._validateIpv6("12345::"));
+        assertFalse(FormatValidator._validateIpv6("::abcef"));
+        assertFalse(FormatValidator._validateIpv6("::laptop"));
+        assertFalse(FormatValidator._validateIpv6("fe80::/64"));
+        assertFalse(FormatValidator._validateIpv6("fe80::a%eth1"));
+        assertFalse(FormatValidator._validateIpv6(" ::1"));
+        assertFalse(FormatValidator._validateIpv6("::1 "));
+        assertFalse(FormatValidator._validateIpv6("1::2:192.168.256.1"));
+        assertFalse(FormatValidator._validateIpv6("1::2:192.168.ff.1"));
+        assertFalse(FormatValidator._validateIpv6("1:2:3:4:1.2.3"));
+        assertFalse(FormatValidator._validateIpv6("100:100:100:100:100:100:100:255.255.255.255"));
+        assertFalse(FormatValidator._validateIpv6("1:2::192.16\u09ea.0.1"));
+    }
+
+    @Test
+    void ipv6ScannerConformsToInetAddress() {
+        // Every sample starts with a hex digit or ':' so InetAddress parses it
+        // as a literal and never falls back to name resolution.
+        String[] samples = {"::", "::1", "1::", "1:d6::42", "fe80::1:2", "1:2:3:4:5:6:7:8",
+                "1::2:3:4:5:6:7", "::ffff:192.168.0.1", "1:2:3:4:5:6:1.2.3.4", "2001:db8:85a3::8a2e:370:7334",
+                "1:::2", "1::d6::42", ":2:3:4:5:6:7:8", "1:2:3:4:5:6:7:", "1:2:3:4:5:6:7",
+                "1:2:3:4:5:6:7:8:9", "12345::", "::abcef", "1::2:192.168.256.1", "1::2:192.168.ff.1",
+                "1:2:3:4:1.2.3", "abcd:ef01:2345:6789:abcd:ef01:2345:6789", "0:0:0:0:0:0:0:0"};
+        for (String sample : samples) {
+            assertEquals(legacyValidateIpv6(sample), FormatValidator._validateIpv6(sample), sample);
+        }
+    }
+
+    @Test
+    void validatesUriWithDirectScanner() {
+        assertTrue(FormatUtil.validateUri("http://foo.bar/?baz=qux#quux"));
+        assertTrue(FormatUtil.validateUri("http://-.~_!$&'()*+,;=:%40:80%2f::::::@example.com"));
+        assertTrue(FormatUtil.validateUri("ldap://[2001:db8::7]/c=GB?objectClass?one"));
+        assertTrue(FormatUtil.validateUri("http://[v1.fe:x]/"));
+        assertTrue(FormatUtil.validateUri("mailto:John.Doe@example.com"));
+        assertTrue(FormatUtil.validateUri("urn:oasis:names:specification:docbook:dtd:xml:4.1.2"));
+        assertTrue(FormatUtil.validateUri("file:///etc/hosts"));
+        assertTrue(FormatUtil.validateUri("http://example.com:8080/a%20b"));
+        assertFalse(FormatUtil.validateUri("//foo.bar/?baz=qux#quux"));
+        assertFalse(FormatUtil.validateUri("/abc"));
+        assertFalse(FormatUtil.validateUri("abc"));
+        assertFalse(FormatUtil.validateUri("bar,baz:foo"));
+        assertFalse(FormatUtil.validateUri(":// should fail"));
+        assertFalse(FormatUtil.validateUri("http:// shouldfail.com"));
+        assertFalse(FormatUtil.validateUri("\\\\WINDOWS\\fileshare"));
+        assertFalse(FormatUtil.validateUri("http://\u0192\u00f8\u00f8.com/"));
+        assertFalse(FormatUtil.validateUri("http://2001:0db8:85a3:0000:0000:8a2e:0370:7334/"));
+        assertFalse(FormatUtil.validateUri("http://example.com:/"));
+        assertFalse(FormatUtil.validateUri("http://example.com:8a/"));
+        assertFalse(FormatUtil.validateUri("http://[::1/"));
+        assertFalse(FormatUtil.validateUri("http://a@b@c/"));
+        assertFalse(FormatUtil.validateUri("http://example.com/%zz"));
+        assertFalse(FormatUtil.validateUri("http://example.com/a#b#c"));
+    }
+
+    @Test
+    void uriScannerConformsToJavaNetUri() {
+        String[] samples = {"http://foo.bar/?baz=qux#quux", "http://foo.com/blah_(wikipedia)_blah#cite-1",
+                "http://foo.bar/?q=Test%20URL-encoded%20stuff", "http://xn--nw2a.xn--j6w193g/",
+                "http://223.255.255.254", "ftp://ftp.is.co.za/rfc/rfc1808.txt", "http://www.ietf.org/rfc/rfc2396.txt",
+                "ldap://[2001:db8::7]/c=GB?objectClass?one", "mailto:John.Doe@example.com",
+                "news:comp.infosystems.www.servers.unix", "tel:+1-816-555-1212",
+                "urn:oasis:names:specification:docbook:dtd:xml:4.1.2", "file:///etc/hosts",
+                "https://user:pw@example.com:8443/p/a/t/h?query=1&b=%2F#frag/ment?",
+                "//foo.bar/?baz=qux#quux", "/abc", "abc", "bar,baz:foo", ":// should fail",
+                "http:// shouldfail.com", "http://example.com:/", "http://example.com:8a/", "http://[::1/",
+                "http://2001:0db8:85a3:0000:0000:8a2e:0370:7334/", "http://example.com/%zz",
+                "http://example.com/a#b#c", "http://example.com/a b", "http://example.com/<tag>"};
+        for (String sample : samples) {
+            assertEquals(legacyValidateUri(sample), FormatUtil.validateUri(sample), sample);
+        }
+    }
+
+    @Test
+    void scansDateTimeAndEmailWithoutSubstrings() {
+        assertTrue(FormatValidator._isValidDate("x2020-02-29", 1));
+        assertFalse(FormatValidator._isValidDate("x2019-02-29", 1));
+        assertTrue(FormatValidator._validateTime("T23:59:60Z", 1));
+        assertTrue(FormatValidator._isValidOffset("12:00:00+05:30", 8));
+        assertFalse(FormatValidator._isValidOffset("12:00:00+24:00", 8));
+
+        assertTrue(FormatValidator._validateEmail("joe.bloggs@example.com"));
+        assertTrue(FormatValidator._validateEmail("joe.bloggs@[127.0.0.1]"));
+        assertTrue(FormatValidator._validateEmail("joe.bloggs@[IPv6:::1]"));
+        assertFalse(FormatValidator._validateEmail("joe.bloggs@[IPv6:::1%eth0]"));
+        assertFalse(FormatValidator._validateEmail("joe.bloggs@example..com"));
+        assertFalse(FormatValidator._validateEmail("joe.bloggs@-example.com"));
+        assertTrue(FormatValidator._validateEmailDomain("user@example.com", 5, 16, false));
+    }
+
+    private static boolean legacyValidateIpv6(String value) {
+        if (value == null || value.isEmpty() || !value.contains(":")) return false;
+        try {
+            InetAddress.getByName(value);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean legacyValidateUri(String value) {
+        if (value == null || value.isEmpty()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 127) return false;
+        }
+        try {
+            if (FormatUtil.hasUnbracketedIpv6Authority(value)) return false;
+            URI uri = new URI(value);
+            if (!uri.isAbsolute()) return false;
+            String authority = uri.getRawAuthority();
+            if (authority == null) return true;
+            String hostPort = authority.substring(authority.indexOf('@') + 1);
+            int colon = hostPort.lastIndexOf(':');
+            if (colon < 0 || hostPort.lastIndexOf(']') > colon) return true;
+            if (colon == hostPort.length() - 1) return false;
+            for (int i = colon + 1; i < hostPort.length(); i++) {
+                if (!Character.isDigit(hostPort.charAt(i))) return false;
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
 }
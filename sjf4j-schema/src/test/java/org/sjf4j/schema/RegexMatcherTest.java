@@ -0,0 +1,84 @@
+package org.sjf4j.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegexMatcherTest {
+
+    private static final String[] FAST_PATTERNS = {
+            "", "^", "$", "^$", "x-", "^x-", "-id$", "^exact$", "\\.json$", "^a\\+b$", "\\$ref", "\\\\$",
+            "[a-z]", "^[a-z]", "[a-z]$", "^[a-z]+$", "^[a-z]*$", "[a-z]*", "^[A-Za-z0-9_\\- ]+$",
+            "^[^a-c]+$", "[^0-9]", "^\\d+$", "\\d", "^\\w*$", "^[\\w.-]+$", "^[-a]$", "^[a-]+$", "^été$"};
+
+    private static final String[] SLOW_PATTERNS = {
+            "^a.c$", "a|b", "^(ab)+$", "^[a-z]{2,}$", "^[^a]$", "^\\p{L}+$", "^\\s*$", "[a&&b]", "^\\u0041$",
+            "^[\\u0041-\\u005A]+$", "^a?$"};
+
+    private static final String[] INPUTS = {
+            "", "x", "x-", "x-trace", "ax-", "id", "user-id", "user-id\n", "exact", "exact\n", "exact\r\n",
+            "exact\n\n", "\nexact", "a.json", "a.jsonx", "a+b", "$ref", "\\", "abc", "ABC", "abc1", "a b",
+            "123", "12a", "a_b.c-d", "-", "a-", "d", "été", "été ", "😀",
+            "a😀", "_"};
+
+    @Test
+    void fastPathsMatchJavaRegexFind() {
+        for (String pattern : FAST_PATTERNS) {
+            RegexMatcher matcher = RegexMatcher.of(pattern, "pattern");
+            assertTrue(matcher.isFastPath(), pattern);
+            Pattern expected = SchemaUtil.compileRegexPattern(pattern, "pattern");
+            for (String input : INPUTS) {
+                assertEquals(expected.matcher(input).find(), matcher.find(input), pattern + " on " + input);
+            }
+        }
+    }
+
+    @Test
+    void complexPatternsFallBackToJavaRegex() {
+        for (String pattern : SLOW_PATTERNS) {
+            RegexMatcher matcher = RegexMatcher.of(pattern, "pattern");
+            assertFalse(matcher.isFastPath(), pattern);
+            Pattern expected = SchemaUtil.compileRegexPattern(pattern, "pattern");
+            for (String input : INPUTS) {
+                assertEquals(expected.matcher(input).find(), matcher.find(input), pattern + " on " + input);
+            }
+        }
+    }
+
+    @Test
+    void sharesCompiledPatternsAcrossPlans() {
+        assertSame(SchemaUtil.compileRegexPattern("^a.b$", "pattern"),
+                SchemaUtil.compileRegexPattern("^a.b$", "patternProperties"));
+        assertSame(SchemaUtil.compileRegexMatcher("^x-", "pattern"),
+                SchemaUtil.compileRegexMatcher("^x-", "patternProperties"));
+        assertThrows(SchemaException.class, () -> SchemaUtil.compileRegexMatcher("^(a", "pattern"));
+    }
+
+    @Test
+    void patternPropertiesMemoizesRegexMatchesPerKey() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"patternProperties\":{\"^x-\":{\"type\":\"string\"}," +
+                "\"^k[0-9]+_(even|odd)$\":{\"type\":\"integer\"},\"_odd$\":{\"minimum\":1}}," +
+                "\"additionalProperties\":false}").createPlan();
+
+        Map<String, Object> node = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) node.put("k" + i + ((i & 1) == 0 ? "_even" : "_odd"), i);
+        node.put("x-trace", "t");
+        assertTrue(plan.validate(node).isValid());
+        assertTrue(plan.validate(node).isValid());
+
+        node.put("k3_odd", "three");
+        assertFalse(plan.validate(node).isValid());
+        node.put("k3_odd", 3);
+        node.put("other", 1);
+        assertFalse(plan.validate(node).isValid());
+    }
+
+}
@@ -3,9 +3,18 @@ package org.sjf4j.schema;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -233,4 +242,147 @@ class SchemaPlanTest {
 
         assertThrows(SchemaException.class, () -> plan.validate("Cyclic schema reference"));
     }
+
+    @Test
+    void parallelItemsKeepSequentialMessageOrder() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"type\":\"array\",\"items\":{\"type\":\"integer\"}}").createPlan();
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) items.add(i % 997 == 0 ? "bad" : i);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ValidationResult sequential = plan.validate(items);
+            ValidationResult parallel = plan.validateParallel(items, pool, 64, false, false);
+
+            assertFalse(parallel.isValid());
+            assertEquals(sequential.count(), parallel.count());
+            for (int i = 0; i < sequential.count(); i++) {
+                assertEquals(sequential.getMessages().get(i).toString(), parallel.getMessages().get(i).toString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelItemsFailFastReportsLowestFailingIndex() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"type\":\"array\",\"items\":{\"type\":\"integer\"}}").createPlan();
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) items.add(i == 1234 || i == 4321 ? "bad" : i);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ValidationResult result = plan.validateParallel(items, pool, 64, true, false);
+
+            assertFalse(result.isValid());
+            assertEquals(1, result.count());
+            assertEquals("/1234", result.getLastMessage().getInstancePs().rootedPointerExpr());
+            assertTrue(plan.validateParallel(Arrays.asList(1, 2, 3), pool).isValid());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelItemsInsideAnyOfOnlyDecideBranchResult() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"anyOf\":[" +
+                "{\"type\":\"array\",\"items\":{\"type\":\"string\"}}," +
+                "{\"type\":\"array\",\"items\":{\"type\":\"integer\"}}" +
+                "]}").createPlan();
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) items.add(i);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertTrue(plan.validateParallel(items, pool, 16, false, false).isValid());
+            items.set(999, 1.5);
+            ValidationResult result = plan.validateParallel(items, pool, 16, false, false);
+            assertFalse(result.isValid());
+            assertEquals(1, result.count());
+            assertEquals("anyOf", result.getLastMessage().getKeyword());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void validateAllReturnsResultsInInputOrder() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"type\":\"string\",\"minLength\":2}").createPlan();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<ValidationResult> results = plan.validateAll(Arrays.asList("ok", "x", 1, "fine"), executor);
+
+            assertEquals(4, results.size());
+            assertTrue(results.get(0).isValid());
+            assertFalse(results.get(1).isValid());
+            assertEquals("minLength", results.get(1).getLastMessage().getKeyword());
+            assertEquals("type", results.get(2).getLastMessage().getKeyword());
+            assertTrue(results.get(3).isValid());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void validateAllRethrowsSchemaRuntimeFailure() {
+        SchemaPlan plan = ((ObjectSchema) JsonSchema.fromJson("{\"$ref\":\"#\"}")).createPlan();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThrows(SchemaException.class, () -> plan.validateAll(Arrays.asList("a", "b"), executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void validateCachedMemoizesPassingNodesByIdentity() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"type\":\"object\",\"required\":[\"id\"]," +
+                "\"properties\":{\"mail\":{\"format\":\"email\"}}}").createPlan();
+        Map<String, Object> shared = new LinkedHashMap<>();
+        shared.put("id", 1);
+        shared.put("mail", "not-an-email");
+
+        assertTrue(plan.validateCached(shared).isValid());
+        assertSame(ValidationResult.SUCCESS, plan.validateCached(shared));
+        assertFalse(plan.validateCached(shared, true).isValid());
+
+        Map<String, Object> equalCopy = new LinkedHashMap<>(shared);
+        assertTrue(plan.validateCached(equalCopy).isValid());
+
+        Map<String, Object> invalid = new LinkedHashMap<>();
+        assertFalse(plan.validateCached(invalid).isValid());
+        assertFalse(plan.validateCached(invalid).isValid());
+
+        ValidationCache.Stats stats = plan.validationCache().stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(5, stats.missCount());
+        assertEquals(2, stats.size());
+        assertEquals(1.0 / 6, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void validateCachedEvictsLeastRecentlyUsedNodes() {
+        SchemaPlan plan = JsonSchema.fromJson("{\"type\":\"array\"}").createPlan();
+        plan.setValidationCacheSize(2);
+        List<Object> a = new ArrayList<>();
+        List<Object> b = new ArrayList<>();
+        List<Object> c = new ArrayList<>();
+
+        plan.validateCached(a);
+        plan.validateCached(b);
+        plan.validateCached(a);
+        plan.validateCached(c);
+        plan.validateCached(a);
+        plan.validateCached(b);
+
+        ValidationCache.Stats stats = plan.validationCache().stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.evictionCount());
+        assertEquals(2, stats.size());
+
+        assertFalse(plan.validateCached("scalar").isValid());
+        assertEquals(stats.missCount(), plan.validationCache().stats().missCount());
+        assertThrows(IllegalArgumentException.class, () -> plan.setValidationCacheSize(0));
+    }
+
 }
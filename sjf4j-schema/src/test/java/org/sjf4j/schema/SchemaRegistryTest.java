@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.net.URI;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -204,4 +205,22 @@ class SchemaRegistryTest {
         assertTrue(ex.getMessage().contains("schema=https://example.com/user"));
     }
 
+    @Test
+    void globalBuiltins_loadOnDemandUnderEveryKey() {
+        SchemaRegistry registry = new SchemaRegistry();
+        assertTrue(registry.contains("https://json-schema.org/draft/2019-09/meta/content"));
+        assertTrue(registry.contains("classpath:/json-schemas/draft2019-09/meta/content.json"));
+        assertTrue(registry.idSet().contains("https://json-schema.org/draft/2019-09/meta/content"));
+
+        ObjectSchema byId = registry.resolveSchema(URI.create("https://json-schema.org/draft/2019-09/meta/content#"));
+        assertNotNull(byId);
+        assertSame(byId, registry.resolveSchema(URI.create("classpath:/json-schemas/draft2019-09/meta/content.json")));
+
+        SchemaPlan draft07 = SchemaRegistry.globalResolve(URI.create("http://json-schema.org/draft-07/schema#"));
+        assertNotNull(draft07);
+        assertSame(draft07, SchemaRegistry.globalResolve(URI.create("https://json-schema.org/draft-07/schema")));
+        assertTrue(draft07.validate(JsonSchema.fromJson("{\"type\":\"string\"}")).isValid());
+        assertNull(SchemaRegistry.globalResolve(URI.create("https://json-schema.org/draft/2099-01/schema")));
+    }
+
 }
@@ -0,0 +1,80 @@
+package org.sjf4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sjf4j.patch.CompiledPatch;
+import org.sjf4j.patch.JsonPatch;
+import org.sjf4j.patch.PatchOperation;
+import org.sjf4j.path.JsonPointer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link JsonPatch#apply(Object)} with a {@link CompiledPatch} for a
+ * template patch whose operations all write under one nested object. Every
+ * operation is idempotent, so the same document is patched on each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class JsonPatchBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{JsonPatchBenchmark.class.getName()});
+    }
+
+    @Param({"10", "200"})
+    public int fields;
+
+    private JsonPatch patch;
+    private CompiledPatch compiled;
+    private Map<String, Object> document;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        patch = new JsonPatch();
+        for (int i = 0; i < fields; i++) {
+            String path = "/order/customer/profile/f" + i;
+            profile.put("f" + i, i);
+            patch.add(new PatchOperation(PatchOperation.STD_TEST, JsonPointer.parse(path), i, null));
+            patch.add(new PatchOperation(PatchOperation.STD_ADD, JsonPointer.parse(path), -1, null));
+            patch.add(new PatchOperation(PatchOperation.STD_REPLACE, JsonPointer.parse(path), i, null));
+        }
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("profile", profile);
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("customer", customer);
+        document = new LinkedHashMap<>();
+        document.put("order", order);
+        compiled = patch.compile();
+    }
+
+    @Benchmark
+    public Object apply_interpreted() {
+        return patch.apply(document);
+    }
+
+    @Benchmark
+    public Object apply_compiled() {
+        return compiled.apply(document);
+    }
+
+}
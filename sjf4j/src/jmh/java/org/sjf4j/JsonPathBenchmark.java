@@ -18,7 +18,10 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
+import org.sjf4j.path.FilterExpr;
+import org.sjf4j.path.FilterPredicate;
 import org.sjf4j.path.JsonPath;
+import org.sjf4j.path.PathSyntax;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -287,6 +290,40 @@ public class JsonPathBenchmark {
         }
     }
 
+    @State(Scope.Thread)
+    public static class FilterHeavyState {
+        @Param({
+                "@.price > 10 && @.category == 'fiction'",
+                "@.category in ['poetry', 'drama', 'fiction', 'essay', 'travel']",
+                "length(@.ratings) >= 3 && search(@.author, 'R')",
+                "1 == 1 && !(@.price < $.expensive) || 'a' == 'b'"
+        })
+        public String filter;
+
+        public Object document;
+        public List<Object> books;
+        public JsonPath sjf4jPath;
+        public FilterExpr filterExpr;
+        public FilterPredicate predicate;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            document = Sjf4j.global().fromJson(BOOKSTORE_JSON);
+            List<Object> sample = JsonPath.parse("$.store.book").getList(document);
+            books = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) books.add(sample.get(i % sample.size()));
+            JsonPath.parse("$.store.book").replace(document, books);
+            sjf4jPath = JsonPath.parse("$.store.book[?" + filter + "].title");
+            filterExpr = PathSyntax.parseFilter(filter);
+            predicate = filterExpr.compile();
+            for (Object book : books) {
+                if (filterExpr.evalTruth(document, book) != predicate.test(document, book)) {
+                    throw new IllegalStateException("compiled filter mismatch for '" + filter + "'");
+                }
+            }
+        }
+    }
+
     @Benchmark
     public Object compile_sjf4j(CompileState state) {
         return JsonPath.parse(state.expr);
@@ -378,6 +415,30 @@ public class JsonPathBenchmark {
         return runSjf4j(state.sjf4jPath, state.document, true);
     }
 
+    // Filter evaluation over 1000 books: full query, AST interpreter, compiled predicate
+    @Benchmark
+    public Object filter_query_sjf4j(FilterHeavyState state) {
+        return state.sjf4jPath.find(state.document);
+    }
+
+    @Benchmark
+    public int filter_interpreted_sjf4j(FilterHeavyState state) {
+        int hits = 0;
+        for (Object book : state.books) {
+            if (state.filterExpr.evalTruth(state.document, book)) hits++;
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int filter_compiled_sjf4j(FilterHeavyState state) {
+        int hits = 0;
+        for (Object book : state.books) {
+            if (state.predicate.test(state.document, book)) hits++;
+        }
+        return hits;
+    }
+
 //    @Benchmark
 //    public Object parse_and_query_sjf4j(ParseAndQueryState state) {
 //        Object document = Sjf4j.global().fromJson(BOOKSTORE_JSON);
@@ -0,0 +1,90 @@
+package org.sjf4j;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sjf4j.path.JsonPath;
+import org.sjf4j.path.JsonPathIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares equality filters over a large product array with and without a
+ * {@link JsonPathIndex} on {@code @.sku}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 300, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class JsonPathIndexBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[]{JsonPathIndexBenchmark.class.getName()});
+    }
+
+    private static final JsonPath EQ = JsonPath.parse("$.products[?@.sku == 'sku-4242'].price");
+    private static final JsonPath IN = JsonPath.parse("$.products[?@.sku in ['sku-1', 'sku-500', 'sku-9999']].price");
+
+    @Param({"1000", "200000"})
+    public int size;
+
+    private JsonObject scanned;
+    private JsonObject indexed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scanned = JsonObject.of("products", _products(size));
+        List<Object> products = _products(size);
+        indexed = JsonObject.of("products", products);
+        JsonPathIndex.create(products, "@.sku");
+    }
+
+    private static List<Object> _products(int size) {
+        List<Object> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> product = new LinkedHashMap<>();
+            product.put("sku", "sku-" + i);
+            product.put("price", i % 100 + 0.5);
+            products.add(product);
+        }
+        return products;
+    }
+
+    @Benchmark
+    public Object eq_scan() {
+        return EQ.find(scanned);
+    }
+
+    @Benchmark
+    public Object eq_indexed() {
+        return EQ.find(indexed);
+    }
+
+    @Benchmark
+    public Object in_scan() {
+        return IN.find(scanned);
+    }
+
+    @Benchmark
+    public Object in_indexed() {
+        return IN.find(indexed);
+    }
+
+}
@@ -1,6 +1,8 @@
 package org.sjf4j;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.Main;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -15,14 +17,23 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 import org.sjf4j.facade.JsonFacade;
+import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.StreamingFacade;
 import org.sjf4j.facade.fastjson2.Fastjson2JsonFacade;
+import org.sjf4j.facade.gson.GsonJsonFacade;
 import org.sjf4j.facade.jackson2.Jackson2JsonFacade;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
 
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @BenchmarkMode(Mode.AverageTime)
@@ -141,6 +152,161 @@ public class ReadRealisticBenchmark {
 //        return sb.toString();
 //    }
 
+    /// Key canonicalization
+
+    /**
+     * Prints retained heap and distinct key instances for a realistic dataset read into
+     * untyped nodes, with and without {@code Sjf4j.Builder.canonicalKeys}, then runs the
+     * timing benchmarks (add {@code -prof gc} for allocation rates).
+     */
+    public static void main(String[] args) throws Exception {
+        for (String facade : new String[]{"SIMPLE", "GSON"}) {
+            for (boolean canonical : new boolean[]{false, true}) {
+                reportRetained(facade, canonical, 256, 2000);
+            }
+        }
+        Main.main(new String[]{ReadRealisticBenchmark.class.getName() + ".keys_"});
+    }
+
+    @State(Scope.Thread)
+    public static class KeyState {
+        @Param({"SIMPLE", "GSON"})
+        public String facade;
+
+        @Param({"false", "true"})
+        public boolean canonicalKeys;
+
+        @Param({"256"})
+        public int orderCount;
+
+        public Sjf4j sjf4j;
+        public String payload;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            sjf4j = keyRuntime(facade, canonicalKeys);
+            payload = buildPayload(orderCount);
+        }
+    }
+
+    @Benchmark
+    public Object keys_untyped(KeyState state) {
+        return state.sjf4j.fromJson(state.payload, Object.class);
+    }
+
+    @Benchmark
+    public Object keys_jojo(KeyState state) {
+        return state.sjf4j.fromJson(state.payload, BookJojo.class);
+    }
+
+    private static Sjf4j keyRuntime(String facade, boolean canonicalKeys) {
+        return Sjf4j.builder()
+                .jsonFacadeProvider("GSON".equals(facade)
+                        ? GsonJsonFacade.provider(new GsonBuilder())
+                        : SimpleJsonFacade.provider())
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .canonicalKeys(canonicalKeys)
+                .build();
+    }
+
+    private static void reportRetained(String facade, boolean canonicalKeys, int orderCount, int documents) {
+        Sjf4j sjf4j = keyRuntime(facade, canonicalKeys);
+        String payload = buildPayload(orderCount);
+        Runtime runtime = Runtime.getRuntime();
+        long before = _usedAfterGc(runtime);
+        List<Object> retained = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            retained.add(sjf4j.fromJson(payload, Object.class));
+        }
+        long after = _usedAfterGc(runtime);
+        Set<String> keys = Collections.newSetFromMap(new IdentityHashMap<>());
+        long keyCount = 0;
+        Deque<Object> pending = new ArrayDeque<>(retained);
+        while (!pending.isEmpty()) {
+            Object node = pending.pop();
+            if (node instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+                    keys.add((String) entry.getKey());
+                    keyCount++;
+                    if (entry.getValue() != null) pending.push(entry.getValue());
+                }
+            } else if (node instanceof List) {
+                for (Object value : (List<?>) node) {
+                    if (value != null) pending.push(value);
+                }
+            }
+        }
+        System.out.printf("%-6s canonicalKeys=%-5s retained=%,d KiB keys=%,d distinctKeyInstances=%,d%n",
+                facade, canonicalKeys, (after - before) / 1024, keyCount, keys.size());
+        if (retained.size() != documents) throw new IllegalStateException();
+    }
+
+    private static long _usedAfterGc(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String buildPayload(int orderCount) {
+        StringBuilder sb = new StringBuilder(Math.max(2048, orderCount * 280));
+        sb.append('{')
+                .append("\"bookId\":\"BOOK-01\",")
+                .append("\"symbol\":\"AAPL\",")
+                .append("\"exchange\":\"XNAS\",")
+                .append("\"snapshotTime\":1739318400000,")
+                .append("\"orders\":[");
+
+        double notional = 0.0;
+        for (int i = 0; i < orderCount; i++) {
+            if (i > 0) sb.append(',');
+            double price = 100.0 + (i % 97) * 0.125;
+            int qty = 10 + (i % 20);
+            notional += price * qty;
+
+            sb.append('{')
+                    .append("\"id\":\"ORD-").append(i).append("\",")
+                    .append("\"side\":\"").append((i & 1) == 0 ? "BUY" : "SELL").append("\",")
+                    .append("\"price\":").append(price).append(',')
+                    .append("\"qty\":").append(qty).append(',')
+                    .append("\"active\":").append((i & 3) != 0).append(',')
+                    .append("\"tags\":[\"")
+                    .append((i % 3 == 0) ? "urgent" : "normal")
+                    .append("\",\"")
+                    .append((i % 2 == 0) ? "hedge" : "alpha")
+                    .append("\"],")
+                    .append("\"meta\":{")
+                    .append("\"source\":\"gw-").append(i % 4).append("\",")
+                    .append("\"latencyUs\":").append(80 + (i % 50)).append(',')
+                    .append("\"attrs\":{")
+                    .append("\"venue\":\"").append((i & 1) == 0 ? "XNYS" : "XNAS").append("\",")
+                    .append("\"lane\":").append(i % 8).append(',')
+                    .append("\"batch\":\"B").append(i / 16).append("\"")
+                    .append("}")
+                    .append("},")
+                    .append("\"unknownDetail\":{\"a\":").append(i).append(",\"b\":[1,2,3]}")
+                    .append('}');
+        }
+
+        sb.append("],")
+                .append("\"stats\":{")
+                .append("\"totalOrders\":").append(orderCount).append(',')
+                .append("\"notional\":").append(notional).append(',')
+                .append("\"flags\":[\"snapshot\",\"v2\",\"")
+                .append(orderCount >= 128 ? "heavy" : "light")
+                .append("\"]")
+                .append("},")
+                .append("\"extraObj\":{\"nested\":[{\"k\":\"v\"},{\"x\":1}]},")
+                .append("\"trace\":\"t-20260212\"")
+                .append('}');
+        return sb.toString();
+    }
+
     public static class BookPojo {
         public String bookId;
         public String symbol;
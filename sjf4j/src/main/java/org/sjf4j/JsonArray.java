@@ -3,6 +3,7 @@ package org.sjf4j;
 import org.sjf4j.exception.JsonException;
 import org.sjf4j.node.NodeStream;
 import org.sjf4j.node.Nodes;
+import org.sjf4j.path.JsonPathIndex;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -78,6 +79,16 @@ public class JsonArray extends JsonContainer {
         return Object.class;
     }
 
+    /**
+     * Internal hook for framework integrations.
+     * <p>
+     * This exposes the live backing list directly and is not a general-purpose
+     * copy or view API.
+     */
+    public List<Object> _dynamicList() {
+        return this.dynamicList;
+    }
+
     /**
      * Replaces internal list storage with optional runtime element type check.
      */
@@ -94,6 +105,15 @@ public class JsonArray extends JsonContainer {
             }
         }
         this.dynamicList = list;
+        _invalidatePathIndexes();
+    }
+
+    /**
+     * Marks {@link JsonPathIndex}es on this array or its backing list stale after
+     * a change made through this class.
+     */
+    private void _invalidatePathIndexes() {
+        JsonPathIndex.invalidateAll(this);
     }
 
     /**
@@ -627,6 +647,7 @@ public class JsonArray extends JsonContainer {
 
         if (dynamicList == null) dynamicList = new ArrayList<>();
         dynamicList.add(object);
+        _invalidatePathIndexes();
     }
 
     /**
@@ -666,6 +687,7 @@ public class JsonArray extends JsonContainer {
 
         if (dynamicList == null) dynamicList = new ArrayList<>();
         dynamicList.add(pidx, object);
+        _invalidatePathIndexes();
     }
 
     /**
@@ -684,7 +706,9 @@ public class JsonArray extends JsonContainer {
             throw new JsonException("cannot set at index " + idx + " in JsonArray of size " + size());
         }
         if (dynamicList == null) dynamicList = new ArrayList<>();
-        return dynamicList.set(pidx, object);
+        Object old = dynamicList.set(pidx, object);
+        _invalidatePathIndexes();
+        return old;
     }
 
     /**
@@ -723,7 +747,9 @@ public class JsonArray extends JsonContainer {
         if (pidx < 0 || pidx >= size()) {
             throw new JsonException("cannot remove at index " + idx + " in JsonArray of size " + size());
         }
-        return dynamicList.remove(pidx);
+        Object old = dynamicList.remove(pidx);
+        _invalidatePathIndexes();
+        return old;
     }
 
     /**
@@ -732,6 +758,7 @@ public class JsonArray extends JsonContainer {
     public void clear() {
         if (dynamicList == null) return;
         dynamicList.clear();
+        _invalidatePathIndexes();
     }
 
     /// Stream
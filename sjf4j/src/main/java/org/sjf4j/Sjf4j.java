@@ -19,6 +19,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.stream.Stream;
 
 
 /**
@@ -58,7 +59,10 @@ public final class Sjf4j {
     private Sjf4j(Builder builder) {
         StreamingContext.StreamingMode streamingMode = builder.streamingMode == null ?
                 StreamingContext.StreamingMode.AUTO : builder.streamingMode;
-        this.streamingContext = new StreamingContext(builder.defaultValueFormats, streamingMode, builder.includeNulls);
+        this.streamingContext = new StreamingContext(builder.defaultValueFormats, streamingMode, builder.includeNulls)
+                .withCompactObjects(builder.compactObjects)
+                .withCanonicalKeys(builder.canonicalKeys)
+                .withLazyNumbers(builder.lazyNumbers);
 
         this.nodeFacadeProvider = builder.nodeFacadeProvider == null
                 ? FacadeFactory.nodeFacadeProvider() : builder.nodeFacadeProvider;
@@ -303,6 +307,27 @@ public final class Sjf4j {
         return fromYaml(input, Object.class);
     }
 
+    /**
+     * Lazily reads each document of a multi-document YAML stream, such as a
+     * {@code ---}-separated manifest bundle, into the requested target type.
+     * <p>
+     * Documents are parsed one at a time as the stream is consumed, with one parser
+     * for the whole input. Close the returned stream to close input.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> readYamlDocuments(InputStream input, Class<T> clazz) {
+        return (Stream<T>) yamlFacade.readDocuments(input, clazz);
+    }
+
+    /**
+     * Lazily reads each document of a multi-document YAML character stream into
+     * the requested target type. Close the returned stream to close input.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> readYamlDocuments(Reader input, Class<T> clazz) {
+        return (Stream<T>) yamlFacade.readDocuments(input, clazz);
+    }
+
     /**
      * Writes a value as YAML to a character stream.
      */
@@ -444,6 +469,9 @@ public final class Sjf4j {
         private StreamingContext.StreamingMode streamingMode;
         private final Map<Class<?>, String> defaultValueFormats = new LinkedHashMap<>();
         private boolean includeNulls = true;
+        private boolean compactObjects;
+        private boolean canonicalKeys;
+        private boolean lazyNumbers;
 
         /**
          * Creates a builder with framework-default facade providers and serialization behavior.
@@ -454,7 +482,7 @@ public final class Sjf4j {
          * Creates a builder initialized from an existing runtime instance.
          * <p>
          * This copies facade providers, streaming mode, default value-format mappings,
-         * and null-serialization behavior so callers can derive a slightly adjusted runtime.
+         * null-serialization behavior, compact object storage, key canonicalization, and lazy numbers so callers can derive a slightly adjusted runtime.
          */
         public Builder(Sjf4j sjf4j) {
             Objects.requireNonNull(sjf4j, "sjf4j");
@@ -465,6 +493,9 @@ public final class Sjf4j {
             this.streamingMode = sjf4j.streamingContext.streamingMode;
             sjf4j.streamingContext.copyDefaultValueFormatsTo(this.defaultValueFormats);
             this.includeNulls = sjf4j.streamingContext.includeNulls;
+            this.compactObjects = sjf4j.streamingContext.compactObjects;
+            this.canonicalKeys = sjf4j.streamingContext.canonicalKeys;
+            this.lazyNumbers = sjf4j.streamingContext.lazyNumbers;
         }
 
         /**
@@ -547,6 +578,48 @@ public final class Sjf4j {
             return this;
         }
 
+        /**
+         * Controls whether untyped JSON objects are read as shape-sharing {@link org.sjf4j.node.CompactMap}s.
+         * <p>
+         * The default is {@code false}. When enabled, objects read as {@code Object}, {@code Map},
+         * {@code JsonObject} contents, or JOJO dynamic properties keep one shared key array per distinct
+         * key sequence and a value array per instance, instead of a {@code LinkedHashMap} each. This
+         * suits large arrays of same-shaped records. The storage is used by the shared streaming path
+         * ({@link StreamingContext.StreamingMode#SHARED_IO}); backend-native and plugin-module reads keep
+         * their own maps.
+         */
+        public Builder compactObjects(boolean compactObjects) {
+            this.compactObjects = compactObjects;
+            return this;
+        }
+
+        /**
+         * Controls whether keys of parsed maps, {@code JsonObject}s, and JOJO dynamic properties
+         * share one {@code String} instance per distinct key.
+         * <p>
+         * The default is {@code false}. When enabled, streaming readers pass each stored key through a
+         * bounded per-thread {@link org.sjf4j.facade.KeyTable}, so documents that repeat the same keys
+         * across many objects retain one copy of each key instead of one per object.
+         */
+        public Builder canonicalKeys(boolean canonicalKeys) {
+            this.canonicalKeys = canonicalKeys;
+            return this;
+        }
+
+        /**
+         * Controls whether numbers read as {@code Object} or {@code Number} keep their literal text.
+         * <p>
+         * The default is {@code false}. When enabled, the shared streaming path
+         * ({@link StreamingContext.StreamingMode#SHARED_IO}) reads such numbers as
+         * {@link org.sjf4j.node.LazyNumber}s, which parse on first use and are written back with
+         * their original digits. Typed targets such as {@code int} or {@code BigDecimal} are
+         * unaffected.
+         */
+        public Builder lazyNumbers(boolean lazyNumbers) {
+            this.lazyNumbers = lazyNumbers;
+            return this;
+        }
+
         /**
          * Builds a new isolated {@link Sjf4j} runtime from the current builder state.
          */
@@ -0,0 +1,44 @@
+package org.sjf4j.annotation.mapper.jdbc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface for compile-time generation of direct JDBC {@link java.sql.PreparedStatement}
+ * parameter binders. It is the write-side companion of {@link CompiledJdbcMapper}: generated methods
+ * read POJO, record, or JOJO properties and call the matching {@code setXxx} method for each statement
+ * parameter, without an intermediate node or reflection.
+ *
+ * <p>Abstract methods take one of these shapes:</p>
+ * <ul>
+ *   <li>{@code void m(PreparedStatement, T)} binds one value to parameters {@code 1..n};</li>
+ *   <li>{@code int[] m(PreparedStatement, Iterable<T>, int flushSize)} binds each element, calls
+ *   {@code addBatch()}, and runs {@code executeBatch()} every {@code flushSize} rows and once more for the
+ *   remainder through {@link org.sjf4j.compiled.JdbcBatch}. The update counts of every flush are returned
+ *   in order; the method may also return {@code void}. {@code List} and {@code Collection} parameters are
+ *   accepted as well.</li>
+ * </ul>
+ *
+ * <p>Parameter order follows {@link JdbcParameters} when present. Otherwise records bind their
+ * components in declaration order and POJOs/JOJOs bind their declared instance fields, superclass
+ * fields first. Names are node property names, so {@code @NodeProperty} renames apply; a property is
+ * read through a public field, a JavaBean getter, or a record accessor. JOJO names without a declared
+ * property are read from the dynamic map and bound with {@code setObject}.</p>
+ *
+ * <p>Primitives, boxes, {@code String}, {@code BigDecimal}, {@code BigInteger}, {@code java.sql} temporal
+ * types, {@code byte[]}, enums (by name), {@code java.time} types, and {@code UUID} bind with the
+ * corresponding JDBC setter; {@code null} boxes and references use {@code setNull} with the matching
+ * {@link java.sql.Types} code. {@code @NodeValue} types, and properties declaring
+ * {@code @NodeProperty(codecName/codecPattern)}, bind the raw value of their {@code ValueCodec} with
+ * {@code setObject}. Other property types are rejected at compile time.</p>
+ *
+ * <p>Generated code never closes or executes the statement outside a batch method; the caller keeps
+ * ownership of the statement and connection. {@code SQLException}s are wrapped in
+ * {@link org.sjf4j.exception.BindingException}.</p>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CompiledJdbcBinder {
+}
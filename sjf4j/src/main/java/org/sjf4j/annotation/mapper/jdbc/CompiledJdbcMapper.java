@@ -13,7 +13,7 @@ import java.lang.annotation.Target;
  * This is separate from {@link org.sjf4j.annotation.mapper.CompiledMapper}: JDBC mappers read columns from a result set directly
  * rather than mapping a source node or object graph. Abstract methods accept either {@code ResultSet}
  * or {@code ResultSet, int}. They return a supported declared target, {@code Map<String, Object>}, or,
- * for the one-argument form only, a {@code List} of either. {@link MappingCreator} may select a concrete implementation
+ * for the one-argument form only, a {@code List}, {@code Stream}, or {@code Iterator} of either. {@link MappingCreator} may select a concrete implementation
  * or a default/static mapper factory for interface and abstract declared results.
  *
  * <p>One-argument methods require a result set positioned before its first row. Generated methods
@@ -26,6 +26,17 @@ import java.lang.annotation.Target;
  * position the result set on a row, and generated code neither advances the cursor nor checks another row.
  * The {@code int} row number is ignored during mapping and current-row methods do not support {@code List} results.</p>
  *
+ * <p>For large exports, one-argument methods may instead return {@code Stream<T>} or {@code Iterator<T>}, and
+ * {@code void m(ResultSet, Consumer<? super T>)} methods pass each row to the consumer. These shapes map rows lazily:
+ * columns are resolved once on the first row and only the current row is held. Closing the stream stops iteration
+ * without closing the result set; exceptions thrown by the consumer propagate unchanged. They do not support
+ * {@code singleResult}.</p>
+ *
+ * <p>{@code void m(ResultSet, StreamingWriter)} methods write the remaining rows directly as a JSON array of objects
+ * through {@link org.sjf4j.compiled.JdbcJsonWriter}, without creating a target object per row. Column labels become
+ * field names; {@link Mapping} may rename a column ({@code source}), nest it under a property-name target path, or
+ * {@code ignore} it.</p>
+ *
  * <p>{@link JdbcMapperOptions#columnProjection()} defaults to requiring every POJO or JOJO declared property;
  * {@code PRESENT_ONLY} leaves absent mutable properties at their initialized value. For map results, duplicate result
  * columns overwrite the earlier value with the last value.</p>
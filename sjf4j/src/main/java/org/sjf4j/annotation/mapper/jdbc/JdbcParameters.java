@@ -0,0 +1,21 @@
+package org.sjf4j.annotation.mapper.jdbc;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lists the node property names bound by one {@link CompiledJdbcBinder} method, in
+ * statement-placeholder order: {@code value()[0]} binds parameter 1.
+ *
+ * <p>Parameters are source-retained because they affect only generation of the
+ * method currently being compiled.</p>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface JdbcParameters {
+    /** Node property names, one per statement parameter. */
+    String[] value();
+
+}
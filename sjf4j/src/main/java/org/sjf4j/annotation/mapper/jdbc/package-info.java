@@ -11,5 +11,10 @@
  * order and use last-column-wins behavior for duplicate labels. JDBC mappers
  * read columns directly without an intermediate JSON node; they do not support
  * nested JDBC source paths or arbitrary collection targets.</p>
+ *
+ * <p>{@link org.sjf4j.annotation.mapper.jdbc.CompiledJdbcBinder} generates the
+ * reverse direction: {@code PreparedStatement} parameter binders and batch
+ * helpers that read node properties in the order given by
+ * {@link org.sjf4j.annotation.mapper.jdbc.JdbcParameters}.</p>
  */
 package org.sjf4j.annotation.mapper.jdbc;
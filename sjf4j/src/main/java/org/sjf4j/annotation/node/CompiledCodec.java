@@ -0,0 +1,33 @@
+package org.sjf4j.annotation.node;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a POJO for a build-time generated streaming codec.
+ *
+ * <p>The SJF4J annotation processor emits a {@code <Model>_StreamingCodec}
+ * class implementing {@code org.sjf4j.facade.StreamingCodec}. It reads by
+ * switching on property names (including aliases), uses primitive reader and
+ * writer calls for scalar properties, builds the model through direct
+ * constructor or {@link NodeCreator} calls, and writes pre-encoded names.
+ * {@code StreamingIO} picks the codec up by name for models it would otherwise
+ * bind through {@code PojoInfo}, so the Simple, Gson, and Jackson 3 backends
+ * use it without registration.</p>
+ *
+ * <p>Nested containers, POJOs, {@link NodeValue} and {@link OneOf} types, and
+ * properties with {@link NodeProperty#codecName()} or
+ * {@link NodeProperty#codecPattern()} are still bound by {@code StreamingIO}
+ * with the same rules as reflective binding. Models outside the statically
+ * analyzable subset (see {@link CompiledPojo}) are reported with a warning and
+ * keep reflective binding.</p>
+ *
+ * <p>This annotation is retained only in source because it is consumed by the
+ * annotation processor.</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface CompiledCodec {
+}
@@ -0,0 +1,29 @@
+package org.sjf4j.annotation.node;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a POJO for build-time metadata generation.
+ *
+ * <p>The SJF4J annotation processor emits a {@code <Model>_PojoInfo} class
+ * implementing {@code org.sjf4j.node.PojoInfoProvider} and lists it in
+ * {@code META-INF/services}. {@code NodeRegistry} then builds the model's
+ * {@code PojoInfo} from direct constructor, getter, setter, and field calls
+ * instead of reflective analysis. Whole packages can be listed with the
+ * {@code -Asjf4j.compiledPojoPackages=com.acme.dto,...} processor option.</p>
+ *
+ * <p>Models outside the statically analyzable subset (generic, abstract,
+ * JOJO/JAJO, record, {@link NodeValue}, {@link OneOf}, non-default
+ * {@link PropertyStrategy}, or properties reached only through private
+ * members) are reported with a warning and keep using reflective analysis.</p>
+ *
+ * <p>This annotation is retained only in source because it is consumed by the
+ * annotation processor.</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface CompiledPojo {
+}
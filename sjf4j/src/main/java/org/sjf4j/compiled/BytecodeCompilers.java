@@ -4,6 +4,7 @@ package org.sjf4j.compiled;
 import org.sjf4j.exception.JsonException;
 import org.sjf4j.node.Types;
 import org.sjf4j.path.JsonPath;
+import org.sjf4j.path.PathSegment;
 
 import java.lang.reflect.Type;
 import java.util.Iterator;
@@ -12,11 +13,12 @@ import java.util.ServiceLoader;
 
 final class BytecodeCompilers {
 
-    static final PathCompiler PATH_COMPILER = loadPathCompiler();
+    static final PathCompiler PATH_COMPILER = loadCompiler(PathCompiler.class);
+    static final MapperCompiler MAPPER_COMPILER = loadCompiler(MapperCompiler.class);
 
-    private static PathCompiler loadPathCompiler() {
+    private static <C> C loadCompiler(Class<C> spi) {
         try {
-            Iterator<PathCompiler> it = ServiceLoader.load(PathCompiler.class).iterator();
+            Iterator<C> it = ServiceLoader.load(spi).iterator();
             return it.hasNext() ? it.next() : null;
         } catch (Throwable ignored) {
             return null;
@@ -52,4 +54,41 @@ final class BytecodeCompilers {
         throw new JsonException(message);
     }
 
+    public static BytecodeFindPath<?, ?> compileFindPath(String pathExpr, Type rootType, Type valueType, boolean allowFallback) {
+        Objects.requireNonNull(pathExpr, "pathExpr");
+        Objects.requireNonNull(rootType, "rootType");
+        Objects.requireNonNull(valueType, "valueType");
+        Class<?> rootClazz = Types.rawClazz(rootType);
+        Class<?> valueClazz = Types.rawClazz(valueType);
+
+        JsonPath path = JsonPath.parse(pathExpr);
+        for (PathSegment ps : path.segments()) {
+            if (ps instanceof PathSegment.Function || ps instanceof PathSegment.Param || ps instanceof PathSegment.Append) {
+                throw new JsonException("BytecodeFindPath does not support " + ps + " segments: '" + path +
+                        "'; use JsonPath.eval(...) for function paths");
+            }
+        }
+
+        if (PATH_COMPILER != null) {
+            return PATH_COMPILER.compileFindPath(path, rootType, valueType);
+        }
+
+        if (allowFallback) {
+            return new FallbackBytecodeFindPath<>(path, rootClazz, valueClazz);
+        }
+
+        throw new JsonException("BytecodeFindPath requires an optional bytecode compiler for '" + path.toExpr() +
+                "' (rootType=" + Types.name(rootType) + ", valueType=" + Types.name(valueType) +
+                "). Add sjf4j-asm to the runtime classpath, or instantiate FallbackBytecodeFindPath explicitly.");
+    }
+
+    public static BytecodeMapper<?, ?> compileMapper(MappingSpec<?, ?> spec) {
+        Objects.requireNonNull(spec, "spec");
+        if (MAPPER_COMPILER != null) {
+            return MAPPER_COMPILER.compileMapper(spec);
+        }
+        throw new JsonException("BytecodeMapper requires an optional bytecode compiler for " + spec +
+                ". Add sjf4j-asm to the runtime classpath, or use @CompiledMapper for compile-time mappers.");
+    }
+
 }
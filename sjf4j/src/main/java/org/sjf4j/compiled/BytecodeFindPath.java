@@ -0,0 +1,53 @@
+package org.sjf4j.compiled;
+
+import org.sjf4j.node.TypeReference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bytecode-compiled multi-match query for one concrete JSON path expression.
+ *
+ * <p>Where {@link BytecodePath} is limited to single-target Name/Index paths, a find path also
+ * accepts wildcards, slices, unions, filters, and descendant segments, and returns every match in
+ * the order {@link org.sjf4j.path.JsonPath#find(Object)} would. The static {@code compile(...)}
+ * methods require an optional bytecode compiler module, such as {@code sjf4j-asm}, on the runtime
+ * classpath; {@link FallbackBytecodeFindPath} wraps a parsed {@link org.sjf4j.path.JsonPath}
+ * instead.
+ *
+ * <p>Compilation defines a new class, so compile once and reuse the path. Compiled find paths are
+ * stateless and thread-safe.
+ */
+public interface BytecodeFindPath<R, V> {
+
+    String expr();
+
+    /**
+     * Passes every match under {@code root} to {@code action}, in document order.
+     */
+    void forEach(R root, Consumer<? super V> action);
+
+    /**
+     * Returns every match under {@code root}, in document order.
+     */
+    default List<V> find(R root) {
+        List<V> result = new ArrayList<>();
+        forEach(root, result::add);
+        return result;
+    }
+
+
+    /// static
+
+    @SuppressWarnings("unchecked")
+    static <R, V> BytecodeFindPath<R, V> compile(String pathExpr, Class<R> rootClazz, Class<V> valueClazz) {
+        return (BytecodeFindPath<R, V>) BytecodeCompilers.compileFindPath(pathExpr, rootClazz, valueClazz, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R, V> BytecodeFindPath<R, V> compile(String pathExpr, TypeReference<R> rootType, TypeReference<V> valueType) {
+        return (BytecodeFindPath<R, V>) BytecodeCompilers.compileFindPath(pathExpr, rootType.getType(), valueType.getType(), false);
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.sjf4j.compiled;
+
+/**
+ * Bytecode-compiled whole-object mapper built at runtime from a {@link MappingSpec}.
+ *
+ * <p>The static {@link #compile(MappingSpec)} method requires an optional {@link MapperCompiler},
+ * such as the one in {@code sjf4j-asm}, on the runtime classpath. The generated class reads source
+ * properties and writes target properties directly, without an intermediate node copy, and inlines
+ * nested specs registered through {@link MappingSpec.Builder#using(MappingSpec)}.
+ *
+ * <p>It is the runtime counterpart of {@code @CompiledMapper} for mapping rules that are only known
+ * at runtime. Compilation defines a new class, so compile once and reuse the mapper; compiled mappers
+ * are thread-safe as long as their compute functions are.
+ */
+public interface BytecodeMapper<S, T> {
+
+    Class<S> sourceType();
+
+    Class<T> targetType();
+
+    /**
+     * Creates a new target from {@code source}, or returns {@code null} when the source is {@code null}.
+     */
+    T map(S source);
+
+
+    /// static
+
+    @SuppressWarnings("unchecked")
+    static <S, T> BytecodeMapper<S, T> compile(MappingSpec<S, T> spec) {
+        return (BytecodeMapper<S, T>) BytecodeCompilers.compileMapper(spec);
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.sjf4j.compiled;
+
+import org.sjf4j.path.JsonPath;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+
+public class FallbackBytecodeFindPath<R, V> implements BytecodeFindPath<R, V> {
+
+    protected final JsonPath path;
+    protected final Class<R> rootClazz;
+    protected final Class<V> valueClazz;
+
+
+    public FallbackBytecodeFindPath(JsonPath path, Class<R> rootClazz, Class<V> valueClazz) {
+        this.path = path;
+        this.rootClazz = rootClazz;
+        this.valueClazz = valueClazz;
+    }
+
+    @Override
+    public String expr() {
+        return path.toExpr();
+    }
+
+    @Override
+    public void forEach(R root, Consumer<? super V> action) {
+        path.find(root, valueClazz).forEach(action);
+    }
+
+    @Override
+    public List<V> find(R root) {
+        return path.find(root, valueClazz);
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.sjf4j.compiled;
+
+import org.sjf4j.exception.BindingException;
+import org.sjf4j.exception.JsonException;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Batch support for {@code @CompiledJdbcBinder} methods.
+ *
+ * <p>Each value is bound by the generated {@link Binder} and queued with {@code addBatch()}. The batch is
+ * executed every {@code flushSize} rows and once more for any remainder, so no more than
+ * {@code flushSize} bound rows are pending in the driver. The returned array concatenates the update
+ * counts of every {@code executeBatch()} call in order.
+ *
+ * <p>The caller keeps ownership of the statement and its transaction. Driver {@code SQLException}s are
+ * wrapped in {@link BindingException}; rows from earlier flushes have already been executed when a later
+ * flush fails.
+ */
+public final class JdbcBatch {
+
+    private JdbcBatch() {}
+
+    /**
+     * Binds one value to the parameters of a prepared statement.
+     */
+    @FunctionalInterface
+    public interface Binder<T> {
+        void bind(PreparedStatement ps, T value) throws SQLException;
+    }
+
+    public static <T> int[] execute(PreparedStatement ps, Iterable<? extends T> values, int flushSize,
+                                    Binder<? super T> binder) {
+        Objects.requireNonNull(ps, "ps");
+        Objects.requireNonNull(values, "values");
+        Objects.requireNonNull(binder, "binder");
+        if (flushSize <= 0) throw new JsonException("JDBC batch flushSize must be positive: " + flushSize);
+        int[] counts = new int[0];
+        int pending = 0;
+        try {
+            for (T value : values) {
+                binder.bind(ps, value);
+                ps.addBatch();
+                if (++pending == flushSize) {
+                    counts = _append(counts, ps.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) counts = _append(counts, ps.executeBatch());
+            return counts;
+        } catch (SQLException e) {
+            throw new BindingException("Failed to execute JDBC batch", e);
+        }
+    }
+
+    private static int[] _append(int[] counts, int[] flushed) {
+        if (counts.length == 0) return flushed;
+        int[] merged = Arrays.copyOf(counts, counts.length + flushed.length);
+        System.arraycopy(flushed, 0, merged, counts.length, flushed.length);
+        return merged;
+    }
+
+}
@@ -0,0 +1,370 @@
+package org.sjf4j.compiled;
+
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.BindingException;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.EncodedName;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
+import org.sjf4j.facade.StreamingWriter;
+import org.sjf4j.path.JsonPath;
+import org.sjf4j.path.PathSegment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Writes JDBC rows straight into a {@link StreamingWriter} as a JSON array of objects, without
+ * materializing a POJO or {@code Map} per row.
+ *
+ * <p>Column labels, JDBC types, and target names are resolved once per result set: integral columns
+ * are read with {@code getLong}, {@code DOUBLE}/{@code FLOAT} with {@code getDouble},
+ * {@code DECIMAL}/{@code NUMERIC} with {@code getBigDecimal}, {@code BOOLEAN} with {@code getBoolean},
+ * and character columns with {@code getString}. Other columns go through {@code getObject} and the
+ * regular node writer, so the output matches writing {@code Map<String, Object>} rows with
+ * {@code Sjf4j.toJson}. Field names are pre-encoded with {@link EncodedName}.
+ *
+ * <p>{@link Builder#map(String, String)} renames a column or nests it under a JSONPath/JSON Pointer
+ * target such as {@code $.profile.name}; {@link Builder#ignore(String)} drops a column. Column labels
+ * match case-insensitively; a repeated label overwrites the earlier value in place, like map rows.
+ * SQL {@code NULL} values are skipped when the streaming context excludes nulls.
+ *
+ * <p>The caller keeps ownership of the result set and the writer: rows are consumed from the current
+ * cursor position, and the writer is neither flushed nor closed. Instances are immutable and
+ * thread-safe.
+ */
+public final class JdbcJsonWriter {
+
+    private static final JdbcJsonWriter DEFAULT = builder().build();
+
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte STRING = 5;
+    private static final byte OBJECT = 6;
+
+    private final Map<String, String[]> targets;
+    private final Set<String> ignored;
+    private final StreamingContext context;
+
+    private JdbcJsonWriter(Builder builder) {
+        this.targets = Collections.unmodifiableMap(new LinkedHashMap<>(builder.targets));
+        this.ignored = Collections.unmodifiableSet(new HashSet<>(builder.ignored));
+        this.context = builder.context;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Writes the remaining rows with column labels as field names.
+     */
+    public static long write(ResultSet rs, StreamingWriter writer) {
+        return DEFAULT.writeArray(rs, writer);
+    }
+
+    /**
+     * Writes the remaining rows as one JSON array and returns the number of rows written. A
+     * {@code null} result set is written as JSON {@code null}.
+     */
+    public long writeArray(ResultSet rs, StreamingWriter writer) {
+        Objects.requireNonNull(writer, "writer");
+        try {
+            if (rs == null) {
+                writer.writeNull();
+                return 0;
+            }
+            StreamingContext ctx = context == null ? Sjf4j.global().streamingContext() : context;
+            Field[] fields = null;
+            long count = 0;
+            writer.startArray();
+            while (rs.next()) {
+                if (fields == null) fields = _plan(rs.getMetaData());
+                if (count++ > 0) writer.writeArrayComma();
+                _writeObject(rs, writer, fields, ctx);
+            }
+            writer.endArray();
+            return count;
+        } catch (SQLException e) {
+            throw new BindingException("Failed to map JDBC result set", e);
+        } catch (IOException e) {
+            throw new BindingException("Failed to write JDBC result set as JSON", e);
+        }
+    }
+
+
+    /// Plan
+
+    private static final class Field {
+        final EncodedName name;
+        final int column;
+        final byte kind;
+        final Field[] children;
+
+        Field(EncodedName name, int column, byte kind, Field[] children) {
+            this.name = name;
+            this.column = column;
+            this.kind = kind;
+            this.children = children;
+        }
+    }
+
+    private Field[] _plan(ResultSetMetaData meta) throws SQLException {
+        // Tree values are Integer column indexes for leaves and nested maps for objects.
+        Map<String, Object> root = new LinkedHashMap<>();
+        int count = meta.getColumnCount();
+        byte[] kinds = new byte[count + 1];
+        for (int column = 1; column <= count; column++) {
+            String label = meta.getColumnLabel(column);
+            String key = label.toLowerCase(Locale.ROOT);
+            if (ignored.contains(key)) continue;
+            kinds[column] = _kind(meta.getColumnType(column));
+            String[] path = targets.get(key);
+            if (path == null) path = new String[]{label};
+            _insert(root, path, column, label);
+        }
+        return _fields(root, kinds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void _insert(Map<String, Object> root, String[] path, int column, String label) {
+        Map<String, Object> parent = root;
+        for (int i = 0; i < path.length - 1; i++) {
+            Object child = parent.get(path[i]);
+            if (child == null) {
+                child = new LinkedHashMap<String, Object>();
+                parent.put(path[i], child);
+            } else if (!(child instanceof Map)) {
+                throw new BindingException("JDBC column '" + label + "' conflicts with column value at '" + path[i] + "'");
+            }
+            parent = (Map<String, Object>) child;
+        }
+        Object previous = parent.get(path[path.length - 1]);
+        if (previous instanceof Map) {
+            throw new BindingException("JDBC column '" + label + "' conflicts with nested object '"
+                    + path[path.length - 1] + "'");
+        }
+        parent.put(path[path.length - 1], column);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Field[] _fields(Map<String, Object> tree, byte[] kinds) {
+        Field[] fields = new Field[tree.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> entry : tree.entrySet()) {
+            EncodedName name = EncodedName.of(entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof Map) {
+                fields[i++] = new Field(name, 0, OBJECT, _fields((Map<String, Object>) value, kinds));
+            } else {
+                int column = (Integer) value;
+                fields[i++] = new Field(name, column, kinds[column], null);
+            }
+        }
+        return fields;
+    }
+
+    private static byte _kind(int jdbcType) {
+        switch (jdbcType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return LONG;
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return DECIMAL;
+            case Types.BOOLEAN:
+                return BOOLEAN;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return STRING;
+            default:
+                // REAL keeps its float text; dates, binary, and vendor types use the node writer.
+                return OBJECT;
+        }
+    }
+
+
+    /// Write
+
+    private static void _writeObject(ResultSet rs, StreamingWriter writer, Field[] fields, StreamingContext ctx)
+            throws SQLException, IOException {
+        boolean includeNulls = ctx.includeNulls;
+        writer.startObject();
+        int cnt = 0;
+        for (Field field : fields) {
+            if (field.children != null) {
+                if (cnt++ > 0) writer.writeObjectComma();
+                writer.writeEncodedName(field.name);
+                _writeObject(rs, writer, field.children, ctx);
+                continue;
+            }
+            switch (field.kind) {
+                case LONG: {
+                    long value = rs.getLong(field.column);
+                    if (rs.wasNull()) {
+                        if (includeNulls) cnt = _writeNull(writer, field, cnt);
+                        continue;
+                    }
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeEncodedName(field.name);
+                    writer.writeNumber(value);
+                    break;
+                }
+                case DOUBLE: {
+                    double value = rs.getDouble(field.column);
+                    if (rs.wasNull()) {
+                        if (includeNulls) cnt = _writeNull(writer, field, cnt);
+                        continue;
+                    }
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeEncodedName(field.name);
+                    writer.writeNumber(value);
+                    break;
+                }
+                case BOOLEAN: {
+                    boolean value = rs.getBoolean(field.column);
+                    if (rs.wasNull()) {
+                        if (includeNulls) cnt = _writeNull(writer, field, cnt);
+                        continue;
+                    }
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeEncodedName(field.name);
+                    writer.writeBoolean(value);
+                    break;
+                }
+                case DECIMAL: {
+                    BigDecimal value = rs.getBigDecimal(field.column);
+                    if (value == null) {
+                        if (includeNulls) cnt = _writeNull(writer, field, cnt);
+                        continue;
+                    }
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeEncodedName(field.name);
+                    writer.writeNumber(value);
+                    break;
+                }
+                case STRING: {
+                    String value = rs.getString(field.column);
+                    if (value == null) {
+                        if (includeNulls) cnt = _writeNull(writer, field, cnt);
+                        continue;
+                    }
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeEncodedName(field.name);
+                    writer.writeString(value);
+                    break;
+                }
+                default: {
+                    Object value = rs.getObject(field.column);
+                    if (value == null) {
+                        if (includeNulls) cnt = _writeNull(writer, field, cnt);
+                        continue;
+                    }
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeEncodedName(field.name);
+                    StreamingIO.writeNode(writer, value, ctx);
+                }
+            }
+        }
+        writer.endObject();
+    }
+
+    private static int _writeNull(StreamingWriter writer, Field field, int cnt) throws IOException {
+        if (cnt > 0) writer.writeObjectComma();
+        writer.writeEncodedName(field.name);
+        writer.writeNull();
+        return cnt + 1;
+    }
+
+
+    /// Builder
+
+    public static final class Builder {
+        private final Map<String, String[]> targets = new LinkedHashMap<>();
+        private final Set<String> ignored = new HashSet<>();
+        private StreamingContext context;
+
+        private Builder() {}
+
+        /**
+         * Writes {@code column} under {@code target}: a field name, or a JSONPath/JSON Pointer made of
+         * property names such as {@code $.profile.name} or {@code /profile/name}.
+         */
+        public Builder map(String column, String target) {
+            String key = _key(column);
+            if (target == null || target.isEmpty()) {
+                throw new JsonException("JdbcJsonWriter target for column '" + column + "' must not be empty");
+            }
+            targets.put(key, _path(target));
+            ignored.remove(key);
+            return this;
+        }
+
+        public Builder ignore(String column) {
+            String key = _key(column);
+            ignored.add(key);
+            targets.remove(key);
+            return this;
+        }
+
+        /**
+         * Uses {@code context} for null inclusion and value formats instead of the global context.
+         */
+        public Builder context(StreamingContext context) {
+            this.context = Objects.requireNonNull(context, "context");
+            return this;
+        }
+
+        public JdbcJsonWriter build() {
+            return new JdbcJsonWriter(this);
+        }
+
+        private static String _key(String column) {
+            if (column == null || column.isEmpty()) {
+                throw new JsonException("JdbcJsonWriter column must not be empty");
+            }
+            return column.toLowerCase(Locale.ROOT);
+        }
+
+        private static String[] _path(String target) {
+            if (!target.startsWith("$") && !target.startsWith("/")) return new String[]{target};
+            PathSegment[] segments = JsonPath.parse(target).segments();
+            List<String> names = new ArrayList<>(segments.length);
+            for (int i = 1; i < segments.length; i++) {
+                if (!(segments[i] instanceof PathSegment.Name)) {
+                    throw new JsonException("JdbcJsonWriter target '" + target + "' must contain property names only");
+                }
+                names.add(((PathSegment.Name) segments[i]).name);
+            }
+            if (names.isEmpty()) {
+                throw new JsonException("JdbcJsonWriter target '" + target + "' must name a property");
+            }
+            return names.toArray(new String[0]);
+        }
+    }
+
+}
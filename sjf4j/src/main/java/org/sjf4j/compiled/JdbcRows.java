@@ -0,0 +1,135 @@
+package org.sjf4j.compiled;
+
+import org.sjf4j.exception.BindingException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cursor support for lazily mapped {@code @CompiledJdbcMapper} results.
+ *
+ * <p>Generated {@code Stream<T>}, {@code Iterator<T>}, and {@code Consumer<T>} mapper methods delegate
+ * cursor movement here. The {@link RowPlanner} runs once, after the first row has been fetched, to
+ * resolve column indexes; its {@link RowReader} then maps the current row for every later row. Only
+ * one mapped row is referenced at a time.
+ *
+ * <p>The caller keeps ownership of the result set: closing a returned stream, or abandoning an
+ * iterator, stops iteration but never closes JDBC resources. Driver {@code SQLException}s are
+ * wrapped in {@link BindingException} and end the iteration.
+ */
+public final class JdbcRows {
+
+    private static final String FAILURE = "Failed to map JDBC result set";
+
+    private JdbcRows() {}
+
+    /**
+     * Maps the current row with column indexes resolved by the owning {@link RowPlanner}.
+     */
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read() throws SQLException;
+    }
+
+    /**
+     * Resolves the column plan while the result set is positioned on its first row.
+     */
+    @FunctionalInterface
+    public interface RowPlanner<T> {
+        RowReader<T> plan() throws SQLException;
+    }
+
+    public static <T> Iterator<T> iterator(ResultSet rs, RowPlanner<T> planner) {
+        return new RowIterator<T>(rs, planner);
+    }
+
+    /**
+     * Returns a sequential, ordered stream over the remaining rows. Closing the stream only stops
+     * iteration.
+     */
+    public static <T> Stream<T> stream(ResultSet rs, RowPlanner<T> planner) {
+        RowIterator<T> rows = new RowIterator<T>(rs, planner);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Maps each remaining row and passes it to {@code action}. Exceptions thrown by {@code action}
+     * propagate unchanged and stop the iteration.
+     */
+    public static <T> void forEach(ResultSet rs, RowPlanner<T> planner, Consumer<? super T> action) {
+        try {
+            if (!rs.next()) return;
+            RowReader<T> reader = planner.plan();
+            do {
+                action.accept(reader.read());
+            } while (rs.next());
+        } catch (SQLException e) {
+            throw new BindingException(FAILURE, e);
+        }
+    }
+
+
+    /// Iterator
+
+    private static final class RowIterator<T> implements Iterator<T> {
+        private static final int ADVANCE = 0;
+        private static final int READY = 1;
+        private static final int DONE = 2;
+
+        private final ResultSet rs;
+        private RowPlanner<T> planner;
+        private RowReader<T> reader;
+        private int state = ADVANCE;
+
+        RowIterator(ResultSet rs, RowPlanner<T> planner) {
+            this.rs = rs;
+            this.planner = planner;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (state == ADVANCE) {
+                state = DONE;
+                try {
+                    if (rs.next()) {
+                        if (reader == null) {
+                            reader = planner.plan();
+                            planner = null;
+                        }
+                        state = READY;
+                    }
+                } catch (SQLException e) {
+                    throw new BindingException(FAILURE, e);
+                }
+            }
+            return state == READY;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            // A failed row ends the iteration; the cursor position is no longer meaningful.
+            state = DONE;
+            try {
+                T value = reader.read();
+                state = ADVANCE;
+                return value;
+            } catch (SQLException e) {
+                throw new BindingException(FAILURE, e);
+            }
+        }
+
+        void close() {
+            state = DONE;
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package org.sjf4j.compiled;
+
+
+/**
+ * Optional runtime mapper compiler hook.
+ *
+ * <p>Like {@link PathCompiler}, this SPI lets SJF4J modules attach bytecode-backed
+ * {@link BytecodeMapper} implementations without making the core artifact depend on ASM.
+ * Implementations should throw when a spec cannot be compiled into direct property access.
+ */
+public interface MapperCompiler {
+
+    BytecodeMapper<?, ?> compileMapper(MappingSpec<?, ?> spec);
+}
@@ -0,0 +1,198 @@
+package org.sjf4j.compiled;
+
+import org.sjf4j.annotation.mapper.NullValuePolicy;
+import org.sjf4j.exception.JsonException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Programmatic whole-object mapping declaration for {@link BytecodeMapper#compile(MappingSpec)}.
+ *
+ * <p>A spec carries the runtime subset of {@code @Mapping}/{@code @MapperOptions} semantics,
+ * so mapping rules loaded from configuration can be compiled without annotation processing:
+ * <ul>
+ *   <li>{@link Builder#map(String, String)} renames a source property or reads a source path
+ *       ({@code $.customer.name} or {@code /customer/name}); plain dotted names are literal keys.</li>
+ *   <li>{@link Builder#ignore(String)} skips a target property.</li>
+ *   <li>{@link Builder#compute(String, Function)} computes a target value from the whole source.</li>
+ *   <li>{@link Builder#nulls(NullValuePolicy)} selects null handling, like {@code @MapperOptions(nulls)}.</li>
+ *   <li>{@link Builder#using(MappingSpec)} registers nested mappers, like {@code @MapperOptions(using)}.</li>
+ * </ul>
+ * Target properties that are not mentioned are mapped from the source property with the same name
+ * when the source can provide one.
+ *
+ * <p>Targets are top-level property names; target paths are not supported. Specs are immutable.
+ */
+public final class MappingSpec<S, T> {
+
+    private final Class<S> sourceType;
+    private final Class<T> targetType;
+    private final NullValuePolicy nulls;
+    private final Map<String, Rule> rules;
+    private final List<MappingSpec<?, ?>> using;
+
+    private MappingSpec(Builder<S, T> builder) {
+        this.sourceType = builder.sourceType;
+        this.targetType = builder.targetType;
+        this.nulls = builder.nulls;
+        this.rules = Collections.unmodifiableMap(new LinkedHashMap<>(builder.rules));
+        this.using = Collections.unmodifiableList(new ArrayList<>(builder.using));
+    }
+
+    public static <S, T> Builder<S, T> builder(Class<S> sourceType, Class<T> targetType) {
+        return new Builder<>(sourceType, targetType);
+    }
+
+    public Class<S> sourceType() {
+        return sourceType;
+    }
+
+    public Class<T> targetType() {
+        return targetType;
+    }
+
+    public NullValuePolicy nulls() {
+        return nulls;
+    }
+
+    /**
+     * Returns explicit rules keyed by target property name, in declaration order.
+     */
+    public Map<String, Rule> rules() {
+        return rules;
+    }
+
+    /**
+     * Returns nested mapper specs available at conversion points, in preference order.
+     */
+    public List<MappingSpec<?, ?>> using() {
+        return using;
+    }
+
+    @Override
+    public String toString() {
+        return "MappingSpec{" + sourceType.getName() + " -> " + targetType.getName() + "}";
+    }
+
+
+    /// Rule
+
+    /**
+     * One explicit target-property rule.
+     */
+    public static final class Rule {
+
+        public enum Kind {
+            SOURCE,
+            IGNORE,
+            COMPUTE
+        }
+
+        private final Kind kind;
+        private final String target;
+        private final String source;
+        private final Function<Object, Object> computer;
+
+        private Rule(Kind kind, String target, String source, Function<Object, Object> computer) {
+            this.kind = kind;
+            this.target = target;
+            this.source = source;
+            this.computer = computer;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public String target() {
+            return target;
+        }
+
+        /**
+         * Returns the source property name or path for {@link Kind#SOURCE}, otherwise {@code null}.
+         */
+        public String source() {
+            return source;
+        }
+
+        /**
+         * Returns the computing function for {@link Kind#COMPUTE}, otherwise {@code null}.
+         */
+        public Function<Object, Object> computer() {
+            return computer;
+        }
+    }
+
+
+    /// Builder
+
+    public static final class Builder<S, T> {
+        private final Class<S> sourceType;
+        private final Class<T> targetType;
+        private NullValuePolicy nulls = NullValuePolicy.SET_TO_NULL;
+        private final Map<String, Rule> rules = new LinkedHashMap<>();
+        private final List<MappingSpec<?, ?>> using = new ArrayList<>();
+
+        private Builder(Class<S> sourceType, Class<T> targetType) {
+            this.sourceType = Objects.requireNonNull(sourceType, "sourceType");
+            this.targetType = Objects.requireNonNull(targetType, "targetType");
+        }
+
+        /**
+         * Maps {@code target} from a source property name or source path.
+         */
+        public Builder<S, T> map(String target, String source) {
+            if (source == null || source.isEmpty()) {
+                throw new JsonException("MappingSpec source for target '" + target + "' must not be empty");
+            }
+            return _addRule(new Rule(Rule.Kind.SOURCE, target, source, null));
+        }
+
+        public Builder<S, T> ignore(String target) {
+            return _addRule(new Rule(Rule.Kind.IGNORE, target, null, null));
+        }
+
+        /**
+         * Computes {@code target} from the whole source object. The result goes through the same
+         * strict value conversion as a dynamic {@code Object} source read.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<S, T> compute(String target, Function<? super S, ?> computer) {
+            Objects.requireNonNull(computer, "computer");
+            return _addRule(new Rule(Rule.Kind.COMPUTE, target, null, (Function<Object, Object>) computer));
+        }
+
+        public Builder<S, T> nulls(NullValuePolicy nulls) {
+            this.nulls = Objects.requireNonNull(nulls, "nulls");
+            return this;
+        }
+
+        public Builder<S, T> using(MappingSpec<?, ?> nested) {
+            using.add(Objects.requireNonNull(nested, "nested"));
+            return this;
+        }
+
+        public MappingSpec<S, T> build() {
+            return new MappingSpec<>(this);
+        }
+
+        private Builder<S, T> _addRule(Rule rule) {
+            if (rule.target == null || rule.target.isEmpty()) {
+                throw new JsonException("MappingSpec target must not be empty");
+            }
+            if (rules.containsKey(rule.target)) {
+                throw new JsonException("Duplicate MappingSpec rule for target '" + rule.target + "' on " +
+                        targetType.getName());
+            }
+            rules.put(rule.target, rule);
+            return this;
+        }
+    }
+
+}
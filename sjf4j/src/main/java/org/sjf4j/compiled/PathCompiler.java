@@ -1,5 +1,6 @@
 package org.sjf4j.compiled;
 
+import org.sjf4j.exception.JsonException;
 import org.sjf4j.path.JsonPath;
 
 import java.lang.reflect.Type;
@@ -15,4 +16,13 @@ import java.lang.reflect.Type;
 public interface PathCompiler {
 
     BytecodePath<?, ?> compilePath(JsonPath path, Type rootType, Type valueType);
+
+    /**
+     * Compiles a multi-match {@link BytecodeFindPath}; compilers without query support keep the
+     * default, which throws.
+     */
+    default BytecodeFindPath<?, ?> compileFindPath(JsonPath path, Type rootType, Type valueType) {
+        throw new JsonException("path compiler " + getClass().getName() +
+                " does not support find paths: '" + path.toExpr() + "'");
+    }
 }
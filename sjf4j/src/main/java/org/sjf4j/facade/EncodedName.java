@@ -0,0 +1,82 @@
+package org.sjf4j.facade;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Object field name with its JSON string literal escaped once.
+ *
+ * <p>Callers that write the same names for many objects, such as one JSON object per JDBC row,
+ * create these once and pass them to {@link StreamingWriter#writeEncodedName(EncodedName)}.
+ * The Simple writer copies the pre-escaped literal, and the Jackson writers reuse a
+ * {@code SerializedString} cached on the name; other writers fall back to
+ * {@link StreamingWriter#writeName(String)}.
+ */
+public final class EncodedName {
+
+    private final String name;
+    private final char[] quoted;
+    private volatile Object nativeName;
+
+    private EncodedName(String name) {
+        this.name = name;
+        this.quoted = _quote(name);
+    }
+
+    public static EncodedName of(String name) {
+        return new EncodedName(Objects.requireNonNull(name, "name"));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Writes the quoted and escaped JSON string literal, without the trailing ':'.
+     */
+    public void writeQuoted(Writer output) throws IOException {
+        output.write(quoted);
+    }
+
+    /**
+     * Returns a backend's own encoded form of this name, creating it with encoder on
+     * first use. One form is cached at a time, so writers of the same backend share it.
+     */
+    public <T> T nativeName(Class<T> type, Function<String, T> encoder) {
+        Object cached = nativeName;
+        if (type.isInstance(cached)) return type.cast(cached);
+        T created = encoder.apply(name);
+        nativeName = created;
+        return created;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static char[] _quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0, len = s.length(); i < len; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\b': sb.append("\\b"); break;
+                case '\f': sb.append("\\f"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04X", (int) c));
+                    else sb.append(c);
+            }
+        }
+        char[] chars = new char[sb.length() + 1];
+        sb.append('"').getChars(0, chars.length, chars, 0);
+        return chars;
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.sjf4j.facade;
+
+/**
+ * Bounded table that canonicalizes object keys while parsing.
+ * <p>
+ * Readers typically return a new {@code String} for every field name, and maps built from
+ * them keep those strings alive for as long as the maps live. Passing each key through
+ * {@link #canonicalize(String)} makes repeated keys share the first instance seen.
+ * <p>
+ * The table is a fixed array of two-way buckets: a miss evicts the older entry of the
+ * bucket, so its size never grows and unbounded key variety only costs hit rate. Keys
+ * longer than {@link #MAX_KEY_LENGTH} chars are returned unchanged. A table is not
+ * thread-safe; {@link StreamingContext#keyTable()} hands each thread its own.
+ */
+public final class KeyTable {
+
+    /** Default number of slots. */
+    public static final int DEFAULT_SIZE = 2048;
+
+    /** Longer keys are rarely repeated and are not cached. */
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final String[] slots;
+    private final int mask;
+
+    public KeyTable() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * @param size the number of slots, rounded up to a power of two (at least 2)
+     */
+    public KeyTable(int size) {
+        if (size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+        int capacity = size <= 2 ? 2 : Integer.highestOneBit(size - 1) << 1;
+        this.slots = new String[capacity];
+        this.mask = capacity - 2;
+    }
+
+    /**
+     * Returns an equal key already in the table, or records and returns {@code key}.
+     */
+    public String canonicalize(String key) {
+        if (key == null || key.length() > MAX_KEY_LENGTH) return key;
+        int h = key.hashCode();
+        int i = (h ^ (h >>> 16)) & mask;
+        String[] s = slots;
+        String first = s[i];
+        if (first != null && (first == key || first.equals(key))) return first;
+        String second = s[i + 1];
+        if (second != null && (second == key || second.equals(key))) {
+            // Keep the hotter key in the first slot
+            s[i + 1] = first;
+            s[i] = second;
+            return second;
+        }
+        s[i + 1] = first;
+        s[i] = key;
+        return key;
+    }
+
+    /**
+     * Returns the number of slots.
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.sjf4j.facade;
+
+import java.io.IOException;
+
+/**
+ * Dedicated streaming reader and writer for one POJO class.
+ *
+ * <p>The SJF4J annotation processor generates implementations named
+ * {@code <Model>_StreamingCodec} for {@link org.sjf4j.annotation.node.CompiledCodec}
+ * models. {@link StreamingIO#readPojo} and {@link StreamingIO#writePojo} look
+ * them up once per class and delegate to them instead of interpreting
+ * {@code PojoInfo}. Implementations must be stateless and thread-safe.</p>
+ */
+public interface StreamingCodec<T> {
+
+    /**
+     * Reads one JSON object, positioned at its {@code START_OBJECT} token.
+     */
+    T read(StreamingReader reader, StreamingContext context) throws IOException;
+
+    /**
+     * Writes {@code value} as one JSON object, honoring
+     * {@link StreamingContext#includeNulls}.
+     */
+    void write(StreamingWriter writer, T value, StreamingContext context) throws IOException;
+}
@@ -1,6 +1,8 @@
 package org.sjf4j.facade;
 
 import org.sjf4j.facade.simple.SimpleNodeFacade;
+import org.sjf4j.node.CompactMap;
+import org.sjf4j.node.LazyNumber;
 import org.sjf4j.node.Types;
 
 import java.util.Map;
@@ -13,6 +15,13 @@ public final class StreamingContext {
     public final StreamingMode streamingMode;
     public final NodeFacade nodeFacade;
     public final boolean includeNulls;
+    public final boolean compactObjects;
+    /** Shape table shared by every read of this context; {@code null} unless {@link #compactObjects}. */
+    public final CompactMap.Shapes objectShapes;
+    public final boolean canonicalKeys;
+    private final ThreadLocal<KeyTable> keyTables;
+    /** Read untyped numbers as {@link LazyNumber}s that keep their literal text. */
+    public final boolean lazyNumbers;
     private final Class<?>[] valueFormatTypes;
     private final String[] valueFormats;
 
@@ -21,6 +30,11 @@ public final class StreamingContext {
     private static final String[] EMPTY_VALUE_FORMATS = new String[0];
     public static final StreamingContext EMPTY = new StreamingContext(StreamingMode.AUTO, true);
 
+    // Option bits of the with... copies
+    private static final int COMPACT_OBJECTS = 1;
+    private static final int CANONICAL_KEYS = 1 << 1;
+    private static final int LAZY_NUMBERS = 1 << 2;
+
 
     public StreamingContext(StreamingMode streamingMode) {
         this(streamingMode, true);
@@ -31,6 +45,11 @@ public final class StreamingContext {
         this.valueFormats = EMPTY_VALUE_FORMATS;
         this.streamingMode = Objects.requireNonNull(streamingMode, "streamingMode");
         this.includeNulls = includeNulls;
+        this.compactObjects = false;
+        this.objectShapes = null;
+        this.canonicalKeys = false;
+        this.keyTables = null;
+        this.lazyNumbers = false;
         this.nodeFacade = new SimpleNodeFacade(this);
     }
 
@@ -62,9 +81,70 @@ public final class StreamingContext {
         }
         this.streamingMode = Objects.requireNonNull(streamingMode, "streamingMode");
         this.includeNulls = includeNulls;
+        this.compactObjects = false;
+        this.objectShapes = null;
+        this.canonicalKeys = false;
+        this.keyTables = null;
+        this.lazyNumbers = false;
+        this.nodeFacade = new SimpleNodeFacade(this);
+    }
+
+    private StreamingContext(StreamingContext base, int options) {
+        this.valueFormatTypes = base.valueFormatTypes;
+        this.valueFormats = base.valueFormats;
+        this.streamingMode = base.streamingMode;
+        this.includeNulls = base.includeNulls;
+        this.compactObjects = (options & COMPACT_OBJECTS) != 0;
+        this.objectShapes = !compactObjects ? null
+                : base.objectShapes != null ? base.objectShapes : new CompactMap.Shapes();
+        this.canonicalKeys = (options & CANONICAL_KEYS) != 0;
+        this.keyTables = !canonicalKeys ? null
+                : base.keyTables != null ? base.keyTables : ThreadLocal.withInitial(KeyTable::new);
+        this.lazyNumbers = (options & LAZY_NUMBERS) != 0;
         this.nodeFacade = new SimpleNodeFacade(this);
     }
 
+    /**
+     * Returns a context that reads untyped JSON objects as shape-sharing {@link CompactMap}s,
+     * or this context if the setting is unchanged.
+     */
+    public StreamingContext withCompactObjects(boolean compactObjects) {
+        return _withOption(COMPACT_OBJECTS, compactObjects);
+    }
+
+    /**
+     * Returns a context that passes parsed object keys through a per-thread {@link KeyTable},
+     * or this context if the setting is unchanged.
+     */
+    public StreamingContext withCanonicalKeys(boolean canonicalKeys) {
+        return _withOption(CANONICAL_KEYS, canonicalKeys);
+    }
+
+    /**
+     * Returns a context that reads untyped numbers as {@link LazyNumber}s,
+     * or this context if the setting is unchanged.
+     */
+    public StreamingContext withLazyNumbers(boolean lazyNumbers) {
+        return _withOption(LAZY_NUMBERS, lazyNumbers);
+    }
+
+    private StreamingContext _withOption(int option, boolean enabled) {
+        int options = (compactObjects ? COMPACT_OBJECTS : 0)
+                | (canonicalKeys ? CANONICAL_KEYS : 0)
+                | (lazyNumbers ? LAZY_NUMBERS : 0);
+        int updated = enabled ? options | option : options & ~option;
+        return updated == options ? this : new StreamingContext(this, updated);
+    }
+
+    /**
+     * Returns the calling thread's key table, or {@code null} unless {@link #canonicalKeys}.
+     * <p>
+     * Readers fetch it once per object and pass every key they store in a map through it.
+     */
+    public KeyTable keyTable() {
+        return keyTables == null ? null : keyTables.get();
+    }
+
     public String defaultValueFormat(Class<?> valueType) {
         if (valueType == null) return null;
         for (int i = 0; i < valueFormatTypes.length; i++) {
@@ -5,15 +5,24 @@ import org.sjf4j.JsonType;
 import org.sjf4j.annotation.node.OneOf;
 import org.sjf4j.JsonObject;
 import org.sjf4j.exception.BindingException;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.simple.SimpleJsonWriter;
+import org.sjf4j.node.CompactMap;
+import org.sjf4j.node.LazyJson;
+import org.sjf4j.node.LazyNumber;
 import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.RawJson;
 import org.sjf4j.node.Types;
 import org.sjf4j.node.ValueCodec;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -29,6 +38,14 @@ import java.util.Set;
 public final class StreamingIO {
 
     private static final Object UNSET = new Object();
+    private static final String CODEC_SUFFIX = "_StreamingCodec";
+
+    private static final ClassValue<StreamingCodec<?>> COMPILED_CODECS = new ClassValue<StreamingCodec<?>>() {
+        @Override
+        protected StreamingCodec<?> computeValue(Class<?> type) {
+            return _loadCompiledCodec(type);
+        }
+    };
 
     /// Read
 
@@ -55,7 +72,10 @@ public final class StreamingIO {
                 return readOneOf(reader, oneOfInfo, context);
             }
             if (rawBoxed == Object.class) {
-                return _readRawNode(reader);
+                return _readRawNode(reader, context);
+            }
+            if (rawBoxed == RawJson.class) {
+                return readRawJson(reader);
             }
             StreamingReader.Token token = reader.peekToken();
             switch (token) {
@@ -82,15 +102,19 @@ public final class StreamingIO {
     }
 
 
-    private static Object _readRawNode(StreamingReader reader) throws IOException {
+    /**
+     * Reads an untyped node, applying the compact-object and key options of a non-null context.
+     */
+    private static Object _readRawNode(StreamingReader reader, StreamingContext context) throws IOException {
         switch (reader.peekToken()) {
             case START_OBJECT:
-                return _readRawObject(reader);
+                return _readRawObject(reader, context);
             case START_ARRAY:
-                return _readRawArray(reader);
+                return _readRawArray(reader, context);
             case STRING:
                 return reader.nextString();
             case NUMBER:
+                if (context != null && context.lazyNumbers) return _readLazyNumber(reader);
                 return reader.nextNumber();
             case BOOLEAN:
                 return reader.nextBoolean();
@@ -102,21 +126,34 @@ public final class StreamingIO {
         }
     }
 
-    private static Map<String, Object> _readRawObject(StreamingReader reader) throws IOException {
+    private static Map<String, Object> _readRawObject(StreamingReader reader, StreamingContext context)
+            throws IOException {
+        KeyTable keys = context != null ? context.keyTable() : null;
+        if (context != null && context.objectShapes != null) {
+            CompactMap.ObjectBuilder builder = context.objectShapes.newObject();
+            reader.startObject();
+            while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
+                String key = reader.nextName();
+                builder.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(reader, context));
+            }
+            reader.endObject();
+            return builder.build();
+        }
         Map<String, Object> map = new LinkedHashMap<>();
         reader.startObject();
         while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
-            map.put(reader.nextName(), _readRawNode(reader));
+            String key = reader.nextName();
+            map.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(reader, context));
         }
         reader.endObject();
         return map;
     }
 
-    private static List<Object> _readRawArray(StreamingReader reader) throws IOException {
+    private static List<Object> _readRawArray(StreamingReader reader, StreamingContext context) throws IOException {
         List<Object> list = new ArrayList<>();
         reader.startArray();
         while (reader.peekToken() != StreamingReader.Token.END_ARRAY) {
-            list.add(_readRawNode(reader));
+            list.add(_readRawNode(reader, context));
         }
         reader.endArray();
         return list;
@@ -149,12 +186,22 @@ public final class StreamingIO {
         throw new BindingException("cannot read boolean value into type '" + rawClazz.getName() + "'");
     }
 
+    /**
+     * Reads a number as a {@link LazyNumber}; non-finite values have no JSON literal and stay doubles.
+     */
+    private static Number _readLazyNumber(StreamingReader reader) throws IOException {
+        String literal = reader.nextNumberLiteral();
+        if (literal.endsWith("NaN") || literal.endsWith("Infinity")) return Double.valueOf(literal);
+        return new LazyNumber(literal);
+    }
+
     /**
      * Reads number token into target numeric or codec type.
      */
     private static Object _readNumber(StreamingReader reader, Class<?> rawClazz,
                                       StreamingContext context) throws IOException {
         if (rawClazz == Number.class) {
+            if (context.lazyNumbers) return _readLazyNumber(reader);
             return reader.nextNumber();
         }
         if (rawClazz == Integer.class) return reader.nextInt();
@@ -215,7 +262,7 @@ public final class StreamingIO {
         }
 
         if (rawClazz == JsonObject.class) {
-            return new JsonObject(_readRawObject(reader));
+            return new JsonObject(_readRawObject(reader, context));
         }
 
         if (ti == null) {
@@ -244,12 +291,17 @@ public final class StreamingIO {
     public static Object readPojo(StreamingReader reader, Type ownerType, Class<?> ownerRawClazz,
                                   NodeRegistry.PojoInfo pi, StreamingContext context)
             throws IOException {
+        StreamingCodec<?> codec = COMPILED_CODECS.get(pi.clazz);
+        if (codec != null) {
+            return codec.read(reader, context);
+        }
         NodeRegistry.CreatorInfo ci = pi.creatorInfo;
         boolean hasParentOneOf = pi.hasParentScopeOneOf;
 
         if (!hasParentOneOf && ci.hasNoArgsCreator() && (ci.argNames == null || ci.argNames.length == 0)) {
             Object pojo = ci.newPojoNoArgs();
             Map<String, Object> dynamicMap = null;
+            KeyTable keys = null;
             reader.startObject();
             while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
                 String key = reader.nextName();
@@ -260,8 +312,9 @@ public final class StreamingIO {
                 } else if (pi.isJojo && pi.readDynamic) {
                     if (dynamicMap == null) {
                         dynamicMap = new LinkedHashMap<>();
+                        keys = context.keyTable();
                     }
-                    dynamicMap.put(key, _readRawNode(reader));
+                    dynamicMap.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(reader, context));
                 } else {
                     reader.skipNext();
                 }
@@ -285,20 +338,7 @@ public final class StreamingIO {
 
             int argIdx = ci.getArgIndexOrAlias(key);
             if (argIdx >= 0) {
-                Type argType = Types.resolveMemberType(ownerType, ownerRawClazz, ci.argTypes[argIdx]);
-                Class<?> argRaw = Types.rawBox(argType);
-                NodeRegistry.TypeInfo ti = NodeRegistry.registerTypeInfo(argRaw);
-                NodeRegistry.ValueCodecInfo argVci = ci.argValueCodecs[argIdx];
-                if (argVci == null && ti.hasValueCodecs()) {
-                    String valueFormat = context.defaultValueFormat(argRaw);
-                    argVci = ti.getValueCodecInfo(valueFormat);
-                }
-                Object argValue;
-                if (ti.oneOfInfo == null && argVci != null) {
-                    argValue = _readValueWithCodec(reader, argType, argRaw, argVci, context);
-                } else {
-                    argValue = _readNode(reader, argType, argRaw, ti, context);
-                }
+                Object argValue = _readCreatorArg(reader, ci, argIdx, ownerType, ownerRawClazz, context);
                 session.acceptCtorArg(argIdx, argValue);
                 if (parentOneOfKey != null && parentOneOfKey.equals(key)) {
                     parentOneOfValue = argValue;
@@ -328,7 +368,7 @@ public final class StreamingIO {
                             throw new BindingException("at most one OneOf field with scope=PARENT is supported per class");
                         }
                         deferredParentOneOfFi = fi;
-                        deferredParentOneOfRaw = _readRawNode(reader);
+                        deferredParentOneOfRaw = _readRawNode(reader, context);
                         continue;
                     }
                 } else {
@@ -343,8 +383,9 @@ public final class StreamingIO {
             }
 
             if (pi.isJojo && pi.readDynamic) {
-                Object vv = _readRawNode(reader);
-                session.acceptDynamic(key, vv);
+                Object vv = _readRawNode(reader, context);
+                KeyTable keys = context.keyTable();
+                session.acceptDynamic(keys != null ? keys.canonicalize(key) : key, vv);
                 if (parentOneOfKey != null && parentOneOfKey.equals(key)) {
                     parentOneOfValue = vv;
                 }
@@ -360,6 +401,26 @@ public final class StreamingIO {
         return pojo;
     }
 
+    /**
+     * Reads one creator argument, honoring its declared codec or the context's default value format.
+     */
+    private static Object _readCreatorArg(StreamingReader reader, NodeRegistry.CreatorInfo ci, int argIdx,
+                                          Type ownerType, Class<?> ownerRawClazz,
+                                          StreamingContext context) throws IOException {
+        Type argType = Types.resolveMemberType(ownerType, ownerRawClazz, ci.argTypes[argIdx]);
+        Class<?> argRaw = Types.rawBox(argType);
+        NodeRegistry.TypeInfo ti = NodeRegistry.registerTypeInfo(argRaw);
+        NodeRegistry.ValueCodecInfo argVci = ci.argValueCodecs[argIdx];
+        if (argVci == null && ti.hasValueCodecs()) {
+            String valueFormat = context.defaultValueFormat(argRaw);
+            argVci = ti.getValueCodecInfo(valueFormat);
+        }
+        if (ti.oneOfInfo == null && argVci != null) {
+            return _readValueWithCodec(reader, argType, argRaw, argVci, context);
+        }
+        return _readNode(reader, argType, argRaw, ti, context);
+    }
+
     /**
      * Reads array token into List/JsonArray/array/Set target.
      */
@@ -375,7 +436,7 @@ public final class StreamingIO {
         }
 
         if (rawClazz == JsonArray.class) {
-            return new JsonArray(_readRawArray(reader));
+            return new JsonArray(_readRawArray(reader, context));
         }
 
         if (Set.class.isAssignableFrom(rawClazz)) {
@@ -509,6 +570,18 @@ public final class StreamingIO {
             reader.nextNull();
             return null;
         }
+        KeyTable keys = context.keyTable();
+        if (context.objectShapes != null && (mapClazz == Object.class || mapClazz == Map.class)) {
+            CompactMap.ObjectBuilder builder = context.objectShapes.newObject();
+            reader.startObject();
+            while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
+                String key = reader.nextName();
+                builder.put(keys != null ? keys.canonicalize(key) : key,
+                        _readNode(reader, valueType, valueClazz, valueTi, context));
+            }
+            reader.endObject();
+            return builder.build();
+        }
         Map<String, Object> map = mapClazz == Object.class || mapClazz == Map.class || mapClazz == LinkedHashMap.class
                 ? new LinkedHashMap<>()
                 : NodeRegistry.newMapContainer(mapClazz, false);
@@ -516,7 +589,7 @@ public final class StreamingIO {
         while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
             String key = reader.nextName();
             Object value = _readNode(reader, valueType, valueClazz, valueTi, context);
-            map.put(key, value);
+            map.put(keys != null ? keys.canonicalize(key) : key, value);
         }
         reader.endObject();
         return map;
@@ -612,7 +685,7 @@ public final class StreamingIO {
                                      StreamingContext context)
             throws IOException {
         if (anyOfInfo.hasDiscriminator) {
-            Object rawNode = _readRawNode(reader);
+            Object rawNode = _readRawNode(reader, context);
             Class<?> targetClazz = resolveCurrentDiscriminatorTarget(rawNode, anyOfInfo);
             if (targetClazz == null) return null;
             return context.nodeFacade.readNode(rawNode, targetClazz);
@@ -620,7 +693,7 @@ public final class StreamingIO {
 
         Class<?> targetClazz = resolveOneOfJsonTypeTarget(reader.peekToken().jsonType(), anyOfInfo);
         if (targetClazz == null) {
-            _readRawNode(reader);
+            _readRawNode(reader, context);
             return null;
         }
         return _readNode(reader, targetClazz, Types.rawBox(targetClazz), null, context);
@@ -651,7 +724,15 @@ public final class StreamingIO {
                 writer.writeString(node.toString());
                 return;
             }
+            if (node instanceof RawJson) {
+                writeRawJson(writer, (RawJson) node);
+                return;
+            }
             if (node instanceof Number) {
+                if (node instanceof LazyNumber) {
+                    _writeLazyNumber(writer, (LazyNumber) node);
+                    return;
+                }
                 writer.writeNumber((Number) node);
                 return;
             }
@@ -688,6 +769,8 @@ public final class StreamingIO {
 
             Class<?> rawClazz = node.getClass();
             if (rawClazz == JsonObject.class) {
+                // Unmodified lazy subtrees are copied from their source bytes
+                if (context.includeNulls && LazyJson.writeRaw(writer, node)) return;
                 writer.startObject();
                 int cnt = 0;
                 for (Map.Entry<String, Object> entry : ((JsonObject) node).entrySet()) {
@@ -702,6 +785,7 @@ public final class StreamingIO {
             }
 
             if (node instanceof JsonArray) {
+                if (context.includeNulls && LazyJson.writeRaw(writer, node)) return;
                 writer.startArray();
                 JsonArray ja = (JsonArray) node;
                 for (int i = 0, len = ja.size(); i < len; i++) {
@@ -768,8 +852,14 @@ public final class StreamingIO {
         }
     }
 
+    @SuppressWarnings("unchecked")
     public static void writePojo(StreamingWriter writer, Object node, NodeRegistry.PojoInfo pi,
                                  StreamingContext context) throws IOException {
+        StreamingCodec<Object> codec = (StreamingCodec<Object>) COMPILED_CODECS.get(pi.clazz);
+        if (codec != null) {
+            codec.write(writer, node, context);
+            return;
+        }
         writer.startObject();
         int cnt = 0;
         for (Map.Entry<String, NodeRegistry.PropertyInfo> entry : pi.readableProperties.entrySet()) {
@@ -803,6 +893,175 @@ public final class StreamingIO {
         writer.endObject();
     }
 
+    /**
+     * Copies the literal of a lazy number, or writes its parsed value when the writer cannot copy raw JSON.
+     */
+    private static void _writeLazyNumber(StreamingWriter writer, LazyNumber number) throws IOException {
+        byte[] literal = number.literal().getBytes(StandardCharsets.US_ASCII);
+        if (!writer.writeRawValue(literal, 0, literal.length)) {
+            writer.writeNumber(number.value());
+        }
+    }
+
+    /// Copy
+
+    /**
+     * Copies the next value from reader to writer without building nodes.
+     * <p>
+     * A reader with a direct path to the writer's backend (such as Jackson's
+     * {@code copyCurrentStructure}) uses it. Otherwise the value's text is copied when
+     * the reader can capture it and the writer accepts raw JSON, and tokens are copied
+     * one by one as a last resort.
+     */
+    public static void copyValue(StreamingReader reader, StreamingWriter writer) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(writer, "writer");
+        if (reader.copyValueTo(writer)) return;
+        String raw = reader.nextRawValue();
+        if (raw != null) {
+            _writeRaw(writer, raw.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        _copyTokens(reader, writer);
+    }
+
+    /**
+     * Reads the next value as {@link RawJson}, or returns null for JSON {@code null}.
+     */
+    public static RawJson readRawJson(StreamingReader reader) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        if (reader.peekToken() == StreamingReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        String raw = reader.nextRawValue();
+        if (raw == null) {
+            StringWriter output = new StringWriter();
+            SimpleJsonWriter textWriter = new SimpleJsonWriter(output);
+            _copyTokens(reader, textWriter);
+            textWriter.flush();
+            raw = output.toString();
+        }
+        return new RawJson(raw);
+    }
+
+    /**
+     * Writes the text of a {@link RawJson}, or its parsed tokens when the writer
+     * cannot copy raw JSON.
+     */
+    public static void writeRawJson(StreamingWriter writer, RawJson raw) throws IOException {
+        Objects.requireNonNull(writer, "writer");
+        Objects.requireNonNull(raw, "raw");
+        _writeRaw(writer, raw.bytes());
+    }
+
+    private static void _writeRaw(StreamingWriter writer, byte[] json) throws IOException {
+        if (!writer.writeRawValue(json, 0, json.length)) {
+            _writeNode(writer, LazyJson.parse(json), StreamingContext.EMPTY);
+        }
+    }
+
+    private static void _copyTokens(StreamingReader reader, StreamingWriter writer) throws IOException {
+        StreamingReader.Token token = reader.peekToken();
+        switch (token) {
+            case START_OBJECT: {
+                int cnt = 0;
+                reader.startObject();
+                writer.startObject();
+                while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
+                    if (cnt++ > 0) writer.writeObjectComma();
+                    writer.writeName(reader.nextName());
+                    _copyTokens(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            }
+            case START_ARRAY: {
+                int cnt = 0;
+                reader.startArray();
+                writer.startArray();
+                while (reader.peekToken() != StreamingReader.Token.END_ARRAY) {
+                    if (cnt++ > 0) writer.writeArrayComma();
+                    _copyTokens(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            }
+            case STRING:
+                writer.writeString(reader.nextString());
+                break;
+            case NUMBER:
+                writer.writeNumber(reader.nextNumber());
+                break;
+            case BOOLEAN:
+                writer.writeBoolean(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.writeNull();
+                break;
+            default:
+                throw new BindingException("unexpected token '" + token + "'");
+        }
+    }
+
+    /// Compiled codecs
+
+    /**
+     * Reads one property of a non-generic POJO with the same rules as {@link #readPojo}.
+     * Generated {@link StreamingCodec}s use this for properties that are not plain scalars.
+     */
+    public static Object readProperty(StreamingReader reader, NodeRegistry.PropertyInfo fi, Class<?> ownerClazz,
+                                      StreamingContext context) throws IOException {
+        return _readField(reader, fi, ownerClazz, ownerClazz, context);
+    }
+
+    /**
+     * Reads one creator argument of a non-generic POJO with the same rules as {@link #readPojo}.
+     */
+    public static Object readCreatorArg(StreamingReader reader, NodeRegistry.CreatorInfo ci, int argIdx,
+                                        Class<?> ownerClazz, StreamingContext context) throws IOException {
+        return _readCreatorArg(reader, ci, argIdx, ownerClazz, ownerClazz, context);
+    }
+
+    /**
+     * Writes one property value, applying the property's value codec like {@link #writePojo}.
+     */
+    public static void writeProperty(StreamingWriter writer, NodeRegistry.PropertyInfo fi, Object value,
+                                     StreamingContext context) throws IOException {
+        if (value != null && fi.resolvedValueCodec != null) {
+            value = fi.resolvedValueCodec.valueToRaw(value);
+        }
+        _writeNode(writer, value, context);
+    }
+
+    /**
+     * Finds the generated {@code <Model>_StreamingCodec} next to a POJO class, or returns null.
+     */
+    private static StreamingCodec<?> _loadCompiledCodec(Class<?> type) {
+        ClassLoader loader = type.getClassLoader();
+        if (loader == null) return null;
+        String codecName = type.getName() + CODEC_SUFFIX;
+        Class<?> codecClass;
+        try {
+            codecClass = Class.forName(codecName, true, loader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (LinkageError e) {
+            throw new JsonException("Generated SJF4J codec " + codecName + " failed to load", e);
+        }
+        if (!StreamingCodec.class.isAssignableFrom(codecClass)) return null;
+        try {
+            return (StreamingCodec<?>) codecClass.getConstructor().newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException e) {
+            throw new JsonException("Cannot instantiate generated SJF4J codec " + codecName, e);
+        } catch (InvocationTargetException e) {
+            throw new JsonException("Generated SJF4J codec " + codecName + " constructor failed", e.getCause());
+        }
+    }
+
     /// Support
 
     public static NodeRegistry.ValueCodecInfo resolveValueCodecInfo(Class<?> clazz, StreamingContext context) {
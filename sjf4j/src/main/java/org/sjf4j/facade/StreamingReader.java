@@ -74,6 +74,27 @@ public interface StreamingReader extends Closeable {
         return null;
     }
 
+    /**
+     * Reads the next value as its encoded JSON text when the backend can capture it
+     * without building nodes.
+     * <p>
+     * Backends that cannot return {@code null} without consuming anything, and the
+     * caller copies the value token by token instead.
+     */
+    default String nextRawValue() throws IOException {
+        return null;
+    }
+
+    /**
+     * Copies the next value directly to a writer of the same backend.
+     * <p>
+     * Returns {@code false} without consuming anything when this reader has no direct
+     * path to the given writer.
+     */
+    default boolean copyValueTo(StreamingWriter writer) throws IOException {
+        return false;
+    }
+
     void startObject() throws IOException;
 
     void endObject() throws IOException;
@@ -87,6 +108,18 @@ public interface StreamingReader extends Closeable {
     String nextString() throws IOException;
 
     Number nextNumber() throws IOException;
+
+    /**
+     * Reads the next number as its literal text, without converting it.
+     * <p>
+     * Backends that can see the source text return it unchanged; the default formats
+     * the value returned by {@link #nextNumber()}. Non-finite values accepted by a lenient
+     * backend are returned in {@link Double#toString(double)} form, such as {@code NaN}.
+     */
+    default String nextNumberLiteral() throws IOException {
+        return nextNumber().toString();
+    }
+
     Long nextLong() throws IOException;
     Integer nextInt() throws IOException;
     Short nextShort() throws IOException;
@@ -60,6 +60,16 @@ public interface StreamingWriter extends Closeable {
      */
     void writeName(String name) throws IOException;
 
+    /**
+     * Writes a JSON object field name whose literal was escaped ahead of time.
+     *
+     * @param name the pre-encoded field name to write
+     * @throws IOException if an I/O error occurs
+     */
+    default void writeEncodedName(EncodedName name) throws IOException {
+        writeName(name.name());
+    }
+
     /**
      * Writes a JSON string value.
      *
@@ -76,6 +86,26 @@ public interface StreamingWriter extends Closeable {
      */
     void writeNumber(Number value) throws IOException;
 
+    /**
+     * Writes a JSON integer value without boxing.
+     *
+     * @param value the number value to write
+     * @throws IOException if an I/O error occurs
+     */
+    default void writeNumber(long value) throws IOException {
+        writeNumber((Number) value);
+    }
+
+    /**
+     * Writes a JSON floating-point value without boxing.
+     *
+     * @param value the number value to write
+     * @throws IOException if an I/O error occurs
+     */
+    default void writeNumber(double value) throws IOException {
+        writeNumber((Number) value);
+    }
+
     /**
      * Writes a JSON boolean value.
      *
@@ -91,6 +121,22 @@ public interface StreamingWriter extends Closeable {
      */
     void writeNull() throws IOException;
 
+    /**
+     * Copies one complete, already-encoded UTF-8 JSON value to the output.
+     * <p>
+     * Writers that cannot copy raw JSON return {@code false} without writing anything,
+     * and the caller writes the value token by token instead.
+     *
+     * @param json the buffer holding the value
+     * @param offset the first byte of the value
+     * @param length the number of bytes in the value
+     * @return whether the value was written
+     * @throws IOException if an I/O error occurs
+     */
+    default boolean writeRawValue(byte[] json, int offset, int length) throws IOException {
+        return false;
+    }
+
 
     default void writeArrayComma() throws IOException {/* Only or Fastjson2 */}
 
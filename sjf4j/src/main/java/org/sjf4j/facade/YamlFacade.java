@@ -1,7 +1,44 @@
 package org.sjf4j.facade;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 
 /**
  * YAML facade interface with streaming support.
  */
-public interface YamlFacade<R extends StreamingReader, W extends StreamingWriter> extends StreamingFacade<R, W> {}
+public interface YamlFacade<R extends StreamingReader, W extends StreamingWriter> extends StreamingFacade<R, W> {
+
+    /**
+     * Lazily reads the documents of a YAML stream into target type, one per
+     * element. Closing the returned stream closes input.
+     * <p>
+     * Facades without multi-document support read a single document.
+     */
+    default Stream<Object> readDocuments(Reader input, Type type) {
+        Objects.requireNonNull(input, "input");
+        return Stream.of(input).map(in -> readNode(in, type)).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Lazily reads the documents of a UTF-8 YAML stream into target type.
+     */
+    default Stream<Object> readDocuments(InputStream input, Type type) {
+        Objects.requireNonNull(input, "input");
+        return readDocuments(new InputStreamReader(input, StandardCharsets.UTF_8), type);
+    }
+
+}
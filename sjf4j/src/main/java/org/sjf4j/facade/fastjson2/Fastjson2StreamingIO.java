@@ -6,9 +6,11 @@ import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
 import org.sjf4j.annotation.node.OneOf;
 import org.sjf4j.exception.BindingException;
+import org.sjf4j.facade.KeyTable;
 import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.StreamingIO;
 import org.sjf4j.facade.StreamingReader;
+import org.sjf4j.node.LazyNumber;
 import org.sjf4j.node.NodeRegistry;
 import org.sjf4j.node.Types;
 import org.sjf4j.node.ValueCodec;
@@ -52,7 +54,7 @@ public class Fastjson2StreamingIO {
                 return readOneOf(reader, oneOfInfo, context);
             }
             if (rawBoxed == Object.class) {
-                return _readRawNode(reader);
+                return _readRawNode(reader, context.keyTable());
             }
             StreamingReader.Token token = _peekToken(reader);
             switch (token) {
@@ -78,12 +80,15 @@ public class Fastjson2StreamingIO {
         }
     }
 
-    private static Object _readRawNode(JSONReader reader) throws IOException {
+    /**
+     * Reads an untyped node, canonicalizing object keys through a non-null key table.
+     */
+    private static Object _readRawNode(JSONReader reader, KeyTable keys) throws IOException {
         switch (_peekToken(reader)) {
             case START_OBJECT:
-                return _readRawObject(reader);
+                return _readRawObject(reader, keys);
             case START_ARRAY:
-                return _readRawArray(reader);
+                return _readRawArray(reader, keys);
             case STRING:
                 return reader.readString();
             case NUMBER:
@@ -98,24 +103,25 @@ public class Fastjson2StreamingIO {
         }
     }
 
-    private static Map<String, Object> _readRawObject(JSONReader reader) throws IOException {
+    private static Map<String, Object> _readRawObject(JSONReader reader, KeyTable keys) throws IOException {
         Map<String, Object> map = new LinkedHashMap<>();
         if (!reader.nextIfObjectStart()) {
             throw new BindingException("expected token '{', but was " + reader.current());
         }
         while (!reader.nextIfObjectEnd()) {
-            map.put(reader.readFieldName(), _readRawNode(reader));
+            String key = reader.readFieldName();
+            map.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(reader, keys));
         }
         return map;
     }
 
-    private static List<Object> _readRawArray(JSONReader reader) throws IOException {
+    private static List<Object> _readRawArray(JSONReader reader, KeyTable keys) throws IOException {
         List<Object> list = new ArrayList<>();
         if (!reader.nextIfArrayStart()) {
             throw new BindingException("expected token '[', but was " + reader.current());
         }
         while (!reader.nextIfArrayEnd()) {
-            list.add(_readRawNode(reader));
+            list.add(_readRawNode(reader, keys));
         }
         return list;
     }
@@ -201,7 +207,7 @@ public class Fastjson2StreamingIO {
         }
 
         if (rawClazz == JsonObject.class) {
-            return new JsonObject(_readRawObject(reader));
+            return new JsonObject(_readRawObject(reader, context.keyTable()));
         }
 
         if (ti == null) {
@@ -236,6 +242,7 @@ public class Fastjson2StreamingIO {
         if (!hasParentOneOf && ci.hasNoArgsCreator() && (ci.argNames == null || ci.argNames.length == 0)) {
             Object pojo = ci.newPojoNoArgs();
             Map<String, Object> dynamicMap = null;
+            KeyTable keys = null;
             if (!reader.nextIfObjectStart()) {
                 throw new BindingException("expected token '{', but was " + reader.current());
             }
@@ -248,8 +255,9 @@ public class Fastjson2StreamingIO {
                 } else if (pi.isJojo && pi.readDynamic) {
                     if (dynamicMap == null) {
                         dynamicMap = new LinkedHashMap<>();
+                        keys = context.keyTable();
                     }
-                    dynamicMap.put(key, _readRawNode(reader));
+                    dynamicMap.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(reader, keys));
                 } else {
                     reader.skipValue();
                 }
@@ -317,7 +325,7 @@ public class Fastjson2StreamingIO {
                             throw new BindingException("at most one OneOf field with scope=PARENT is supported per class");
                         }
                         deferredParentOneOfFi = fi;
-                        deferredParentOneOfRaw = _readRawNode(reader);
+                        deferredParentOneOfRaw = _readRawNode(reader, context.keyTable());
                         continue;
                     }
                 } else {
@@ -331,8 +339,9 @@ public class Fastjson2StreamingIO {
             }
 
             if (pi.isJojo && pi.readDynamic) {
-                Object vv = _readRawNode(reader);
-                session.acceptDynamic(key, vv);
+                KeyTable keys = context.keyTable();
+                Object vv = _readRawNode(reader, keys);
+                session.acceptDynamic(keys != null ? keys.canonicalize(key) : key, vv);
                 if (parentOneOfKey != null && parentOneOfKey.equals(key)) {
                     parentOneOfValue = vv;
                 }
@@ -359,7 +368,7 @@ public class Fastjson2StreamingIO {
         }
 
         if (rawClazz == JsonArray.class) {
-            return new JsonArray(_readRawArray(reader));
+            return new JsonArray(_readRawArray(reader, context.keyTable()));
         }
 
         if (Set.class.isAssignableFrom(rawClazz)) {
@@ -490,13 +499,14 @@ public class Fastjson2StreamingIO {
         Map<String, Object> map = mapClazz == Object.class || mapClazz == Map.class || mapClazz == LinkedHashMap.class
                 ? new LinkedHashMap<>()
                 : NodeRegistry.newMapContainer(mapClazz, false);
+        KeyTable keys = context.keyTable();
         if (!reader.nextIfObjectStart()) {
             throw new BindingException("expected token '{', but was " + reader.current());
         }
         while (!reader.nextIfObjectEnd()) {
             String key = reader.readFieldName();
             Object value = _readNode(reader, valueType, valueClazz, valueTi, context);
-            map.put(key, value);
+            map.put(keys != null ? keys.canonicalize(key) : key, value);
         }
         return map;
     }
@@ -565,7 +575,7 @@ public class Fastjson2StreamingIO {
         Objects.requireNonNull(context, "context");
         try {
             if (anyOfInfo.hasDiscriminator) {
-                Object rawNode = _readRawNode(reader);
+                Object rawNode = _readRawNode(reader, context.keyTable());
                 Class<?> targetClazz = StreamingIO.resolveCurrentDiscriminatorTarget(rawNode, anyOfInfo);
                 if (targetClazz == null) return null;
                 return context.nodeFacade.readNode(rawNode, targetClazz);
@@ -573,7 +583,7 @@ public class Fastjson2StreamingIO {
 
             Class<?> targetClazz = StreamingIO.resolveOneOfJsonTypeTarget(_peekToken(reader).jsonType(), anyOfInfo);
             if (targetClazz == null) {
-                _readRawNode(reader);
+                _readRawNode(reader, context.keyTable());
                 return null;
             }
 
@@ -767,6 +777,7 @@ public class Fastjson2StreamingIO {
 
 
     private static void _writeNumber(JSONWriter writer, Number value) {
+        if (value instanceof LazyNumber) value = ((LazyNumber) value).value();
         if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
             writer.writeInt64(value.longValue());
         } else if (value instanceof Float || value instanceof Double) {
@@ -90,6 +90,22 @@ public class Fastjson2Writer implements StreamingWriter {
         }
     }
 
+    /**
+     * Writes integer value without boxing.
+     */
+    @Override
+    public void writeNumber(long value) throws IOException {
+        writer.writeInt64(value);
+    }
+
+    /**
+     * Writes floating-point value without boxing.
+     */
+    @Override
+    public void writeNumber(double value) throws IOException {
+        writer.writeDouble(value);
+    }
+
     /**
      * Writes boolean value.
      */
@@ -14,13 +14,14 @@ import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.StreamingIO;
 import org.sjf4j.node.NodeRegistry;
 import org.sjf4j.node.Numbers;
+import org.sjf4j.node.RawJson;
 import org.sjf4j.node.Types;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
 
 /**
- * Gson adapters for JsonObject/JsonArray and @NodeValue types.
+ * Gson adapters for JsonObject/JsonArray, RawJson and @NodeValue types.
  */
 public interface GsonModule {
 
@@ -47,6 +48,9 @@ public interface GsonModule {
             if (JsonArray.class.isAssignableFrom(rawClazz)) {
                 return (TypeAdapter<T>) new JsonArrayAdapter(gson, rawClazz);
             }
+            if (rawClazz == RawJson.class) {
+                return (TypeAdapter<T>) new RawJsonAdapter();
+            }
 
             NodeRegistry.TypeInfo ti = NodeRegistry.registerTypeInfo(rawClazz);
             if (ti.oneOfInfo != null) {
@@ -243,6 +247,29 @@ public interface GsonModule {
         }
     }
 
+    class RawJsonAdapter extends TypeAdapter<RawJson> {
+
+        /**
+         * Captures the next value as {@link RawJson}; JSON null reads as null.
+         */
+        @Override
+        public RawJson read(JsonReader in) throws IOException {
+            return StreamingIO.readRawJson(new GsonReader(in));
+        }
+
+        /**
+         * Writes the text of {@link RawJson} unchanged.
+         */
+        @Override
+        public void write(JsonWriter out, RawJson value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.jsonValue(value.json());
+        }
+    }
+
     /// To Number
     /**
      * Number strategy that preserves integer/decimal intent.
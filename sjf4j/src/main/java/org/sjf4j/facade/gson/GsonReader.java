@@ -109,6 +109,14 @@ public class GsonReader implements StreamingReader {
         return Numbers.parseNumber(reader.nextString());
     }
 
+    /**
+     * Reads next scalar as number literal text.
+     */
+    @Override
+    public String nextNumberLiteral() throws IOException {
+        return reader.nextString();
+    }
+
     /**
      * Reads next scalar as long.
      */
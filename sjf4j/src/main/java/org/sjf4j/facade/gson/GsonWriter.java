@@ -4,6 +4,7 @@ import com.google.gson.stream.JsonWriter;
 import org.sjf4j.facade.StreamingWriter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Streaming writer backed by Gson's {@link JsonWriter}.
@@ -75,6 +76,22 @@ public class GsonWriter implements StreamingWriter {
         writer.value(value);
     }
 
+    /**
+     * Writes integer value without boxing.
+     */
+    @Override
+    public void writeNumber(long value) throws IOException {
+        writer.value(value);
+    }
+
+    /**
+     * Writes floating-point value without boxing.
+     */
+    @Override
+    public void writeNumber(double value) throws IOException {
+        writer.value(value);
+    }
+
     /**
      * Writes boolean value.
      */
@@ -91,6 +108,15 @@ public class GsonWriter implements StreamingWriter {
         writer.nullValue();
     }
 
+    /**
+     * Copies an encoded JSON value.
+     */
+    @Override
+    public boolean writeRawValue(byte[] json, int offset, int length) throws IOException {
+        writer.jsonValue(new String(json, offset, length, StandardCharsets.UTF_8));
+        return true;
+    }
+
     /**
      * Flushes writer output.
      */
@@ -26,6 +26,7 @@ import org.sjf4j.JsonObject;
 import org.sjf4j.annotation.node.NodeCreator;
 import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.RawJson;
 import org.sjf4j.node.ReflectUtil;
 import org.sjf4j.node.Types;
 
@@ -58,6 +59,8 @@ public interface Jackson2Module {
             String valueFormat = streamingContext.defaultValueFormat(Instant.class);
             NodeRegistry.ValueCodecInfo vci = ti.getValueCodecInfo(valueFormat);
             addDeserializer(Instant.class, new NodeValueDeserializer<>(vci));
+            addDeserializer(RawJson.class, new RawJsonDeserializer());
+            addSerializer(RawJson.class, new RawJsonSerializer());
 
             setDeserializerModifier(new BeanDeserializerModifier() {
 
@@ -240,6 +243,16 @@ public interface Jackson2Module {
         }
     }
 
+    /**
+     * Deserializer capturing the value's text as {@link RawJson}.
+     */
+    class RawJsonDeserializer extends JsonDeserializer<RawJson> {
+        @Override
+        public RawJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return new RawJson(Jackson2StreamingIO.copyRawText(p));
+        }
+    }
+
     class OneOfDeserializer<T> extends JsonDeserializer<T> {
         private final NodeRegistry.OneOfInfo oneOfInfo;
         private final StreamingContext streamingContext;
@@ -323,6 +336,16 @@ public interface Jackson2Module {
         }
     }
 
+    /**
+     * Serializer emitting {@link RawJson} text unchanged.
+     */
+    class RawJsonSerializer extends JsonSerializer<RawJson> {
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(value.json());
+        }
+    }
+
     class NodeValueSerializer<T> extends JsonSerializer<T> {
         private final NodeRegistry.ValueCodecInfo valueCodecInfo;
         /**
@@ -3,6 +3,7 @@ package org.sjf4j.facade.jackson2;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import org.sjf4j.facade.StreamingReader;
+import org.sjf4j.facade.StreamingWriter;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -55,6 +56,27 @@ public class Jackson2Reader implements StreamingReader {
         }
     }
 
+    /**
+     * Re-encodes the next value with {@code copyCurrentStructure}, without building nodes.
+     */
+    @Override
+    public String nextRawValue() throws IOException {
+        return Jackson2StreamingIO.readRawText(parser);
+    }
+
+    /**
+     * Copies the next value with {@code copyCurrentStructure} when the writer is a
+     * Jackson2 writer.
+     */
+    @Override
+    public boolean copyValueTo(StreamingWriter writer) throws IOException {
+        if (!(writer instanceof Jackson2Writer)) return false;
+        if (parser.currentToken() == null) parser.nextToken();
+        ((Jackson2Writer) writer).generator().copyCurrentStructure(parser);
+        parser.nextToken();
+        return true;
+    }
+
     /**
      * Consumes and enters object scope.
      */
@@ -117,6 +139,20 @@ public class Jackson2Reader implements StreamingReader {
         return value;
     }
 
+    /**
+     * Reads next scalar as number literal text.
+     */
+    @Override
+    public String nextNumberLiteral() throws IOException {
+        // NaN and infinities accepted by ALLOW_NON_NUMERIC_NUMBERS have no JSON literal
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT && parser.isNaN()) {
+            return nextNumber().toString();
+        }
+        String value = parser.getText();
+        parser.nextToken();
+        return value;
+    }
+
     /**
      * Reads next scalar as long.
      */
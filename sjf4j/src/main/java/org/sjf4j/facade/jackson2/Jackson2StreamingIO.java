@@ -1,5 +1,6 @@
 package org.sjf4j.facade.jackson2;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
@@ -8,14 +9,17 @@ import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
 import org.sjf4j.annotation.node.OneOf;
 import org.sjf4j.exception.BindingException;
+import org.sjf4j.facade.KeyTable;
 import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.StreamingIO;
 import org.sjf4j.facade.StreamingReader;
 import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.RawJson;
 import org.sjf4j.node.Types;
 import org.sjf4j.node.ValueCodec;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
@@ -34,6 +38,7 @@ import java.util.Set;
  */
 public class Jackson2StreamingIO {
     private static final Object UNSET = new Object();
+    private static final JsonFactory RAW_FACTORY = new JsonFactory();
 
     /// Read
 
@@ -65,7 +70,14 @@ public class Jackson2StreamingIO {
                 return readOneOf(parser, oneOfInfo, context);
             }
             if (rawBoxed == Object.class) {
-                return _readRawNode(parser);
+                return _readRawNode(parser, context.keyTable());
+            }
+            if (rawBoxed == RawJson.class) {
+                if (_peekToken(parser) == StreamingReader.Token.NULL) {
+                    parser.nextToken();
+                    return null;
+                }
+                return new RawJson(readRawText(parser));
             }
             StreamingReader.Token token = _peekToken(parser);
             switch (token) {
@@ -92,11 +104,40 @@ public class Jackson2StreamingIO {
     }
 
     private static Object _readRawNode(JsonParser parser) throws IOException {
+        return _readRawNode(parser, null);
+    }
+
+    /**
+     * Copies the current value to JSON text with {@code copyCurrentStructure}, without
+     * building nodes, and advances past it.
+     */
+    static String readRawText(JsonParser parser) throws IOException {
+        if (parser.currentToken() == null) parser.nextToken();
+        String text = copyRawText(parser);
+        parser.nextToken();
+        return text;
+    }
+
+    /**
+     * Copies the current value to JSON text, leaving the parser on its last token.
+     */
+    static String copyRawText(JsonParser parser) throws IOException {
+        StringWriter output = new StringWriter();
+        try (JsonGenerator gen = RAW_FACTORY.createGenerator(output)) {
+            gen.copyCurrentStructure(parser);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Reads an untyped node, canonicalizing object keys through a non-null key table.
+     */
+    private static Object _readRawNode(JsonParser parser, KeyTable keys) throws IOException {
         switch (_peekToken(parser)) {
             case START_OBJECT:
-                return _readRawObject(parser);
+                return _readRawObject(parser, keys);
             case START_ARRAY:
-                return _readRawArray(parser);
+                return _readRawArray(parser, keys);
             case STRING: {
                 String s = parser.getText();
                 parser.nextToken();
@@ -120,23 +161,23 @@ public class Jackson2StreamingIO {
         }
     }
 
-    private static Map<String, Object> _readRawObject(JsonParser parser) throws IOException {
+    private static Map<String, Object> _readRawObject(JsonParser parser, KeyTable keys) throws IOException {
         Map<String, Object> map = new LinkedHashMap<>();
         parser.nextToken();
         while (parser.currentToken() != JsonToken.END_OBJECT) {
             String key = parser.currentName();
             parser.nextToken();
-            map.put(key, _readRawNode(parser));
+            map.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(parser, keys));
         }
         parser.nextToken();
         return map;
     }
 
-    private static List<Object> _readRawArray(JsonParser parser) throws IOException {
+    private static List<Object> _readRawArray(JsonParser parser, KeyTable keys) throws IOException {
         List<Object> list = new ArrayList<>();
         parser.nextToken();
         while (parser.currentToken() != JsonToken.END_ARRAY) {
-            list.add(_readRawNode(parser));
+            list.add(_readRawNode(parser, keys));
         }
         parser.nextToken();
         return list;
@@ -266,7 +307,7 @@ public class Jackson2StreamingIO {
         }
 
         if (rawClazz == JsonObject.class) {
-            return new JsonObject(_readRawObject(parser));
+            return new JsonObject(_readRawObject(parser, context.keyTable()));
         }
 
         if (ti == null) {
@@ -300,6 +341,7 @@ public class Jackson2StreamingIO {
         if (!hasParentOneOf && ci.hasNoArgsCreator() && (ci.argNames == null || ci.argNames.length == 0)) {
             Object pojo = ci.newPojoNoArgs();
             Map<String, Object> dynamicMap = null;
+            KeyTable keys = null;
             parser.nextToken();
             while (parser.currentToken() != JsonToken.END_OBJECT) {
                 String key = parser.currentName();
@@ -312,8 +354,9 @@ public class Jackson2StreamingIO {
                 } else if (pi.isJojo && pi.readDynamic) {
                     if (dynamicMap == null) {
                         dynamicMap = new LinkedHashMap<>();
+                        keys = context.keyTable();
                     }
-                    dynamicMap.put(key, _readRawNode(parser));
+                    dynamicMap.put(keys != null ? keys.canonicalize(key) : key, _readRawNode(parser, keys));
                 } else {
                     _skipNode(parser);
                 }
@@ -381,7 +424,7 @@ public class Jackson2StreamingIO {
                             throw new BindingException("at most one OneOf field with scope=PARENT is supported per class");
                         }
                         deferredParentOneOfFi = fi;
-                        deferredParentOneOfRaw = _readRawNode(parser);
+                        deferredParentOneOfRaw = _readRawNode(parser, context.keyTable());
                         continue;
                     }
                 } else {
@@ -395,8 +438,9 @@ public class Jackson2StreamingIO {
             }
 
             if (pi.isJojo && pi.readDynamic) {
-                Object vv = _readRawNode(parser);
-                session.acceptDynamic(key, vv);
+                KeyTable keys = context.keyTable();
+                Object vv = _readRawNode(parser, keys);
+                session.acceptDynamic(keys != null ? keys.canonicalize(key) : key, vv);
                 if (parentOneOfKey != null && parentOneOfKey.equals(key)) {
                     parentOneOfValue = vv;
                 }
@@ -424,7 +468,7 @@ public class Jackson2StreamingIO {
         }
 
         if (rawClazz == JsonArray.class) {
-            return new JsonArray(_readRawArray(parser));
+            return new JsonArray(_readRawArray(parser, context.keyTable()));
         }
 
         if (Set.class.isAssignableFrom(rawClazz)) {
@@ -564,12 +608,13 @@ public class Jackson2StreamingIO {
         Map<String, Object> map = mapClazz == Object.class || mapClazz == Map.class || mapClazz == LinkedHashMap.class
                 ? new LinkedHashMap<>()
                 : NodeRegistry.newMapContainer(mapClazz, false);
+        KeyTable keys = context.keyTable();
         parser.nextToken();
         while (parser.currentToken() != JsonToken.END_OBJECT) {
             String key = parser.currentName();
             parser.nextToken();
             Object value = _readNode(parser, valueType, valueClazz, valueTi, context);
-            map.put(key, value);
+            map.put(keys != null ? keys.canonicalize(key) : key, value);
         }
         parser.nextToken();
         return map;
@@ -655,7 +700,7 @@ public class Jackson2StreamingIO {
                 }
             }
 
-            Object rawNode = _readRawNode(parser);
+            Object rawNode = _readRawNode(parser, context.keyTable());
             Class<?> targetClazz = StreamingIO.resolveCurrentDiscriminatorTarget(rawNode, anyOfInfo);
             if (targetClazz == null) return null;
             return context.nodeFacade.readNode(rawNode, targetClazz);
@@ -663,7 +708,7 @@ public class Jackson2StreamingIO {
 
         Class<?> targetClazz = StreamingIO.resolveOneOfJsonTypeTarget(_peekToken(parser).jsonType(), anyOfInfo);
         if (targetClazz == null) {
-            _readRawNode(parser);
+            _readRawNode(parser, context.keyTable());
             return null;
         }
 
@@ -766,6 +811,10 @@ public class Jackson2StreamingIO {
                 gen.writeString(node.toString());
                 return;
             }
+            if (node instanceof RawJson) {
+                gen.writeRawValue(((RawJson) node).json());
+                return;
+            }
             if (node instanceof Number) {
                 _writeNumber(gen, (Number) node);
                 return;
@@ -1,11 +1,14 @@
 package org.sjf4j.facade.jackson2;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.sjf4j.facade.EncodedName;
 import org.sjf4j.facade.StreamingWriter;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Streaming writer backed by Jackson2's {@link JsonGenerator}.
@@ -21,6 +24,10 @@ public class Jackson2Writer implements StreamingWriter {
         this.gen = gen;
     }
 
+    JsonGenerator generator() {
+        return gen;
+    }
+
     /**
      * Starts object scope.
      */
@@ -61,6 +68,14 @@ public class Jackson2Writer implements StreamingWriter {
         gen.writeFieldName(name);
     }
 
+    /**
+     * Writes object field name through a cached {@link SerializedString}.
+     */
+    @Override
+    public void writeEncodedName(EncodedName name) throws IOException {
+        gen.writeFieldName(name.nativeName(SerializedString.class, SerializedString::new));
+    }
+
     /**
      * Writes string value.
      */
@@ -87,6 +102,22 @@ public class Jackson2Writer implements StreamingWriter {
         }
     }
 
+    /**
+     * Writes integer value without boxing.
+     */
+    @Override
+    public void writeNumber(long value) throws IOException {
+        gen.writeNumber(value);
+    }
+
+    /**
+     * Writes floating-point value without boxing.
+     */
+    @Override
+    public void writeNumber(double value) throws IOException {
+        gen.writeNumber(value);
+    }
+
     /**
      * Writes boolean value.
      */
@@ -103,6 +134,15 @@ public class Jackson2Writer implements StreamingWriter {
         gen.writeNull();
     }
 
+    /**
+     * Copies an encoded JSON value.
+     */
+    @Override
+    public boolean writeRawValue(byte[] json, int offset, int length) throws IOException {
+        gen.writeRawValue(new String(json, offset, length, StandardCharsets.UTF_8));
+        return true;
+    }
+
     /**
      * Flushes generator output.
      */
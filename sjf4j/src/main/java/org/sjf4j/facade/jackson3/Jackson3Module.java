@@ -8,6 +8,7 @@ import org.sjf4j.exception.BindingException;
 import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.StreamingIO;
 import org.sjf4j.node.NodeRegistry;
+import org.sjf4j.node.RawJson;
 import org.sjf4j.node.ReflectUtil;
 import org.sjf4j.node.Types;
 import tools.jackson.core.JsonGenerator;
@@ -51,6 +52,8 @@ public interface Jackson3Module {
 
         public TwoSimpleModule(StreamingContext streamingContext) {
             this.streamingContext = streamingContext;
+            addDeserializer(RawJson.class, new RawJsonDeserializer());
+            addSerializer(RawJson.class, new RawJsonSerializer());
             setDeserializerModifier(new ValueDeserializerModifier() {
                 @Override
                 public BeanDeserializerBuilder updateBuilder(DeserializationConfig config,
@@ -235,6 +238,13 @@ public interface Jackson3Module {
         }
     }
 
+    class RawJsonDeserializer extends ValueDeserializer<RawJson> {
+        @Override
+        public RawJson deserialize(JsonParser p, DeserializationContext ctxt) {
+            return new RawJson(Jackson3Reader.copyRawText(p));
+        }
+    }
+
     class OneOfDeserializer<T> extends ValueDeserializer<T> {
         private final NodeRegistry.OneOfInfo oneOfInfo;
         private final StreamingContext streamingContext;
@@ -303,6 +313,13 @@ public interface Jackson3Module {
         }
     }
 
+    class RawJsonSerializer extends ValueSerializer<RawJson> {
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializationContext serializers) {
+            gen.writeRawValue(value.json());
+        }
+    }
+
     class NodeValueSerializer<T> extends ValueSerializer<T> {
         private final NodeRegistry.ValueCodecInfo valueCodecInfo;
 
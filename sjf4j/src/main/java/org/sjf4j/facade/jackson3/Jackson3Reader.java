@@ -1,11 +1,16 @@
 package org.sjf4j.facade.jackson3;
 
 import org.sjf4j.facade.StreamingReader;
+import org.sjf4j.facade.StreamingWriter;
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.JsonParser;
 import tools.jackson.core.JsonToken;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.json.JsonFactory;
 import tools.jackson.databind.util.TokenBuffer;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Objects;
@@ -15,6 +20,8 @@ import java.util.Objects;
  */
 public class Jackson3Reader implements StreamingReader {
 
+    private static final JsonFactory RAW_FACTORY = new JsonFactory();
+
     private final JsonParser parser;
 
     public Jackson3Reader(JsonParser parser) {
@@ -58,6 +65,34 @@ public class Jackson3Reader implements StreamingReader {
         return new Jackson3Reader(rawBuffer.asParserOnFirstToken(parser.objectReadContext(), parser));
     }
 
+    @Override
+    public String nextRawValue() throws IOException {
+        if (parser.currentToken() == null) parser.nextToken();
+        String text = copyRawText(parser);
+        parser.nextToken();
+        return text;
+    }
+
+    /**
+     * Copies the current value to JSON text, leaving the parser on its last token.
+     */
+    static String copyRawText(JsonParser parser) {
+        StringWriter output = new StringWriter();
+        try (JsonGenerator gen = RAW_FACTORY.createGenerator(ObjectWriteContext.empty(), output)) {
+            gen.copyCurrentStructure(parser);
+        }
+        return output.toString();
+    }
+
+    @Override
+    public boolean copyValueTo(StreamingWriter writer) throws IOException {
+        if (!(writer instanceof Jackson3Writer)) return false;
+        if (parser.currentToken() == null) parser.nextToken();
+        ((Jackson3Writer) writer).generator().copyCurrentStructure(parser);
+        parser.nextToken();
+        return true;
+    }
+
     @Override
     public void startObject() throws IOException {
         parser.nextToken();
@@ -1,11 +1,14 @@
 package org.sjf4j.facade.jackson3;
 
+import org.sjf4j.facade.EncodedName;
 import org.sjf4j.facade.StreamingWriter;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.io.SerializedString;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Streaming writer backed by Jackson3 JsonGenerator.
@@ -18,6 +21,10 @@ public class Jackson3Writer implements StreamingWriter {
         this.gen = gen;
     }
 
+    JsonGenerator generator() {
+        return gen;
+    }
+
     @Override
     public void startObject() throws IOException {
         gen.writeStartObject();
@@ -43,6 +50,11 @@ public class Jackson3Writer implements StreamingWriter {
         gen.writeName(name);
     }
 
+    @Override
+    public void writeEncodedName(EncodedName name) throws IOException {
+        gen.writeName(name.nativeName(SerializedString.class, SerializedString::new));
+    }
+
     @Override
     public void writeString(String value) throws IOException {
         gen.writeString(value);
@@ -63,6 +75,16 @@ public class Jackson3Writer implements StreamingWriter {
         }
     }
 
+    @Override
+    public void writeNumber(long value) throws IOException {
+        gen.writeNumber(value);
+    }
+
+    @Override
+    public void writeNumber(double value) throws IOException {
+        gen.writeNumber(value);
+    }
+
     @Override
     public void writeBoolean(Boolean value) throws IOException {
         gen.writeBoolean(value);
@@ -73,6 +95,12 @@ public class Jackson3Writer implements StreamingWriter {
         gen.writeNull();
     }
 
+    @Override
+    public boolean writeRawValue(byte[] json, int offset, int length) throws IOException {
+        gen.writeRawValue(new String(json, offset, length, StandardCharsets.UTF_8));
+        return true;
+    }
+
     @Override
     public void flush() throws IOException {
         gen.flush();
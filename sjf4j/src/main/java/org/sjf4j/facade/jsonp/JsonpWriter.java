@@ -83,6 +83,22 @@ public class JsonpWriter implements StreamingWriter {
         }
     }
 
+    /**
+     * Writes integer value without boxing.
+     */
+    @Override
+    public void writeNumber(long value) throws IOException {
+        gen.write(value);
+    }
+
+    /**
+     * Writes floating-point value without boxing.
+     */
+    @Override
+    public void writeNumber(double value) throws IOException {
+        gen.write(value);
+    }
+
     /**
      * Writes boolean value.
      */
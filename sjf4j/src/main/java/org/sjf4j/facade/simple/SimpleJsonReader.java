@@ -164,6 +164,13 @@ public class SimpleJsonReader implements StreamingReader {
     public Number nextNumber() throws IOException {
         return _readNumberValue("Invalid number literal", Numbers::parseNumber);
     }
+    /**
+     * Reads next scalar as number literal text.
+     */
+    @Override
+    public String nextNumberLiteral() throws IOException {
+        return _readNumberValue("Invalid number literal", s -> s);
+    }
     /**
      * Reads next scalar as long.
      */
@@ -264,6 +271,26 @@ public class SimpleJsonReader implements StreamingReader {
         }
     }
 
+    /**
+     * Reads the next value as its source text, with the whitespace inside it.
+     */
+    @Override
+    public String nextRawValue() throws IOException {
+        bufferedToken = null;
+        PathSegment ps = _prepareValuePath();
+        _skipSeparators();
+        StringBuilder sb = new StringBuilder();
+        capture = sb;
+        activePath = ps;
+        try {
+            _skipValue(ps);
+        } finally {
+            capture = null;
+            activePath = null;
+        }
+        return sb.toString();
+    }
+
     /**
      * Closes underlying reader.
      */
@@ -282,6 +309,7 @@ public class SimpleJsonReader implements StreamingReader {
     private PathSegment currentContainerPath = null;
     private PathSegment activePath = null;
     private PathSegment pendingValuePath = null;
+    private StringBuilder capture = null;   // receives consumed chars while non-null
 
     private void _pushContainer(boolean object, PathSegment path) {
         if (depth == containerStateStack.length) {
@@ -338,13 +366,16 @@ public class SimpleJsonReader implements StreamingReader {
     }
 
     private int _read() throws IOException {
+        int c;
         if (lastChar != -2) {
-            int tmp = lastChar;
+            c = lastChar;
             lastChar = -2;
-            return tmp;
+        } else {
+            pos++;
+            c = reader.read();
         }
-        pos++;
-        return reader.read();
+        if (capture != null && c >= 0) capture.append((char) c);
+        return c;
     }
 
     private int _peek() throws IOException {
@@ -542,6 +573,7 @@ public class SimpleJsonReader implements StreamingReader {
             if (c >= '0' && c <= '9') continue;
             if (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') continue;
             lastChar = c;
+            if (capture != null) capture.setLength(capture.length() - 1);
             return;
         }
     }
@@ -1,10 +1,12 @@
 package org.sjf4j.facade.simple;
 
+import org.sjf4j.facade.EncodedName;
 import org.sjf4j.facade.StreamingWriter;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -13,6 +15,7 @@ import java.util.Objects;
 public class SimpleJsonWriter implements StreamingWriter {
 
     private final Writer writer;
+    private final char[] digits = new char[20];
 
     /**
      * Creates writer over output characters.
@@ -68,6 +71,15 @@ public class SimpleJsonWriter implements StreamingWriter {
         writer.write(':');
     }
 
+    /**
+     * Writes pre-escaped object field name.
+     */
+    @Override
+    public void writeEncodedName(EncodedName name) throws IOException {
+        name.writeQuoted(writer);
+        writer.write(':');
+    }
+
     /**
      * Writes string value.
      */
@@ -86,6 +98,34 @@ public class SimpleJsonWriter implements StreamingWriter {
         else writer.write(value.toString());
     }
 
+    /**
+     * Writes integer value through a reused digit buffer.
+     */
+    @Override
+    public void writeNumber(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writer.write("-9223372036854775808");
+            return;
+        }
+        int pos = digits.length;
+        boolean negative = value < 0;
+        if (negative) value = -value;
+        do {
+            digits[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (negative) digits[--pos] = '-';
+        writer.write(digits, pos, digits.length - pos);
+    }
+
+    /**
+     * Writes floating-point value.
+     */
+    @Override
+    public void writeNumber(double value) throws IOException {
+        writer.write(Double.toString(value));
+    }
+
     /**
      * Writes boolean value.
      */
@@ -103,6 +143,15 @@ public class SimpleJsonWriter implements StreamingWriter {
         writer.write("null");
     }
 
+    /**
+     * Copies an encoded JSON value.
+     */
+    @Override
+    public boolean writeRawValue(byte[] json, int offset, int length) throws IOException {
+        writer.write(new String(json, offset, length, StandardCharsets.UTF_8));
+        return true;
+    }
+
     /**
      * Writes array comma separator.
      */
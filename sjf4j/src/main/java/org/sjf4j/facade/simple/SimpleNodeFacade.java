@@ -8,15 +8,19 @@ import org.sjf4j.JsonObject;
 import org.sjf4j.facade.FacadeProvider;
 import org.sjf4j.facade.NodeConverter;
 import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
 import org.sjf4j.node.NodeRegistry;
 import org.sjf4j.node.Nodes;
 import org.sjf4j.node.ValueCodec;
 import org.sjf4j.facade.NodeFacade;
 import org.sjf4j.node.Numbers;
+import org.sjf4j.node.RawJson;
 import org.sjf4j.node.Types;
 import org.sjf4j.path.PathSegment;
 import org.sjf4j.util.Strings;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -125,6 +129,10 @@ public class SimpleNodeFacade implements NodeFacade {
                 return deepCopy ? _deepNode(node, type, ps) : node;
             }
 
+            if (rawClazz == RawJson.class) {
+                return _toRawJson(node);
+            }
+
             NodeRegistry.TypeInfo ti = NodeRegistry.registerTypeInfo(rawClazz);
             anyOfInfo = ti.oneOfInfo;
             if (anyOfInfo != null) {
@@ -422,6 +430,15 @@ public class SimpleNodeFacade implements NodeFacade {
     }
 
 
+    // Node -> RawJson, encoded with the simple writer
+    private RawJson _toRawJson(Object node) throws IOException {
+        StringWriter output = new StringWriter();
+        SimpleJsonWriter writer = new SimpleJsonWriter(output);
+        StreamingIO.writeNode(writer, node, streamingContext);
+        writer.flush();
+        return new RawJson(output.toString());
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private Object _readString(String s, Class<?> rawClazz, PathSegment ps) {
         if (rawClazz == String.class) {
@@ -523,9 +540,10 @@ public class SimpleNodeFacade implements NodeFacade {
                                               boolean deepCopy,
                                               PathSegment ps) {
         NodeRegistry.CreatorInfo ci = pi.creatorInfo;
-        Object pojo = ci.noArgsCtorHandle == null ? null : ci.newPojoNoArgs();
-        Object[] args = ci.noArgsCtorHandle == null ? new Object[ci.argNames.length] : null;
-        int remainingArgs = ci.noArgsCtorHandle == null ? args.length : 0;
+        boolean noArgs = ci.hasNoArgsCreator();
+        Object pojo = noArgs ? ci.newPojoNoArgs() : null;
+        Object[] args = noArgs ? null : new Object[ci.argNames.length];
+        int remainingArgs = noArgs ? 0 : args.length;
         int pendingSize = 0;
         NodeRegistry.PropertyInfo[] pendingFields = null;
         Object[] pendingValues = null;
@@ -911,6 +929,9 @@ public class SimpleNodeFacade implements NodeFacade {
             if (node instanceof Enum) {
                 return ((Enum<?>) node).name();
             }
+            if (node instanceof RawJson) {
+                return ((RawJson) node).toNode();
+            }
 
             NodeRegistry.TypeInfo ti = NodeRegistry.registerTypeInfo(rawClazz);
             if (ti.hasValueCodecs()) {
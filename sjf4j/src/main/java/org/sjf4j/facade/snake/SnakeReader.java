@@ -3,12 +3,16 @@ package org.sjf4j.facade.snake;
 import org.sjf4j.exception.BindingException;
 import org.sjf4j.facade.StreamingReader;
 import org.sjf4j.node.Numbers;
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CollectionEndEvent;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
 import org.yaml.snakeyaml.events.DocumentEndEvent;
 import org.yaml.snakeyaml.events.DocumentStartEvent;
 import org.yaml.snakeyaml.events.Event;
 import org.yaml.snakeyaml.events.MappingEndEvent;
 import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.NodeEvent;
 import org.yaml.snakeyaml.events.ScalarEvent;
 import org.yaml.snakeyaml.events.SequenceEndEvent;
 import org.yaml.snakeyaml.events.SequenceStartEvent;
@@ -19,21 +23,63 @@ import org.yaml.snakeyaml.parser.Parser;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Streaming reader backed by SnakeYAML's parser events.
+ * <p>
+ * Aliases are expanded by replaying the events recorded for their anchor, so
+ * values bound from {@code *name} equal, but are not the same instances as, the
+ * anchored value. Anchors are scoped to their document. Like SnakeYAML's own
+ * loader, the number of aliases to collections per document is capped by
+ * {@link LoaderOptions#getMaxAliasesForCollections()}.
+ * <p>
+ * Merge keys ({@code <<: *base} or {@code <<: [*a, *b]}) insert the entries of the
+ * aliased mappings that the mapping does not set itself; earlier sources win over
+ * later ones. The rest of a mapping with a merge key is read ahead to find its keys.
  */
 public class SnakeReader implements StreamingReader {
 
     private final Parser parser;
 //    private Object cachedValue;
+    private final int maxAliasesForCollections;
+
+    // Events of completed anchors in the current document, by anchor name
+    private final Map<String, List<Event>> anchors = new HashMap<>();
+    // Anchored collections whose events are still being recorded
+    private final List<Recording> recordings = new ArrayList<>();
+    // Aliases being expanded; the last one is replayed first
+    private final ArrayDeque<Replay> replays = new ArrayDeque<>();
+    // Parser events read ahead past a merge key, delivered before the parser's next
+    private final ArrayDeque<Event> pending = new ArrayDeque<>();
+    // Open collections of the consumed events, to tell mapping keys from values
+    private final ArrayDeque<Scope> scopes = new ArrayDeque<>();
+    private Event peeked;
+    private boolean peekedReplayed;
+    private int collectionAliases;
 
     /**
      * Creates a SnakeYAML event-based reader.
      */
     public SnakeReader(Parser parser) {
+        this(parser, new LoaderOptions().getMaxAliasesForCollections());
+    }
+
+    /**
+     * Creates a SnakeYAML event-based reader that expands at most
+     * {@code maxAliasesForCollections} aliases to collections per document.
+     */
+    public SnakeReader(Parser parser, int maxAliasesForCollections) {
         this.parser = parser;
+        this.maxAliasesForCollections = maxAliasesForCollections;
     }
 
     /**
@@ -41,8 +87,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void startDocument() {
-        if (!(parser.getEvent() instanceof StreamStartEvent)) throw new IllegalStateException("Malformed YAML");
-        if (!(parser.getEvent() instanceof DocumentStartEvent)) throw new IllegalStateException("Malformed YAML");
+        if (!startNextDocument()) throw new IllegalStateException("Malformed YAML");
     }
 
     /**
@@ -50,17 +95,42 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void endDocument() {
-        if (!(parser.getEvent() instanceof DocumentEndEvent)) throw new IllegalStateException("Malformed YAML");
-        if (!(parser.getEvent() instanceof StreamEndEvent)) throw new IllegalStateException("Malformed YAML");
+        endCurrentDocument();
+        if (!(_next() instanceof StreamEndEvent)) throw new IllegalStateException("Malformed YAML");
     }
 
+    /**
+     * Moves to the next document of a multi-document stream.
+     * <p>
+     * Consumes the stream start event on the first call. Returns true after
+     * consuming the start event of the next document, or false after consuming
+     * the stream end event when there are no more documents.
+     */
+    public boolean startNextDocument() {
+        if (_peek() instanceof StreamStartEvent) _next();
+        Event event = _next();
+        if (event instanceof DocumentStartEvent) return true;
+        if (event instanceof StreamEndEvent) return false;
+        throw new IllegalStateException("Malformed YAML");
+    }
+
+    /**
+     * Consumes the end event of the current document and forgets its anchors.
+     */
+    public void endCurrentDocument() {
+        if (!(_next() instanceof DocumentEndEvent)) throw new IllegalStateException("Malformed YAML");
+        anchors.clear();
+        recordings.clear();
+        scopes.clear();
+        collectionAliases = 0;
+    }
 
     /**
      * Peeks the next token from current YAML event.
      */
     @Override
     public Token peekToken() {
-        Event event = parser.peekEvent();
+        Event event = _peek();
         if (event instanceof MappingStartEvent) {
             return Token.START_OBJECT;
         } else if (event instanceof MappingEndEvent) {
@@ -92,8 +162,6 @@ public class SnakeReader implements StreamingReader {
             } else {
                 return Token.STRING;
             }
-        } else if (event instanceof AliasEvent) {
-            throw new BindingException("yaml anchors/aliases are not supported");
         } else {
             return Token.UNKNOWN;
         }
@@ -104,7 +172,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void startObject() {
-        parser.getEvent(); // consume start
+        _next(); // consume start
     }
 
     /**
@@ -112,7 +180,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void endObject() {
-        parser.getEvent(); // consume end
+        _next(); // consume end
     }
 
     /**
@@ -120,7 +188,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void startArray() {
-        parser.getEvent(); // consume start
+        _next(); // consume start
     }
 
     /**
@@ -128,7 +196,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void endArray() {
-        parser.getEvent(); // consume end
+        _next(); // consume end
     }
 
     /**
@@ -136,7 +204,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public String nextName() {
-        ScalarEvent se = (ScalarEvent) parser.getEvent();
+        ScalarEvent se = (ScalarEvent) _next();
         return se.getValue();
     }
 
@@ -145,7 +213,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public String nextString() {
-        ScalarEvent se = (ScalarEvent) parser.getEvent();
+        ScalarEvent se = (ScalarEvent) _next();
         return se.getValue();
     }
 
@@ -154,7 +222,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public Number nextNumber() {
-        ScalarEvent se = (ScalarEvent) parser.getEvent();
+        ScalarEvent se = (ScalarEvent) _next();
         return Numbers.parseNumber(se.getValue());
     }
 
@@ -227,7 +295,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public Boolean nextBoolean() {
-        ScalarEvent se = (ScalarEvent) parser.getEvent();
+        ScalarEvent se = (ScalarEvent) _next();
         String value = se.getValue();
         String low = value.toLowerCase();
         if (low.equals("true") || low.equals("yes") || low.equals("on")) {
@@ -244,7 +312,7 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void nextNull() {
-        ScalarEvent se = (ScalarEvent) parser.getEvent();
+        ScalarEvent se = (ScalarEvent) _next();
         String value = se.getValue();
         String tag = se.getTag();
         if (value == null || value.isEmpty() || "tag:yaml.org,2002:null".equals(tag) ||
@@ -267,13 +335,13 @@ public class SnakeReader implements StreamingReader {
      */
     @Override
     public void skipNext() throws IOException {
-        Event event = parser.peekEvent();
+        Event event = _peek();
         if (event instanceof ScalarEvent) {
-            parser.getEvent();
+            _next();
         } else if (event instanceof MappingStartEvent || event instanceof SequenceStartEvent) {
             int depth = 0;
             do {
-                event = parser.getEvent();
+                event = _next();
                 if (event instanceof MappingStartEvent || event instanceof SequenceStartEvent) {
                     depth++;
                 } else if (event instanceof MappingEndEvent || event instanceof SequenceEndEvent) {
@@ -284,6 +352,227 @@ public class SnakeReader implements StreamingReader {
     }
 
 
+    /// Events
+
+    private Event _peek() {
+        if (peeked == null) peeked = _pull();
+        return peeked;
+    }
+
+    private Event _next() {
+        Event event = _peek();
+        peeked = null;
+        _record(event);
+        _scope(event);
+        return event;
+    }
+
+    private Event _pull() {
+        while (!replays.isEmpty()) {
+            Replay replay = replays.peekLast();
+            if (replay.pos < replay.events.size()) {
+                peekedReplayed = true;
+                return replay.events.get(replay.pos++);
+            }
+            replays.pollLast();
+        }
+        Event event = _raw();
+        if (_isMergeKey(event)) {
+            _merge();
+            return _pull();
+        }
+        if (!(event instanceof AliasEvent)) {
+            peekedReplayed = false;
+            return event;
+        }
+        replays.addLast(new Replay(_resolve((AliasEvent) event)));
+        return _pull();
+    }
+
+    private Event _raw() {
+        Event event = pending.pollFirst();
+        return event != null ? event : parser.getEvent();
+    }
+
+    private List<Event> _resolve(AliasEvent alias) {
+        String anchor = alias.getAnchor();
+        List<Event> events = anchors.get(anchor);
+        if (events == null) {
+            throw new BindingException("yaml alias '*" + anchor + "' refers to an unknown anchor");
+        }
+        if (events.get(0) instanceof CollectionStartEvent && ++collectionAliases > maxAliasesForCollections) {
+            throw new BindingException("yaml has more than " + maxAliasesForCollections +
+                    " aliases to collections (see LoaderOptions.maxAliasesForCollections)");
+        }
+        return events;
+    }
+
+    /// Merge keys
+
+    private boolean _isMergeKey(Event event) {
+        if (!(event instanceof ScalarEvent)) return false;
+        ScalarEvent se = (ScalarEvent) event;
+        if (!"<<".equals(se.getValue()) || !se.isPlain()) return false;
+        if (se.getTag() != null && !"tag:yaml.org,2002:merge".equals(se.getTag())) return false;
+        Scope scope = scopes.peekLast();
+        return scope != null && scope.isAtKey();
+    }
+
+    /**
+     * Replaces a merge key and its value with the merged entries, and queues the
+     * rest of the mapping after them.
+     */
+    private void _merge() {
+        List<List<Event>> sources = new ArrayList<>();
+        Event value = _raw();
+        if (value instanceof SequenceStartEvent) {
+            for (Event e = _raw(); !(e instanceof SequenceEndEvent); e = _raw()) sources.add(_mergeSource(e));
+        } else {
+            sources.add(_mergeSource(value));
+        }
+
+        // Keys set by the mapping itself, before or after the merge key, win
+        Set<String> keys = new HashSet<>(scopes.peekLast().keys);
+        List<Event> rest = new ArrayList<>();
+        for (int depth = 0, items = 0; ; ) {
+            Event e = _raw();
+            rest.add(e);
+            if (e instanceof CollectionEndEvent) {
+                if (depth == 0) break;
+                depth--;
+                continue;
+            }
+            if (depth == 0 && items++ % 2 == 0) {
+                String key = _keyOf(e);
+                if (key != null) keys.add(key);
+            }
+            if (e instanceof CollectionStartEvent) depth++;
+        }
+
+        List<Event> merged = new ArrayList<>();
+        for (List<Event> source : sources) {
+            for (int i = 1, last = source.size() - 1; i < last; ) {
+                int end = _skip(source, _skip(source, i));
+                String key = _keyOf(source.get(i));
+                if (key == null || keys.add(key)) merged.addAll(source.subList(i, end));
+                i = end;
+            }
+        }
+        for (int i = rest.size() - 1; i >= 0; i--) pending.addFirst(rest.get(i));
+        if (!merged.isEmpty()) replays.addLast(new Replay(merged));
+    }
+
+    private List<Event> _mergeSource(Event event) {
+        if (event instanceof AliasEvent) {
+            List<Event> events = _resolve((AliasEvent) event);
+            if (events.get(0) instanceof MappingStartEvent) return events;
+        }
+        throw new BindingException("yaml merge key '<<' must be an alias to a mapping or a sequence of" +
+                " such aliases");
+    }
+
+    private String _keyOf(Event event) {
+        if (event instanceof AliasEvent) {
+            List<Event> events = anchors.get(((AliasEvent) event).getAnchor());
+            event = events == null ? null : events.get(0);
+        }
+        return event instanceof ScalarEvent ? ((ScalarEvent) event).getValue() : null;
+    }
+
+    /**
+     * Returns the index after the node that starts at {@code i}.
+     */
+    private static int _skip(List<Event> events, int i) {
+        int depth = 0;
+        do {
+            Event event = events.get(i++);
+            if (event instanceof CollectionStartEvent) {
+                depth++;
+            } else if (event instanceof CollectionEndEvent) {
+                depth--;
+            }
+        } while (depth > 0);
+        return i;
+    }
+
+    /**
+     * Tracks the open collections of consumed events and the keys of open mappings.
+     */
+    private void _scope(Event event) {
+        if (event instanceof CollectionEndEvent) {
+            scopes.pollLast();
+            return;
+        }
+        if (!(event instanceof NodeEvent)) return;
+        Scope scope = scopes.peekLast();
+        if (scope != null) {
+            if (scope.isAtKey() && event instanceof ScalarEvent) scope.keys.add(((ScalarEvent) event).getValue());
+            scope.items++;
+        }
+        if (event instanceof CollectionStartEvent) scopes.addLast(new Scope(event instanceof MappingStartEvent));
+    }
+
+    /**
+     * Appends a consumed event to the anchored collections being recorded, and
+     * records the event itself when it opens an anchored value. Replayed events
+     * repeat an anchor that is already recorded, so they do not start new ones.
+     */
+    private void _record(Event event) {
+        for (int i = recordings.size() - 1; i >= 0; i--) {
+            Recording recording = recordings.get(i);
+            recording.events.add(event);
+            if (event instanceof CollectionStartEvent) {
+                recording.depth++;
+            } else if (event instanceof CollectionEndEvent && --recording.depth == 0) {
+                anchors.put(recording.anchor, recording.events);
+                recordings.remove(i);
+            }
+        }
+        if (peekedReplayed || !(event instanceof NodeEvent)) return;
+        String anchor = ((NodeEvent) event).getAnchor();
+        if (anchor == null) return;
+        if (event instanceof CollectionStartEvent) {
+            recordings.add(new Recording(anchor, event));
+        } else {
+            anchors.put(anchor, Collections.singletonList(event));
+        }
+    }
+
+    private static final class Recording {
+        private final String anchor;
+        private final List<Event> events = new ArrayList<>();
+        private int depth = 1;
+
+        Recording(String anchor, Event start) {
+            this.anchor = anchor;
+            this.events.add(start);
+        }
+    }
+
+    private static final class Scope {
+        private final boolean mapping;
+        private final Set<String> keys = new HashSet<>();
+        private int items;
+
+        Scope(boolean mapping) {
+            this.mapping = mapping;
+        }
+
+        boolean isAtKey() {
+            return mapping && items % 2 == 0;
+        }
+    }
+
+    private static final class Replay {
+        private final List<Event> events;
+        private int pos;
+
+        Replay(List<Event> events) {
+            this.events = events;
+        }
+    }
+
+
 //    @Override
 //    public Token nextToken() throws IOException {
 //        Token tk = peekToken();
@@ -1,6 +1,8 @@
 package org.sjf4j.facade.snake;
 
+import org.sjf4j.exception.BindingException;
 import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
 import org.sjf4j.facade.FacadeProvider;
 import org.sjf4j.facade.YamlFacade;
 import org.yaml.snakeyaml.DumperOptions;
@@ -12,7 +14,15 @@ import org.yaml.snakeyaml.reader.StreamReader;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * SnakeYAML-based YAML facade.
@@ -55,7 +65,39 @@ public class SnakeYamlFacade implements YamlFacade<SnakeReader, SnakeWriter> {
     @Override
     public SnakeReader createReader(Reader input) {
         Parser parser = new ParserImpl(new StreamReader(input), loaderOptions);
-        return new SnakeReader(parser);
+        return new SnakeReader(parser, loaderOptions.getMaxAliasesForCollections());
+    }
+
+    /**
+     * Lazily reads every document of a multi-document YAML stream with one parser.
+     */
+    @Override
+    public Stream<Object> readDocuments(Reader input, Type type) {
+        Objects.requireNonNull(input, "input");
+        SnakeReader reader = createReader(input);
+        Spliterator<Object> documents = new Spliterators.AbstractSpliterator<Object>(Long.MAX_VALUE,
+                Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Object> action) {
+                Object node;
+                try {
+                    if (!reader.startNextDocument()) return false;
+                    node = StreamingIO.readNode(reader, type, streamingContext);
+                    reader.endCurrentDocument();
+                } catch (Exception e) {
+                    throw new BindingException("failed to read YAML document into node of '" + type + "'", e);
+                }
+                action.accept(node);
+                return true;
+            }
+        };
+        return StreamSupport.stream(documents, false).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     /**
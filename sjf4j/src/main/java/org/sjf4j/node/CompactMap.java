@@ -0,0 +1,399 @@
+package org.sjf4j.node;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Insertion-ordered {@code Map<String, Object>} for parsed JSON objects that stores only a value array
+ * and shares its keys with every other object of the same key sequence through an immutable
+ * {@link Shape}.
+ *
+ * <p>Readers build instances with {@link Shapes#newObject()}. A {@link Shapes} table caches shape
+ * transitions, so a million objects with the same keys hold one key array between them instead of a
+ * million {@code LinkedHashMap} tables and entry objects. Key lookups scan the shape's key array for
+ * up to {@value #LINEAR_LIMIT} keys and use a shared hash index above that.
+ *
+ * <p>Replacing the value of an existing key updates the value array in place. Adding or removing a
+ * key converts the instance to a private {@code LinkedHashMap}, so mutation stays correct and only the
+ * untouched objects keep the compact form. Iteration order, {@code equals}, and {@code hashCode}
+ * match {@code LinkedHashMap}. Instances are not thread-safe; serialization writes a
+ * {@code LinkedHashMap}.
+ */
+public final class CompactMap extends AbstractMap<String, Object> implements Serializable {
+
+    /** Shapes with at most this many keys are searched linearly instead of through a hash index. */
+    public static final int LINEAR_LIMIT = 8;
+
+    /** Objects with more keys than this are read as {@code LinkedHashMap}s, like map-shaped data. */
+    public static final int MAX_KEYS = 64;
+
+    private static final long serialVersionUID = 1L;
+
+    private Shape shape;
+    private Object[] values;
+    private LinkedHashMap<String, Object> spilled;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    private CompactMap(Shape shape, Object[] values) {
+        this.shape = shape;
+        this.values = values;
+    }
+
+    /**
+     * Returns the shared shape, or {@code null} after a key was added or removed.
+     */
+    public Shape shape() {
+        return shape;
+    }
+
+    @Override
+    public int size() {
+        return spilled != null ? spilled.size() : shape.keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (spilled != null) return spilled.containsKey(key);
+        return key instanceof String && shape.indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (spilled != null) return spilled.get(key);
+        if (!(key instanceof String)) return null;
+        int index = shape.indexOf((String) key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (spilled == null) {
+            int index = key == null ? -1 : shape.indexOf(key);
+            if (index >= 0) {
+                Object previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+        }
+        return _spill().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (spilled == null && !containsKey(key)) return null;
+        return _spill().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        _spill().clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    private LinkedHashMap<String, Object> _spill() {
+        if (spilled == null) {
+            LinkedHashMap<String, Object> map = new LinkedHashMap<>(Math.max(16, (int) (shape.keys.length / 0.75f) + 1));
+            for (int i = 0; i < shape.keys.length; i++) map.put(shape.keys[i], values[i]);
+            spilled = map;
+            shape = null;
+            values = null;
+        }
+        return spilled;
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashMap<>(this);
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+        @Override
+        public int size() {
+            return CompactMap.this.size();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return spilled != null ? spilled.entrySet().iterator() : new EntryIterator(shape.keys);
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    /**
+     * Walks the keys captured when iteration started; entries read and write through the map, so
+     * {@code setValue} and {@code Iterator.remove} keep working after the map has spilled.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final String[] keys;
+        private int next;
+        private int last = -1;
+
+        EntryIterator(String[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (next >= keys.length) throw new NoSuchElementException();
+            last = next;
+            return new Entry(keys[next++], last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) throw new IllegalStateException();
+            CompactMap.this.remove(keys[last]);
+            last = -1;
+        }
+    }
+
+    private final class Entry implements Map.Entry<String, Object> {
+        private final String key;
+        private final int index;
+
+        Entry(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return spilled == null ? values[index] : spilled.get(key);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return CompactMap.this.put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            Object value = getValue();
+            return key.equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+
+    /// Shape
+
+    /**
+     * Immutable key sequence shared by compact objects. Shapes form a transition tree rooted at the
+     * empty shape of a {@link Shapes} table.
+     */
+    public static final class Shape {
+        private final String[] keys;
+        private final Map<String, Integer> index;
+        private final ConcurrentHashMap<String, Shape> transitions = new ConcurrentHashMap<>();
+
+        private Shape(String[] keys, Map<String, Integer> index) {
+            this.keys = keys;
+            this.index = index;
+        }
+
+        public int size() {
+            return keys.length;
+        }
+
+        public String key(int index) {
+            return keys[index];
+        }
+
+        public int indexOf(String key) {
+            if (index != null) {
+                Integer i = index.get(key);
+                return i == null ? -1 : i;
+            }
+            String[] ks = keys;
+            for (int i = 0; i < ks.length; i++) {
+                if (ks[i] == key) return i;
+            }
+            for (int i = 0; i < ks.length; i++) {
+                if (ks[i].equals(key)) return i;
+            }
+            return -1;
+        }
+
+        private Shape _append(String key) {
+            String[] next = new String[keys.length + 1];
+            System.arraycopy(keys, 0, next, 0, keys.length);
+            next[keys.length] = key;
+            Map<String, Integer> nextIndex = null;
+            if (next.length > LINEAR_LIMIT) {
+                nextIndex = new HashMap<>(index != null ? index : _index(keys));
+                nextIndex.put(key, keys.length);
+            }
+            return new Shape(next, nextIndex);
+        }
+
+        private static Map<String, Integer> _index(String[] keys) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) index.put(keys[i], i);
+            return index;
+        }
+    }
+
+
+    /// Shapes
+
+    /**
+     * Thread-safe table of shared shapes, usually one per runtime. At most {@code maxShapes} shapes are
+     * cached; objects whose key sequence would need a new shape after that are built as
+     * {@code LinkedHashMap}s, so data with unbounded key variety cannot grow the table without limit.
+     */
+    public static final class Shapes {
+        /** Default cap on cached shapes per table. */
+        public static final int DEFAULT_MAX_SHAPES = 4096;
+
+        private final Shape root = new Shape(new String[0], null);
+        private final int maxShapes;
+        private final AtomicInteger count = new AtomicInteger();
+        // Racy size hint: the last object size, so homogeneous arrays allocate exact value arrays.
+        private int lastSize = 4;
+
+        public Shapes() {
+            this(DEFAULT_MAX_SHAPES);
+        }
+
+        public Shapes(int maxShapes) {
+            if (maxShapes < 0) throw new IllegalArgumentException("maxShapes must not be negative: " + maxShapes);
+            this.maxShapes = maxShapes;
+        }
+
+        /**
+         * Returns the number of cached shapes, excluding the empty root.
+         */
+        public int size() {
+            return count.get();
+        }
+
+        /**
+         * Starts building one object; not thread-safe, but many builders may share a table.
+         */
+        public ObjectBuilder newObject() {
+            return new ObjectBuilder(this);
+        }
+
+        private Shape _transition(Shape shape, String key) {
+            Shape next = shape.transitions.get(key);
+            if (next != null) return next;
+            if (count.get() >= maxShapes) return null;
+            next = shape._append(key);
+            Shape raced = shape.transitions.putIfAbsent(key, next);
+            if (raced != null) return raced;
+            count.incrementAndGet();
+            return next;
+        }
+    }
+
+    /**
+     * Accumulates the fields of one object in read order. Duplicate keys keep their first position
+     * and take the last value, like {@code LinkedHashMap.put}.
+     */
+    public static final class ObjectBuilder {
+        private final Shapes shapes;
+        private Shape shape;
+        private Object[] values;
+        private LinkedHashMap<String, Object> fallback;
+
+        private ObjectBuilder(Shapes shapes) {
+            this.shapes = shapes;
+            this.shape = shapes.root;
+            this.values = new Object[shapes.lastSize];
+        }
+
+        public void put(String key, Object value) {
+            if (fallback != null) {
+                fallback.put(key, value);
+                return;
+            }
+            Shape current = shape;
+            Shape next = current.transitions.get(key);
+            if (next == null) {
+                int index = current.indexOf(key);
+                if (index >= 0) {
+                    values[index] = value;
+                    return;
+                }
+                next = current.keys.length < MAX_KEYS ? shapes._transition(current, key) : null;
+                if (next == null) {
+                    _fallback().put(key, value);
+                    return;
+                }
+            }
+            int size = current.keys.length;
+            if (size == values.length) {
+                Object[] grown = new Object[Math.max(4, size << 1)];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size] = value;
+            shape = next;
+        }
+
+        public Map<String, Object> build() {
+            if (fallback != null) return fallback;
+            int size = shape.keys.length;
+            shapes.lastSize = Math.max(size, 1);
+            Object[] exact = values;
+            if (exact.length != size) {
+                exact = new Object[size];
+                System.arraycopy(values, 0, exact, 0, size);
+            }
+            return new CompactMap(shape, exact);
+        }
+
+        private LinkedHashMap<String, Object> _fallback() {
+            LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < shape.keys.length; i++) map.put(shape.keys[i], values[i]);
+            fallback = map;
+            values = null;
+            return map;
+        }
+    }
+
+}
@@ -0,0 +1,784 @@
+package org.sjf4j.node;
+
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonObject;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.StreamingWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Parse-on-access OBNT nodes over UTF-8 JSON bytes.
+ *
+ * <p>{@link #parse(byte[])} only finds where the root value ends. A container indexes its own level the
+ * first time it is read: one pass records the key and value offsets of its direct children and skips
+ * nested containers by bracket matching. A child value is decoded when it is first accessed, and nested
+ * objects and arrays come back as {@link JsonObject}s and {@link JsonArray}s over further lazy
+ * containers, so {@code Nodes}, {@code JsonPath}, {@code JsonPatch}, schema validation, and iteration
+ * all see ordinary OBNT nodes while untouched subtrees are never decoded.
+ *
+ * <p>A container that has not been modified, directly or below it, is written by the shared
+ * streaming path as a copy of its original bytes when the writer supports
+ * {@link StreamingWriter#writeRawValue(byte[], int, int)}. Before the first copy, one strict pass checks
+ * that the bytes are well-formed JSON without duplicate object keys; a container that fails it is
+ * written from its decoded nodes instead, which reports the syntax error or keeps the last duplicate
+ * value. Replacing a value in place keeps the lazy
+ * index; adding or removing keys or elements converts that container to a {@code LinkedHashMap} or
+ * {@code ArrayList}. Either way the container and its ancestors stop copying raw bytes.
+ *
+ * <p>The bytes are not copied and must not change while nodes are in use. Syntax errors inside a
+ * subtree are reported when that subtree is first indexed, decoded, or written, not by {@code parse}.
+ * Lazy nodes are not thread-safe, even for
+ * reads, because reads fill their caches.
+ */
+public final class LazyJson {
+
+    private LazyJson() {}
+
+    private static final Object UNDECODED = new Object();
+
+    /**
+     * Reads the whole array as one JSON document.
+     */
+    public static Object parse(byte[] json) {
+        Objects.requireNonNull(json, "json");
+        return parse(json, 0, json.length);
+    }
+
+    /**
+     * Reads {@code length} bytes from {@code offset} as one JSON document. Objects become
+     * {@link JsonObject}s and arrays {@link JsonArray}s; scalars are decoded at once.
+     */
+    public static Object parse(byte[] json, int offset, int length) {
+        Objects.requireNonNull(json, "json");
+        if (offset < 0 || length < 0 || offset > json.length - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", size=" + json.length);
+        }
+        int limit = offset + length;
+        int start = _skipWs(json, offset, limit);
+        if (start == limit) throw new JsonException("empty JSON input");
+        int end = _skipValue(json, start, limit);
+        if (_skipWs(json, end, limit) != limit) {
+            throw new JsonException("unexpected trailing content at offset " + _skipWs(json, end, limit));
+        }
+        return _decode(json, start, end, null);
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer without changing its position. Heap buffers are used in
+     * place; direct buffers are copied once.
+     */
+    public static Object parse(ByteBuffer json) {
+        Objects.requireNonNull(json, "json");
+        if (json.hasArray()) {
+            return parse(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+        byte[] copy = new byte[json.remaining()];
+        json.duplicate().get(copy);
+        return parse(copy, 0, copy.length);
+    }
+
+    /**
+     * Reads a document whose root must be an object.
+     */
+    public static JsonObject parseObject(byte[] json) {
+        Object node = parse(json);
+        if (!(node instanceof JsonObject)) {
+            throw new JsonException("expected JSON object but was " + Types.name(node));
+        }
+        return (JsonObject) node;
+    }
+
+    /**
+     * Returns whether the node is a lazy container, or a plain {@link JsonObject} or {@link JsonArray}
+     * backed by one.
+     */
+    public static boolean isLazy(Object node) {
+        return _container(node) != null;
+    }
+
+    /**
+     * Copies the original bytes of an unmodified lazy container to the writer.
+     *
+     * @return {@code false} when the node is not lazy, was modified, or the writer cannot copy raw JSON;
+     *         nothing has been written in that case
+     */
+    public static boolean writeRaw(StreamingWriter writer, Object node) throws IOException {
+        Span span = _container(node);
+        return span != null && span.writeRaw(writer);
+    }
+
+    private static Span _container(Object node) {
+        if (node instanceof JsonObject) {
+            if (node.getClass() != JsonObject.class) return null;
+            node = ((JsonObject) node)._dynamicMap();
+        } else if (node instanceof JsonArray) {
+            if (node.getClass() != JsonArray.class) return null;
+            node = ((JsonArray) node)._dynamicList();
+        }
+        if (node instanceof LazyObject) return ((LazyObject) node).span;
+        if (node instanceof LazyArray) return ((LazyArray) node).span;
+        return null;
+    }
+
+
+    /// Containers
+
+    /**
+     * Byte range of one container and its modification state, shared with its children.
+     */
+    private static final class Span {
+        final byte[] json;
+        final int start;
+        final int end;
+        final Span parent;
+        boolean modified;
+        // 0 not checked yet, 1 well-formed, -1 malformed or has duplicate keys
+        byte wellFormed;
+
+        Span(byte[] json, int start, int end, Span parent) {
+            this.json = json;
+            this.start = start;
+            this.end = end;
+            this.parent = parent;
+        }
+
+        void _modified() {
+            for (Span c = this; c != null && !c.modified; c = c.parent) {
+                c.modified = true;
+            }
+        }
+
+        boolean writeRaw(StreamingWriter writer) throws IOException {
+            return !modified && _wellFormed() && writer.writeRawValue(json, start, end - start);
+        }
+
+        private boolean _wellFormed() {
+            if (wellFormed == 0) {
+                for (Span s = parent; s != null; s = s.parent) {
+                    if (s.wellFormed > 0) {
+                        wellFormed = 1;
+                        return true;
+                    }
+                }
+                wellFormed = _isWellFormed(json, start, end) ? (byte) 1 : (byte) -1;
+            }
+            return wellFormed > 0;
+        }
+    }
+
+    /**
+     * Lazy object backing map. Keys are indexed on first use; values are decoded on first read.
+     */
+    private static final class LazyObject extends AbstractMap<String, Object> {
+        private final Span span;
+        private String[] keys;
+        private int[] offsets;
+        private Object[] values;
+        private Map<String, Integer> index;
+        private LinkedHashMap<String, Object> spilled;
+        private Set<Map.Entry<String, Object>> entrySet;
+
+        LazyObject(Span span) {
+            this.span = span;
+        }
+
+        private void _index() {
+            if (keys != null) return;
+            byte[] b = span.json;
+            int limit = span.end - 1;
+            if (b[limit] != '}') throw _unexpected(b, limit);
+            List<String> ks = new ArrayList<>();
+            int[] os = new int[16];
+            Map<String, Integer> seen = null;
+            int p = _skipWs(b, span.start + 1, limit);
+            if (p < limit) {
+                while (true) {
+                    if (b[p] != '"') throw _unexpected(b, p);
+                    int keyEnd = _skipString(b, p, limit);
+                    String key = _decodeString(b, p, keyEnd);
+                    p = _skipWs(b, keyEnd, limit);
+                    if (p >= limit || b[p] != ':') throw _unexpected(b, p);
+                    int valueStart = _skipWs(b, p + 1, limit);
+                    int valueEnd = _skipValue(b, valueStart, limit);
+                    int existing = -1;
+                    if (seen != null) {
+                        Integer i = seen.get(key);
+                        if (i != null) existing = i;
+                    } else {
+                        existing = ks.indexOf(key);
+                    }
+                    if (existing >= 0) {
+                        // Duplicate key: first position, last value
+                        os[existing << 1] = valueStart;
+                        os[(existing << 1) + 1] = valueEnd;
+                    } else {
+                        int n = ks.size();
+                        if ((n << 1) + 2 > os.length) os = Arrays.copyOf(os, os.length << 1);
+                        os[n << 1] = valueStart;
+                        os[(n << 1) + 1] = valueEnd;
+                        ks.add(key);
+                        if (seen != null) {
+                            seen.put(key, n);
+                        } else if (ks.size() > CompactMap.LINEAR_LIMIT) {
+                            seen = new HashMap<>();
+                            for (int i = 0; i < ks.size(); i++) seen.put(ks.get(i), i);
+                        }
+                    }
+                    p = _skipWs(b, valueEnd, limit);
+                    if (p >= limit) break;
+                    if (b[p] != ',') throw _unexpected(b, p);
+                    p = _skipWs(b, p + 1, limit);
+                    if (p >= limit) throw _unexpected(b, p);
+                }
+            }
+            this.index = seen;
+            this.offsets = os;
+            this.values = new Object[ks.size()];
+            Arrays.fill(values, UNDECODED);
+            this.keys = ks.toArray(new String[0]);
+        }
+
+        private int _indexOf(Object key) {
+            if (!(key instanceof String)) return -1;
+            _index();
+            if (index != null) {
+                Integer i = index.get(key);
+                return i == null ? -1 : i;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(key)) return i;
+            }
+            return -1;
+        }
+
+        private Object _value(int i) {
+            Object value = values[i];
+            if (value == UNDECODED) {
+                value = _decode(span.json, offsets[i << 1], offsets[(i << 1) + 1], span);
+                values[i] = value;
+            }
+            return value;
+        }
+
+        private LinkedHashMap<String, Object> _spill() {
+            if (spilled == null) {
+                _index();
+                LinkedHashMap<String, Object> map = new LinkedHashMap<>(Math.max(16, (int) (keys.length / 0.75f) + 1));
+                for (int i = 0; i < keys.length; i++) map.put(keys[i], _value(i));
+                spilled = map;
+                keys = null;
+                offsets = null;
+                values = null;
+                index = null;
+            }
+            span._modified();
+            return spilled;
+        }
+
+        @Override
+        public int size() {
+            if (spilled != null) return spilled.size();
+            _index();
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return spilled != null ? spilled.containsKey(key) : _indexOf(key) >= 0;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (spilled != null) return spilled.get(key);
+            int i = _indexOf(key);
+            return i < 0 ? null : _value(i);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            if (spilled == null) {
+                int i = _indexOf(key);
+                if (i >= 0) {
+                    Object previous = _value(i);
+                    values[i] = value;
+                    span._modified();
+                    return previous;
+                }
+            }
+            return _spill().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            if (spilled == null && _indexOf(key) < 0) return null;
+            return _spill().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            _spill().clear();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            Set<Map.Entry<String, Object>> es = entrySet;
+            return es != null ? es : (entrySet = new EntrySet());
+        }
+
+        private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+            @Override
+            public int size() {
+                return LazyObject.this.size();
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                if (spilled != null) return spilled.entrySet().iterator();
+                _index();
+                final String[] ks = keys;
+                return new Iterator<Map.Entry<String, Object>>() {
+                    private int next;
+                    private int last = -1;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < ks.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (next >= ks.length) throw new NoSuchElementException();
+                        last = next++;
+                        final String key = ks[last];
+                        return new AbstractMap.SimpleEntry<String, Object>(key, get(key)) {
+                            @Override
+                            public Object setValue(Object value) {
+                                super.setValue(value);
+                                return put(key, value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) throw new IllegalStateException();
+                        LazyObject.this.remove(ks[last]);
+                        last = -1;
+                    }
+                };
+            }
+
+            @Override
+            public void clear() {
+                LazyObject.this.clear();
+            }
+        }
+    }
+
+    /**
+     * Lazy array backing list. Element offsets are indexed on first use; elements are decoded on first
+     * read.
+     */
+    private static final class LazyArray extends AbstractList<Object> implements RandomAccess {
+        private final Span span;
+        private int[] offsets;
+        private Object[] values;
+        private ArrayList<Object> spilled;
+
+        LazyArray(Span span) {
+            this.span = span;
+        }
+
+        private void _index() {
+            if (values != null) return;
+            byte[] b = span.json;
+            int limit = span.end - 1;
+            if (b[limit] != ']') throw _unexpected(b, limit);
+            int[] os = new int[16];
+            int n = 0;
+            int p = _skipWs(b, span.start + 1, limit);
+            if (p < limit) {
+                while (true) {
+                    int valueEnd = _skipValue(b, p, limit);
+                    if ((n << 1) + 2 > os.length) os = Arrays.copyOf(os, os.length << 1);
+                    os[n << 1] = p;
+                    os[(n << 1) + 1] = valueEnd;
+                    n++;
+                    p = _skipWs(b, valueEnd, limit);
+                    if (p >= limit) break;
+                    if (b[p] != ',') throw _unexpected(b, p);
+                    p = _skipWs(b, p + 1, limit);
+                    if (p >= limit) throw _unexpected(b, p);
+                }
+            }
+            this.offsets = os;
+            Object[] vs = new Object[n];
+            Arrays.fill(vs, UNDECODED);
+            this.values = vs;
+        }
+
+        private ArrayList<Object> _spill() {
+            if (spilled == null) {
+                int n = size();
+                ArrayList<Object> list = new ArrayList<>(Math.max(10, n + 1));
+                for (int i = 0; i < n; i++) list.add(get(i));
+                spilled = list;
+                offsets = null;
+                values = null;
+            }
+            span._modified();
+            return spilled;
+        }
+
+        @Override
+        public int size() {
+            if (spilled != null) return spilled.size();
+            _index();
+            return values.length;
+        }
+
+        @Override
+        public Object get(int i) {
+            if (spilled != null) return spilled.get(i);
+            _index();
+            Object value = values[i];
+            if (value == UNDECODED) {
+                value = _decode(span.json, offsets[i << 1], offsets[(i << 1) + 1], span);
+                values[i] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public Object set(int i, Object value) {
+            if (spilled != null) {
+                span._modified();
+                return spilled.set(i, value);
+            }
+            Object previous = get(i);
+            values[i] = value;
+            span._modified();
+            return previous;
+        }
+
+        @Override
+        public void add(int i, Object value) {
+            modCount++;
+            _spill().add(i, value);
+        }
+
+        @Override
+        public Object remove(int i) {
+            modCount++;
+            return _spill().remove(i);
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            modCount++;
+            _spill().subList(fromIndex, toIndex).clear();
+        }
+    }
+
+
+    /// Scanning
+
+    private static Object _decode(byte[] b, int start, int end, Span parent) {
+        switch (b[start]) {
+            case '{':
+                return new JsonObject(new LazyObject(new Span(b, start, end, parent)));
+            case '[':
+                return new JsonArray(new LazyArray(new Span(b, start, end, parent)));
+            case '"':
+                return _decodeString(b, start, end);
+            case 't':
+                return _literal(b, start, end, "true", Boolean.TRUE);
+            case 'f':
+                return _literal(b, start, end, "false", Boolean.FALSE);
+            case 'n':
+                return _literal(b, start, end, "null", null);
+            default:
+                byte c = b[start];
+                if (c != '-' && (c < '0' || c > '9')) throw _unexpected(b, start);
+                for (int i = start; i < end; i++) {
+                    if (b[i] == '_') throw new JsonException("invalid number literal at offset " + start);
+                }
+                return Numbers.parseNumber(new String(b, start, end - start, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    private static Object _literal(byte[] b, int start, int end, String text, Object value) {
+        if (end - start != text.length()) throw new JsonException("invalid literal at offset " + start);
+        for (int i = 0; i < text.length(); i++) {
+            if (b[start + i] != text.charAt(i)) throw new JsonException("invalid literal at offset " + start);
+        }
+        return value;
+    }
+
+    private static int _skipWs(byte[] b, int p, int limit) {
+        while (p < limit) {
+            byte c = b[p];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') break;
+            p++;
+        }
+        return p;
+    }
+
+    /**
+     * Returns the offset just past the value starting at {@code p}; nested containers are skipped by
+     * bracket depth without being indexed.
+     */
+    private static int _skipValue(byte[] b, int p, int limit) {
+        if (p >= limit) throw new JsonException("unexpected end of JSON input");
+        byte c = b[p];
+        if (c == '"') return _skipString(b, p, limit);
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            int i = p;
+            while (i < limit) {
+                c = b[i];
+                if (c == '"') {
+                    i = _skipString(b, i, limit);
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (--depth == 0) return i + 1;
+                }
+                i++;
+            }
+            throw new JsonException("unterminated container starting at offset " + p);
+        }
+        int i = p;
+        while (i < limit) {
+            c = b[i];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || c == ' ' || c == '\n' || c == '\r' || c == '\t') break;
+            i++;
+        }
+        if (i == p) throw _unexpected(b, p);
+        return i;
+    }
+
+    /**
+     * Returns whether {@code [start, end)} is exactly one strict JSON value whose objects have no
+     * duplicate keys. Unlike the indexing passes, this checks bracket pairing, separators, literals,
+     * numbers, and escapes at every depth, so the range can be copied to a writer as is.
+     */
+    private static boolean _isWellFormed(byte[] b, int start, int end) {
+        // Open containers: '{' or '[', with the keys seen so far for objects
+        byte[] kinds = new byte[16];
+        List<HashSet<String>> keys = new ArrayList<>();
+        int depth = 0;
+        int p = start;
+        boolean needValue = true;
+        while (true) {
+            p = _skipWs(b, p, end);
+            if (!needValue && depth == 0) return p == end;
+            if (p >= end) return false;
+            if (needValue) {
+                byte c = b[p];
+                if (c == '{' || c == '[') {
+                    if (depth == kinds.length) kinds = Arrays.copyOf(kinds, depth << 1);
+                    kinds[depth++] = c;
+                    p = _skipWs(b, p + 1, end);
+                    if (p >= end) return false;
+                    if (b[p] == (c == '{' ? '}' : ']')) {
+                        depth--;
+                        p++;
+                        needValue = false;
+                    } else if (c == '{') {
+                        while (keys.size() < depth) keys.add(new HashSet<>());
+                        HashSet<String> seen = keys.get(depth - 1);
+                        seen.clear();
+                        p = _checkKey(b, p, end, seen);
+                        if (p < 0) return false;
+                    }
+                    continue;
+                }
+                if (c == '"') p = _checkString(b, p, end);
+                else if (c == 't') p = _checkLiteral(b, p, end, "true");
+                else if (c == 'f') p = _checkLiteral(b, p, end, "false");
+                else if (c == 'n') p = _checkLiteral(b, p, end, "null");
+                else p = _checkNumber(b, p, end);
+                if (p < 0) return false;
+                needValue = false;
+                continue;
+            }
+            byte kind = kinds[depth - 1];
+            byte c = b[p];
+            if (c == (kind == '{' ? '}' : ']')) {
+                depth--;
+                p++;
+            } else if (c != ',') {
+                return false;
+            } else if (kind == '{') {
+                p = _checkKey(b, _skipWs(b, p + 1, end), end, keys.get(depth - 1));
+                if (p < 0) return false;
+                needValue = true;
+            } else {
+                p++;
+                needValue = true;
+            }
+        }
+    }
+
+    /**
+     * Checks {@code "key" :} at {@code p} and records the key; returns the offset after the colon, or
+     * -1 when malformed or already seen.
+     */
+    private static int _checkKey(byte[] b, int p, int end, HashSet<String> seen) {
+        if (p >= end || b[p] != '"') return -1;
+        int keyEnd = _checkString(b, p, end);
+        if (keyEnd < 0 || !seen.add(_decodeString(b, p, keyEnd))) return -1;
+        p = _skipWs(b, keyEnd, end);
+        return p < end && b[p] == ':' ? p + 1 : -1;
+    }
+
+    private static int _checkString(byte[] b, int p, int end) {
+        int i = p + 1;
+        while (i < end) {
+            byte c = b[i];
+            if (c == '"') return i + 1;
+            if (c >= 0 && c < 0x20) return -1;
+            if (c == '\\') {
+                if (i + 1 >= end) return -1;
+                byte e = b[i + 1];
+                if (e == 'u') {
+                    if (i + 6 > end) return -1;
+                    for (int k = i + 2; k < i + 6; k++) {
+                        if (Character.digit(b[k], 16) < 0) return -1;
+                    }
+                    i += 6;
+                    continue;
+                }
+                if (e != '"' && e != '\\' && e != '/' && e != 'b' && e != 'f' && e != 'n' && e != 'r' && e != 't') {
+                    return -1;
+                }
+                i += 2;
+                continue;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private static int _checkLiteral(byte[] b, int p, int end, String text) {
+        if (end - p < text.length()) return -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (b[p + i] != text.charAt(i)) return -1;
+        }
+        return p + text.length();
+    }
+
+    private static int _checkNumber(byte[] b, int p, int end) {
+        int i = p;
+        if (i < end && b[i] == '-') i++;
+        if (i >= end) return -1;
+        if (b[i] == '0') {
+            i++;
+        } else if (b[i] >= '1' && b[i] <= '9') {
+            while (i < end && b[i] >= '0' && b[i] <= '9') i++;
+        } else {
+            return -1;
+        }
+        if (i < end && b[i] == '.') {
+            int digits = ++i;
+            while (i < end && b[i] >= '0' && b[i] <= '9') i++;
+            if (i == digits) return -1;
+        }
+        if (i < end && (b[i] == 'e' || b[i] == 'E')) {
+            i++;
+            if (i < end && (b[i] == '+' || b[i] == '-')) i++;
+            int digits = i;
+            while (i < end && b[i] >= '0' && b[i] <= '9') i++;
+            if (i == digits) return -1;
+        }
+        return i;
+    }
+
+    private static int _skipString(byte[] b, int p, int limit) {
+        int i = p + 1;
+        while (i < limit) {
+            byte c = b[i];
+            if (c == '"') return i + 1;
+            i += c == '\\' ? 2 : 1;
+        }
+        throw new JsonException("unterminated string starting at offset " + p);
+    }
+
+    /**
+     * Decodes the quoted string spanning {@code [start, end)}.
+     */
+    private static String _decodeString(byte[] b, int start, int end) {
+        int from = start + 1;
+        int to = end - 1;
+        int escape = from;
+        while (escape < to && b[escape] != '\\') escape++;
+        if (escape == to) return new String(b, from, to - from, StandardCharsets.UTF_8);
+
+        StringBuilder sb = new StringBuilder(to - from);
+        int run = from;
+        int i = escape;
+        while (i < to) {
+            if (b[i] != '\\') {
+                i++;
+                continue;
+            }
+            if (i > run) sb.append(new String(b, run, i - run, StandardCharsets.UTF_8));
+            if (i + 1 >= to) throw new JsonException("invalid escape at offset " + i);
+            byte c = b[i + 1];
+            switch (c) {
+                case '"': sb.append('"'); break;
+                case '\\': sb.append('\\'); break;
+                case '/': sb.append('/'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (i + 6 > to) throw new JsonException("invalid unicode escape at offset " + i);
+                    int code = 0;
+                    for (int k = i + 2; k < i + 6; k++) {
+                        int digit = Character.digit(b[k], 16);
+                        if (digit < 0) throw new JsonException("invalid unicode escape at offset " + i);
+                        code = (code << 4) | digit;
+                    }
+                    sb.append((char) code);
+                    i += 4;
+                    break;
+                default:
+                    throw new JsonException("invalid escape at offset " + i);
+            }
+            i += 2;
+            run = i;
+        }
+        if (run < to) sb.append(new String(b, run, to - run, StandardCharsets.UTF_8));
+        return sb.toString();
+    }
+
+    private static JsonException _unexpected(byte[] b, int p) {
+        if (p >= b.length) return new JsonException("unexpected end of JSON input");
+        return new JsonException("unexpected character '" + (char) (b[p] & 0xFF) + "' at offset " + p);
+    }
+
+}
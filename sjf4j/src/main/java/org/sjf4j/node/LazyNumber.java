@@ -0,0 +1,144 @@
+package org.sjf4j.node;
+
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.util.Strings;
+
+import java.util.Objects;
+
+/**
+ * Number that keeps the literal text it was read from and parses it on first use.
+ * <p>
+ * Readers produce it for untyped numbers when
+ * {@link org.sjf4j.facade.StreamingContext#lazyNumbers} is enabled, so values that are only
+ * passed through skip the {@link Numbers#parseNumber(String)} cost and are written back with
+ * their exact original digits (no {@code 1.10} to {@code 1.1} or exponent rewriting).
+ * <p>
+ * The first {@code xxxValue()} call parses the literal into the same {@link Integer},
+ * {@link Long}, {@link Double}, {@link java.math.BigInteger}, or {@link java.math.BigDecimal}
+ * an eager read would have produced; see {@link #value()}. {@link Numbers} conversions,
+ * {@link Numbers#compare(Number, Number)}, and {@link Numbers#hash(Number)} operate on that
+ * value, so lazy and eager numbers compare equal through {@link Nodes#equals(Object, Object)}.
+ * {@link #equals(Object)} itself only matches other lazy numbers, keeping it symmetric with the
+ * boxed types.
+ */
+public final class LazyNumber extends Number {
+    private static final long serialVersionUID = 1L;
+
+    private final String literal;
+    private transient volatile Number value;
+
+    /**
+     * @param literal a JSON number literal
+     * @throws JsonException if the text is not numeric
+     */
+    public LazyNumber(String literal) {
+        Objects.requireNonNull(literal, "literal");
+        if (!_isJsonNumber(literal)) {
+            throw new JsonException("invalid number text: '" + Strings.truncate(literal) + "'");
+        }
+        this.literal = literal;
+    }
+
+    /**
+     * Returns the original literal text.
+     */
+    public String literal() {
+        return literal;
+    }
+
+    /**
+     * Returns the parsed number, parsing the literal on first call.
+     */
+    public Number value() {
+        Number v = value;
+        if (v == null) {
+            v = Numbers.parseNumber(literal);
+            value = v;
+        }
+        return v;
+    }
+
+    /**
+     * Returns whether the literal has been parsed.
+     */
+    public boolean isParsed() {
+        return value != null;
+    }
+
+    @Override
+    public int intValue() {
+        return value().intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return value().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return value().floatValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return value().doubleValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LazyNumber)) return false;
+        LazyNumber other = (LazyNumber) o;
+        return literal.equals(other.literal) || Numbers.compare(this, other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Numbers.hash(value());
+    }
+
+    /**
+     * Returns the literal text.
+     */
+    @Override
+    public String toString() {
+        return literal;
+    }
+
+    /**
+     * Checks the RFC 8259 number grammar: {@code -? int frac? exp?}.
+     */
+    private static boolean _isJsonNumber(String s) {
+        int len = s.length();
+        int i = 0;
+        if (i < len && s.charAt(i) == '-') i++;
+        if (i >= len) return false;
+        char c = s.charAt(i);
+        if (c == '0') {
+            i++;
+        } else if (c >= '1' && c <= '9') {
+            while (i < len && _isDigit(s.charAt(i))) i++;
+        } else {
+            return false;
+        }
+        if (i < len && s.charAt(i) == '.') {
+            int start = ++i;
+            while (i < len && _isDigit(s.charAt(i))) i++;
+            if (i == start) return false;
+        }
+        if (i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if (i < len && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+            int start = i;
+            while (i < len && _isDigit(s.charAt(i))) i++;
+            if (i == start) return false;
+        }
+        return i == len;
+    }
+
+    private static boolean _isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -21,16 +21,22 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 /**
@@ -48,6 +54,12 @@ import java.util.function.Supplier;
 public final class NodeRegistry {
     // All in TypeInfo
     private static final Map<Class<?>, TypeInfo> TYPE_INFO_CACHE = new ConcurrentHashMap<>();
+    // Generated PojoInfo provider class names by model class name, discovered once per model
+    // class loader. Loaders are held weakly and the values are names, so that webapp and plugin
+    // loaders can still be collected.
+    private static final Map<ClassLoader, Map<String, String>> POJO_INFO_PROVIDERS = new WeakHashMap<>();
+    private static final Logger LOGGER = Logger.getLogger(NodeRegistry.class.getName());
+    private static final int MAX_PROVIDER_FAILURES = 64;
 
 
     /**
@@ -63,7 +75,8 @@ public final class NodeRegistry {
      * Registers type metadata and optionally enforces POJO availability.
      * <p>
      * Resolution order is: cache hit, {@code @NodeValue}/registered codec,
-     * {@code @OneOf}, POJO analysis, then NONE marker.
+     * {@code @OneOf}, generated {@link PojoInfoProvider}, POJO analysis, then
+     * NONE marker.
      *
      * @param mustPojo when true, non-POJO results are rejected
      */
@@ -105,7 +118,8 @@ public final class NodeRegistry {
             return ti;
         }
 
-        PojoInfo pi = ReflectUtil.analyzePojo(clazz, mustPojo);
+        PojoInfo pi = _providedPojoInfo(clazz);
+        if (pi == null) pi = ReflectUtil.analyzePojo(clazz, mustPojo);
         if (pi != null) {
             ti = new TypeInfo(clazz, null, null, null, null, pi);
             TYPE_INFO_CACHE.put(clazz, ti);
@@ -116,6 +130,57 @@ public final class NodeRegistry {
         return TypeInfo.NONE;
     }
 
+    private static PojoInfo _providedPojoInfo(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) return null;
+        Map<String, String> providers;
+        synchronized (POJO_INFO_PROVIDERS) {
+            providers = POJO_INFO_PROVIDERS.get(loader);
+            if (providers == null) {
+                providers = _loadPojoInfoProviders(loader);
+                POJO_INFO_PROVIDERS.put(loader, providers);
+            }
+        }
+        String providerName = providers.get(clazz.getName());
+        if (providerName == null) return null;
+        try {
+            PojoInfoProvider provider = (PojoInfoProvider) Class.forName(providerName, true, loader)
+                    .getDeclaredConstructor().newInstance();
+            return provider.pojoClass() == clazz ? provider.createPojoInfo() : null;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            LOGGER.log(Level.WARNING, "skipping PojoInfoProvider " + providerName + " for " + clazz.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Indexes the generated providers visible from a class loader. A broken
+     * service entry is logged and skipped; classes without a provider keep
+     * using reflective analysis.
+     */
+    private static Map<String, String> _loadPojoInfoProviders(ClassLoader loader) {
+        Map<String, String> providers = new HashMap<>();
+        Iterator<PojoInfoProvider> it;
+        try {
+            it = ServiceLoader.load(PojoInfoProvider.class, loader).iterator();
+        } catch (ServiceConfigurationError e) {
+            LOGGER.log(Level.WARNING, "cannot discover PojoInfoProviders", e);
+            return Collections.emptyMap();
+        }
+        // The iterator moves past a failed entry, but an unreadable resource fails every time
+        for (int failures = 0; failures < MAX_PROVIDER_FAILURES; ) {
+            try {
+                if (!it.hasNext()) break;
+                PojoInfoProvider provider = it.next();
+                providers.putIfAbsent(provider.pojoClass().getName(), provider.getClass().getName());
+            } catch (ServiceConfigurationError | RuntimeException | LinkageError e) {
+                failures++;
+                LOGGER.log(Level.WARNING, "skipping broken PojoInfoProvider", e);
+            }
+        }
+        return providers.isEmpty() ? Collections.emptyMap() : providers;
+    }
+
     private static boolean _fastNoneInfo(Class<?> clazz) {
         return clazz == null || clazz == Object.class || clazz == String.class || clazz == Boolean.class
                 || clazz == Map.class || clazz == List.class || clazz == Set.class || clazz.isPrimitive()
@@ -184,8 +249,10 @@ public final class NodeRegistry {
         Class<?> valueClazz = vci.valueClazz;
         TypeInfo oldTi = TYPE_INFO_CACHE.get(valueClazz);
         if (oldTi == null || oldTi.isNone()) {
-            TYPE_INFO_CACHE.put(valueClazz,
-                    new TypeInfo(valueClazz, vci, null, null, null, null));
+            // a named codec must not replace the natural encoding of a raw type such as Long
+            TYPE_INFO_CACHE.put(valueClazz, vci.isDefault() || !NodeKind.plainOf(valueClazz).isRaw()
+                    ? new TypeInfo(valueClazz, vci, null, null, null, null)
+                    : new TypeInfo(valueClazz, null, new ValueCodecInfo[]{vci}, null, null, null));
             return;
         }
         if (oldTi.pojoInfo != null || oldTi.oneOfInfo != null || oldTi.containerInfo != null) {
@@ -233,6 +300,17 @@ public final class NodeRegistry {
         return vci;
     }
 
+    /**
+     * Returns value codec metadata for a property's {@code codecName} and {@code codecPattern}, applying
+     * the same precedence as {@code @NodeProperty}: a non-empty pattern parameterizes the default codec.
+     */
+    public static ValueCodecInfo resolveValueCodecOrElseThrow(Class<?> clazz, String codecName, String codecPattern) {
+        if (codecPattern == null || codecPattern.isEmpty()) {
+            return resolveValueCodecOrElseThrow(clazz, codecName == null ? "" : codecName);
+        }
+        return ReflectUtil._resolveCodec(clazz, codecName, codecPattern);
+    }
+
     /// POJO
 
     /**
@@ -456,7 +534,8 @@ public final class NodeRegistry {
             }
             this.hasParentScopeOneOf = hasParentScopeOneOf;
             this.hasExplicitBinding = hasExplicitBinding;
-            this.hasCreatorBinding = creatorInfo != null && creatorInfo.argsCreator != null;
+            this.hasCreatorBinding = creatorInfo != null
+                    && (creatorInfo.argsCreator != null || creatorInfo.argsCreatorFunction != null);
             this.hasNonPublicFields = hasNonPublicFields;
             this.hasNonPublicReaderGap = hasNonPublicReaderGap;
             this.hasNonPublicWriterGap = hasNonPublicWriterGap;
@@ -646,6 +725,7 @@ public final class NodeRegistry {
         public final Func3 argsCreatorLambda3;
         public final Func4 argsCreatorLambda4;
         public final Func5 argsCreatorLambda5;
+        public final Function<Object[], Object> argsCreatorFunction;
         public final String[] argNames;
         public final Type[] argTypes;
         public final String[] argCodecNames;
@@ -664,6 +744,34 @@ public final class NodeRegistry {
                            String[] argCodecNames, ValueCodecInfo[] argValueCodecs,
                            Map<String, Integer> argIndexes,
                            Map<String, String> aliasMap) {
+            this(clazz, noArgsCtorHandle, noArgsCtorLambda, argsCreator, argsCreatorHandle,
+                    argsCreatorLambda1, argsCreatorLambda2, argsCreatorLambda3, argsCreatorLambda4, argsCreatorLambda5,
+                    null, argNames, argTypes, argCodecNames, argValueCodecs, argIndexes, aliasMap);
+        }
+
+        /**
+         * Creates creator metadata backed by direct calls instead of reflective
+         * handles, as emitted for {@link PojoInfoProvider} implementations.
+         */
+        public CreatorInfo(Class<?> clazz, Supplier<?> noArgsCtorLambda,
+                           Function<Object[], Object> argsCreatorFunction,
+                           String[] argNames, Type[] argTypes,
+                           String[] argCodecNames, ValueCodecInfo[] argValueCodecs,
+                           Map<String, Integer> argIndexes,
+                           Map<String, String> aliasMap) {
+            this(clazz, null, noArgsCtorLambda, null, null, null, null, null, null, null,
+                    argsCreatorFunction, argNames, argTypes, argCodecNames, argValueCodecs, argIndexes, aliasMap);
+        }
+
+        private CreatorInfo(Class<?> clazz, MethodHandle noArgsCtorHandle, Supplier<?> noArgsCtorLambda,
+                            Executable argsCreator, MethodHandle argsCreatorHandle,
+                            Func1 argsCreatorLambda1, Func2 argsCreatorLambda2,
+                            Func3 argsCreatorLambda3, Func4 argsCreatorLambda4, Func5 argsCreatorLambda5,
+                            Function<Object[], Object> argsCreatorFunction,
+                            String[] argNames, Type[] argTypes,
+                            String[] argCodecNames, ValueCodecInfo[] argValueCodecs,
+                            Map<String, Integer> argIndexes,
+                            Map<String, String> aliasMap) {
             this.clazz = clazz;
             this.noArgsCtorHandle = noArgsCtorHandle;
             this.noArgsCtorLambda = noArgsCtorLambda;
@@ -674,6 +782,7 @@ public final class NodeRegistry {
             this.argsCreatorLambda3 = argsCreatorLambda3;
             this.argsCreatorLambda4 = argsCreatorLambda4;
             this.argsCreatorLambda5 = argsCreatorLambda5;
+            this.argsCreatorFunction = argsCreatorFunction;
             this.argNames = argNames;
             this.argTypes = argTypes;
             this.argCodecNames = argCodecNames;
@@ -741,7 +850,7 @@ public final class NodeRegistry {
          */
         public Object newPojoWithArgs(Object[] args) {
             Objects.requireNonNull(args, "args");
-            if (argsCreatorHandle == null) {
+            if (argsCreatorHandle == null && argsCreatorFunction == null) {
                 throw new BindingException("failed to create instance of " + clazz + ": No creator constructor");
             }
             try {
@@ -767,6 +876,9 @@ public final class NodeRegistry {
                 if (args.length == 5 && argsCreatorLambda5 != null) {
                     return argsCreatorLambda5.apply(args[0], args[1], args[2], args[3], args[4]);
                 }
+                if (argsCreatorFunction != null) {
+                    return argsCreatorFunction.apply(args);
+                }
 
                 return argsCreatorHandle.invokeWithArguments(args);
             } catch (Throwable e) {
@@ -778,7 +890,7 @@ public final class NodeRegistry {
          * Creates a POJO preferring no-args constructor, then args creator.
          */
         public Object forceNewPojo() {
-            if (noArgsCtorHandle != null) return newPojoNoArgs();
+            if (hasNoArgsCreator()) return newPojoNoArgs();
             Object[] args = new Object[argNames.length];
             return newPojoWithArgs(args);
         }
@@ -64,6 +64,13 @@ public final class Numbers {
     }
 
 
+    /**
+     * Returns the parsed value of a {@link LazyNumber}, or the number itself.
+     */
+    private static Number _unwrap(Number number) {
+        return number instanceof LazyNumber ? ((LazyNumber) number).value() : number;
+    }
+
     /**
      * Checks if a Number is an integral type (Byte, Short, Integer, Long, or BigInteger).
      *
@@ -71,6 +78,7 @@ public final class Numbers {
      * @return true if the Number is an integral type, false otherwise
      */
     public static boolean isIntegralType(Number number) {
+        number = _unwrap(number);
         return number instanceof Byte || number instanceof Short || number instanceof Integer ||
                 number instanceof Long || number instanceof BigInteger;
     }
@@ -90,6 +98,7 @@ public final class Numbers {
      */
     public static long toLong(Number number) {
         Objects.requireNonNull(number, "number");
+        number = _unwrap(number);
         if (number instanceof Long) return (long) number;
         if ((number instanceof Double || number instanceof Float) && !inLongRange(number.doubleValue())) {
             throw new JsonException("cannot convert floating-point Number '" + number + "' to Long: out of 64-bit range");
@@ -141,6 +150,7 @@ public final class Numbers {
      */
     public static double toDouble(Number number) {
         Objects.requireNonNull(number, "number");
+        number = _unwrap(number);
         if (number instanceof Double) return (double) number;
         double d = number.doubleValue();
         if (!Double.isFinite(d)) {
@@ -154,6 +164,7 @@ public final class Numbers {
      */
     public static float toFloat(Number number) {
         Objects.requireNonNull(number, "number");
+        number = _unwrap(number);
         if (number instanceof Float) return (float) number;
 
         float f = number.floatValue();
@@ -168,6 +179,7 @@ public final class Numbers {
      */
     public static BigInteger toBigInteger(Number number) {
         Objects.requireNonNull(number, "number");
+        number = _unwrap(number);
         if (number instanceof BigInteger) return (BigInteger) number;
         if (number instanceof BigDecimal) return ((BigDecimal) number).toBigInteger();
         if (number instanceof Double || number instanceof Float) {
@@ -185,6 +197,7 @@ public final class Numbers {
      */
     public static BigDecimal toBigDecimal(Number number) {
         Objects.requireNonNull(number, "number");
+        number = _unwrap(number);
         if (number instanceof BigDecimal) return (BigDecimal) number;
         if (number instanceof BigInteger) return new BigDecimal((BigInteger) number);
         if (number instanceof Double || number instanceof Float) {
@@ -391,6 +404,7 @@ public final class Numbers {
      */
     public static boolean isSemanticInteger(Number number) {
         if (number == null) return false;
+        number = _unwrap(number);
         if (isIntegralType(number)) return true;
         if (number instanceof BigDecimal) {
             return ((BigDecimal) number).stripTrailingZeros().scale() <= 0;
@@ -415,6 +429,8 @@ public final class Numbers {
     public static int compare(Number source, Number target) {
         Objects.requireNonNull(source, "source");
         Objects.requireNonNull(target, "target");
+        source = _unwrap(source);
+        target = _unwrap(target);
         if (source instanceof BigInteger || target instanceof BigInteger) {
             return toBigInteger(source).compareTo(toBigInteger(target));
         }
@@ -428,6 +444,7 @@ public final class Numbers {
      * Computes a stable numeric hash across number implementations.
      */
     public static int hash(Number n) {
+        n = _unwrap(n);
         if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte) {
             long v = n.longValue();
             return Long.hashCode(v);
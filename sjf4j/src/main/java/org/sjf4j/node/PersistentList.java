@@ -0,0 +1,303 @@
+package org.sjf4j.node;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable JSON array backed by a persistent 32-way vector trie.
+ * <p>
+ * It is an ordinary {@link java.util.List} (kind {@link NodeKind#ARRAY_LIST}), so every read
+ * API accepts it, and it is safe to share between threads without locking. The
+ * {@code java.util.List} mutators throw {@link UnsupportedOperationException}; updates go
+ * through {@link #with(int, Object)}, {@link #plus(Object)}, {@link #insert(int, Object)}, and
+ * {@link #without(int)}, which return a new version that shares all untouched trie nodes with
+ * this one. Index reads, replacements, appends, and removals of the last element are
+ * O(log<sub>32</sub> n); inserting or removing elsewhere re-appends the elements after the index.
+ * <p>
+ * Use {@link PersistentNodes#update(Object, java.util.function.UnaryOperator)} to apply
+ * {@link org.sjf4j.path.JsonPath} or {@link org.sjf4j.patch.JsonPatch} edits to a whole tree.
+ */
+public final class PersistentList extends AbstractList<Object> implements RandomAccess, Serializable {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final Object[] EMPTY_TAIL = new Object[0];
+    private static final PersistentList EMPTY = new PersistentList(0, BITS, EMPTY_NODE, EMPTY_TAIL);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentList(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty list.
+     */
+    public static PersistentList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a list of the given values; nested containers are kept as they are.
+     */
+    public static PersistentList of(Object... values) {
+        return values == null ? EMPTY : _build(values, values.length);
+    }
+
+    /**
+     * Returns a list of the collection's elements in iteration order; nested containers are kept
+     * as they are. A {@code PersistentList} is returned unchanged.
+     */
+    public static PersistentList from(Collection<?> values) {
+        if (values instanceof PersistentList) return (PersistentList) values;
+        Object[] array = values.toArray();
+        return _build(array, array.length);
+    }
+
+    /// Read
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        return _leafFor(index)[index & MASK];
+    }
+
+    /// Update
+
+    @Override
+    public Object set(int index, Object element) {
+        throw PersistentMap._immutable();
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        throw PersistentMap._immutable();
+    }
+
+    @Override
+    public Object remove(int index) {
+        throw PersistentMap._immutable();
+    }
+
+    /**
+     * Returns a version with the element at {@code index} replaced, or this list when the
+     * element is already that same instance.
+     */
+    public PersistentList with(int index, Object value) {
+        if (index == size) return plus(value);
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        if (_leafFor(index)[index & MASK] == value) return this;
+        if (index >= _tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentList(size, shift, root, newTail);
+        }
+        return new PersistentList(size, shift, _assoc(shift, root, index, value), tail);
+    }
+
+    /**
+     * Returns a version with {@code value} appended.
+     */
+    public PersistentList plus(Object value) {
+        if (size - _tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentList(size + 1, shift, root, newTail);
+        }
+        return _pushTail(new Object[]{value});
+    }
+
+    /**
+     * Returns a version with {@code value} inserted before {@code index}.
+     */
+    public PersistentList insert(int index, Object value) {
+        if (index == size) return plus(value);
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        Object[] rest = _copyRange(index, size);
+        PersistentList list = _truncate(index).plus(value);
+        for (Object v : rest) list = list.plus(v);
+        return list;
+    }
+
+    /**
+     * Returns a version without the element at {@code index}.
+     */
+    public PersistentList without(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        }
+        if (index == size - 1) return _pop();
+        Object[] rest = _copyRange(index + 1, size);
+        PersistentList list = _truncate(index);
+        for (Object v : rest) list = list.plus(v);
+        return list;
+    }
+
+    /// Trie
+
+    private int _tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] _leafFor(int index) {
+        if (index >= _tailOffset()) return tail;
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private static Object[] _assoc(int level, Object[] node, int index, Object value) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int sub = (index >>> level) & MASK;
+            copy[sub] = _assoc(level - BITS, (Object[]) node[sub], index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Moves the full tail into the trie and starts a new tail; requires {@code size % 32 == 0}.
+     */
+    private PersistentList _pushTail(Object[] newTail) {
+        if (size == 0) return new PersistentList(newTail.length, BITS, EMPTY_NODE, newTail);
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = _newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = _pushTail(shift, root, tail);
+        }
+        return new PersistentList(size + newTail.length, newShift, newRoot, newTail);
+    }
+
+    private Object[] _pushTail(int level, Object[] parent, Object[] tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Object[] copy = parent.clone();
+        Object[] insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[sub];
+            insert = child != null ? _pushTail(level - BITS, child, tailNode) : _newPath(level - BITS, tailNode);
+        }
+        copy[sub] = insert;
+        return copy;
+    }
+
+    private static Object[] _newPath(int level, Object[] node) {
+        if (level == 0) return node;
+        Object[] path = new Object[WIDTH];
+        path[0] = _newPath(level - BITS, node);
+        return path;
+    }
+
+    private PersistentList _pop() {
+        if (size == 1) return EMPTY;
+        if (size - _tailOffset() > 1) {
+            return new PersistentList(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = _leafFor(size - 2);
+        Object[] newRoot = _popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) newRoot = EMPTY_NODE;
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentList(size - 1, newShift, newRoot, newTail);
+    }
+
+    private Object[] _popTail(int level, Object[] node) {
+        int sub = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] child = _popTail(level - BITS, (Object[]) node[sub]);
+            if (child == null && sub == 0) return null;
+            Object[] copy = node.clone();
+            copy[sub] = child;
+            return copy;
+        }
+        if (sub == 0) return null;
+        Object[] copy = node.clone();
+        copy[sub] = null;
+        return copy;
+    }
+
+    private PersistentList _truncate(int newSize) {
+        if (newSize == 0) return EMPTY;
+        PersistentList list = this;
+        while (list.size > newSize) list = list._pop();
+        return list;
+    }
+
+    private Object[] _copyRange(int from, int to) {
+        Object[] out = new Object[to - from];
+        for (int i = from; i < to; i++) out[i - from] = _leafFor(i)[i & MASK];
+        return out;
+    }
+
+    private static PersistentList _build(Object[] values, int length) {
+        PersistentList list = EMPTY;
+        int i = 0;
+        while (length - i > WIDTH) {
+            list = list._pushTail(Arrays.copyOfRange(values, i, i + WIDTH));
+            i += WIDTH;
+        }
+        return i == length ? list : list._pushTail(Arrays.copyOfRange(values, i, length));
+    }
+
+    /// Serializable
+
+    private Object writeReplace() {
+        return new SerialForm(toArray());
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("proxy required");
+    }
+
+    private static final class SerialForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Object[] values;
+
+        SerialForm(Object[] values) {
+            this.values = values;
+        }
+
+        private Object readResolve() {
+            return _build(values, values.length);
+        }
+    }
+
+}
@@ -0,0 +1,436 @@
+package org.sjf4j.node;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable JSON object backed by a hash array mapped trie (HAMT), keeping insertion order.
+ * <p>
+ * It is an ordinary {@link java.util.Map} (kind {@link NodeKind#OBJECT_MAP}), so every read
+ * API accepts it, and it is safe to share between threads without locking. The
+ * {@code java.util.Map} mutators throw {@link UnsupportedOperationException}; updates go through
+ * {@link #with(String, Object)} and {@link #without(String)}, which return a new version in
+ * O(log<sub>32</sub> n) that shares all untouched trie nodes with this one.
+ * <p>
+ * Keys map to entries carrying their insertion ordinal; entries also sit in a
+ * {@link PersistentList} by ordinal, which fixes the iteration order. Replacing a value keeps
+ * its position, removing leaves a gap that iteration skips, and the list is compacted once
+ * gaps outnumber live entries.
+ * <p>
+ * Use {@link PersistentNodes#update(Object, java.util.function.UnaryOperator)} to apply
+ * {@link org.sjf4j.path.JsonPath} or {@link org.sjf4j.patch.JsonPatch} edits to a whole tree.
+ */
+public final class PersistentMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    /** Gaps tolerated before the entry list is compacted, in addition to the live size. */
+    private static final int MIN_GAPS = 16;
+
+    private static final PersistentMap EMPTY = new PersistentMap(null, PersistentList.empty(), 0);
+
+    private final Node root;
+    private final PersistentList entries;
+    private final int size;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    private PersistentMap(Node root, PersistentList entries, int size) {
+        this.root = root;
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     */
+    public static PersistentMap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a map of the given entries in iteration order; nested containers are kept as
+     * they are. A {@code PersistentMap} is returned unchanged.
+     */
+    public static PersistentMap from(Map<String, ?> map) {
+        if (map instanceof PersistentMap) return (PersistentMap) map;
+        PersistentMap result = EMPTY;
+        for (Map.Entry<String, ?> e : map.entrySet()) {
+            result = result.with(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    /// Read
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Entry e = _find(key);
+        return e == null ? null : e.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return _find(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        Set<Map.Entry<String, Object>> es = entrySet;
+        if (es == null) {
+            es = new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new EntryIterator(entries);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = es;
+        }
+        return es;
+    }
+
+    /// Update
+
+    @Override
+    public Object put(String key, Object value) {
+        throw _immutable();
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw _immutable();
+    }
+
+    @Override
+    public void clear() {
+        throw _immutable();
+    }
+
+    static UnsupportedOperationException _immutable() {
+        return new UnsupportedOperationException("persistent nodes are immutable; use with()/without() "
+                + "or PersistentNodes.update()");
+    }
+
+    /**
+     * Returns a version mapping {@code key} to {@code value}, or this map when the key already
+     * maps to that same instance. A new key is added last; an existing key keeps its position.
+     */
+    public PersistentMap with(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        int hash = key.hashCode();
+        Entry old = root == null ? null : root.find(0, hash, key);
+        if (old != null) {
+            if (old.value == value) return this;
+            Entry e = new Entry(key, value, old.ordinal);
+            return new PersistentMap(root.put(0, hash, e), entries.with(old.ordinal, e), size);
+        }
+        Entry e = new Entry(key, value, entries.size());
+        Node newRoot = root == null ? new BitmapNode(0, new Object[0]).put(0, hash, e) : root.put(0, hash, e);
+        return new PersistentMap(newRoot, entries.plus(e), size + 1);
+    }
+
+    /**
+     * Returns a version without {@code key}, or this map when the key is absent.
+     */
+    public PersistentMap without(String key) {
+        Entry old = _find(key);
+        if (old == null) return this;
+        if (size == 1) return EMPTY;
+        Node newRoot = root.remove(0, key.hashCode(), key);
+        PersistentMap result = new PersistentMap(newRoot, entries.with(old.ordinal, null), size - 1);
+        int gaps = result.entries.size() - result.size;
+        return gaps > MIN_GAPS && gaps > result.size ? result._compact() : result;
+    }
+
+    private Entry _find(Object key) {
+        if (root == null || !(key instanceof String)) return null;
+        return root.find(0, key.hashCode(), (String) key);
+    }
+
+    private PersistentMap _compact() {
+        PersistentMap result = EMPTY;
+        for (Map.Entry<String, Object> e : entrySet()) {
+            result = result.with(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    /// Entries
+
+    private static final class Entry implements Map.Entry<String, Object> {
+        final String key;
+        final Object value;
+        final int ordinal;
+
+        Entry(String key, Object value, int ordinal) {
+            this.key = key;
+            this.value = value;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            throw _immutable();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) return false;
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return key.equals(e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private static final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final PersistentList entries;
+        private int index;
+        private Entry next;
+
+        EntryIterator(PersistentList entries) {
+            this.entries = entries;
+            _advance();
+        }
+
+        private void _advance() {
+            next = null;
+            while (index < entries.size() && next == null) {
+                next = (Entry) entries.get(index++);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            Entry e = next;
+            if (e == null) throw new NoSuchElementException();
+            _advance();
+            return e;
+        }
+    }
+
+    /// Trie
+
+    private interface Node {
+        Entry find(int shift, int hash, String key);
+
+        Node put(int shift, int hash, Entry entry);
+
+        /** Returns the node without {@code key}, {@code this} when absent, or null when it becomes empty. */
+        Node remove(int shift, int hash, String key);
+    }
+
+    /**
+     * Sparse 32-way node: {@code bitmap} marks the occupied slots and {@code slots} holds one
+     * {@link Entry} or child {@link Node} per set bit, in bit order.
+     */
+    private static final class BitmapNode implements Node {
+        final int bitmap;
+        final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        public Entry find(int shift, int hash, String key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) return null;
+            Object slot = slots[Integer.bitCount(bitmap & (bit - 1))];
+            if (slot instanceof Node) return ((Node) slot).find(shift + BITS, hash, key);
+            Entry e = (Entry) slot;
+            return e.key.equals(key) ? e : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Entry entry) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int idx = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, idx);
+                newSlots[idx] = entry;
+                System.arraycopy(slots, idx, newSlots, idx + 1, slots.length - idx);
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+            Object slot = slots[idx];
+            Object replacement;
+            if (slot instanceof Node) {
+                replacement = ((Node) slot).put(shift + BITS, hash, entry);
+            } else {
+                Entry e = (Entry) slot;
+                replacement = e.key.equals(entry.key) ? entry : _split(shift + BITS, e, hash, entry);
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[idx] = replacement;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, String key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) return this;
+            int idx = Integer.bitCount(bitmap & (bit - 1));
+            Object slot = slots[idx];
+            if (slot instanceof Node) {
+                Node child = ((Node) slot).remove(shift + BITS, hash, key);
+                if (child == slot) return this;
+                if (child != null) {
+                    Object[] newSlots = slots.clone();
+                    newSlots[idx] = child;
+                    return new BitmapNode(bitmap, newSlots);
+                }
+            } else if (!((Entry) slot).key.equals(key)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, idx);
+            System.arraycopy(slots, idx + 1, newSlots, idx, slots.length - idx - 1);
+            return new BitmapNode(bitmap & ~bit, newSlots);
+        }
+
+        private static Node _split(int shift, Entry e1, int hash2, Entry e2) {
+            int hash1 = e1.key.hashCode();
+            if (hash1 == hash2) return new CollisionNode(hash1, new Entry[]{e1, e2});
+            // Distinct hashes differ in some 5-bit chunk by shift 30, so this recursion ends there
+            return new BitmapNode(0, new Object[0]).put(shift, hash1, e1).put(shift, hash2, e2);
+        }
+    }
+
+    /**
+     * Entries whose keys share the full 32-bit hash.
+     */
+    private static final class CollisionNode implements Node {
+        final int hash;
+        final Entry[] entries;
+
+        CollisionNode(int hash, Entry[] entries) {
+            this.hash = hash;
+            this.entries = entries;
+        }
+
+        @Override
+        public Entry find(int shift, int hash, String key) {
+            if (hash != this.hash) return null;
+            for (Entry e : entries) {
+                if (e.key.equals(key)) return e;
+            }
+            return null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Entry entry) {
+            if (hash != this.hash) {
+                Node nested = new BitmapNode(1 << ((this.hash >>> shift) & MASK), new Object[]{this});
+                return nested.put(shift, hash, entry);
+            }
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(entry.key)) {
+                    Entry[] copy = entries.clone();
+                    copy[i] = entry;
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            Entry[] copy = new Entry[entries.length + 1];
+            System.arraycopy(entries, 0, copy, 0, entries.length);
+            copy[entries.length] = entry;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, String key) {
+            if (hash != this.hash) return this;
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].key.equals(key)) {
+                    if (entries.length == 1) return null;
+                    Entry[] copy = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, copy, 0, i);
+                    System.arraycopy(entries, i + 1, copy, i, entries.length - i - 1);
+                    return new CollisionNode(hash, copy);
+                }
+            }
+            return this;
+        }
+    }
+
+    /// Serializable
+
+    private Object writeReplace() {
+        Object[] keyValues = new Object[size * 2];
+        int i = 0;
+        for (Map.Entry<String, Object> e : entrySet()) {
+            keyValues[i++] = e.getKey();
+            keyValues[i++] = e.getValue();
+        }
+        return new SerialForm(keyValues);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("proxy required");
+    }
+
+    private static final class SerialForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Object[] keyValues;
+
+        SerialForm(Object[] keyValues) {
+            this.keyValues = keyValues;
+        }
+
+        private Object readResolve() {
+            PersistentMap map = EMPTY;
+            for (int i = 0; i < keyValues.length; i += 2) {
+                map = map.with((String) keyValues[i], keyValues[i + 1]);
+            }
+            return map;
+        }
+    }
+
+}
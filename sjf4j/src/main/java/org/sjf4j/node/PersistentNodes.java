@@ -0,0 +1,365 @@
+package org.sjf4j.node;
+
+import org.sjf4j.JsonType;
+import org.sjf4j.exception.JsonException;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Helpers for trees of {@link PersistentMap} and {@link PersistentList} nodes.
+ * <p>
+ * A persistent tree is a snapshot: it never changes, so it can be handed to any number of
+ * reader threads without copying or locking. {@link #update(Object, UnaryOperator)} derives the
+ * next snapshot by running ordinary mutating code, such as {@link org.sjf4j.path.JsonPath#put}
+ * or {@link org.sjf4j.patch.JsonPatch#apply}, against a transient view of the tree. Only the
+ * containers on paths the edit reads or writes are copied; every other subtree is shared with
+ * the previous snapshot.
+ */
+public final class PersistentNodes {
+
+    private PersistentNodes() {}
+
+    /**
+     * Returns true when the node is a {@link PersistentMap} or {@link PersistentList}.
+     */
+    public static boolean isPersistent(Object node) {
+        return node instanceof PersistentMap || node instanceof PersistentList;
+    }
+
+    /**
+     * Returns a persistent copy of a node tree.
+     * <p>
+     * Object-like nodes (maps, {@code JsonObject}s, POJOs) become {@link PersistentMap}s and
+     * array-like nodes become {@link PersistentList}s, recursively. Persistent subtrees are
+     * returned as they are, and scalar values are shared.
+     */
+    public static Object from(Object node) {
+        if (node == null || isPersistent(node)) return node;
+        if (node instanceof TransientMap) return ((TransientMap) node).freeze();
+        if (node instanceof TransientList) return ((TransientList) node).freeze();
+        if (node instanceof String || node instanceof Number || node instanceof Boolean) return node;
+        JsonType jt = JsonType.of(node);
+        if (jt.isObject()) {
+            PersistentMap map = PersistentMap.empty();
+            for (Map.Entry<String, Object> entry : Nodes.entrySetInObject(node)) {
+                map = map.with(entry.getKey(), from(entry.getValue()));
+            }
+            return map;
+        }
+        if (jt.isArray()) {
+            List<Object> values = new ArrayList<>();
+            Iterator<Object> it = Nodes.iteratorInArray(node);
+            while (it.hasNext()) values.add(from(it.next()));
+            return PersistentList.from(values);
+        }
+        return node;
+    }
+
+    /**
+     * Applies an in-place edit to a transient view of {@code root} and returns the resulting
+     * persistent tree; {@code root} itself is never modified.
+     * <p>
+     * The view is an ordinary mutable {@code Map}/{@code List} tree, so the edit may use any
+     * SJF4J or {@code java.util} mutation. Its return value becomes the new root, which lets
+     * edits replace the root the way {@link org.sjf4j.patch.JsonPatch#apply(Object)} does.
+     * Containers the edit inserts are converted with {@link #from(Object)}. The view must not
+     * be used after this method returns; writes to it then throw {@link JsonException}.
+     * <p>
+     * A non-persistent {@code root} is first converted with {@link #from(Object)}.
+     */
+    public static Object update(Object root, UnaryOperator<Object> edit) {
+        Objects.requireNonNull(edit, "edit");
+        Session session = new Session();
+        Object result;
+        try {
+            result = edit.apply(session.open(from(root)));
+        } finally {
+            session.open = false;
+        }
+        return from(result);
+    }
+
+    /// Transient views
+
+    private static final class Session {
+        boolean open = true;
+
+        Object open(Object node) {
+            if (node instanceof PersistentMap) return new TransientMap(this, (PersistentMap) node);
+            if (node instanceof PersistentList) return new TransientList(this, (PersistentList) node);
+            return node;
+        }
+
+        void checkOpen() {
+            if (!open) throw new JsonException("cannot modify a persistent edit view after update() returned");
+        }
+    }
+
+    /**
+     * Returns true when a value stored in a transient view must be converted before it can sit in
+     * a persistent tree.
+     */
+    private static boolean _needsFreeze(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return false;
+        }
+        if (isPersistent(value)) return false;
+        JsonType jt = JsonType.of(value);
+        return jt.isObject() || jt.isArray();
+    }
+
+    /**
+     * Mutable view over a {@link PersistentMap}. Each write replaces {@code current} with a new
+     * version; persistent children are swapped for transient views when read, and the keys
+     * holding views or inserted containers are kept in {@code dirty} for {@link #freeze()}.
+     */
+    private static final class TransientMap extends AbstractMap<String, Object> {
+        private final Session session;
+        private final PersistentMap base;
+        private PersistentMap current;
+        private final Set<String> dirty = new HashSet<>();
+        private boolean written;
+        private PersistentMap frozen;
+
+        TransientMap(Session session, PersistentMap base) {
+            this.session = session;
+            this.base = base;
+            this.current = base;
+        }
+
+        PersistentMap freeze() {
+            if (frozen != null) return frozen;
+            // Untouched maps fold back into their base, so read-only paths stay shared
+            PersistentMap map = written ? current : base;
+            for (String key : dirty) {
+                map = map.with(key, from(current.get(key)));
+            }
+            if (!session.open) frozen = map;
+            return map;
+        }
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return current.containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            Object value = current.get(key);
+            if (session.open && isPersistent(value)) {
+                String name = (String) key;
+                value = session.open(value);
+                current = current.with(name, value);
+                dirty.add(name);
+            }
+            return value;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            session.checkOpen();
+            Object old = current.get(key);
+            current = current.with(key, value);
+            written = true;
+            if (_needsFreeze(value)) dirty.add(key);
+            else dirty.remove(key);
+            return old;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            session.checkOpen();
+            Object old = current.get(key);
+            if (old == null && !current.containsKey(key)) return null;
+            current = current.without((String) key);
+            written = true;
+            dirty.remove(key);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            session.checkOpen();
+            current = PersistentMap.empty();
+            written = true;
+            dirty.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    Iterator<String> keys = current.keySet().iterator();
+                    return new Iterator<Map.Entry<String, Object>>() {
+                        private String last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            String key = keys.next();
+                            last = key;
+                            return new Map.Entry<String, Object>() {
+                                @Override
+                                public String getKey() {
+                                    return key;
+                                }
+
+                                @Override
+                                public Object getValue() {
+                                    return get(key);
+                                }
+
+                                @Override
+                                public Object setValue(Object value) {
+                                    return put(key, value);
+                                }
+
+                                @Override
+                                public boolean equals(Object o) {
+                                    if (!(o instanceof Map.Entry)) return false;
+                                    Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                                    return key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+                                }
+
+                                @Override
+                                public int hashCode() {
+                                    return key.hashCode() ^ Objects.hashCode(getValue());
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last == null) throw new IllegalStateException();
+                            TransientMap.this.remove(last);
+                            last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return current.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Mutable view over a {@link PersistentList}; see {@link TransientMap}. Dirty indexes are
+     * kept in a {@link BitSet} and only those after an inserted or removed element are shifted.
+     */
+    private static final class TransientList extends AbstractList<Object> {
+        private final Session session;
+        private final PersistentList base;
+        private PersistentList current;
+        private final BitSet dirty = new BitSet();
+        private boolean written;
+        private PersistentList frozen;
+
+        TransientList(Session session, PersistentList base) {
+            this.session = session;
+            this.base = base;
+            this.current = base;
+        }
+
+        PersistentList freeze() {
+            if (frozen != null) return frozen;
+            PersistentList list = written ? current : base;
+            for (int idx = dirty.nextSetBit(0); idx >= 0; idx = dirty.nextSetBit(idx + 1)) {
+                list = list.with(idx, from(current.get(idx)));
+            }
+            if (!session.open) frozen = list;
+            return list;
+        }
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public Object get(int index) {
+            Object value = current.get(index);
+            if (session.open && isPersistent(value)) {
+                value = session.open(value);
+                current = current.with(index, value);
+                dirty.set(index);
+            }
+            return value;
+        }
+
+        @Override
+        public Object set(int index, Object value) {
+            session.checkOpen();
+            Object old = current.get(index);
+            current = current.with(index, value);
+            written = true;
+            dirty.set(index, _needsFreeze(value));
+            return old;
+        }
+
+        @Override
+        public void add(int index, Object value) {
+            session.checkOpen();
+            current = current.insert(index, value);
+            written = true;
+            _shiftDirty(index, index + 1);
+            if (_needsFreeze(value)) dirty.set(index);
+        }
+
+        @Override
+        public Object remove(int index) {
+            session.checkOpen();
+            Object old = current.get(index);
+            current = current.without(index);
+            written = true;
+            _shiftDirty(index + 1, index);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            session.checkOpen();
+            current = PersistentList.empty();
+            written = true;
+            dirty.clear();
+        }
+
+        /**
+         * Moves the dirty indexes at or after {@code from} so that {@code from} becomes {@code to},
+         * clearing everything in between.
+         */
+        private void _shiftDirty(int from, int to) {
+            int end = dirty.length();
+            if (end <= Math.min(from, to)) return;
+            BitSet moved = dirty.get(from, Math.max(end, from));
+            dirty.clear(Math.min(from, to), end);
+            for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+                dirty.set(i + to);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package org.sjf4j.node;
+
+/**
+ * Supplies precomputed {@link NodeRegistry.PojoInfo} for one POJO class.
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader} from
+ * the class loader of the model being registered, and are preferred over
+ * reflective analysis. The SJF4J annotation processor generates them for
+ * {@link org.sjf4j.annotation.node.CompiledPojo} models; the generated metadata
+ * uses direct-call lambdas and leaves the reflective {@code Field},
+ * {@code Method}, and {@code MethodHandle} members of {@code PropertyInfo} and
+ * {@code CreatorInfo} unset.</p>
+ */
+public interface PojoInfoProvider {
+
+    /**
+     * Returns the model class this provider describes.
+     */
+    Class<?> pojoClass();
+
+    /**
+     * Builds the metadata for {@link #pojoClass()}. {@code NodeRegistry} caches
+     * the result like reflectively analyzed metadata.
+     */
+    NodeRegistry.PojoInfo createPojoInfo();
+}
@@ -0,0 +1,85 @@
+package org.sjf4j.node;
+
+import org.sjf4j.Sjf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * One JSON value kept as its encoded text.
+ * <p>
+ * Declare a property, creator argument, or collection element as {@code RawJson} to
+ * pass a value through unchanged: readers capture the value's text with
+ * {@link org.sjf4j.facade.StreamingIO#copyValue} instead of building nodes, and
+ * writers emit it with {@link org.sjf4j.facade.StreamingWriter#writeRawValue}
+ * instead of serializing it again. JSON {@code null} is still read as {@code null}.
+ * <p>
+ * The text is not validated; it must be exactly one complete JSON value. Equality
+ * compares the text, so equivalent values with different formatting are not equal;
+ * use {@link #toNode()} to compare content.
+ */
+public final class RawJson {
+
+    private final String json;
+    private transient byte[] bytes;
+
+    /**
+     * @param json the encoded text of one JSON value
+     */
+    public RawJson(String json) {
+        this.json = Objects.requireNonNull(json, "json");
+    }
+
+    /**
+     * Wraps encoded JSON text.
+     */
+    public static RawJson of(String json) {
+        return new RawJson(json);
+    }
+
+    /**
+     * Returns the encoded text.
+     */
+    public String json() {
+        return json;
+    }
+
+    /**
+     * Returns the encoded text as UTF-8 bytes. The array is cached; do not modify it.
+     */
+    public byte[] bytes() {
+        byte[] b = bytes;
+        if (b == null) {
+            b = json.getBytes(StandardCharsets.UTF_8);
+            bytes = b;
+        }
+        return b;
+    }
+
+    /**
+     * Parses the text with the global {@link Sjf4j} instance.
+     */
+    public Object toNode() {
+        return Sjf4j.global().fromJson(json);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof RawJson && json.equals(((RawJson) o).json);
+    }
+
+    @Override
+    public int hashCode() {
+        return json.hashCode();
+    }
+
+    /**
+     * Returns the encoded text.
+     */
+    @Override
+    public String toString() {
+        return json;
+    }
+
+}
@@ -612,6 +612,8 @@ public final class ReflectUtil {
     }
 
     static NodeRegistry.ValueCodecInfo _resolveCodec(Class<?> rawType, String codecName, String codecPattern) {
+        // a codec on a primitive property is registered for its wrapper type
+        rawType = Types.box(rawType);
         if (codecPattern != null && !codecPattern.isEmpty()) {
             // codecPattern takes precedence: get the base codec and parameterize it
             NodeRegistry.ValueCodecInfo base = NodeRegistry.resolveValueCodecOrElseThrow(rawType, "");
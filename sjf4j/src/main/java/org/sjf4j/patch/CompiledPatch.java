@@ -0,0 +1,310 @@
+package org.sjf4j.patch;
+
+import org.sjf4j.JsonType;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.node.Nodes;
+import org.sjf4j.node.PersistentNodes;
+import org.sjf4j.path.JsonPointer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Executable plan of a {@link JsonPatch}, created by {@link JsonPatch#compile()}.
+ *
+ * <p>Compiling does the per-operation work that does not depend on the target
+ * once, so the same patch can be applied to many documents cheaply:
+ * <ul>
+ *   <li>operation handlers are resolved when the plan is compiled; later
+ *   {@link OperationRegistry#register} calls do not affect it;</li>
+ *   <li>{@code add}, {@code replace}, {@code remove}, and {@code test} resolve
+ *   their parent container through a cache of the previously walked pointer, so
+ *   consecutive operations under a common prefix do not re-walk it from the root;</li>
+ *   <li>adjacent operations on the same path are coalesced when the result is the
+ *   same: {@code add} or {@code replace} followed by {@code replace} becomes a
+ *   single write of the last value, and {@code add} or {@code replace} followed by
+ *   {@code remove} becomes a single removal.</li>
+ * </ul>
+ *
+ * <p>Whenever a fast path cannot prove its preconditions, the original
+ * operations run through {@link OperationRegistry}, so results and error
+ * messages match {@link JsonPatch#apply(Object)}. Plans are immutable and can be
+ * applied concurrently to different targets. As with {@code apply}, operation
+ * values are inserted by reference.
+ */
+public final class CompiledPatch {
+
+    private static final int ADD = 0;
+    private static final int REPLACE = 1;
+    private static final int REMOVE = 2;
+    private static final int TEST = 3;
+    private static final int ADD_REMOVE = 4;
+    private static final int REPLACE_REMOVE = 5;
+
+    private final Step[] steps;
+    private final int operationCount;
+    private final int maxDepth;
+
+    CompiledPatch(List<PatchOperation> operations) {
+        List<Step> planned = new ArrayList<>(operations.size());
+        int depth = 0;
+        for (PatchOperation operation : operations) {
+            Step step = _plan(operation);
+            Step previous = planned.isEmpty() ? null : planned.get(planned.size() - 1);
+            Step merged = previous == null ? null : _coalesce(previous, step);
+            if (merged != null) planned.set(planned.size() - 1, merged);
+            else planned.add(step);
+            if (step.parentTokens != null) depth = Math.max(depth, step.parentTokens.length);
+        }
+        this.steps = planned.toArray(new Step[0]);
+        this.operationCount = operations.size();
+        this.maxDepth = depth;
+    }
+
+    /**
+     * Applies the plan to target and returns the possibly replaced root.
+     * <p>
+     * Like {@link JsonPatch#apply(Object)}, a {@code PersistentMap} or
+     * {@code PersistentList} target is left unchanged and its new version is returned.
+     */
+    public Object apply(Object target) {
+        if (PersistentNodes.isPersistent(target)) {
+            return PersistentNodes.update(target, this::_apply);
+        }
+        return _apply(target);
+    }
+
+    /**
+     * Returns the number of operations in the compiled patch.
+     */
+    public int operationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Returns the number of steps left after coalescing.
+     */
+    public int stepCount() {
+        return steps.length;
+    }
+
+    private Object _apply(Object target) {
+        Walk walk = new Walk(maxDepth);
+        walk.reset(target);
+        Object current = target;
+        for (Step step : steps) {
+            current = step.apply(current, walk);
+        }
+        return current;
+    }
+
+    /// Plan
+
+    private static Step _plan(PatchOperation operation) {
+        JsonPointer path = operation.getPath();
+        String op = operation.getOp();
+        if (path != null && path.length() > 1 && OperationRegistry._isBuiltIn(op)) {
+            Object value = operation.getValue();
+            switch (op) {
+                case PatchOperation.STD_ADD: return new Step(ADD, path, value, operation);
+                case PatchOperation.STD_REPLACE:
+                    if (!path.isAppend()) return new Step(REPLACE, path, value, operation);
+                    break;
+                case PatchOperation.STD_REMOVE:
+                    if (!path.isAppend()) return new Step(REMOVE, path, null, operation);
+                    break;
+                case PatchOperation.STD_TEST:
+                    if (!path.isAppend()) return new Step(TEST, path, value, operation);
+                    break;
+            }
+        }
+        return new Step(operation);
+    }
+
+    private static Step _coalesce(Step first, Step second) {
+        if (first.path == null || second.path == null || !first.path.equals(second.path)) return null;
+        if (first.path.isAppend()) return null;
+        PatchOperation[] operations = _concat(first.operations, second.operations);
+        if ((first.kind == ADD || first.kind == REPLACE) && second.kind == REPLACE) {
+            return new Step(first.kind, first.path, second.value, operations);
+        }
+        if (first.kind == ADD && second.kind == REMOVE) {
+            return new Step(ADD_REMOVE, first.path, null, operations);
+        }
+        if (first.kind == REPLACE && second.kind == REMOVE) {
+            return new Step(REPLACE_REMOVE, first.path, null, operations);
+        }
+        return null;
+    }
+
+    private static PatchOperation[] _concat(PatchOperation[] a, PatchOperation[] b) {
+        PatchOperation[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return all;
+    }
+
+    /// Step
+
+    private static final class Step {
+        private final int kind;
+        private final JsonPointer path;
+        private final Object value;
+        private final PatchOperation[] operations;
+        // Handlers of the operations, resolved when the plan is compiled
+        private final OperationRegistry.OperationHandler[] handlers;
+
+        // Fast steps: the parent pointer as tokens, one single-token pointer per
+        // token, and the last token as a pointer relative to the parent
+        private final String[] parentTokens;
+        private final JsonPointer[] parentSteps;
+        private final JsonPointer last;
+
+        Step(int kind, JsonPointer path, Object value, PatchOperation... operations) {
+            this.kind = kind;
+            this.path = path;
+            this.value = value;
+            this.operations = operations;
+            this.handlers = _handlers(operations);
+            String[] tokens = _tokens(path);
+            this.parentTokens = Arrays.copyOf(tokens, tokens.length - 1);
+            this.parentSteps = new JsonPointer[parentTokens.length];
+            for (int i = 0; i < parentTokens.length; i++) {
+                parentSteps[i] = JsonPointer.parse("/" + parentTokens[i]);
+            }
+            this.last = JsonPointer.parse("/" + tokens[tokens.length - 1]);
+        }
+
+        Step(PatchOperation operation) {
+            this.kind = -1;
+            this.path = operation.getPath();
+            this.value = null;
+            this.operations = new PatchOperation[]{operation};
+            this.handlers = _handlers(operations);
+            this.parentTokens = null;
+            this.parentSteps = null;
+            this.last = null;
+        }
+
+        Object apply(Object root, Walk walk) {
+            if (kind < 0) {
+                Object next = OperationRegistry._apply(root, operations[0], handlers[0]);
+                walk.reset(next);
+                return next;
+            }
+            if (_fast(walk)) return root;
+            return _fallback(root, walk);
+        }
+
+        /**
+         * Runs the step against its cached parent; returns false, without having
+         * written anything, when the original operations must run instead.
+         * <p>
+         * The walk ends at this step's parent afterwards, so the write cannot
+         * replace any container it still caches.
+         */
+        private boolean _fast(Walk walk) {
+            try {
+                Object parent = walk.resolve(this);
+                if (parent == null) return false;
+                switch (kind) {
+                    case ADD:
+                        last.add(parent, value);
+                        return true;
+                    case REPLACE:
+                        last.replace(parent, value);
+                        return true;
+                    case REMOVE:
+                    case REPLACE_REMOVE:
+                        if (!last.contains(parent)) return false;
+                        last.removeIfPresent(parent);
+                        return true;
+                    case TEST:
+                        return last.contains(parent) && Nodes.equals(last.getNode(parent), value);
+                    case ADD_REMOVE:
+                        // add then remove of an object member leaves it absent
+                        if (!JsonType.of(parent).isObject()) return false;
+                        last.removeIfPresent(parent);
+                        return true;
+                    default:
+                        return false;
+                }
+            } catch (RuntimeException e) {
+                // These writes fail before changing anything; rerun for the canonical error
+                return false;
+            }
+        }
+
+        private Object _fallback(Object root, Walk walk) {
+            Object current = root;
+            for (int i = 0; i < operations.length; i++) {
+                current = OperationRegistry._apply(current, operations[i], handlers[i]);
+            }
+            walk.reset(current);
+            return current;
+        }
+
+        private static OperationRegistry.OperationHandler[] _handlers(PatchOperation[] operations) {
+            OperationRegistry.OperationHandler[] handlers = new OperationRegistry.OperationHandler[operations.length];
+            for (int i = 0; i < operations.length; i++) {
+                String op = operations[i].getOp();
+                OperationRegistry.OperationHandler handler = op == null ? null : OperationRegistry.get(op);
+                // an operation unknown at compile time stays unknown, with the error apply(...) reports
+                handlers[i] = handler != null ? handler : (target, operation) -> {
+                    throw new JsonException("no operation handler for '" + operation.getOp() + "'");
+                };
+            }
+            return handlers;
+        }
+
+        private static String[] _tokens(JsonPointer pointer) {
+            String expr = pointer.toExpr();
+            return expr.substring(1).split("/", -1);
+        }
+    }
+
+    /// Walk
+
+    /**
+     * Containers resolved along the most recently walked parent pointer.
+     * {@code nodes[i]} is the container after the first {@code i} tokens.
+     */
+    private static final class Walk {
+        private final String[] tokens;
+        private final Object[] nodes;
+        private int depth;
+
+        Walk(int maxDepth) {
+            this.tokens = new String[maxDepth];
+            this.nodes = new Object[maxDepth + 1];
+        }
+
+        void reset(Object root) {
+            nodes[0] = root;
+            depth = 0;
+        }
+
+        /**
+         * Returns the parent container of the step, or null when it does not resolve
+         * to a non-null container.
+         */
+        Object resolve(Step step) {
+            String[] target = step.parentTokens;
+            int common = 0;
+            int limit = Math.min(depth, target.length);
+            while (common < limit && tokens[common].equals(target[common])) common++;
+            Object node = nodes[common];
+            depth = common;
+            for (int i = common; i < target.length; i++) {
+                if (node == null) return null;
+                node = step.parentSteps[i].getNode(node);
+                tokens[i] = target[i];
+                nodes[i + 1] = node;
+                depth = i + 1;
+            }
+            return node;
+        }
+
+    }
+
+}
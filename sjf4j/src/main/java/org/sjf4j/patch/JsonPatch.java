@@ -3,8 +3,12 @@ package org.sjf4j.patch;
 import org.sjf4j.JsonArray;
 import org.sjf4j.Sjf4j;
 import org.sjf4j.exception.JsonException;
+import org.sjf4j.node.PersistentList;
+import org.sjf4j.node.PersistentMap;
+import org.sjf4j.node.PersistentNodes;
 import org.sjf4j.node.Types;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -68,17 +72,79 @@ public class JsonPatch extends JsonArray {
      * <p>
      * Execution is stateful: each op observes mutations produced by previous ops.
      * Capture the return value when the patch may replace/remove the root document.
+     * <p>
+     * A {@link PersistentMap} or {@link PersistentList} target is left unchanged: the
+     * operations run through {@link PersistentNodes#update(Object, java.util.function.UnaryOperator)}
+     * and the new version, sharing every untouched subtree, is returned.
      */
     public Object apply(Object target) {
+        if (PersistentNodes.isPersistent(target)) {
+            return PersistentNodes.update(target, this::_apply);
+        }
+        return _apply(target);
+    }
+
+    /**
+     * Applies all operations like {@link #apply(Object)}, but all-or-nothing.
+     * <p>
+     * While the operations run, the values they replace or remove are kept in an
+     * undo log. If an operation fails, the operations already applied are undone in
+     * reverse order, the target is back in its original state, and the failure is
+     * rethrown. This costs memory and time in proportion to the touched locations,
+     * instead of deep-copying the document up front.
+     * <p>
+     * Operations registered through {@link OperationRegistry#register} are undone by
+     * restoring a copy of the value at their path, so they must write only within it.
+     * Persistent targets are already left unchanged on failure.
+     */
+    public Object applyAtomic(Object target) {
+        if (PersistentNodes.isPersistent(target)) {
+            return apply(target);
+        }
+        PatchUndoLog undoLog = new PatchUndoLog();
         Object current = target;
+        try {
+            int size = size();
+            for (int i = 0; i < size; i++) {
+                current = undoLog.apply(current, _operation(i));
+            }
+            return current;
+        } catch (RuntimeException e) {
+            undoLog.rollback(current, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Compiles the operations into a {@link CompiledPatch} for applying the same
+     * patch to many documents.
+     * <p>
+     * The plan resolves operation handlers now, walks shared pointer prefixes once,
+     * and coalesces adjacent operations on the same path; its results and errors
+     * match {@link #apply(Object)}. Later changes to this patch do not affect it.
+     */
+    public CompiledPatch compile() {
         int size = size();
+        List<PatchOperation> operations = new ArrayList<>(size);
         for (int i = 0; i < size; i++) {
-            Object v = get(i, Object.class);
-            if (v instanceof PatchOperation) {
-                current = ((PatchOperation) v).apply(current);
-            } else throw new JsonException("unsupported patch type: " + Types.name(v));
+            operations.add(_operation(i));
+        }
+        return new CompiledPatch(operations);
+    }
+
+    private Object _apply(Object target) {
+        Object current = target;
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            current = _operation(i).apply(current);
         }
         return current;
     }
 
+    private PatchOperation _operation(int idx) {
+        Object v = get(idx, Object.class);
+        if (v instanceof PatchOperation) return (PatchOperation) v;
+        throw new JsonException("unsupported patch type: " + Types.name(v));
+    }
+
 }
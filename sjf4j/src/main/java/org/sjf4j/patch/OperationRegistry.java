@@ -28,6 +28,7 @@ public class OperationRegistry {
     }
 
     private static final Map<String, OperationHandler> OPERATION_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, OperationHandler> BUILT_IN_CACHE = new ConcurrentHashMap<>();
 
     /**
      * Registers handler for operation name.
@@ -56,6 +57,14 @@ public class OperationRegistry {
      * Applies operation and returns the possibly replaced root document.
      */
     public static Object apply(Object target, PatchOperation operation) {
+        return _apply(target, operation, null);
+    }
+
+    /**
+     * Applies operation like {@link #apply}, running a non-root operation through
+     * {@code override} instead of its registered handler when one is given.
+     */
+    static Object _apply(Object target, PatchOperation operation, OperationHandler override) {
         Objects.requireNonNull(operation, "operation");
         JsonPointer path = _requirePath(operation);
         try {
@@ -66,7 +75,7 @@ public class OperationRegistry {
                 throw new JsonException("cannot apply patch operation '" + operation.getOp() +
                         "' to null target at non-root path " + path);
             }
-            OperationHandler handler = OPERATION_CACHE.get(operation.getOp());
+            OperationHandler handler = override != null ? override : OPERATION_CACHE.get(operation.getOp());
             if (handler == null) throw new JsonException("no operation handler for '" + operation.getOp() + "'");
             handler.apply(target, operation);
             return target;
@@ -159,6 +168,33 @@ public class OperationRegistry {
         return false;
     }
 
+    /**
+     * Validates a non-root {@code move}; returns false when it is a no-op.
+     */
+    static boolean _checkMove(Object target, PatchOperation operation) {
+        JsonPointer from = _requireFrom(operation);
+        JsonPointer path = _requirePath(operation);
+        if (from.equals(path)) {
+            return false;
+        }
+        if (_isProperPrefix(from, path)) {
+            throw new JsonException("'move' operation failed: from " + from +
+                    " is a proper prefix of path " + path);
+        }
+        if (!_contains(target, from)) {
+            throw new JsonException("'move' operation failed at from " + from + ": no value exists");
+        }
+        return true;
+    }
+
+    /**
+     * Returns true while {@code op} is still served by its built-in handler.
+     */
+    static boolean _isBuiltIn(String op) {
+        OperationHandler builtIn = BUILT_IN_CACHE.get(op);
+        return builtIn != null && builtIn == OPERATION_CACHE.get(op);
+    }
+
     // Pre-register build-in PatchOperations
     static {
         // test
@@ -205,19 +241,11 @@ public class OperationRegistry {
 
         // move
         OperationRegistry.register(PatchOperation.STD_MOVE, (target, operation) -> {
-            JsonPointer from = _requireFrom(operation);
-            JsonPointer path = _requirePath(operation);
-            if (from.equals(path)) {
+            if (!_checkMove(target, operation)) {
                 return;
             }
-            if (_isProperPrefix(from, path)) {
-                throw new JsonException("'move' operation failed: from " + from +
-                        " is a proper prefix of path " + path);
-            }
-            if (!_contains(target, from)) {
-                throw new JsonException("'move' operation failed at from " + from + ": no value exists");
-            }
-
+            JsonPointer from = operation.getFrom();
+            JsonPointer path = operation.getPath();
             Object value = from.removeIfPresent(target);
             try {
                 path.add(target, value);
@@ -244,6 +272,8 @@ public class OperationRegistry {
             _requirePath(operation).ensurePut(target, operation.getValue());
         });
 
+        BUILT_IN_CACHE.putAll(OPERATION_CACHE);
+
     }
 
 }
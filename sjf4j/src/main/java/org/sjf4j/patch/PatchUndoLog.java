@@ -0,0 +1,242 @@
+package org.sjf4j.patch;
+
+import org.sjf4j.JsonType;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.node.Nodes;
+import org.sjf4j.path.JsonPointer;
+import org.sjf4j.path.PathSegment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo log behind {@link JsonPatch#applyAtomic(Object)}.
+ *
+ * <p>Before an operation writes, the log records how to put back what it is
+ * about to overwrite, remove, or insert. Replaced and removed values are kept
+ * by reference: once detached they are no longer reachable through the
+ * document, so later operations cannot change them. Rolling back replays the
+ * entries newest first, so every pointer resolves against the same document
+ * state it was recorded in, and the cost is proportional to the number of
+ * touched locations rather than the document size.
+ *
+ * <p>Operations without a known inverse (handlers registered through
+ * {@link OperationRegistry#register}) are recorded by deep-copying the value at
+ * their path, so they roll back correctly only when they write within it.
+ */
+final class PatchUndoLog {
+
+    private static final int PUT = 0;       // replace-or-add the old value
+    private static final int INSERT = 1;    // add the old value (array insert / object put)
+    private static final int DELETE = 2;    // remove whatever is at the pointer
+    private static final int ROOT = 3;      // restore the previous root
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Applies one operation, recording how to undo it.
+     *
+     * @return the possibly replaced root
+     */
+    Object apply(Object root, PatchOperation operation) {
+        int mark = entries.size();
+        String op = operation.getOp();
+        JsonPointer path = operation.getPath();
+        if (path == null || PatchOperation.STD_TEST.equals(op) || PatchOperation.EXT_EXIST.equals(op)) {
+            return OperationRegistry.apply(root, operation);
+        }
+
+        // Built-in operations fail before writing, except move, which may fail after its removal
+        boolean keepOnFailure = true;
+        OperationRegistry.OperationHandler override = null;
+        if (path.length() == 1) {
+            keepOnFailure = _recordRoot(root, operation);
+        } else if (root != null && OperationRegistry._isBuiltIn(op)) {
+            switch (op) {
+                case PatchOperation.STD_ADD:
+                case PatchOperation.STD_COPY:
+                    _recordWrite(root, path, true);
+                    keepOnFailure = false;
+                    break;
+                case PatchOperation.STD_REMOVE:
+                    if (path.contains(root)) _push(INSERT, path, path.getNode(root));
+                    keepOnFailure = false;
+                    break;
+                case PatchOperation.STD_REPLACE:
+                    if (path.contains(root)) _push(PUT, path, path.getNode(root));
+                    keepOnFailure = false;
+                    break;
+                case PatchOperation.STD_MOVE:
+                    override = this::_move;
+                    break;
+                case PatchOperation.EXT_ENSURE_PUT:
+                    _recordEnsurePut(root, path);
+                    break;
+            }
+        } else if (root != null) {
+            if (path.contains(root)) _push(PUT, path, _snapshot(path.getNode(root)));
+            else _push(DELETE, _concrete(root, path), null);
+        }
+
+        try {
+            return OperationRegistry._apply(root, operation, override);
+        } catch (RuntimeException e) {
+            if (!keepOnFailure) _truncate(mark);
+            throw e;
+        }
+    }
+
+    /**
+     * Undoes every recorded operation, newest first, and returns the original root.
+     * Failures while undoing are attached to {@code cause} as suppressed exceptions.
+     */
+    Object rollback(Object root, RuntimeException cause) {
+        Object current = root;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            try {
+                current = entries.get(i).undo(current);
+            } catch (RuntimeException e) {
+                cause.addSuppressed(e);
+            }
+        }
+        entries.clear();
+        return current;
+    }
+
+    /// Record
+
+    private boolean _recordRoot(Object root, PatchOperation operation) {
+        switch (operation.getOp()) {
+            case PatchOperation.STD_ADD:
+            case PatchOperation.STD_REPLACE:
+            case PatchOperation.STD_REMOVE:
+            case PatchOperation.STD_COPY:
+                // These only swap the root reference
+                _push(ROOT, null, root);
+                return false;
+            case PatchOperation.STD_MOVE: {
+                // The moved value becomes the root; it is put back into the old root
+                JsonPointer from = operation.getFrom();
+                if (from == null || from.length() == 1 || root == null || !from.contains(root)) return false;
+                _push(INSERT, from, from.getNode(root));
+                _push(ROOT, null, root);
+                return false;
+            }
+            default:
+                _push(ROOT, null, _snapshot(root));
+                return true;
+        }
+    }
+
+    /**
+     * Records the inverse of an {@code add}-like write at {@code path}: array
+     * inserts and appends are deleted again, existing object keys are restored,
+     * and new keys are removed.
+     */
+    private void _recordWrite(Object root, JsonPointer path, boolean insertIntoArray) {
+        JsonPointer parentPath = path.parent();
+        if (!parentPath.contains(root)) return;
+        Object parent = parentPath.getNode(root);
+        if (parent == null) return;
+        if (path.isAppend()) {
+            _push(DELETE, parentPath.childIndex(Nodes.sizeInArray(parent)), null);
+        } else if (path.contains(root) && !(insertIntoArray && JsonType.of(parent).isArray())) {
+            _push(PUT, path, path.getNode(root));
+        } else {
+            _push(DELETE, path, null);
+        }
+    }
+
+    private void _recordEnsurePut(Object root, JsonPointer path) {
+        PathSegment[] segments = path.segments();
+        for (int i = 1; i < segments.length - 1; i++) {
+            JsonPointer prefix = JsonPointer.fromLast(segments[i]);
+            if (prefix.contains(root)) {
+                if (prefix.getNode(root) != null) continue;
+                // A null container is replaced along with everything below it
+                _push(PUT, prefix, null);
+            } else {
+                _push(DELETE, _concrete(root, prefix), null);
+            }
+            return;
+        }
+        _recordWrite(root, path, false);
+    }
+
+    /**
+     * Built-in {@code move} split into its removal and its insertion, so the
+     * inverse of the insertion is recorded against the state it runs in.
+     */
+    private void _move(Object target, PatchOperation operation) {
+        if (!OperationRegistry._checkMove(target, operation)) return;
+        JsonPointer from = operation.getFrom();
+        JsonPointer path = operation.getPath();
+        Object value = from.removeIfPresent(target);
+        _push(INSERT, from, value);
+        int mark = entries.size();
+        _recordWrite(target, path, true);
+        try {
+            path.add(target, value);
+        } catch (RuntimeException e) {
+            _truncate(mark);
+            throw e;
+        }
+    }
+
+    /**
+     * Resolves an append pointer to the index it will write, so it can be deleted later.
+     */
+    private static JsonPointer _concrete(Object root, JsonPointer pointer) {
+        if (!pointer.isAppend()) return pointer;
+        JsonPointer parentPath = pointer.parent();
+        Object parent = parentPath.contains(root) ? parentPath.getNode(root) : null;
+        return parent == null ? pointer : parentPath.childIndex(Nodes.sizeInArray(parent));
+    }
+
+    private void _push(int kind, JsonPointer pointer, Object value) {
+        entries.add(new Entry(kind, pointer, value));
+    }
+
+    private void _truncate(int mark) {
+        while (entries.size() > mark) entries.remove(entries.size() - 1);
+    }
+
+    private static Object _snapshot(Object node) {
+        return node == null ? null : Sjf4j.global().deepNode(node);
+    }
+
+    /// Entry
+
+    private static final class Entry {
+        private final int kind;
+        private final JsonPointer pointer;
+        private final Object value;
+
+        Entry(int kind, JsonPointer pointer, Object value) {
+            this.kind = kind;
+            this.pointer = pointer;
+            this.value = value;
+        }
+
+        Object undo(Object root) {
+            switch (kind) {
+                case ROOT:
+                    return value;
+                case PUT:
+                    if (pointer.contains(root)) pointer.replace(root, value);
+                    else pointer.add(root, value);
+                    return root;
+                case INSERT:
+                    pointer.add(root, value);
+                    return root;
+                case DELETE:
+                    if (!pointer.isAppend() && pointer.contains(root)) pointer.removeIfPresent(root);
+                    return root;
+                default:
+                    throw new JsonException("unknown undo entry kind " + kind);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,415 @@
+package org.sjf4j.patch;
+
+import org.sjf4j.JsonType;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
+import org.sjf4j.facade.StreamingReader;
+import org.sjf4j.facade.StreamingWriter;
+import org.sjf4j.node.Nodes;
+import org.sjf4j.path.JsonPointer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies patches while copying one document from a {@link StreamingReader} to a
+ * {@link StreamingWriter}, without building the document in memory.
+ *
+ * <p>Untouched subtrees are copied with {@link StreamingIO#copyValue}; only patch
+ * values and the values checked by {@code test} become nodes. Both methods read one complete
+ * document, call {@code startDocument}/{@code endDocument} on both sides, and
+ * flush the writer. A typical call:
+ * <pre>{@code
+ * JsonFacade<?, ?> facade = sjf4j.jsonFacade();
+ * StreamingPatch.mergePatch(facade.createReader(input), facade.createWriter(output), patch);
+ * }</pre>
+ *
+ * <p>{@link #mergePatch} supports RFC 7386 fully. {@link #apply} supports the JSON
+ * Patch operations that can be applied in one forward pass; see its documentation.
+ * When a patch fails, part of the result has already been written and must be
+ * discarded.
+ */
+public final class StreamingPatch {
+
+    private StreamingPatch() {}
+
+    /**
+     * Copies the document and applies an RFC 7386 merge patch to it, with the same
+     * result as {@link Patches#mergePatch(Object, Object)}: existing members keep
+     * their position and new members follow in patch order.
+     */
+    public static void mergePatch(StreamingReader reader, StreamingWriter writer, Object patch) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(writer, "writer");
+        reader.startDocument();
+        writer.startDocument();
+        _merge(reader, writer, patch);
+        reader.endDocument();
+        writer.endDocument();
+        writer.flush();
+    }
+
+    /**
+     * Copies the document and applies a JSON Patch to it, with the same result as
+     * {@link JsonPatch#apply(Object)}.
+     * <p>
+     * Supported are the built-in {@code add}, {@code remove}, {@code replace},
+     * {@code test}, and {@code exist} operations at non-root paths, where no
+     * operation touches a location at, inside, or above another operation's
+     * location (several {@code add}s to the same {@code /-} are allowed). Within
+     * one array, an operation may not come after an {@code add} or {@code remove}
+     * at the same or a lower index, because that shifts the element it refers to.
+     * Other patches fail with {@link JsonException} before anything is read.
+     * <p>
+     * Failures are reported in document order rather than operation order.
+     */
+    public static void apply(StreamingReader reader, StreamingWriter writer, JsonPatch patch) throws IOException {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(writer, "writer");
+        Objects.requireNonNull(patch, "patch");
+        Target root = new Target(null);
+        int size = patch.size();
+        for (int i = 0; i < size; i++) {
+            root.plan(patch.get(i, PatchOperation.class));
+        }
+        reader.startDocument();
+        writer.startDocument();
+        _patch(reader, writer, root);
+        reader.endDocument();
+        writer.endDocument();
+        writer.flush();
+    }
+
+    /// Merge patch
+
+    private static void _merge(StreamingReader reader, StreamingWriter writer, Object patch) throws IOException {
+        if (!JsonType.of(patch).isObject()) {
+            reader.skipNext();
+            _write(writer, patch);
+            return;
+        }
+        if (reader.peekToken() != StreamingReader.Token.START_OBJECT) {
+            reader.skipNext();
+            _write(writer, Patches.mergePatch(null, patch));
+            return;
+        }
+        Set<String> merged = new HashSet<>();
+        int cnt = 0;
+        reader.startObject();
+        writer.startObject();
+        while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
+            String name = reader.nextName();
+            if (!Nodes.containsInObject(patch, name)) {
+                if (cnt++ > 0) writer.writeObjectComma();
+                writer.writeName(name);
+                StreamingIO.copyValue(reader, writer);
+                continue;
+            }
+            merged.add(name);
+            Object subPatch = Nodes.getInObject(patch, name);
+            if (subPatch == null) {
+                reader.skipNext();
+                continue;
+            }
+            if (cnt++ > 0) writer.writeObjectComma();
+            writer.writeName(name);
+            _merge(reader, writer, subPatch);
+        }
+        for (Map.Entry<String, Object> entry : Nodes.entrySetInObject(patch)) {
+            if (entry.getValue() == null || merged.contains(entry.getKey())) continue;
+            if (cnt++ > 0) writer.writeObjectComma();
+            writer.writeName(entry.getKey());
+            _write(writer, Patches.mergePatch(null, entry.getValue()));
+        }
+        reader.endObject();
+        writer.endObject();
+    }
+
+    /// JSON Patch
+
+    /**
+     * Copies a value that has patched locations below it.
+     */
+    private static void _patch(StreamingReader reader, StreamingWriter writer, Target target) throws IOException {
+        switch (reader.peekToken()) {
+            case START_OBJECT:
+                _patchObject(reader, writer, target);
+                break;
+            case START_ARRAY:
+                _patchArray(reader, writer, target);
+                break;
+            default:
+                StreamingIO.copyValue(reader, writer);
+                throw _missing(target);
+        }
+    }
+
+    private static void _patchObject(StreamingReader reader, StreamingWriter writer, Target target)
+            throws IOException {
+        if (!target.appends.isEmpty()) {
+            throw new JsonException("cannot add value at path '" + target.appends.get(0).getPath() +
+                    "': expected Array node, but was an object");
+        }
+        int cnt = 0;
+        reader.startObject();
+        writer.startObject();
+        while (reader.peekToken() != StreamingReader.Token.END_OBJECT) {
+            String name = reader.nextName();
+            Target child = target.children.get(name);
+            if (child == null || child.visited) {
+                if (cnt++ > 0) writer.writeObjectComma();
+                writer.writeName(name);
+                StreamingIO.copyValue(reader, writer);
+                continue;
+            }
+            child.visited = true;
+            if (child.operation == null || !PatchOperation.STD_REMOVE.equals(child.operation.getOp())) {
+                if (cnt++ > 0) writer.writeObjectComma();
+                writer.writeName(name);
+            }
+            _patchValue(reader, writer, child);
+        }
+        for (Target child : target.children.values()) {
+            if (child.visited) continue;
+            if (child.operation == null || !PatchOperation.STD_ADD.equals(child.operation.getOp())) {
+                throw _missing(child);
+            }
+            if (cnt++ > 0) writer.writeObjectComma();
+            writer.writeName(child.token);
+            _write(writer, child.operation.getValue());
+        }
+        reader.endObject();
+        writer.endObject();
+    }
+
+    private static void _patchArray(StreamingReader reader, StreamingWriter writer, Target target)
+            throws IOException {
+        if (target.shifted != null) {
+            throw _unsupported(target.shifted, "it follows an 'add' or 'remove' that shifts its array index");
+        }
+        int cnt = 0;
+        int idx = 0;
+        reader.startArray();
+        writer.startArray();
+        while (reader.peekToken() != StreamingReader.Token.END_ARRAY) {
+            Target child = target.children.get(Integer.toString(idx++));
+            if (child == null) {
+                if (cnt++ > 0) writer.writeArrayComma();
+                StreamingIO.copyValue(reader, writer);
+                continue;
+            }
+            child.visited = true;
+            PatchOperation operation = child.operation;
+            if (operation != null && PatchOperation.STD_ADD.equals(operation.getOp())) {
+                // Insert before the existing element, which stays unchanged
+                if (cnt++ > 0) writer.writeArrayComma();
+                _write(writer, operation.getValue());
+                writer.writeArrayComma();
+                cnt++;
+                StreamingIO.copyValue(reader, writer);
+            } else {
+                if (operation == null || !PatchOperation.STD_REMOVE.equals(operation.getOp())) {
+                    if (cnt++ > 0) writer.writeArrayComma();
+                }
+                _patchValue(reader, writer, child);
+            }
+        }
+        String end = Integer.toString(idx);
+        for (Target child : target.children.values()) {
+            if (child.visited) continue;
+            if (child.token.equals(end) && child.operation != null
+                    && PatchOperation.STD_ADD.equals(child.operation.getOp())) {
+                // Inserted before all appended elements, wherever the appends were planned
+                if (cnt++ > 0) writer.writeArrayComma();
+                _write(writer, child.operation.getValue());
+            } else if (child.afterAppend != null) {
+                throw _unsupported(child.afterAppend, "it refers to an element appended by an earlier '-'");
+            } else {
+                throw _missing(child);
+            }
+        }
+        for (PatchOperation append : target.appends) {
+            if (cnt++ > 0) writer.writeArrayComma();
+            _write(writer, append.getValue());
+        }
+        reader.endArray();
+        writer.endArray();
+    }
+
+    /**
+     * Writes the value of an existing location, after its name if it is kept.
+     */
+    private static void _patchValue(StreamingReader reader, StreamingWriter writer, Target target)
+            throws IOException {
+        PatchOperation operation = target.operation;
+        if (operation == null) {
+            _patch(reader, writer, target);
+            return;
+        }
+        switch (operation.getOp()) {
+            case PatchOperation.STD_ADD:
+            case PatchOperation.STD_REPLACE:
+                reader.skipNext();
+                _write(writer, operation.getValue());
+                break;
+            case PatchOperation.STD_REMOVE:
+                reader.skipNext();
+                break;
+            case PatchOperation.STD_TEST: {
+                Object node = StreamingIO.readNode(reader, Object.class, StreamingContext.EMPTY);
+                if (!Nodes.equals(node, operation.getValue())) {
+                    throw new JsonException("'test' operation failed at path " + operation.getPath() +
+                            ": expected " + operation.getValue() + ", but was " + node);
+                }
+                _write(writer, node);
+                break;
+            }
+            default:
+                StreamingIO.copyValue(reader, writer);
+                break;
+        }
+    }
+
+    private static JsonException _missing(Target target) {
+        PatchOperation operation = target.first();
+        if (PatchOperation.STD_ADD.equals(operation.getOp())) {
+            return new JsonException("cannot add value at path '" + operation.getPath() +
+                    "': parent container does not exist or index is out of range");
+        }
+        return new JsonException("'" + operation.getOp() + "' operation failed at path " +
+                operation.getPath() + ": no value exists");
+    }
+
+    private static JsonException _unsupported(PatchOperation operation, String reason) {
+        return new JsonException("streaming patch does not support '" + operation.getOp() +
+                "' at path " + operation.getPath() + ": " + reason);
+    }
+
+    /// Write
+
+    private static void _write(StreamingWriter writer, Object node) throws IOException {
+        StreamingIO.writeNode(writer, node, StreamingContext.EMPTY);
+    }
+
+    /// Target
+
+    /**
+     * One location in the tree of patched pointers.
+     */
+    private static final class Target {
+        private final String token;
+        private final Map<String, Target> children = new LinkedHashMap<>();
+        private final List<PatchOperation> appends = new ArrayList<>(0);
+        private PatchOperation operation;
+
+        // Lowest array index written by an add or remove so far, and the first
+        // operation that refers to an index at or above it
+        private int lowestShift = Integer.MAX_VALUE;
+        private PatchOperation shifted;
+
+        // First operation that reached this array index after an append to its parent
+        private PatchOperation afterAppend;
+
+        private boolean visited;
+
+        Target(String token) {
+            this.token = token;
+        }
+
+        void plan(PatchOperation operation) {
+            String op = operation.getOp();
+            JsonPointer path = operation.getPath();
+            if (path == null) {
+                throw new JsonException("patch operation '" + op + "' is missing path");
+            }
+            if (!_isForwardOp(op)) {
+                throw _unsupported(operation, "only built-in add, remove, replace, test, and exist are supported");
+            }
+            if (path.length() == 1) {
+                throw _unsupported(operation, "root paths are not supported");
+            }
+            String[] tokens = _tokens(path);
+            Target parent = this;
+            for (int i = 0; i < tokens.length - 1; i++) {
+                if ("-".equals(tokens[i])) throw _unsupported(operation, "'-' is only supported as the last token");
+                if (parent.operation != null) throw _unsupported(operation, "an ancestor location is already patched");
+                parent = parent._child(tokens[i], operation, false);
+            }
+            if (parent.operation != null) throw _unsupported(operation, "an ancestor location is already patched");
+            String last = tokens[tokens.length - 1];
+            if ("-".equals(last)) {
+                if (!PatchOperation.STD_ADD.equals(op)) throw _unsupported(operation, "'-' is only supported by add");
+                parent.appends.add(operation);
+                return;
+            }
+            boolean shifts = PatchOperation.STD_ADD.equals(op) || PatchOperation.STD_REMOVE.equals(op);
+            Target target = parent._child(last, operation, shifts);
+            if (target.operation != null || !target.children.isEmpty() || !target.appends.isEmpty()) {
+                throw _unsupported(operation, "the location or a location inside it is already patched");
+            }
+            target.operation = operation;
+        }
+
+        private Target _child(String token, PatchOperation operation, boolean shifts) {
+            int idx = _index(token);
+            if (idx >= 0) {
+                if (idx >= lowestShift && shifted == null) shifted = operation;
+                if (shifts) lowestShift = Math.min(lowestShift, idx);
+            }
+            Target child = children.computeIfAbsent(token, Target::new);
+            if (idx >= 0 && !appends.isEmpty() && child.afterAppend == null) child.afterAppend = operation;
+            return child;
+        }
+
+        /**
+         * Returns the first operation at or below this location.
+         */
+        PatchOperation first() {
+            if (operation != null) return operation;
+            if (!appends.isEmpty()) return appends.get(0);
+            return children.values().iterator().next().first();
+        }
+
+        private static boolean _isForwardOp(String op) {
+            if (op == null || !OperationRegistry._isBuiltIn(op)) return false;
+            switch (op) {
+                case PatchOperation.STD_ADD:
+                case PatchOperation.STD_REMOVE:
+                case PatchOperation.STD_REPLACE:
+                case PatchOperation.STD_TEST:
+                case PatchOperation.EXT_EXIST:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private static String[] _tokens(JsonPointer pointer) {
+            String[] tokens = pointer.toExpr().substring(1).split("/", -1);
+            for (int i = 0; i < tokens.length; i++) {
+                if (tokens[i].indexOf('~') >= 0) {
+                    tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+                }
+            }
+            return tokens;
+        }
+
+        private static int _index(String token) {
+            int len = token.length();
+            if (len == 0 || len > 9 || (len > 1 && token.charAt(0) == '0')) return -1;
+            for (int i = 0; i < len; i++) {
+                char c = token.charAt(i);
+                if (c < '0' || c > '9') return -1;
+            }
+            return Integer.parseInt(token);
+        }
+    }
+
+}
@@ -0,0 +1,400 @@
+package org.sjf4j.path;
+
+import org.sjf4j.JsonType;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.node.Nodes;
+import org.sjf4j.node.Numbers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles {@link FilterExpr} trees into {@link FilterPredicate}s.
+ *
+ * <p>Compilation runs once per filter segment at parse time and keeps the
+ * semantics of {@link FilterExpr#evalTruth}:
+ * <ul>
+ *   <li>logical and comparison nodes become primitive-boolean predicates, so no
+ *   intermediate {@code Boolean} results are boxed;</li>
+ *   <li>subexpressions built only from literals are folded to constants, and
+ *   {@code &&}/{@code ||} with a constant side are simplified;</li>
+ *   <li>function calls bind their {@link FunctionRegistry.FunctionDescriptor}
+ *   up front and rebind only after a later {@link FunctionRegistry#register};
+ *   literal arguments are evaluated once;</li>
+ *   <li>{@code in}/{@code nin} against a literal array probe a pre-built hash set
+ *   keyed by filter {@code ==} semantics instead of scanning the list.</li>
+ * </ul>
+ */
+final class FilterCompiler {
+
+    private FilterCompiler() {}
+
+    private static final Object NOTHING = FilterExpr.PathExpr.NOTHING;
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final int UNORDERED = Integer.MIN_VALUE;
+
+    private static final FilterPredicate TRUE = new Constant(true);
+    private static final FilterPredicate FALSE = new Constant(false);
+
+    /**
+     * Compiles the filter into a predicate.
+     */
+    static FilterPredicate compile(FilterExpr expr) {
+        return _predicate(expr);
+    }
+
+    /// Predicates
+
+    private static FilterPredicate _predicate(FilterExpr expr) {
+        if (expr instanceof FilterExpr.BinaryExpr) {
+            return _binary((FilterExpr.BinaryExpr) expr);
+        }
+        if (expr instanceof FilterExpr.UnaryExpr) {
+            FilterExpr.UnaryExpr unary = (FilterExpr.UnaryExpr) expr;
+            FilterPredicate operand = _predicate(unary.operand());
+            if (!unary.negated()) return operand;
+            if (operand instanceof Constant) return _constant(!((Constant) operand).value);
+            return (r, c) -> !operand.test(r, c);
+        }
+        Operand operand = _operand(expr, false);
+        if (operand instanceof Const) return _constant(FilterExpr.truth(((Const) operand).value));
+        return (r, c) -> FilterExpr.truth(operand.eval(r, c));
+    }
+
+    private static FilterPredicate _binary(FilterExpr.BinaryExpr expr) {
+        FilterExpr.Op op = expr.op();
+        if (op == FilterExpr.Op.AND || op == FilterExpr.Op.OR) {
+            return _logical(op == FilterExpr.Op.AND, _predicate(expr.left()), _predicate(expr.right()));
+        }
+
+        Operand left = _operand(expr.left(), true);
+        Operand right = _operand(expr.right(), true);
+        FilterPredicate p = _comparison(op, left, right);
+        if (left instanceof Const && right instanceof Const) return _constant(p.test(null, null));
+        return p;
+    }
+
+    private static FilterPredicate _logical(boolean and, FilterPredicate left, FilterPredicate right) {
+        if (left instanceof Constant) {
+            boolean v = ((Constant) left).value;
+            return v == and ? right : left;
+        }
+        if (right instanceof Constant && ((Constant) right).value == and) return left;
+        if (and) return (r, c) -> left.test(r, c) && right.test(r, c);
+        return (r, c) -> left.test(r, c) || right.test(r, c);
+    }
+
+    private static FilterPredicate _comparison(FilterExpr.Op op, Operand left, Operand right) {
+        switch (op) {
+            case EQ: {
+                if (right instanceof Const) {
+                    Object k = ((Const) right).value;
+                    return (r, c) -> _eq(left.eval(r, c), k);
+                }
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    return _eq(a, right.eval(r, c));
+                };
+            }
+            case NE: {
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    Object b = right.eval(r, c);
+                    return a != NOTHING && b != NOTHING && !_eq(a, b);
+                };
+            }
+            case GT: {
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    return _order(a, right.eval(r, c)) > 0;
+                };
+            }
+            case GE: {
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    return _order(a, right.eval(r, c)) >= 0;
+                };
+            }
+            case LT: {
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    int o = _order(a, right.eval(r, c));
+                    return o != UNORDERED && o < 0;
+                };
+            }
+            case LE: {
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    int o = _order(a, right.eval(r, c));
+                    return o != UNORDERED && o <= 0;
+                };
+            }
+            case MATCH: {
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    return FilterExpr.match(a, right.eval(r, c));
+                };
+            }
+            case IN:
+            case NIN: {
+                boolean in = op == FilterExpr.Op.IN;
+                Set<NodeKey> members = right instanceof Const ? _hashed(((Const) right).value) : null;
+                if (members != null) {
+                    return (r, c) -> {
+                        Object a = left.eval(r, c);
+                        return a != NOTHING && members.contains(new NodeKey(a)) == in;
+                    };
+                }
+                return (r, c) -> {
+                    Object a = left.eval(r, c);
+                    Object b = right.eval(r, c);
+                    return a != NOTHING && b != NOTHING && FilterExpr.in(a, b) == in;
+                };
+            }
+            default:
+                throw new JsonException("unsupported filter operator '" + op + "'");
+        }
+    }
+
+    private static Set<NodeKey> _hashed(Object array) {
+        if (!JsonType.of(array).isArray()) return null;
+        Set<NodeKey> members = new HashSet<>();
+        Nodes.forEachArray(array, (i, v) -> members.add(new NodeKey(v)));
+        return members;
+    }
+
+    private static boolean _eq(Object a, Object b) {
+        if (a == NOTHING || b == NOTHING) return false;
+        if (a instanceof String && b instanceof String) return a.equals(b);
+        if (_isPlainNumber(a) && _isPlainNumber(b)) return _compareNumbers((Number) a, (Number) b) == 0;
+        return Nodes.equals(a, b);
+    }
+
+    /**
+     * Orders two operands like {@code FilterExpr.gt/lt}: numbers with numbers and
+     * strings with strings; anything else is {@link #UNORDERED}.
+     */
+    private static int _order(Object a, Object b) {
+        if (a == NOTHING || b == NOTHING) return UNORDERED;
+        if (_isPlainNumber(a) && _isPlainNumber(b)) return _compareNumbers((Number) a, (Number) b);
+        if (a instanceof String && b instanceof String) return Integer.signum(((String) a).compareTo((String) b));
+        JsonType ajt = JsonType.of(a);
+        JsonType bjt = JsonType.of(b);
+        if (ajt.isNumber() && bjt.isNumber()) {
+            return Integer.signum(Numbers.compare(Nodes.toNumber(a), Nodes.toNumber(b)));
+        }
+        if (ajt.isString() && bjt.isString()) {
+            return Integer.signum(Nodes.toString(a).compareTo(Nodes.toString(b)));
+        }
+        return UNORDERED;
+    }
+
+    private static boolean _isPlainNumber(Object v) {
+        return v instanceof Integer || v instanceof Long || v instanceof Double;
+    }
+
+    /**
+     * Compares Integer/Long/Double values with the outcome of {@link Numbers#compare}.
+     * Longs are compared exactly; doubles, and longs within 2^53 against doubles,
+     * are compared as doubles, which orders them the same way as the decimal form
+     * {@code Numbers.compare} uses. Everything else goes through {@code Numbers.compare}.
+     */
+    private static int _compareNumbers(Number a, Number b) {
+        boolean ad = a instanceof Double;
+        boolean bd = b instanceof Double;
+        if (!ad && !bd) return Long.compare(a.longValue(), b.longValue());
+        if ((ad || _fitsDouble(a.longValue())) && (bd || _fitsDouble(b.longValue()))) {
+            double x = a.doubleValue();
+            double y = b.doubleValue();
+            if (x < y) return -1;
+            if (x > y) return 1;
+            if (x == y) return 0;
+        }
+        return Integer.signum(Numbers.compare(a, b));
+    }
+
+    private static boolean _fitsDouble(long v) {
+        return v >= -(1L << 53) && v <= (1L << 53);
+    }
+
+    private static FilterPredicate _constant(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    private static final class Constant implements FilterPredicate {
+        private final boolean value;
+
+        Constant(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(Object rootNode, Object currentNode) {
+            return value;
+        }
+    }
+
+    /// Operands
+
+    /**
+     * Value-producing part of a compiled filter.
+     */
+    @FunctionalInterface
+    private interface Operand {
+        Object eval(Object rootNode, Object currentNode);
+    }
+
+    private static final class Const implements Operand {
+        private final Object value;
+
+        Const(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object eval(Object rootNode, Object currentNode) {
+            return value;
+        }
+    }
+
+    private static Operand _operand(FilterExpr expr, boolean compared) {
+        if (expr instanceof FilterExpr.LiteralExpr) {
+            return new Const(((FilterExpr.LiteralExpr) expr).value());
+        }
+        if (expr instanceof FilterExpr.RegexExpr) {
+            return new Const(((FilterExpr.RegexExpr) expr).pattern());
+        }
+        if (expr instanceof FilterExpr.PathExpr) {
+            return _path(((FilterExpr.PathExpr) expr).path(), compared);
+        }
+        if (expr instanceof FilterExpr.ArrayExpr) {
+            return _array((FilterExpr.ArrayExpr) expr);
+        }
+        if (expr instanceof FilterExpr.FunctionExpr) {
+            return _function((FilterExpr.FunctionExpr) expr);
+        }
+        if (expr instanceof FilterExpr.BinaryExpr || expr instanceof FilterExpr.UnaryExpr) {
+            FilterPredicate p = _predicate(expr);
+            if (p instanceof Constant) return new Const(((Constant) p).value);
+            return (r, c) -> p.test(r, c);
+        }
+        return expr::eval;
+    }
+
+    private static Operand _path(JsonPath path, boolean compared) {
+        boolean rooted = path.rooted();
+        if (path.singleGet) {
+            int len = path.length();
+            return (r, c) -> {
+                Object value = path._findOne(rooted ? r : c, 1, len);
+                return value == JsonPath.MISSING ? NOTHING : value;
+            };
+        }
+        if (compared && path.tail() instanceof PathSegment.Function) {
+            return (r, c) -> {
+                Object value = path.eval(rooted ? r : c);
+                JsonType type = JsonType.of(value);
+                if (type.isArray() || type.isObject()) {
+                    throw new JsonException("filter comparison path '" + path + "' function returned " + type +
+                            "; comparison requires scalar output");
+                }
+                return value;
+            };
+        }
+        return (r, c) -> path.eval(rooted ? r : c);
+    }
+
+    private static Operand _array(FilterExpr.ArrayExpr expr) {
+        if (expr.literalValues() != null) return new Const(expr.literalValues());
+        int size = expr.elements.size();
+        Operand[] elements = new Operand[size];
+        List<Object> constants = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements[i] = _operand(expr.elements.get(i), false);
+            if (constants != null && elements[i] instanceof Const) constants.add(((Const) elements[i]).value);
+            else constants = null;
+        }
+        if (constants != null) return new Const(Collections.unmodifiableList(constants));
+        return (r, c) -> {
+            List<Object> values = new ArrayList<>(size);
+            for (Operand element : elements) values.add(element.eval(r, c));
+            return values;
+        };
+    }
+
+    private static Operand _function(FilterExpr.FunctionExpr expr) {
+        String name = expr.name;
+        int size = expr.args.size();
+        if (size == 0) {
+            return (r, c) -> {
+                throw new JsonException("function '" + name + "' requires a target argument");
+            };
+        }
+        BoundFunction fn = new BoundFunction(name);
+        Operand target = _operand(expr.args.get(0), false);
+        Operand[] args = new Operand[size - 1];
+        Object[] constArgs = size == 1 ? NO_ARGS : new Object[size - 1];
+        for (int i = 1; i < size; i++) {
+            args[i - 1] = _operand(expr.args.get(i), false);
+            if (constArgs != null && args[i - 1] instanceof Const) constArgs[i - 1] = ((Const) args[i - 1]).value;
+            else constArgs = null;
+        }
+        if (constArgs != null) {
+            Object[] fixed = constArgs;
+            return (r, c) -> fn.invoke(target.eval(r, c), fixed);
+        }
+        return (r, c) -> {
+            Object value = target.eval(r, c);
+            Object[] values = new Object[args.length];
+            for (int i = 0; i < args.length; i++) values[i] = args[i].eval(r, c);
+            return fn.invoke(value, values);
+        };
+    }
+
+    /**
+     * Function descriptor bound at compile time and rebound when the registry changes.
+     */
+    private static final class BoundFunction {
+        private final String name;
+        private Binding binding;
+
+        BoundFunction(String name) {
+            this.name = name;
+            this.binding = _bind();
+        }
+
+        Object invoke(Object target, Object[] args) {
+            Binding b = binding;
+            if (b.version != FunctionRegistry.version()) {
+                b = _bind();
+                binding = b;
+            }
+            if (b.fd == null) throw new JsonException("function '" + name + "' does not exist");
+            try {
+                return b.fd.invoke(target, args);
+            } catch (Exception e) {
+                throw new JsonException("function '" + name + "' invocation failed", e);
+            }
+        }
+
+        private Binding _bind() {
+            int version = FunctionRegistry.version();
+            return new Binding(version, FunctionRegistry.get(name));
+        }
+    }
+
+    private static final class Binding {
+        private final int version;
+        private final FunctionRegistry.FunctionDescriptor fd;
+
+        Binding(int version, FunctionRegistry.FunctionDescriptor fd) {
+            this.version = version;
+            this.fd = fd;
+        }
+    }
+
+}
@@ -14,7 +14,8 @@ import java.util.regex.Pattern;
  *
  * <p>Expressions are evaluated against a root node and a current node. The
  * result can be any value, and {@link #evalTruth} converts it to a boolean
- * using JSONPath truthiness rules.
+ * using JSONPath truthiness rules. {@link #compile} turns a tree into a
+ * {@link FilterPredicate} for repeated evaluation.
  */
 public interface FilterExpr {
 
@@ -31,6 +32,14 @@ public interface FilterExpr {
         return truth(v);
     }
 
+    /**
+     * Compiles this expression into a predicate with the same truth as {@link #evalTruth}.
+     * Filter segments compile their expression once at parse time.
+     */
+    default FilterPredicate compile() {
+        return FilterCompiler.compile(this);
+    }
+
     /// Implements: LiteralExpr, PathExpr, UnaryExpr, FunctionExpr
 
     /**
@@ -49,6 +58,11 @@ public interface FilterExpr {
         @Override
         public Object eval(Object rootNode, Object currentNode) { return value; }
 
+        /**
+         * Returns the literal value.
+         */
+        public Object value() { return value; }
+
         /**
          * Returns source-like literal rendering.
          */
@@ -81,6 +95,11 @@ public interface FilterExpr {
             this.path = Objects.requireNonNull(path, "path");
         }
 
+        /**
+         * Returns the evaluated path.
+         */
+        public JsonPath path() { return path; }
+
         /**
          * Evaluates this path against root or current context.
          */
@@ -116,6 +135,16 @@ public interface FilterExpr {
             this.unary = unary;
         }
 
+        /**
+         * Returns true for {@code !expr}.
+         */
+        public boolean negated() { return !truth; }
+
+        /**
+         * Returns the operand expression.
+         */
+        public FilterExpr operand() { return unary; }
+
         /**
          * Evaluates unary truthiness operation.
          */
@@ -157,6 +186,21 @@ public interface FilterExpr {
             }
         }
 
+        /**
+         * Returns the left operand.
+         */
+        public FilterExpr left() { return left; }
+
+        /**
+         * Returns the right operand.
+         */
+        public FilterExpr right() { return right; }
+
+        /**
+         * Returns the operator.
+         */
+        public Op op() { return op; }
+
         /**
          * Evaluates binary operator over both operands.
          */
@@ -264,6 +308,11 @@ public interface FilterExpr {
             this.literalValues = values == null ? null : java.util.Collections.unmodifiableList(values);
         }
 
+        /**
+         * Returns the element values when every element is a literal, otherwise {@code null}.
+         */
+        public List<Object> literalValues() { return literalValues; }
+
         @Override
         public Object eval(Object rootNode, Object currentNode) {
             if (literalValues != null) return literalValues;
@@ -300,6 +349,11 @@ public interface FilterExpr {
             this.pattern = pattern;
         }
 
+        /**
+         * Returns the compiled regex.
+         */
+        public Pattern pattern() { return pattern; }
+
         /**
          * Evaluates to compiled regex pattern.
          */
@@ -0,0 +1,17 @@
+package org.sjf4j.path;
+
+/**
+ * Compiled form of a {@link FilterExpr}, produced by {@link FilterExpr#compile()}.
+ *
+ * <p>A predicate answers the same question as {@link FilterExpr#evalTruth} for
+ * the same root and current nodes, without boxing intermediate results.
+ */
+@FunctionalInterface
+public interface FilterPredicate {
+
+    /**
+     * Returns true when the filter selects the current node.
+     */
+    boolean test(Object rootNode, Object currentNode);
+
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -30,19 +31,50 @@ public class FunctionRegistry {
         Object apply(Object target, Object[] args);
     }
 
+    /**
+     * Incremental form of a function over several matches.
+     * <p>
+     * Feeding matches {@code v1..vn} (n &gt;= 2) to {@code accept} and calling {@code result}
+     * must return what the function returns for the list {@code [v1..vn]}.
+     */
+    public interface PathAggregate {
+        void accept(Object value);
+
+        Object result();
+    }
+
+    /**
+     * Creates a fresh {@link PathAggregate} for one evaluation; args are the function's
+     * literal arguments and must be treated as read-only.
+     */
+    @FunctionalInterface
+    public interface AggregateFactory {
+        PathAggregate create(Object[] args);
+    }
+
     public static class FunctionDescriptor {
         private final String name;
         private final PathFunction func;
+        private final AggregateFactory aggregate;
 
         /**
          * Creates a function descriptor with name and implementation.
          */
         public FunctionDescriptor(String name, PathFunction func) {
+            this(name, func, null);
+        }
+
+        /**
+         * Creates a function descriptor whose multi-match evaluation folds matches through
+         * {@code aggregate} instead of collecting them into a list.
+         */
+        public FunctionDescriptor(String name, PathFunction func, AggregateFactory aggregate) {
             Objects.requireNonNull(name, "name");
             if (name.isEmpty()) throw new JsonException("function name must not be empty");
             Objects.requireNonNull(func, "func");
             this.name = name;
             this.func = func;
+            this.aggregate = aggregate;
         }
 
         /**
@@ -57,11 +89,74 @@ public class FunctionRegistry {
          * Returns the function name.
          */
         public String getName() { return name; }
+
+        /**
+         * Returns true if multi-match evaluation can fold matches incrementally.
+         */
+        public boolean hasAggregate() { return aggregate != null; }
+
+        /**
+         * Creates a new aggregate for the given args, or returns null when the function
+         * only supports list targets.
+         */
+        public PathAggregate newAggregate(Object[] args) {
+            return aggregate == null ? null : aggregate.create(args);
+        }
+    }
+
+    /**
+     * Streams matches of a function path into its aggregate.
+     * <p>
+     * Like the list form of {@link JsonPath#eval}, no match yields null and a single match is
+     * passed to the function as-is; folding starts with the second match.
+     */
+    static final class AggregateSink implements JsonPath.MatchSink {
+        private final FunctionDescriptor fd;
+        private final Object[] args;
+        private int count;
+        private Object first;
+        private PathAggregate aggregate;
+
+        AggregateSink(FunctionDescriptor fd, Object[] args) {
+            this.fd = fd;
+            this.args = args;
+        }
+
+        @Override
+        public boolean accept(Object node) {
+            try {
+                if (count == 0) {
+                    first = node;
+                } else {
+                    if (count == 1) {
+                        aggregate = fd.newAggregate(args);
+                        aggregate.accept(first);
+                        first = null;
+                    }
+                    aggregate.accept(node);
+                }
+            } catch (Exception e) {
+                throw new JsonException("function '" + fd.getName() + "' invocation failed", e);
+            }
+            count++;
+            return true;
+        }
+
+        Object result() {
+            if (count == 0) return null;
+            if (count == 1) return invoke(fd.getName(), first, args);
+            try {
+                return aggregate.result();
+            } catch (Exception e) {
+                throw new JsonException("function '" + fd.getName() + "' invocation failed", e);
+            }
+        }
     }
 
     /// Register
 
     private static final Map<String, FunctionDescriptor> FUNCTION_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger VERSION = new AtomicInteger();
 
     /**
      * Registers or replaces a function descriptor by name.
@@ -70,6 +165,15 @@ public class FunctionRegistry {
      */
     public static void register(FunctionDescriptor descriptor) {
         FUNCTION_CACHE.put(descriptor.getName(), descriptor);
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Returns a counter bumped by every {@link #register}, so descriptors bound by
+     * compiled filters can tell when they have been replaced.
+     */
+    static int version() {
+        return VERSION.get();
     }
 
     /**
@@ -124,7 +228,7 @@ public class FunctionRegistry {
                     return Nodes.sizeInArray(node);
             }
             return null;
-        }));
+        }, (args) -> new CountAggregate("length", args)));
 
         // count
         FunctionRegistry.register(new FunctionDescriptor("count", (target, args) -> {
@@ -136,7 +240,7 @@ public class FunctionRegistry {
                     return Nodes.sizeInArray(node);
             }
             return null;
-        }));
+        }, (args) -> new CountAggregate("count", args)));
 
         // match
         // follows RFC i-regexp semantics and does not support full regular expressions.
@@ -204,7 +308,7 @@ public class FunctionRegistry {
                     });
             }
             return sum[0];
-        }));
+        }, (args) -> new NumberAggregate("sum", args)));
 
         // min
         FunctionRegistry.register(new FunctionDescriptor("min", (target, args) -> {
@@ -222,7 +326,7 @@ public class FunctionRegistry {
                     });
             }
             return min[0];
-        }));
+        }, (args) -> new NumberAggregate("min", args)));
 
         // max
         FunctionRegistry.register(new FunctionDescriptor("max", (target, args) -> {
@@ -240,7 +344,7 @@ public class FunctionRegistry {
                     });
             }
             return max[0];
-        }));
+        }, (args) -> new NumberAggregate("max", args)));
 
         // avg
         FunctionRegistry.register(new FunctionDescriptor("avg", (target, args) -> {
@@ -261,7 +365,7 @@ public class FunctionRegistry {
             }
 
             return cnt[0] == 0 ? null : (sum[0] / cnt[0]);
-        }));
+        }, (args) -> new NumberAggregate("avg", args)));
 
         // stddev
         FunctionRegistry.register(new FunctionDescriptor("stddev", (target, args) -> {
@@ -308,7 +412,7 @@ public class FunctionRegistry {
                     }
             }
             return null;
-        }));
+        }, (args) -> new PositionAggregate("first", args)));
 
         // last
         FunctionRegistry.register(new FunctionDescriptor("last", (target, args) -> {
@@ -323,8 +427,104 @@ public class FunctionRegistry {
                     }
             }
             return null;
-        }));
+        }, (args) -> new PositionAggregate("last", args)));
+
+    }
+
+
+    /// Aggregates
 
+    private static void _checkNoArgs(String name, Object[] args) {
+        if (args.length != 0)
+            throw new JsonException(name + "(): expected exactly 0 arguments, but got " + args.length);
+    }
+
+    /**
+     * {@code length()} and {@code count()} of a match list: the number of matches.
+     */
+    private static final class CountAggregate implements PathAggregate {
+        private int count;
+
+        CountAggregate(String name, Object[] args) {
+            _checkNoArgs(name, args);
+        }
+
+        @Override
+        public void accept(Object value) {
+            count++;
+        }
+
+        @Override
+        public Object result() {
+            return count;
+        }
+    }
+
+    /**
+     * {@code sum()}, {@code min()}, {@code max()}, and {@code avg()} of a match list; matches
+     * without a numeric value are skipped.
+     */
+    private static final class NumberAggregate implements PathAggregate {
+        private final String name;
+        private double sum;
+        private double min;
+        private double max;
+        private int cnt;
+
+        NumberAggregate(String name, Object[] args) {
+            _checkNoArgs(name, args);
+            this.name = name;
+        }
+
+        @Override
+        public void accept(Object value) {
+            Double d = Nodes.toDouble(value);
+            if (d == null) return;
+            double v = d;
+            sum += v;
+            if (cnt == 0 || min > v) min = v;
+            if (cnt == 0 || max < v) max = v;
+            cnt++;
+        }
+
+        @Override
+        public Object result() {
+            switch (name) {
+                case "sum":
+                    return sum;
+                case "min":
+                    return cnt == 0 ? null : min;
+                case "max":
+                    return cnt == 0 ? null : max;
+                default:
+                    return cnt == 0 ? null : (sum / cnt);
+            }
+        }
+    }
+
+    /**
+     * {@code first()} and {@code last()} of a match list.
+     */
+    private static final class PositionAggregate implements PathAggregate {
+        private final boolean first;
+        private boolean seen;
+        private Object value;
+
+        PositionAggregate(String name, Object[] args) {
+            _checkNoArgs(name, args);
+            this.first = "first".equals(name);
+        }
+
+        @Override
+        public void accept(Object value) {
+            if (!first || !seen) this.value = value;
+            seen = true;
+        }
+
+        @Override
+        public Object result() {
+            return value;
+        }
     }
 
 }
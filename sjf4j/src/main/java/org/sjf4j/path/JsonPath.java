@@ -5,6 +5,7 @@ import org.sjf4j.JsonType;
 import org.sjf4j.exception.JsonException;
 import org.sjf4j.JsonObject;
 import org.sjf4j.node.Nodes;
+import org.sjf4j.node.PersistentNodes;
 import org.sjf4j.node.Types;
 
 import java.lang.reflect.Type;
@@ -17,7 +18,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * JSONPath/JSON Pointer execution engine.
@@ -649,7 +652,7 @@ public class JsonPath {
             return result;
         }
         List<Object> result = new ArrayList<>();
-        _findAll(container, container, 1, segments.length, result, Function.identity(), new Nodes.Access());
+        _findAll(container, container, 1, segments.length, result::add, new Nodes.Access());
         return result;
     }
 
@@ -666,7 +669,7 @@ public class JsonPath {
             return result;
         }
         List<T> result = new ArrayList<>();
-        _findAll(container, container, 1, segments.length, result, (n) -> Nodes.to(n, clazz), new Nodes.Access());
+        _findAll(container, container, 1, segments.length, (n) -> result.add(Nodes.to(n, clazz)), new Nodes.Access());
         return result;
     }
 
@@ -683,10 +686,84 @@ public class JsonPath {
             return result;
         }
         List<T> result = new ArrayList<>();
-        _findAll(container, container, 1, segments.length, result, (n) -> Nodes.as(n, clazz), new Nodes.Access());
+        _findAll(container, container, 1, segments.length, (n) -> result.add(Nodes.as(n, clazz)), new Nodes.Access());
         return result;
     }
 
+    /**
+     * Continues a find at segment {@code startIdx} from {@code current} and passes each match to
+     * {@code action}; {@code root} is the node that {@code $} refers to in filters.
+     * <p>
+     * Compiled find paths use this to hand subtrees whose shape is only known at runtime back to
+     * the interpreter.
+     */
+    public void findFrom(Object root, Object current, int startIdx, Consumer<Object> action) {
+        Objects.requireNonNull(action, "action");
+        if (startIdx < 1 || startIdx > segments.length) {
+            throw new JsonException("segment index " + startIdx + " out of range for path '" + this + "'");
+        }
+        _findAll(root, current, startIdx, segments.length, (n) -> {
+            action.accept(n);
+            return true;
+        }, new Nodes.Access());
+    }
+
+    /**
+     * Passes every match to {@code action} in the order {@link #find(Object)} returns them,
+     * without collecting them into a list.
+     */
+    public void forEach(Object container, Consumer<Object> action) {
+        Objects.requireNonNull(container, "container");
+        Objects.requireNonNull(action, "action");
+        if (singleGet) {
+            Object value = _findOne(container, 1, segments.length);
+            if (value != MISSING) action.accept(value);
+            return;
+        }
+        _findAll(container, container, 1, segments.length, (n) -> {
+            action.accept(n);
+            return true;
+        }, new Nodes.Access());
+    }
+
+    /**
+     * Passes every match to {@code action} after strict conversion.
+     */
+    public <T> void forEach(Object container, Class<T> clazz, Consumer<? super T> action) {
+        Objects.requireNonNull(clazz, "clazz");
+        Objects.requireNonNull(action, "action");
+        forEach(container, (n) -> action.accept(Nodes.to(n, clazz)));
+    }
+
+    /**
+     * Returns the number of matches without collecting them.
+     */
+    public int count(Object container) {
+        Objects.requireNonNull(container, "container");
+        if (singleGet) {
+            return _findOne(container, 1, segments.length) == MISSING ? 0 : 1;
+        }
+        int[] count = new int[1];
+        _findAll(container, container, 1, segments.length, (n) -> {
+            count[0]++;
+            return true;
+        }, new Nodes.Access());
+        return count[0];
+    }
+
+    /**
+     * Returns true if any match satisfies {@code predicate}; the walk stops at the first one.
+     */
+    public boolean anyMatch(Object container, Predicate<Object> predicate) {
+        Objects.requireNonNull(container, "container");
+        Objects.requireNonNull(predicate, "predicate");
+        if (singleGet) {
+            Object value = _findOne(container, 1, segments.length);
+            return value != MISSING && predicate.test(value);
+        }
+        return !_findAll(container, container, 1, segments.length, (n) -> !predicate.test(n), new Nodes.Access());
+    }
+
     /// Eval
 
     /**
@@ -695,7 +772,9 @@ public class JsonPath {
      * its match count; an unresolved single-value path returns {@code null}.
      * <p>
      * When the last segment is a function token, the function is invoked with
-     * the matched value(s) as target plus parsed literal arguments.
+     * the matched value(s) as target plus parsed literal arguments. Functions
+     * registered with a {@link FunctionRegistry.AggregateFactory} fold multiple
+     * matches as they are found instead of receiving a collected list.
      */
     public Object eval(Object container) {
         Objects.requireNonNull(container, "container");
@@ -710,8 +789,17 @@ public class JsonPath {
             PathSegment.Function func = (PathSegment.Function) tk;
             return FunctionRegistry.invoke(func.name, value, func.resolvedArgs);
         }
+        if (tk instanceof PathSegment.Function) {
+            PathSegment.Function func = (PathSegment.Function) tk;
+            FunctionRegistry.FunctionDescriptor fd = FunctionRegistry.get(func.name);
+            if (fd != null && fd.hasAggregate()) {
+                FunctionRegistry.AggregateSink sink = new FunctionRegistry.AggregateSink(fd, func.resolvedArgs);
+                _findAll(container, container, 1, segments.length, sink, new Nodes.Access());
+                return sink.result();
+            }
+        }
         List<Object> result = new ArrayList<>();
-        _findAll(container, container, 1, segments.length, result, Function.identity(), new Nodes.Access());
+        _findAll(container, container, 1, segments.length, result::add, new Nodes.Access());
         if (result.isEmpty()) return tk instanceof PathSegment.Function ? null : result;
 
         if (tk instanceof PathSegment.Function) {
@@ -906,7 +994,7 @@ public class JsonPath {
             return 1;
         }
         List<Object> parents = new ArrayList<>();
-        _findAll(container, container, 1, segments.length - 1, parents, Function.identity(), new Nodes.Access());
+        _findAll(container, container, 1, segments.length - 1, parents::add, new Nodes.Access());
         for (Object parent : parents) {
             _computeLast(parent, lastToken, computer);
         }
@@ -1049,6 +1137,38 @@ public class JsonPath {
         }
     }
 
+    /// Persistent
+
+    /**
+     * Returns a new version of a persistent tree with the value written as by
+     * {@link #ensurePut(Object, Object)}.
+     * <p>
+     * The container is left unchanged, and every subtree off the written path is shared with
+     * the result. A non-persistent container is converted first; see
+     * {@link PersistentNodes#update(Object, java.util.function.UnaryOperator)}.
+     */
+    public Object with(Object container, Object value) {
+        Objects.requireNonNull(container, "container");
+        return PersistentNodes.update(container, root -> {
+            ensurePut(root, value);
+            return root;
+        });
+    }
+
+    /**
+     * Returns a new version of a persistent tree without the value at this path, as removed by
+     * {@link #removeIfPresent(Object)}.
+     * <p>
+     * The container is left unchanged; see {@link #with(Object, Object)}.
+     */
+    public Object without(Object container) {
+        Objects.requireNonNull(container, "container");
+        return PersistentNodes.update(container, root -> {
+            removeIfPresent(root);
+            return root;
+        });
+    }
+
 
     /// private
 
@@ -1111,7 +1231,7 @@ public class JsonPath {
             } else if (pt instanceof PathSegment.Descendant) {
                 if (i + 1 >= segments.length) throw new JsonException("descendant '..' cannot appear at the end");
                 List<Object> result = new ArrayList<>();
-                _findMatch(container, node, i + 1, endExclusive, result, Function.identity(), acc);
+                _findMatch(container, node, i + 1, endExclusive, result::add, acc);
                 if (result.isEmpty()) {
                     return MISSING;
                 } else if (result.size() == 1) {
@@ -1131,13 +1251,22 @@ public class JsonPath {
     }
 
     /**
-     * Walks the path and collects matches up to {@code endExclusive}.
+     * Receives matches from the find walkers; returning false stops the walk.
+     */
+    @FunctionalInterface
+    interface MatchSink {
+        boolean accept(Object node);
+    }
+
+    /**
+     * Walks the path and passes matches up to {@code endExclusive} to {@code sink}.
+     *
+     * @return false when the sink stopped the walk
      */
-    <T> void _findAll(Object root, Object current, int startIdx, int endExclusive,
-                              List<T> result, Function<Object, T> converter, Nodes.Access acc) {
+    boolean _findAll(Object root, Object current, int startIdx, int endExclusive, MatchSink sink, Nodes.Access acc) {
         Object node = current;
         for (int i = startIdx; i < endExclusive; i++) {
-            if (node ==  null) return;
+            if (node ==  null) return true;
             PathSegment pt = segments[i];
             if (i == endExclusive - 1 && endExclusive == segments.length && pt instanceof PathSegment.Function) break;
             JsonType jt = JsonType.of(node);
@@ -1155,7 +1284,7 @@ public class JsonPath {
                 PathSegment.Index index = (PathSegment.Index) pt;
                 if (jt.isArray()) {
                     Nodes.getAccessInArray(node, index.index, acc);
-                    if (!acc.present) return;
+                    if (!acc.present) return true;
                     node = acc.node;
                     continue;
                 } else if (_isPointerObjectKey(index, jt)) {
@@ -1167,18 +1296,18 @@ public class JsonPath {
                 }
             } else if (pt instanceof PathSegment.Wildcard) {
                 if (jt.isObject()) {
-                    Nodes.forEachObject(node, (k, v) -> _findAll(root, v, nextI, endExclusive, result, converter, acc));
+                    return !Nodes.anyMatchInObject(node, (k, v) -> !_findAll(root, v, nextI, endExclusive, sink, acc));
                 } else if (jt.isArray()) {
-                    Nodes.forEachArray(node, (j, v) -> _findAll(root, v, nextI, endExclusive, result, converter, acc));
+                    return !Nodes.anyMatchInArray(node, (j, v) -> !_findAll(root, v, nextI, endExclusive, sink, acc));
                 }
             } else if (pt instanceof PathSegment.Descendant) {
                 if (i + 1 >= segments.length) throw new JsonException("descendant '..' cannot appear at the end");
-                _findMatch(root, node, i + 1, endExclusive, result, converter, acc);
+                return _findMatch(root, node, i + 1, endExclusive, sink, acc);
             } else if (pt instanceof PathSegment.Slice) {
                 PathSegment.Slice slicePt = (PathSegment.Slice) pt;
                 if (jt.isArray()) {
                     int size = Nodes.sizeInArray(node);
-                    _findSlice(root, node, slicePt, size, nextI, endExclusive, result, converter, acc);
+                    return _findSlice(root, node, slicePt, size, nextI, endExclusive, sink, acc);
                 }
             } else if (pt instanceof PathSegment.Union) {
                 PathSegment.Union unionPt = (PathSegment.Union) pt;
@@ -1186,7 +1315,7 @@ public class JsonPath {
                     for (PathSegment member : unionPt.union) {
                         if (member instanceof PathSegment.Name) {
                             Nodes.getAccessInObject(node, ((PathSegment.Name) member).name, acc);
-                            if (acc.present) _findAll(root, acc.node, nextI, endExclusive, result, converter, acc);
+                            if (acc.present && !_findAll(root, acc.node, nextI, endExclusive, sink, acc)) return false;
                         }
                     }
                 } else if (jt.isArray()) {
@@ -1195,52 +1324,49 @@ public class JsonPath {
                         if (member instanceof PathSegment.Index) {
                             int index = ((PathSegment.Index) member).index;
                             if (index < 0) index += size;
-                            if (index >= 0 && index < size) _findAll(root, Nodes.getInArray(node, index), nextI, endExclusive, result, converter, acc);
+                            if (index >= 0 && index < size &&
+                                    !_findAll(root, Nodes.getInArray(node, index), nextI, endExclusive, sink, acc)) return false;
                         } else if (member instanceof PathSegment.Slice) {
-                            _findSlice(root, node, (PathSegment.Slice) member, size, nextI, endExclusive, result, converter, acc);
+                            if (!_findSlice(root, node, (PathSegment.Slice) member, size, nextI, endExclusive, sink, acc)) return false;
                         }
                     }
                 }
             } else if (pt instanceof PathSegment.Filter) {
                 PathSegment.Filter filterPt = (PathSegment.Filter) pt;
                 if (jt.isArray()) {
-                    Nodes.forEachArray(node, (j, v) -> {
-                        if (filterPt.filterExpr.evalTruth(root, v)) {
-                            _findAll(root, v, nextI, endExclusive, result, converter, acc);
-                        }
-                    });
+                    int[] hits = JsonPathIndex.candidates(node, filterPt.filterExpr, root);
+                    if (hits != null) return _findIndexed(root, node, hits, filterPt, nextI, endExclusive, sink, acc);
+                    return !Nodes.anyMatchInArray(node, (j, v) ->
+                            filterPt.predicate.test(root, v) && !_findAll(root, v, nextI, endExclusive, sink, acc));
                 } else if (jt.isObject()) {
-                    Nodes.forEachObject(node, (k, v) -> {
-                        if (filterPt.filterExpr.evalTruth(root, v)) {
-                            _findAll(root, v, nextI, endExclusive, result, converter, acc);
-                        }
-                    });
+                    return !Nodes.anyMatchInObject(node, (k, v) ->
+                            filterPt.predicate.test(root, v) && !_findAll(root, v, nextI, endExclusive, sink, acc));
                 } else {
-                    if (filterPt.filterExpr.evalTruth(root, node)) {
+                    if (filterPt.predicate.test(root, node)) {
                         continue;
                     }
                 }
             } else {
                 throw new JsonException("unexpected path token '" + pt + "'");
             }
-            return;
+            return true;
         }
-        result.add(converter.apply(node));
+        return sink.accept(node);
     }
 
     /**
      * Recursively scans descendants and matches the next token up to {@code endExclusive}.
+     *
+     * @return false when the sink stopped the walk
      */
-    <T> void _findMatch(Object root, Object current, int startIdx, int endExclusive,
-                                 List<T> result, Function<Object, T> converter, Nodes.Access acc) {
-        if (current == null) return;
+    boolean _findMatch(Object root, Object current, int startIdx, int endExclusive, MatchSink sink, Nodes.Access acc) {
+        if (current == null) return true;
         PathSegment pt = segments[startIdx];
         JsonType jt = JsonType.of(current);
         if (pt instanceof PathSegment.Slice && jt.isArray()) {
             int size = Nodes.sizeInArray(current);
-            _findSlice(root, current, (PathSegment.Slice) pt, size, startIdx + 1, endExclusive, result, converter, acc);
-            Nodes.forEachArray(current, (j, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-            return;
+            if (!_findSlice(root, current, (PathSegment.Slice) pt, size, startIdx + 1, endExclusive, sink, acc)) return false;
+            return !Nodes.anyMatchInArray(current, (j, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
         }
         if (pt instanceof PathSegment.Union) {
             PathSegment.Union union = (PathSegment.Union) pt;
@@ -1248,11 +1374,10 @@ public class JsonPath {
                 for (PathSegment member : union.union) {
                     if (member instanceof PathSegment.Name) {
                         Nodes.getAccessInObject(current, ((PathSegment.Name) member).name, acc);
-                        if (acc.present) _findAll(root, acc.node, startIdx + 1, endExclusive, result, converter, acc);
+                        if (acc.present && !_findAll(root, acc.node, startIdx + 1, endExclusive, sink, acc)) return false;
                     }
                 }
-                Nodes.forEachObject(current, (k, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-                return;
+                return !Nodes.anyMatchInObject(current, (k, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
             }
             if (jt.isArray()) {
                 int size = Nodes.sizeInArray(current);
@@ -1260,88 +1385,97 @@ public class JsonPath {
                     if (member instanceof PathSegment.Index) {
                         int index = ((PathSegment.Index) member).index;
                         if (index < 0) index += size;
-                        if (index >= 0 && index < size) {
-                            _findAll(root, Nodes.getInArray(current, index), startIdx + 1, endExclusive, result, converter, acc);
+                        if (index >= 0 && index < size &&
+                                !_findAll(root, Nodes.getInArray(current, index), startIdx + 1, endExclusive, sink, acc)) {
+                            return false;
                         }
                     } else if (member instanceof PathSegment.Slice) {
-                        _findSlice(root, current, (PathSegment.Slice) member, size, startIdx + 1, endExclusive, result, converter, acc);
+                        if (!_findSlice(root, current, (PathSegment.Slice) member, size, startIdx + 1, endExclusive, sink, acc)) {
+                            return false;
+                        }
                     }
                 }
-                Nodes.forEachArray(current, (j, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-                return;
+                return !Nodes.anyMatchInArray(current, (j, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
             }
         }
         if (pt instanceof PathSegment.Name && jt.isObject()) {
             Nodes.getAccessInObject(current, ((PathSegment.Name) pt).name, acc);
             if (acc.present) {
-                if (startIdx >= endExclusive) result.add(converter.apply(current));
-                else _findAll(root, acc.node, startIdx + 1, endExclusive, result, converter, acc);
+                boolean more = startIdx >= endExclusive ? sink.accept(current)
+                        : _findAll(root, acc.node, startIdx + 1, endExclusive, sink, acc);
+                if (!more) return false;
             }
-            Nodes.forEachObject(current, (k, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-            return;
+            return !Nodes.anyMatchInObject(current, (k, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
         }
         if (pt instanceof PathSegment.Index && jt.isArray() && !(current instanceof Set)) {
             Nodes.getAccessInArray(current, ((PathSegment.Index) pt).index, acc);
             if (acc.present) {
-                if (startIdx >= endExclusive) result.add(converter.apply(current));
-                else _findAll(root, acc.node, startIdx + 1, endExclusive, result, converter, acc);
+                boolean more = startIdx >= endExclusive ? sink.accept(current)
+                        : _findAll(root, acc.node, startIdx + 1, endExclusive, sink, acc);
+                if (!more) return false;
             }
-            Nodes.forEachArray(current, (j, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-            return;
+            return !Nodes.anyMatchInArray(current, (j, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
         }
         if (pt instanceof PathSegment.Filter) {
             PathSegment.Filter filter = (PathSegment.Filter) pt;
             if (jt.isObject()) {
-                Nodes.forEachObject(current, (k, v) -> {
-                    if (filter.filterExpr.evalTruth(root, v)) {
-                        _findAll(root, v, startIdx + 1, endExclusive, result, converter, acc);
-                    }
-                });
-                Nodes.forEachObject(current, (k, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-                return;
+                if (Nodes.anyMatchInObject(current, (k, v) ->
+                        filter.predicate.test(root, v) && !_findAll(root, v, startIdx + 1, endExclusive, sink, acc))) {
+                    return false;
+                }
+                return !Nodes.anyMatchInObject(current, (k, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
             }
             if (jt.isArray()) {
-                Nodes.forEachArray(current, (j, v) -> {
-                    if (filter.filterExpr.evalTruth(root, v)) {
-                        _findAll(root, v, startIdx + 1, endExclusive, result, converter, acc);
+                int[] hits = JsonPathIndex.candidates(current, filter.filterExpr, root);
+                if (hits != null) {
+                    if (!_findIndexed(root, current, hits, filter, startIdx + 1, endExclusive, sink, acc)) {
+                        return false;
                     }
-                });
-                Nodes.forEachArray(current, (j, v) -> _findMatch(root, v, startIdx, endExclusive, result, converter, acc));
-                return;
+                } else if (Nodes.anyMatchInArray(current, (j, v) ->
+                        filter.predicate.test(root, v) && !_findAll(root, v, startIdx + 1, endExclusive, sink, acc))) {
+                    return false;
+                }
+                return !Nodes.anyMatchInArray(current, (j, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
             }
         }
         if (jt.isObject()) {
-            Nodes.forEachObject(current, (k, v) -> {
-                if (pt.matchKey(k)) {
-                    if (startIdx >= endExclusive) {
-                        result.add(converter.apply(current));
-                    } else {
-                        _findAll(root, v, startIdx + 1, endExclusive, result, converter, acc);
-                    }
-                }
-            });
-            Nodes.forEachObject(current, (k, v) -> {
-                _findMatch(root, v, startIdx, endExclusive, result, converter, acc);
-            });
+            if (Nodes.anyMatchInObject(current, (k, v) -> pt.matchKey(k) && !(startIdx >= endExclusive
+                    ? sink.accept(current) : _findAll(root, v, startIdx + 1, endExclusive, sink, acc)))) {
+                return false;
+            }
+            return !Nodes.anyMatchInObject(current, (k, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
         } else if (jt.isArray()) {
             int size = Nodes.sizeInArray(current);
-            Nodes.forEachArray(current, (j, v) -> {
-                if (pt.matchIndex(j, size)) {
-                    if (startIdx >= endExclusive) {
-                        result.add(converter.apply(current));
-                    } else {
-                        _findAll(root, v, startIdx + 1, endExclusive, result, converter, acc);
-                    }
-                }
-            });
-            Nodes.forEachArray(current, (j, v) -> {
-                _findMatch(root, v, startIdx, endExclusive, result, converter, acc);
-            });
+            if (Nodes.anyMatchInArray(current, (j, v) -> pt.matchIndex(j, size) && !(startIdx >= endExclusive
+                    ? sink.accept(current) : _findAll(root, v, startIdx + 1, endExclusive, sink, acc)))) {
+                return false;
+            }
+            return !Nodes.anyMatchInArray(current, (j, v) -> !_findMatch(root, v, startIdx, endExclusive, sink, acc));
+        }
+        return true;
+    }
+
+    /**
+     * Continues a filter over an indexed array with only the candidate positions
+     * from {@link JsonPathIndex}, re-checking the full filter on each.
+     *
+     * @return false when the sink stopped the walk
+     */
+    private boolean _findIndexed(Object root, Object array, int[] hits, PathSegment.Filter filter, int nextIdx,
+                                 int endExclusive, MatchSink sink, Nodes.Access acc) {
+        int size = Nodes.sizeInArray(array);
+        for (int hit : hits) {
+            if (hit >= size) break;
+            Object v = Nodes.getInArray(array, hit);
+            if (filter.predicate.test(root, v) && !_findAll(root, v, nextIdx, endExclusive, sink, acc)) {
+                return false;
+            }
         }
+        return true;
     }
 
-    private <T> void _findSlice(Object root, Object array, PathSegment.Slice slice, int size, int nextIdx, int endExclusive,
-                                 List<T> result, Function<Object, T> converter, Nodes.Access acc) {
+    private boolean _findSlice(Object root, Object array, PathSegment.Slice slice, int size, int nextIdx, int endExclusive,
+                               MatchSink sink, Nodes.Access acc) {
         long step = slice.step == null ? 1 : slice.step;
         long first = slice.start == null ? (step < 0 ? size - 1L : 0L) : slice.start;
         long last = slice.end == null ? (step < 0 ? -1L : size) : slice.end;
@@ -1351,15 +1485,16 @@ public class JsonPath {
             first = Math.min(Math.max(first, -1L), size - 1L);
             last = Math.min(Math.max(last, -1L), size - 1L);
             for (long j = first; j > last; j += step) {
-                _findAll(root, Nodes.getInArray(array, (int) j), nextIdx, endExclusive, result, converter, acc);
+                if (!_findAll(root, Nodes.getInArray(array, (int) j), nextIdx, endExclusive, sink, acc)) return false;
             }
         } else {
             first = Math.min(Math.max(first, 0L), size);
             last = Math.min(Math.max(last, 0L), size);
             for (long j = first; j < last; j += step) {
-                _findAll(root, Nodes.getInArray(array, (int) j), nextIdx, endExclusive, result, converter, acc);
+                if (!_findAll(root, Nodes.getInArray(array, (int) j), nextIdx, endExclusive, sink, acc)) return false;
             }
         }
+        return true;
     }
 
     private Object _putLast(Object lastContainer, PathSegment lastToken, Object value, String opName) {
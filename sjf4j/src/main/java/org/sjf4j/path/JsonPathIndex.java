@@ -0,0 +1,435 @@
+package org.sjf4j.path;
+
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonType;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.node.Nodes;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in hash index over one member of the elements of a {@link JsonArray} or {@link List}.
+ *
+ * <p>An index maps the value at a relative singular path, such as {@code @.sku},
+ * to the positions of the elements holding it. Once created it stays attached
+ * to that array instance, and every {@link JsonPath} filter over the array that
+ * tests the member for equality or {@code in} membership is answered from the
+ * index instead of by a scan:
+ * <pre>{@code
+ * JsonPathIndex.create(catalog.getList("products"), "@.sku");
+ * JsonPath.parse("$.products[?@.sku == 'X']").find(catalog);
+ * }</pre>
+ *
+ * <p>Filters of the form {@code @.m == v}, {@code v == @.m}, and
+ * {@code @.m in [v1, v2]} are indexable when {@code v} is a literal or a rooted
+ * singular path. An {@code &&} is indexable when either side is, and an
+ * {@code ||} when both sides are. Candidates are still checked against the full
+ * filter, so the index only narrows which elements are evaluated, and matches
+ * keep array order. Values are keyed by {@link Nodes#equals(Object, Object)},
+ * the semantics of the filter {@code ==}.
+ *
+ * <p>Indexes are held weakly by array identity. Index the node that actually
+ * sits in the document: parsed documents hold plain lists, so use
+ * {@code getList(...)} rather than a {@code getJsonArray(...)} wrapper.
+ * Adding, setting, or removing elements through {@link JsonArray} marks the
+ * indexes of the array and of its backing list stale, and so does any change in
+ * size; the next lookup rebuilds them. Other changes, such as replacing an
+ * element directly in a {@link List} or editing a member inside an element, are
+ * not tracked; call {@link #rebuild()} after them. Lookups may run concurrently
+ * with each other, but not with mutations of the array.
+ */
+public final class JsonPathIndex {
+
+    private static final Map<Object, List<JsonPathIndex>> REGISTRY = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+    private static final int[] EMPTY = new int[0];
+
+    private final WeakReference<Object> arrayRef;
+    private final JsonPath memberPath;
+    private volatile Table table;
+
+    private JsonPathIndex(Object array, JsonPath memberPath) {
+        this.arrayRef = new WeakReference<>(array);
+        this.memberPath = memberPath;
+    }
+
+    /**
+     * Builds an index on {@code memberPath} and attaches it to {@code array}.
+     * <p>
+     * An existing index on the same member path of the same array is replaced.
+     *
+     * @param array      a {@link JsonArray} or {@link List}
+     * @param memberPath a relative singular path such as {@code @.sku} or {@code @.id.value}
+     */
+    public static JsonPathIndex create(Object array, String memberPath) {
+        Objects.requireNonNull(memberPath, "memberPath");
+        return create(array, JsonPath.parse(memberPath));
+    }
+
+    /**
+     * Builds an index on {@code memberPath} and attaches it to {@code array}.
+     * <p>
+     * An existing index on the same member path of the same array is replaced.
+     */
+    public static JsonPathIndex create(Object array, JsonPath memberPath) {
+        Objects.requireNonNull(array, "array");
+        Objects.requireNonNull(memberPath, "memberPath");
+        if (!(array instanceof JsonArray) && !(array instanceof List)) {
+            throw new JsonException("cannot index '" + array.getClass().getName() + "': expected JsonArray or List");
+        }
+        if (memberPath.rooted() || !memberPath.singleGet || memberPath.length() < 2) {
+            throw new JsonException("index member path must be a relative singular path like '@.name', but was '"
+                    + memberPath + "'");
+        }
+        PathSegment[] segments = memberPath.segments;
+        for (int i = 1; i < segments.length; i++) {
+            if (!(segments[i] instanceof PathSegment.Name) && !(segments[i] instanceof PathSegment.Index)) {
+                throw new JsonException("index member path '" + memberPath + "' may only contain names and indexes");
+            }
+        }
+        JsonPathIndex index = new JsonPathIndex(array, memberPath);
+        index.rebuild();
+        synchronized (REGISTRY) {
+            _expunge();
+            WeakKey key = new WeakKey(array, QUEUE);
+            List<JsonPathIndex> indexes = REGISTRY.get(key);
+            List<JsonPathIndex> updated = indexes == null ? new ArrayList<>(1) : new ArrayList<>(indexes);
+            updated.removeIf(existing -> _sameMember(existing.memberPath, memberPath));
+            updated.add(index);
+            REGISTRY.put(key, updated);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the indexes attached to {@code array}, or an empty list.
+     */
+    public static List<JsonPathIndex> of(Object array) {
+        List<JsonPathIndex> indexes = _attached(array);
+        return indexes == null ? Collections.emptyList() : Collections.unmodifiableList(indexes);
+    }
+
+    /**
+     * Marks every index attached to {@code array} stale.
+     * <p>
+     * For a {@link JsonArray} the indexes on its backing list are included.
+     * {@link JsonArray} mutators call this themselves; call it after changing
+     * an indexed plain list in place.
+     */
+    public static void invalidateAll(Object array) {
+        if (REGISTRY.isEmpty()) return;
+        _invalidateAll(_attached(array));
+        if (array instanceof JsonArray) _invalidateAll(_attached(((JsonArray) array)._dynamicList()));
+    }
+
+    /**
+     * Returns the indexed array, or {@code null} once it has been collected.
+     */
+    public Object array() {
+        return arrayRef.get();
+    }
+
+    /**
+     * Returns the indexed member path.
+     */
+    public JsonPath memberPath() {
+        return memberPath;
+    }
+
+    /**
+     * Returns true when the index must be rebuilt before its next lookup.
+     */
+    public boolean isStale() {
+        Table current = table;
+        Object array = arrayRef.get();
+        return current == null || array == null || current.size != Nodes.sizeInArray(array);
+    }
+
+    /**
+     * Rebuilds the index from the current array contents.
+     */
+    public synchronized void rebuild() {
+        Object array = arrayRef.get();
+        if (array == null) {
+            this.table = new Table(new HashMap<>(), 0);
+            return;
+        }
+        int size = Nodes.sizeInArray(array);
+        Map<NodeKey, int[]> positions = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Object value = _memberValue(Nodes.getInArray(array, i));
+            if (value == JsonPath.MISSING) continue;
+            // slot 0 holds the number of positions that follow
+            NodeKey key = new NodeKey(value);
+            int[] slots = positions.get(key);
+            if (slots == null) {
+                positions.put(key, new int[]{1, i});
+            } else {
+                if (slots[0] + 1 == slots.length) {
+                    slots = Arrays.copyOf(slots, slots.length * 2);
+                    positions.put(key, slots);
+                }
+                slots[++slots[0]] = i;
+            }
+        }
+        this.table = new Table(positions, size);
+    }
+
+    /**
+     * Marks the index stale so that the next lookup rebuilds it.
+     */
+    public void invalidate() {
+        this.table = null;
+    }
+
+    /**
+     * Detaches this index from its array.
+     */
+    public void drop() {
+        Object array = arrayRef.get();
+        if (array == null) return;
+        synchronized (REGISTRY) {
+            WeakKey key = new WeakKey(array, null);
+            List<JsonPathIndex> indexes = REGISTRY.get(key);
+            if (indexes == null) return;
+            List<JsonPathIndex> updated = new ArrayList<>(indexes);
+            updated.remove(this);
+            if (updated.isEmpty()) REGISTRY.remove(key);
+            else REGISTRY.put(key, updated);
+        }
+    }
+
+    /**
+     * Returns the ascending positions of the elements whose member equals {@code value}.
+     */
+    public int[] lookup(Object value) {
+        int[] slots = _table().positions.get(new NodeKey(value));
+        return slots == null ? EMPTY : Arrays.copyOfRange(slots, 1, slots[0] + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "JsonPathIndex{" + memberPath + "}";
+    }
+
+
+    /// Filter evaluation
+
+    /**
+     * Returns ascending candidate positions for {@code filter} over {@code array},
+     * or {@code null} when the array has no index that can answer the filter.
+     */
+    static int[] candidates(Object array, FilterExpr filter, Object root) {
+        if (REGISTRY.isEmpty() || !(filter instanceof FilterExpr.BinaryExpr)) return null;
+        List<JsonPathIndex> indexes = _attached(array);
+        if (indexes == null) return null;
+        return _candidates(indexes, filter, root);
+    }
+
+    private static int[] _candidates(List<JsonPathIndex> indexes, FilterExpr filter, Object root) {
+        if (!(filter instanceof FilterExpr.BinaryExpr)) return null;
+        FilterExpr.BinaryExpr binary = (FilterExpr.BinaryExpr) filter;
+        switch (binary.op()) {
+            case AND: {
+                int[] left = _candidates(indexes, binary.left(), root);
+                int[] right = _candidates(indexes, binary.right(), root);
+                if (left == null) return right;
+                if (right == null) return left;
+                return left.length <= right.length ? left : right;
+            }
+            case OR: {
+                int[] left = _candidates(indexes, binary.left(), root);
+                if (left == null) return null;
+                int[] right = _candidates(indexes, binary.right(), root);
+                if (right == null) return null;
+                return _union(left, right);
+            }
+            case EQ: {
+                JsonPathIndex index = _find(indexes, binary.left());
+                FilterExpr other = binary.right();
+                if (index == null) {
+                    index = _find(indexes, binary.right());
+                    other = binary.left();
+                }
+                if (index == null || !_isConstant(other)) return null;
+                Object value = other.eval(root, null);
+                return value == FilterExpr.PathExpr.NOTHING ? EMPTY : index.lookup(value);
+            }
+            case IN: {
+                JsonPathIndex index = _find(indexes, binary.left());
+                if (index == null || !_isConstant(binary.right())) return null;
+                Object values = binary.right().eval(root, null);
+                if (values == FilterExpr.PathExpr.NOTHING || !JsonType.of(values).isArray()) return EMPTY;
+                int[][] result = {EMPTY};
+                Nodes.forEachArray(values, (i, v) -> result[0] = _union(result[0], index.lookup(v)));
+                return result[0];
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static JsonPathIndex _find(List<JsonPathIndex> indexes, FilterExpr expr) {
+        if (!(expr instanceof FilterExpr.PathExpr)) return null;
+        JsonPath path = ((FilterExpr.PathExpr) expr).path();
+        if (path.rooted()) return null;
+        for (int i = 0, size = indexes.size(); i < size; i++) {
+            JsonPathIndex index = indexes.get(i);
+            if (_sameMember(index.memberPath, path)) return index;
+        }
+        return null;
+    }
+
+    /**
+     * Returns true when {@code expr} evaluates to the same value for every element.
+     */
+    private static boolean _isConstant(FilterExpr expr) {
+        if (expr instanceof FilterExpr.LiteralExpr) return true;
+        if (expr instanceof FilterExpr.ArrayExpr) return ((FilterExpr.ArrayExpr) expr).literalValues() != null;
+        if (expr instanceof FilterExpr.PathExpr) {
+            JsonPath path = ((FilterExpr.PathExpr) expr).path();
+            return path.rooted() && path.singleGet;
+        }
+        return false;
+    }
+
+    private static boolean _sameMember(JsonPath a, JsonPath b) {
+        PathSegment[] as = a.segments;
+        PathSegment[] bs = b.segments;
+        if (as.length != bs.length) return false;
+        for (int i = 1; i < as.length; i++) {
+            PathSegment x = as[i];
+            PathSegment y = bs[i];
+            if (x instanceof PathSegment.Name && y instanceof PathSegment.Name) {
+                if (!((PathSegment.Name) x).name.equals(((PathSegment.Name) y).name)) return false;
+            } else if (x instanceof PathSegment.Index && y instanceof PathSegment.Index) {
+                if (((PathSegment.Index) x).index != ((PathSegment.Index) y).index) return false;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] _union(int[] a, int[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                merged[n++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                merged[n++] = b[j++];
+            } else {
+                merged[n++] = a[i++];
+                j++;
+            }
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+
+    /// Support
+
+    private Table _table() {
+        Table current = table;
+        Object array = arrayRef.get();
+        if (current != null && (array == null || current.size == Nodes.sizeInArray(array))) return current;
+        synchronized (this) {
+            if (isStale()) rebuild();
+            return table;
+        }
+    }
+
+    private Object _memberValue(Object element) {
+        if (element == null) return JsonPath.MISSING;
+        return memberPath._findOne(element, 1, memberPath.length());
+    }
+
+    private static List<JsonPathIndex> _attached(Object array) {
+        if (array == null) return null;
+        return REGISTRY.get(new LookupKey(array));
+    }
+
+    private static void _invalidateAll(List<JsonPathIndex> indexes) {
+        if (indexes == null) return;
+        for (int i = 0, size = indexes.size(); i < size; i++) indexes.get(i).invalidate();
+    }
+
+    private static void _expunge() {
+        Reference<?> ref;
+        while ((ref = QUEUE.poll()) != null) REGISTRY.remove(ref);
+    }
+
+    /**
+     * Positions by member value, with the array size they were built from.
+     */
+    private static final class Table {
+        final Map<NodeKey, int[]> positions;
+        final int size;
+
+        Table(Map<NodeKey, int[]> positions, int size) {
+            this.positions = positions;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Registry key holding its array weakly and comparing by identity.
+     */
+    private static final class WeakKey extends WeakReference<Object> {
+        private final int hash;
+
+        WeakKey(Object array, ReferenceQueue<Object> queue) {
+            super(array, queue);
+            this.hash = System.identityHashCode(array);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            Object array = get();
+            if (array == null) return false;
+            if (o instanceof WeakKey) return ((WeakKey) o).get() == array;
+            return o instanceof LookupKey && ((LookupKey) o).array == array;
+        }
+    }
+
+    /**
+     * Allocation-light probe for {@link #REGISTRY} lookups.
+     */
+    private static final class LookupKey {
+        private final Object array;
+
+        LookupKey(Object array) {
+            this.array = array;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(array);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WeakKey && ((WeakKey) o).get() == array;
+        }
+    }
+
+}
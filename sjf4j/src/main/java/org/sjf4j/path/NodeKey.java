@@ -0,0 +1,66 @@
+package org.sjf4j.path;
+
+import org.sjf4j.JsonType;
+import org.sjf4j.node.LazyNumber;
+import org.sjf4j.node.Nodes;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Hash key with filter {@code ==} semantics.
+ *
+ * <p>Keys are equal when {@link Nodes#equals(Object, Object)} says so, and the
+ * hash is kept consistent with that relation: numbers hash by their integer part
+ * (clamped to the long range), so values that {@code Numbers.compare} treats as
+ * equal share a bucket even across number types and through its BigInteger
+ * truncation; string-like values hash by text; containers hash by size only.
+ */
+final class NodeKey {
+    private final Object value;
+    private final int hash;
+
+    NodeKey(Object value) {
+        this.value = value;
+        this.hash = hash(value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof NodeKey && Nodes.equals(value, ((NodeKey) o).value);
+    }
+
+    /**
+     * Returns a hash consistent with {@link Nodes#equals(Object, Object)}.
+     */
+    static int hash(Object node) {
+        if (node == null) return 0;
+        if (node instanceof String) return node.hashCode();
+        if (node instanceof Number) return _hashNumber((Number) node);
+        JsonType jt = JsonType.of(node);
+        if (jt.isNumber()) return _hashNumber(Nodes.toNumber(node));
+        if (jt.isString()) return Nodes.toString(node).hashCode();
+        if (jt.isArray()) return 31 * Nodes.sizeInArray(node) + 1;
+        if (jt.isObject()) return 31 * Nodes.sizeInObject(node) + 2;
+        return node.hashCode();
+    }
+
+    private static int _hashNumber(Number n) {
+        if (n instanceof LazyNumber) n = ((LazyNumber) n).value();
+        if (n instanceof BigInteger) return Long.hashCode(_clamp((BigInteger) n));
+        if (n instanceof BigDecimal) return Long.hashCode(_clamp(((BigDecimal) n).toBigInteger()));
+        if (n instanceof Double || n instanceof Float) return Long.hashCode((long) n.doubleValue());
+        return Long.hashCode(n.longValue());
+    }
+
+    private static long _clamp(BigInteger v) {
+        if (v.bitLength() < 64) return v.longValue();
+        return v.signum() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+}
@@ -343,13 +343,15 @@ public abstract class PathSegment {
      */
     public static final class Filter extends PathSegment {
         public final FilterExpr filterExpr;
+        public final FilterPredicate predicate;
 
         /**
-         * Creates a filter-expression segment.
+         * Creates a filter-expression segment and compiles its predicate.
          */
         public Filter(PathSegment parent, FilterExpr filterExpr) {
             super(parent);
             this.filterExpr = filterExpr;
+            this.predicate = filterExpr.compile();
         }
         public String toString() { return "[?" + filterExpr + "]"; }
     }
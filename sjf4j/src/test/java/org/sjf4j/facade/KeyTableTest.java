@@ -0,0 +1,97 @@
+package org.sjf4j.facade;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeyTableTest {
+
+    private static String fresh(String s) {
+        return new String(s.toCharArray());
+    }
+
+    @Test
+    public void testCanonicalizeReturnsFirstInstance() {
+        KeyTable table = new KeyTable(16);
+        String first = fresh("name");
+        assertSame(first, table.canonicalize(first));
+        assertSame(first, table.canonicalize(fresh("name")));
+        assertNull(table.canonicalize(null));
+
+        String longKey = fresh(new String(new char[KeyTable.MAX_KEY_LENGTH + 1]).replace('\0', 'k'));
+        assertSame(longKey, table.canonicalize(longKey));
+        assertNotSame(longKey, table.canonicalize(fresh(longKey)));
+    }
+
+    @Test
+    public void testTableStaysBounded() {
+        KeyTable table = new KeyTable(4);
+        assertEquals(4, table.capacity());
+        assertEquals(2, new KeyTable(1).capacity());
+        assertEquals(2048, new KeyTable().capacity());
+        assertThrows(IllegalArgumentException.class, () -> new KeyTable(0));
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "k" + i;
+            assertEquals(key, table.canonicalize(fresh(key)));
+        }
+        String hot = table.canonicalize(fresh("hot"));
+        assertSame(hot, table.canonicalize(fresh("hot")));
+    }
+
+    @Test
+    public void testRuntimeSharesParsedKeys() {
+        Sjf4j runtime = Sjf4j.builder()
+                .jsonFacadeProvider(SimpleJsonFacade.provider())
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .canonicalKeys(true)
+                .build();
+        String json = "[{\"id\":1,\"attrs\":{\"color\":\"red\"}},{\"id\":2,\"attrs\":{\"color\":\"blue\"}}]";
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) runtime.fromJson(json, Object.class);
+        assertSame(rows.get(0).keySet().iterator().next(), rows.get(1).keySet().iterator().next());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> attrs0 = (Map<String, Object>) rows.get(0).get("attrs");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> attrs1 = (Map<String, Object>) rows.get(1).get("attrs");
+        assertSame(attrs0.keySet().iterator().next(), attrs1.keySet().iterator().next());
+
+        JsonObject a = runtime.fromJson("{\"shared\":1}", JsonObject.class);
+        JsonObject b = runtime.fromJson("{\"shared\":2}", JsonObject.class);
+        assertSame(a.keySet().iterator().next(), b.keySet().iterator().next());
+
+        assertTrue(runtime.streamingContext().canonicalKeys);
+        assertTrue(Sjf4j.builder(runtime).build().streamingContext().canonicalKeys);
+        assertNotNull(runtime.streamingContext().keyTable());
+        assertSame(runtime.streamingContext().keyTable(), runtime.streamingContext().keyTable());
+        AtomicReference<KeyTable> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(runtime.streamingContext().keyTable()));
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        assertNotSame(runtime.streamingContext().keyTable(), other.get());
+
+        Sjf4j plain = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+        assertFalse(plain.streamingContext().canonicalKeys);
+        assertNull(plain.streamingContext().keyTable());
+    }
+
+}
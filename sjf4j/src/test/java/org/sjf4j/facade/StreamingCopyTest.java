@@ -0,0 +1,154 @@
+package org.sjf4j.facade;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.facade.gson.GsonJsonFacade;
+import org.sjf4j.facade.jackson2.Jackson2JsonFacade;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+import org.sjf4j.node.RawJson;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StreamingCopyTest {
+
+    private static final Sjf4j SIMPLE = Sjf4j.builder()
+            .jsonFacadeProvider(SimpleJsonFacade.provider())
+            .build();
+
+    private static final Sjf4j GSON = Sjf4j.builder()
+            .jsonFacadeProvider(GsonJsonFacade.provider(new GsonBuilder()))
+            .build();
+
+    private static final Sjf4j JACKSON2 = Sjf4j.builder()
+            .jsonFacadeProvider(Jackson2JsonFacade.provider(new ObjectMapper()))
+            .build();
+
+    private static final String DOC = "{\"id\": 7, \"payload\": {\"a\": [1, 2.50, -0.0, 1e3], \"s\": \"x\\u0041\\\"\"}," +
+            " \"big\": 12345678901234567890, \"n\": null, \"t\": true, \"e\": [], \"o\": {}}";
+
+    private static String copy(Sjf4j from, Sjf4j to, String json) throws IOException {
+        StreamingReader reader = from.jsonFacade().createReader(new StringReader(json));
+        StringWriter output = new StringWriter();
+        StreamingWriter writer = to.jsonFacade().createWriter(output);
+        reader.startDocument();
+        writer.startDocument();
+        StreamingIO.copyValue(reader, writer);
+        reader.endDocument();
+        writer.endDocument();
+        writer.flush();
+        return output.toString();
+    }
+
+    @Test
+    void testCopyValueAcrossBackends() throws IOException {
+        List<Sjf4j> backends = Arrays.asList(SIMPLE, GSON, JACKSON2);
+        Object expected = SIMPLE.fromJson(DOC);
+        for (Sjf4j from : backends) {
+            for (Sjf4j to : backends) {
+                String copied = copy(from, to, DOC);
+                String label = from.jsonFacade().getClass().getSimpleName() + " -> " +
+                        to.jsonFacade().getClass().getSimpleName();
+                assertEquals(SIMPLE.toJsonString(expected), SIMPLE.toJsonString(SIMPLE.fromJson(copied)), label);
+            }
+        }
+    }
+
+    @Test
+    void testCopyValueKeepsTextWhenReaderCapturesIt() throws IOException {
+        assertEquals(DOC, copy(SIMPLE, SIMPLE, DOC));
+        assertEquals("[1.50,{\"k\":1E+2}]", copy(SIMPLE, GSON, "[1.50,{\"k\":1E+2}]"));
+        assertEquals("\"plain\"", copy(SIMPLE, SIMPLE, "\"plain\""));
+        assertEquals("null", copy(SIMPLE, SIMPLE, "null"));
+    }
+
+    @Test
+    void testCopyValueLeavesReaderAfterTheValue() throws IOException {
+        StreamingReader reader = SIMPLE.jsonFacade().createReader(new StringReader("[{\"a\": [1]} , 2.0, \"z\"]"));
+        StringWriter output = new StringWriter();
+        StreamingWriter writer = SIMPLE.jsonFacade().createWriter(output);
+        reader.startDocument();
+        reader.startArray();
+        writer.startArray();
+        StreamingIO.copyValue(reader, writer);
+        assertEquals(StreamingReader.Token.NUMBER, reader.peekToken());
+        reader.nextNumber();
+        writer.writeArrayComma();
+        StreamingIO.copyValue(reader, writer);
+        reader.endArray();
+        reader.endDocument();
+        writer.endArray();
+        writer.flush();
+        assertEquals("[{\"a\": [1]},\"z\"]", output.toString());
+    }
+
+    static class Envelope extends JsonObject {
+        public String id;
+        public RawJson payload;
+        public List<RawJson> items;
+    }
+
+    @Test
+    void testRawJsonPropertyRoundTrip() {
+        String json = "{\"id\":\"e1\",\"payload\":{\"price\": 10.50, \"tags\": [\"a\"]},\"items\":[1.0,{\"x\": null},null]}";
+        for (Sjf4j sjf4j : Arrays.asList(SIMPLE, GSON)) {
+            Envelope envelope = sjf4j.fromJson(json, Envelope.class);
+            String label = sjf4j.jsonFacade().getClass().getSimpleName();
+            assertEquals(SIMPLE.fromJson("{\"price\":10.50,\"tags\":[\"a\"]}"), envelope.payload.toNode(), label);
+            assertEquals(3, envelope.items.size(), label);
+            assertNull(envelope.items.get(2), label);
+            Object back = SIMPLE.fromJson(sjf4j.toJsonString(envelope));
+            assertEquals(SIMPLE.fromJson(json), back, label);
+        }
+
+        Envelope envelope = SIMPLE.fromJson(json, Envelope.class);
+        assertEquals("{\"price\": 10.50, \"tags\": [\"a\"]}", envelope.payload.json());
+        assertEquals(RawJson.of("1.0"), envelope.items.get(0));
+        assertEquals(json, SIMPLE.toJsonString(envelope));
+    }
+
+    static class PlainEnvelope {
+        public String id;
+        public RawJson payload;
+        public List<RawJson> items;
+    }
+
+    @Test
+    void testRawJsonOnPlainPojo() {
+        String json = "{\"id\":\"p1\",\"payload\":{\"a\": 1},\"items\":[1,\"s\",[true],null]}";
+        for (Sjf4j sjf4j : Arrays.asList(SIMPLE, GSON)) {
+            String label = sjf4j.jsonFacade().getClass().getSimpleName();
+            PlainEnvelope envelope = sjf4j.fromJson(json, PlainEnvelope.class);
+            assertEquals(SIMPLE.fromJson("{\"a\":1}"), envelope.payload.toNode(), label);
+            assertEquals(RawJson.of("\"s\""), envelope.items.get(1), label);
+            assertNull(envelope.items.get(3), label);
+            assertEquals(SIMPLE.fromJson(json), SIMPLE.fromJson(sjf4j.toJsonString(envelope)), label);
+        }
+
+        PlainEnvelope envelope = new PlainEnvelope();
+        envelope.payload = RawJson.of("{\"a\":[1,2]}");
+        assertEquals("{\"id\":null,\"payload\":{\"a\":[1,2]},\"items\":null}", GSON.toJsonString(envelope));
+
+        PlainEnvelope converted = SIMPLE.fromNode(SIMPLE.fromJson(json), PlainEnvelope.class);
+        assertEquals(RawJson.of("{\"a\":1}"), converted.payload);
+        assertEquals(Arrays.asList(RawJson.of("1"), RawJson.of("\"s\""), RawJson.of("[true]"), null), converted.items);
+        assertEquals(SIMPLE.fromJson(json), SIMPLE.toRaw(converted));
+    }
+
+    @Test
+    void testRawJsonNull() {
+        Envelope envelope = SIMPLE.fromJson("{\"id\":\"e2\",\"payload\":null}", Envelope.class);
+        assertNull(envelope.payload);
+        assertEquals("{\"id\":\"e2\",\"payload\":null,\"items\":null}", SIMPLE.toJsonString(envelope));
+    }
+
+}
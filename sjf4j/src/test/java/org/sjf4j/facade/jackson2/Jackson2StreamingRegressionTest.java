@@ -1,12 +1,17 @@
 package org.sjf4j.facade.jackson2;
 
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.sjf4j.JsonObject;
+import org.sjf4j.facade.EncodedName;
 import org.sjf4j.facade.StreamingContext;
 
+import java.io.StringWriter;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Jackson2StreamingRegressionTest {
@@ -49,6 +54,26 @@ class Jackson2StreamingRegressionTest {
         assertNull(object.getByPath("$.tags[2]", Object.class));
     }
 
+    @Test
+    void testEncodedNamesReuseSerializedString() throws Exception {
+        EncodedName name = EncodedName.of("a\"\n");
+        StringWriter out = new StringWriter();
+        Jackson2Writer writer = newFacade(StreamingContext.StreamingMode.SHARED_IO).createWriter(out);
+        writer.startArray();
+        for (int i = 0; i < 2; i++) {
+            writer.startObject();
+            writer.writeEncodedName(name);
+            writer.writeNumber(i);
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.flush();
+        assertEquals("[{\"a\\\"\\n\":0},{\"a\\\"\\n\":1}]", out.toString());
+        SerializedString cached = name.nativeName(SerializedString.class, SerializedString::new);
+        assertSame(cached, name.nativeName(SerializedString.class, n -> null));
+        assertEquals("a\"\n", cached.getValue());
+    }
+
     private static Jackson2JsonFacade newFacade(StreamingContext.StreamingMode mode) {
         return new Jackson2JsonFacade(new ObjectMapper(), new StreamingContext(mode));
     }
@@ -1,6 +1,7 @@
 package org.sjf4j.facade.simple;
 
 import org.junit.jupiter.api.Test;
+import org.sjf4j.facade.EncodedName;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -74,4 +75,28 @@ class SimpleJsonWriterTest {
         }
         assertEquals("1", out.toString());
     }
+
+    @Test
+    void testPrimitiveNumbersAndEncodedNames() throws Exception {
+        StringWriter out = new StringWriter();
+        try (SimpleJsonWriter writer = new SimpleJsonWriter(out)) {
+            writer.startObject();
+            writer.writeEncodedName(EncodedName.of("a\"\n"));
+            writer.startArray();
+            writer.writeNumber(0L);
+            writer.writeArrayComma();
+            writer.writeNumber(-1234567890123L);
+            writer.writeArrayComma();
+            writer.writeNumber(Long.MIN_VALUE);
+            writer.writeArrayComma();
+            writer.writeNumber(Long.MAX_VALUE);
+            writer.writeArrayComma();
+            writer.writeNumber(1.5d);
+            writer.endArray();
+            writer.endObject();
+            writer.flush();
+        }
+        assertEquals("{\"a\\\"\\n\":[0,-1234567890123,-9223372036854775808,9223372036854775807,1.5]}",
+                out.toString());
+    }
 }
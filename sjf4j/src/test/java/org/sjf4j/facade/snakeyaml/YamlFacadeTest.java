@@ -1,14 +1,29 @@
 package org.sjf4j.facade.snakeyaml;
 
 import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.BindingException;
+import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.snake.SnakeYamlFacade;
 import org.sjf4j.node.TypeReference;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class YamlFacadeTest {
 
@@ -84,6 +99,103 @@ class YamlFacadeTest {
         assertEquals("Jack", user.name);
     }
 
+    @Test
+    void testReadYamlDocumentsStreamsEachDocument() {
+        Sjf4j sjf4j = Sjf4j.builder().yamlFacadeProvider(SnakeYamlFacade.provider()).build();
+        String yaml = PERSON_YAML + "---\n" + PERSON_YAML + "---\nid: 7\nname: jack\n";
+        List<Person> people;
+        try (Stream<Person> documents = sjf4j.readYamlDocuments(
+                new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)), Person.class)) {
+            people = documents.collect(Collectors.toList());
+        }
+        assertEquals(3, people.size());
+        assertPerson(people.get(0));
+        assertPerson(people.get(1));
+        assertEquals(7, people.get(2).id);
+        assertEquals("jack", people.get(2).name);
+
+        assertEquals(Collections.singletonList(JsonObject.of("a", 1)),
+                sjf4j.readYamlDocuments(new StringReader("a: 1\n"), JsonObject.class).collect(Collectors.toList()));
+        assertThrows(BindingException.class, () -> sjf4j.fromYaml("a: 1\n---\na: 2\n"));
+    }
+
+    @Test
+    void testReadYamlDocumentsIsLazy() {
+        SnakeYamlFacade facade = new SnakeYamlFacade();
+        String yaml = "name: first\n---\nname: [unclosed\n";
+        Stream<Object> documents = facade.readDocuments(new StringReader(yaml), NameOnlyUser.class);
+        Iterator<Object> it = documents.iterator();
+        assertEquals("first", ((NameOnlyUser) it.next()).name);
+        assertThrows(BindingException.class, it::hasNext);
+    }
+
+    @Test
+    void testAliasesBindToTheAnchoredValue() {
+        SnakeYamlFacade facade = new SnakeYamlFacade();
+        String yaml = ""
+                + "base: &base\n"
+                + "  x: 1\n"
+                + "  tags: &tags [a, b]\n"
+                + "name: &name han\n"
+                + "copy: *base\n"
+                + "alias: *name\n"
+                + "nested:\n"
+                + "  - *tags\n"
+                + "  - &outer {inner: *base}\n"
+                + "  - *outer\n";
+        JsonObject node = (JsonObject) facade.readNode(yaml, JsonObject.class);
+        assertEquals(node.getJsonObject("base"), node.getJsonObject("copy"));
+        assertEquals("han", node.getString("alias"));
+        assertEquals(JsonArray.of("a", "b"), node.getJsonArrayByPath("$.nested[0]"));
+        assertEquals(node.getJsonObject("base"), node.getJsonObjectByPath("$.nested[2].inner"));
+
+        String multi = "a: &v 1\nb: *v\n---\nc: *v\n";
+        Stream<Object> documents = facade.readDocuments(new StringReader(multi), JsonObject.class);
+        Iterator<Object> it = documents.iterator();
+        assertEquals(JsonObject.of("a", 1, "b", 1), it.next());
+        BindingException e = assertThrows(BindingException.class, it::next);
+        assertTrue(e.getCause().getMessage().contains("unknown anchor"), e.getCause().getMessage());
+    }
+
+    @Test
+    void testAliasesToCollectionsAreLimited() {
+        LoaderOptions options = new LoaderOptions();
+        options.setMaxAliasesForCollections(2);
+        SnakeYamlFacade facade = new SnakeYamlFacade(options, new DumperOptions(), StreamingContext.EMPTY);
+        JsonObject node = (JsonObject) facade.readNode("a: &a [1]\nb: *a\nc: *a\nd: &s x\ne: *s\nf: *s\n",
+                JsonObject.class);
+        assertEquals(JsonArray.of(1), node.getJsonArray("c"));
+        assertEquals("x", node.getString("f"));
+        assertThrows(BindingException.class,
+                () -> facade.readNode("a: &a [1]\nb: *a\nc: *a\nd: *a\n", JsonObject.class));
+    }
+
+    @Test
+    void testMergeKeysInsertAliasedEntries() {
+        SnakeYamlFacade facade = new SnakeYamlFacade();
+        String yaml = ""
+                + "b: &b {x: 1, y: 2, z: {k: 1}}\n"
+                + "c: &c {x: 9, w: 4}\n"
+                + "d: {<<: *b, y: 3}\n"
+                + "e: {y: 3, <<: [*c, *b]}\n"
+                + "f: &f\n"
+                + "  <<: *b\n"
+                + "  inner: {<<: *c, w: 5}\n"
+                + "g: *f\n"
+                + "h: {'<<': 1}\n";
+        JsonObject node = (JsonObject) facade.readNode(yaml, JsonObject.class);
+        assertEquals("{\"x\":1,\"z\":{\"k\":1},\"y\":3}", node.getJsonObject("d").toJson());
+        assertEquals("{\"y\":3,\"x\":9,\"w\":4,\"z\":{\"k\":1}}", node.getJsonObject("e").toJson());
+        assertEquals(JsonObject.of("x", 9, "w", 5), node.getJsonObjectByPath("$.f.inner"));
+        assertEquals(node.getJsonObject("f"), node.getJsonObject("g"));
+        assertEquals(2, node.getIntByPath("$.g.y"));
+        assertEquals(1, node.getIntByPath("$.h['<<']"));
+
+        BindingException e = assertThrows(BindingException.class,
+                () -> facade.readNode("a: &a [1]\nb: {<<: *a}\n", JsonObject.class));
+        assertTrue(e.getCause().getMessage().contains("merge key"), e.getCause().getMessage());
+    }
+
     private static void assertPerson(Person person) {
         assertEquals(123, person.id);
         assertEquals("han", person.name);
@@ -0,0 +1,165 @@
+package org.sjf4j.node;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactMapTest {
+
+    private static Map<String, Object> build(CompactMap.Shapes shapes, Object... keyValues) {
+        CompactMap.ObjectBuilder builder = shapes.newObject();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            builder.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testSameKeySequenceSharesShape() {
+        CompactMap.Shapes shapes = new CompactMap.Shapes();
+        CompactMap a = (CompactMap) build(shapes, "id", 1, "name", "a");
+        CompactMap b = (CompactMap) build(shapes, "id", 2, "name", "b");
+        CompactMap c = (CompactMap) build(shapes, "name", "c", "id", 3);
+
+        assertSame(a.shape(), b.shape());
+        assertFalse(a.shape() == c.shape());
+        assertEquals(4, shapes.size());
+        assertEquals(2, b.get("id"));
+        assertEquals("b", b.get("name"));
+        assertNull(b.get("missing"));
+        assertEquals(Arrays.asList("id", "name"), new ArrayList<>(b.keySet()));
+    }
+
+    @Test
+    public void testBehavesLikeLinkedHashMap() {
+        CompactMap.Shapes shapes = new CompactMap.Shapes();
+        Map<String, Object> compact = build(shapes, "a", 1, "b", null, "a", 3);
+        Map<String, Object> linked = new LinkedHashMap<>();
+        linked.put("a", 3);
+        linked.put("b", null);
+
+        assertEquals(linked, compact);
+        assertEquals(compact, linked);
+        assertEquals(linked.hashCode(), compact.hashCode());
+        assertEquals(linked.toString(), compact.toString());
+        assertTrue(compact.containsKey("b"));
+        assertFalse(compact.containsKey(1));
+    }
+
+    @Test
+    public void testMutationSpillsWithoutTouchingShape() {
+        CompactMap.Shapes shapes = new CompactMap.Shapes();
+        CompactMap a = (CompactMap) build(shapes, "x", 1, "y", 2);
+        CompactMap b = (CompactMap) build(shapes, "x", 10, "y", 20);
+
+        assertEquals(1, a.put("x", 5));
+        assertSame(a.shape(), b.shape());
+
+        a.put("z", 3);
+        assertNull(a.shape());
+        assertEquals("{x=5, y=2, z=3}", a.toString());
+        assertEquals("{x=10, y=20}", b.toString());
+
+        Iterator<Map.Entry<String, Object>> it = b.entrySet().iterator();
+        Map.Entry<String, Object> first = it.next();
+        assertEquals(10, first.setValue(11));
+        assertEquals(11, b.get("x"));
+        it.remove();
+        assertEquals("{y=20}", b.toString());
+        assertNull(first.getValue());
+        assertEquals(1, b.size());
+
+        CompactMap c = (CompactMap) build(shapes, "x", 1);
+        assertEquals(1, c.remove("x"));
+        assertTrue(c.isEmpty());
+    }
+
+    @Test
+    public void testLimitsFallBackToLinkedHashMap() {
+        CompactMap.Shapes shapes = new CompactMap.Shapes(2);
+        assertInstanceOf(CompactMap.class, build(shapes, "a", 1, "b", 2));
+        Map<String, Object> wide = build(shapes, "a", 1, "b", 2, "c", 3);
+        assertInstanceOf(LinkedHashMap.class, wide);
+        assertEquals("{a=1, b=2, c=3}", wide.toString());
+
+        CompactMap.ObjectBuilder builder = new CompactMap.Shapes().newObject();
+        for (int i = 0; i <= CompactMap.MAX_KEYS; i++) builder.put("k" + i, i);
+        Map<String, Object> large = builder.build();
+        assertInstanceOf(LinkedHashMap.class, large);
+        assertEquals(CompactMap.MAX_KEYS + 1, large.size());
+    }
+
+    @Test
+    public void testIndexedLookupAboveLinearLimit() {
+        CompactMap.ObjectBuilder builder = new CompactMap.Shapes().newObject();
+        for (int i = 0; i < 20; i++) builder.put("k" + i, i);
+        Map<String, Object> map = builder.build();
+        assertInstanceOf(CompactMap.class, map);
+        for (int i = 0; i < 20; i++) assertEquals(i, map.get("k" + i));
+        assertNull(map.get("k20"));
+    }
+
+    @Test
+    public void testSerializesAsLinkedHashMap() throws Exception {
+        Map<String, Object> map = build(new CompactMap.Shapes(), "a", 1, "b", "two");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object copy = in.readObject();
+            assertInstanceOf(LinkedHashMap.class, copy);
+            assertEquals(map, copy);
+        }
+    }
+
+    @Test
+    public void testRuntimeReadsCompactObjects() {
+        Sjf4j runtime = Sjf4j.builder()
+                .jsonFacadeProvider(SimpleJsonFacade.provider())
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .compactObjects(true)
+                .build();
+        String json = "[{\"id\":1,\"tags\":{\"k\":\"v\"}},{\"id\":2,\"tags\":{\"k\":\"w\"}}]";
+
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) runtime.fromJson(json, Object.class);
+        CompactMap first = (CompactMap) list.get(0);
+        CompactMap second = (CompactMap) list.get(1);
+        assertSame(first.shape(), second.shape());
+        assertInstanceOf(CompactMap.class, second.get("tags"));
+        assertEquals(json, runtime.toJsonString(list));
+
+        JsonArray array = runtime.fromJson(json, JsonArray.class);
+        assertEquals(2, array.getJsonObject(1).getInt("id", 0));
+        JsonObject object = runtime.fromJson("{\"id\":3}", JsonObject.class);
+        object.put("extra", true);
+        assertEquals("{\"id\":3,\"extra\":true}", runtime.toJsonString(object));
+
+        assertTrue(new Sjf4j.Builder(runtime).build().streamingContext().compactObjects);
+        Sjf4j plain = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+        assertInstanceOf(LinkedHashMap.class, plain.fromJson("{\"id\":1}", Object.class));
+    }
+
+}
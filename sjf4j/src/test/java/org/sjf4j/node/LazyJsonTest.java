@@ -0,0 +1,156 @@
+package org.sjf4j.node;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+import org.sjf4j.patch.JsonPatch;
+import org.sjf4j.path.JsonPath;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyJsonTest {
+
+    private static final String DOC = "{ \"id\": 7, \"name\": \"caf\\u00e9 \\\"x\\\"\", \"ok\": true, \"none\": null,"
+            + " \"tags\": [\"a\", \"b\"], \"nested\": {\"deep\": {\"v\": 1.5}, \"list\": [1, {\"k\": \"ü\"}]} }";
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Sjf4j sharedRuntime() {
+        return Sjf4j.builder()
+                .jsonFacadeProvider(SimpleJsonFacade.provider())
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .build();
+    }
+
+    @Test
+    public void testReadsLikeEagerNodes() {
+        JsonObject lazy = LazyJson.parseObject(bytes(DOC));
+        JsonObject eager = JsonObject.fromJson(DOC);
+
+        assertTrue(LazyJson.isLazy(lazy));
+        assertEquals(7, lazy.getInt("id", 0));
+        assertEquals("café \"x\"", lazy.getString("name"));
+        assertEquals(Boolean.TRUE, lazy.getBoolean("ok"));
+        assertTrue(lazy.containsKey("none"));
+        assertNull(lazy.getNode("none"));
+        assertInstanceOf(JsonArray.class, lazy.getNode("tags"));
+        assertTrue(LazyJson.isLazy(lazy.getNode("nested")));
+        assertEquals("ü", Nodes.getInObject(Nodes.getInArray(
+                Nodes.getInObject(lazy.getNode("nested"), "list"), 1), "k"));
+        assertEquals(1.5, JsonPath.parse("$.nested.deep.v").getNode(lazy));
+        assertEquals(Arrays.asList("id", "name", "ok", "none", "tags", "nested"), new ArrayList<>(lazy.keySet()));
+        assertTrue(Nodes.equals(eager, lazy));
+        assertTrue(Nodes.equals(lazy, eager));
+    }
+
+    @Test
+    public void testUntouchedSubtreesAreCopiedVerbatim() {
+        String json = "{\"a\": {\"x\" : [1, 2.50, \"s\"]}, \"b\": [ {\"y\":null} ]}";
+        Sjf4j runtime = sharedRuntime();
+        JsonObject lazy = LazyJson.parseObject(bytes(json));
+
+        assertEquals(json, runtime.toJsonString(lazy));
+
+        // Reading does not modify, so the original spacing and number text survive
+        assertEquals(2.5, JsonPath.parse("$.a.x[1]").getNode(lazy));
+        assertEquals(json, runtime.toJsonString(lazy));
+
+        lazy.getJsonObject("a").put("x", "changed");
+        assertEquals("{\"a\":{\"x\":\"changed\"},\"b\":[ {\"y\":null} ]}", runtime.toJsonString(lazy));
+
+        Sjf4j skipNulls = Sjf4j.builder(runtime).includeNulls(false).build();
+        assertEquals("{\"b\":[{}]}", skipNulls.toJsonString(LazyJson.parseObject(bytes("{\"b\": [ {\"y\":null} ]}"))));
+    }
+
+    @Test
+    public void testOnlyWellFormedSubtreesAreCopied() {
+        Sjf4j runtime = sharedRuntime();
+        for (String json : Arrays.asList("{\"a\":1]", "[1,,2]", "{\"a\": undefined}", "[1,]", "{\"a\":1,}",
+                "[\"\\x\"]", "{\"a\" 1}", "{\"a\":[1}]}", "[{\"a\":1]]")) {
+            assertThrows(JsonException.class, () -> runtime.toJsonString(LazyJson.parse(bytes(json))), json);
+        }
+        // Text the decoder tolerates is re-encoded rather than copied
+        assertEquals("[1,1.0,\"tab\\there\"]", runtime.toJsonString(LazyJson.parse(bytes("[01, 1., \"tab\there\"]"))));
+
+        // Duplicate keys are written once, with the value the map view holds
+        JsonObject duplicated = LazyJson.parseObject(bytes("{\"a\":1, \"b\": [ 1 ], \"a\":2}"));
+        assertEquals(2, duplicated.getInt("a", 0));
+        assertEquals("{\"a\":2,\"b\":[ 1 ]}", runtime.toJsonString(duplicated));
+        assertEquals("[{\"k\":2}]", runtime.toJsonString(LazyJson.parse(bytes("[{\"k\":[1],\"k\":2}]"))));
+
+        // Nested objects reuse key sets per depth without mixing sibling keys
+        String valid = "[{\"a\":{\"a\":1}}, [[{\"a\":1,\"b\":-0.5e+3}]], {\"a\":\"\\u00e9\\n\"}, true, null]";
+        assertEquals(valid, runtime.toJsonString(LazyJson.parse(bytes(valid))));
+    }
+
+    @Test
+    public void testMutationAndPatch() {
+        JsonObject lazy = LazyJson.parseObject(bytes("{\"a\": 1, \"b\": {\"c\": [1, 2]}, \"a\": 3}"));
+        assertEquals(3, lazy.getInt("a", 0));
+        assertEquals(2, lazy.size());
+
+        JsonPatch patch = sharedRuntime().fromJson("[{\"op\":\"add\",\"path\":\"/b/c/-\",\"value\":3},"
+                + "{\"op\":\"remove\",\"path\":\"/a\"},{\"op\":\"replace\",\"path\":\"/b/d\",\"value\":true}]", JsonPatch.class);
+        assertThrows(JsonException.class, () -> patch.apply(lazy));
+
+        JsonObject target = LazyJson.parseObject(bytes("{\"a\": 1, \"b\": {\"c\": [1, 2], \"d\": false}}"));
+        patch.apply(target);
+        assertTrue(Nodes.equals(JsonObject.fromJson("{\"b\":{\"c\":[1,2,3],\"d\":true}}"), target));
+        assertEquals("{\"b\":{\"c\":[1,2,3],\"d\":true}}", sharedRuntime().toJsonString(target));
+
+        JsonArray array = (JsonArray) LazyJson.parse(bytes("[1, [2], 3]"));
+        JsonObject entries = LazyJson.parseObject(bytes("{\"k\": 1}"));
+        for (Map.Entry<String, Object> e : entries.entrySet()) {
+            assertEquals(1, e.setValue(2));
+        }
+        assertEquals(JsonObject.of("k", 2), entries);
+        array.remove(0);
+        assertEquals("[[2],3]", sharedRuntime().toJsonString(array));
+    }
+
+    @Test
+    public void testScalarsBuffersAndErrors() {
+        assertEquals("x", LazyJson.parse(bytes(" \"x\" ")));
+        assertEquals(12, LazyJson.parse(bytes("12")));
+        assertNull(LazyJson.parse(bytes("null")));
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes("__[1,2]"));
+        buffer.position(2);
+        JsonArray array = (JsonArray) LazyJson.parse(buffer);
+        assertEquals(2, array.size());
+        assertEquals(2, buffer.position());
+        ByteBuffer direct = ByteBuffer.allocateDirect(5).put(bytes("{}   "));
+        direct.flip();
+        assertEquals(0, ((JsonObject) LazyJson.parse(direct)).size());
+
+        assertThrows(JsonException.class, () -> LazyJson.parse(bytes("")));
+        assertThrows(JsonException.class, () -> LazyJson.parse(bytes("{} x")));
+        assertThrows(JsonException.class, () -> LazyJson.parse(bytes("{\"a\": [1}")));
+        assertThrows(JsonException.class, () -> LazyJson.parse(bytes("tru")));
+        assertThrows(JsonException.class, () -> LazyJson.parseObject(bytes("[]")));
+
+        // Syntax errors in a subtree surface when it is indexed
+        JsonObject broken = LazyJson.parseObject(bytes("{\"ok\": 1, \"bad\": {\"x\" 1}}"));
+        assertEquals(1, broken.getInt("ok", 0));
+        assertThrows(JsonException.class, () -> broken.getJsonObject("bad").size());
+        assertFalse(LazyJson.isLazy(JsonObject.of("a", 1)));
+    }
+
+}
@@ -0,0 +1,178 @@
+package org.sjf4j.node;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.annotation.node.OneOf;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.FacadeProvider;
+import org.sjf4j.facade.JsonFacade;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.StreamingIO;
+import org.sjf4j.facade.jackson2.Jackson2Reader;
+import org.sjf4j.facade.gson.GsonJsonFacade;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyNumberTest {
+
+    private static Sjf4j lazyRuntime(FacadeProvider<JsonFacade<?, ?>> provider) {
+        return Sjf4j.builder()
+                .jsonFacadeProvider(provider)
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .lazyNumbers(true)
+                .build();
+    }
+
+    @Test
+    public void testParsesOnFirstAccess() {
+        LazyNumber n = new LazyNumber("42");
+        assertFalse(n.isParsed());
+        assertEquals("42", n.toString());
+        assertEquals(42, n.intValue());
+        assertTrue(n.isParsed());
+        assertInstanceOf(Integer.class, n.value());
+
+        assertInstanceOf(Long.class, new LazyNumber("12345678901").value());
+        assertInstanceOf(BigInteger.class, new LazyNumber("123456789012345678901234").value());
+        assertEquals(1.5e3, new LazyNumber("1.5E+3").doubleValue());
+        assertEquals(-0.25f, new LazyNumber("-0.25").floatValue());
+
+        assertThrows(JsonException.class, () -> new LazyNumber("01"));
+        assertThrows(JsonException.class, () -> new LazyNumber("1."));
+        assertThrows(JsonException.class, () -> new LazyNumber("1e"));
+        assertThrows(JsonException.class, () -> new LazyNumber("-"));
+        assertThrows(JsonException.class, () -> new LazyNumber("1_000"));
+        assertThrows(JsonException.class, () -> new LazyNumber(" 1"));
+    }
+
+    @Test
+    public void testComparesAndHashesByValue() {
+        LazyNumber one = new LazyNumber("1");
+        LazyNumber oneDecimal = new LazyNumber("1.00");
+        assertEquals(0, Numbers.compare(one, 1L));
+        assertEquals(0, Numbers.compare(oneDecimal, new BigDecimal("1")));
+        assertTrue(Numbers.compare(new LazyNumber("2.5"), 2) > 0);
+        assertTrue(Numbers.compare(new LazyNumber("99999999999999999999"), Long.MAX_VALUE) > 0);
+        assertEquals(Numbers.hash(1), Numbers.hash(one));
+        assertEquals(Numbers.hash(new BigDecimal("2.50")), Numbers.hash(new LazyNumber("2.5")));
+
+        assertEquals(one, oneDecimal);
+        assertEquals(one.hashCode(), oneDecimal.hashCode());
+        assertNotEquals(one, new LazyNumber("2"));
+        assertFalse(one.equals(1));
+        assertTrue(Nodes.equals(one, 1));
+        assertTrue(Nodes.equals(1.0, oneDecimal));
+        assertEquals(Nodes.hash(1), Nodes.hash(one));
+
+        assertEquals(7, Numbers.toInt(new LazyNumber("7")));
+        assertEquals(new BigDecimal("0.1"), Numbers.toBigDecimal(new LazyNumber("0.1")));
+        assertThrows(JsonException.class, () -> Numbers.toInt(new LazyNumber("3000000000")));
+        assertThrows(JsonException.class, () -> Numbers.toLong(new LazyNumber("1e30")));
+        assertEquals(Short.valueOf((short) 3), Numbers.to(new LazyNumber("3"), Short.class));
+        assertTrue(Numbers.isIntegralType(new LazyNumber("3")));
+        assertTrue(Numbers.isSemanticInteger(new LazyNumber("3.0")));
+        assertFalse(Numbers.isSemanticInteger(new LazyNumber("3.5")));
+    }
+
+    @Test
+    public void testRoundTripsLiteralsVerbatim() {
+        String json = "{\"price\":1.10,\"big\":12345678901234567890.000000000001,\"exp\":1E+2,\"id\":7,\"list\":[0.50,-0]}";
+        for (Sjf4j runtime : Arrays.asList(lazyRuntime(SimpleJsonFacade.provider()),
+                lazyRuntime(GsonJsonFacade.provider()))) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> map = (Map<String, Object>) runtime.fromJson(json, Object.class);
+            assertInstanceOf(LazyNumber.class, map.get("price"));
+            assertEquals("1.10", map.get("price").toString());
+            assertEquals(json, runtime.toJsonString(map));
+
+            JsonObject object = runtime.fromJson(json, JsonObject.class);
+            assertEquals(7, object.getInt("id", 0));
+            assertEquals(1.1, object.getDouble("price", 0d));
+            assertEquals(json, runtime.toJsonString(object));
+
+            assertInstanceOf(LazyNumber.class, runtime.fromJson("3.0", Number.class));
+            assertEquals(Integer.valueOf(3), runtime.fromJson("3", Integer.class));
+            @SuppressWarnings("unchecked")
+            List<Object> values = (List<Object>) runtime.fromJson("[1, 2.0]", Object.class);
+            assertTrue(Nodes.equals(JsonObject.fromJson("{\"a\":[1,2]}").getNode("a"), values));
+        }
+
+        assertTrue(Sjf4j.builder(lazyRuntime(SimpleJsonFacade.provider())).build().streamingContext().lazyNumbers);
+        Sjf4j plain = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+        assertFalse(plain.streamingContext().lazyNumbers);
+        assertInstanceOf(Double.class, plain.fromJson("1.10", Object.class));
+    }
+
+    @OneOf(value = @OneOf.Mapping(value = Price.class, when = "price"), key = "kind")
+    public static class Tagged {
+        public String kind;
+    }
+
+    public static class Price extends Tagged {
+        public Object amount;
+    }
+
+    public static class Holder {
+        @OneOf(value = @OneOf.Mapping(value = Price.class, when = "price"), key = "kind", scope = OneOf.Scope.PARENT)
+        public Tagged item;
+        public String kind;
+    }
+
+    @Test
+    public void testOneOfValuesReadWithContext() {
+        Sjf4j runtime = lazyRuntime(SimpleJsonFacade.provider());
+        Price price = (Price) runtime.fromJson("{\"kind\":\"price\",\"amount\":1.10}", Tagged.class);
+        assertEquals("1.10", ((LazyNumber) price.amount).literal());
+
+        // the item is buffered until the parent's kind has been read
+        Holder holder = runtime.fromJson("{\"item\":{\"amount\":2.50},\"kind\":\"price\"}", Holder.class);
+        assertEquals("2.50", ((LazyNumber) ((Price) holder.item).amount).literal());
+    }
+
+    @Test
+    public void testNonFiniteNumbersStayDoubles() throws Exception {
+        StreamingContext context = new StreamingContext(StreamingContext.StreamingMode.SHARED_IO).withLazyNumbers(true);
+        JsonParser parser = new JsonFactory().enable(JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS)
+                .createParser("[NaN,1.10,-INF,\"INF\"]");
+        @SuppressWarnings("unchecked")
+        List<Object> values = (List<Object>) StreamingIO.readNode(new Jackson2Reader(parser), Object.class, context);
+        assertEquals(Double.NaN, values.get(0));
+        assertEquals("1.10", ((LazyNumber) values.get(1)).literal());
+        assertEquals(Double.NEGATIVE_INFINITY, values.get(2));
+        assertEquals("INF", values.get(3));
+    }
+
+    @Test
+    public void testContextOptionCopies() {
+        StreamingContext base = new StreamingContext(StreamingContext.StreamingMode.SHARED_IO, false);
+        assertSame(base, base.withLazyNumbers(false));
+        StreamingContext all = base.withCompactObjects(true).withCanonicalKeys(true).withLazyNumbers(true);
+        assertTrue(all.compactObjects && all.canonicalKeys && all.lazyNumbers);
+        assertFalse(all.includeNulls);
+        assertEquals(StreamingContext.StreamingMode.SHARED_IO, all.streamingMode);
+        assertSame(all.objectShapes, all.withLazyNumbers(false).objectShapes);
+        StreamingContext lazyOnly = all.withCompactObjects(false).withCanonicalKeys(false);
+        assertTrue(lazyOnly.lazyNumbers);
+        assertFalse(lazyOnly.compactObjects || lazyOnly.canonicalKeys);
+        assertNull(lazyOnly.objectShapes);
+        assertNull(lazyOnly.keyTable());
+    }
+
+}
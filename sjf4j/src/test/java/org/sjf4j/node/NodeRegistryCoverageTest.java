@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
 import org.sjf4j.JsonType;
+import org.sjf4j.Sjf4j;
 import org.sjf4j.annotation.node.NamingStrategy;
 import org.sjf4j.annotation.node.OneOf;
 import org.sjf4j.annotation.node.NodeBinding;
@@ -17,6 +18,7 @@ import org.sjf4j.annotation.node.ValueToRaw;
 import org.sjf4j.exception.JsonException;
 import org.sjf4j.facade.StreamingContext;
 import org.sjf4j.facade.StreamingIO;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
 import org.sjf4j.facade.simple.SimpleJsonReader;
 
 import java.io.StringReader;
@@ -248,6 +250,43 @@ class NodeRegistryCoverageTest {
         assertEquals(Long.class, creatorInfo.argValueCodecs[0].rawClazz);
     }
 
+    static class NamedRawCodecPojo {
+        public Long plain;
+        @NodeProperty(codecName = "coverageHex")
+        public Long hex;
+        public int count;
+        @NodeProperty(codecName = "coverageHexInt")
+        public int code;
+    }
+
+    @Test
+    void testNamedCodecOnRawTypeIsNotDefault() {
+        NodeRegistry.registerValueCodec("coverageHex", new ValueCodec.SimpleValueCodec<>(
+                Long.class, String.class, Long::toHexString, s -> Long.parseLong(s, 16)));
+        NodeRegistry.registerValueCodec("coverageHexInt", new ValueCodec.SimpleValueCodec<>(
+                Integer.class, String.class, Integer::toHexString, s -> Integer.parseInt(s, 16)));
+
+        assertNull(NodeRegistry.registerTypeInfo(Long.class).valueCodecInfo);
+        assertEquals("coverageHex", NodeRegistry.resolveValueCodecOrElseThrow(Long.class, "coverageHex").codecName);
+        assertNull(NodeRegistry.registerTypeInfo(Integer.class).valueCodecInfo);
+
+        NodeRegistry.PojoInfo pi = NodeRegistry.registerPojoOrElseThrow(NamedRawCodecPojo.class);
+        assertNull(pi.properties.get("plain").resolvedValueCodec);
+        assertNull(pi.properties.get("count").resolvedValueCodec);
+        // a codec on a primitive property resolves against the wrapper type
+        assertEquals(Integer.class, pi.properties.get("code").resolvedValueCodec.valueClazz);
+
+        Sjf4j sjf4j = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+        String json = "{\"plain\":255,\"hex\":\"ff\",\"count\":10,\"code\":\"a\"}";
+        NamedRawCodecPojo pojo = sjf4j.fromJson(json, NamedRawCodecPojo.class);
+        assertEquals(255L, pojo.plain);
+        assertEquals(255L, pojo.hex);
+        assertEquals(10, pojo.count);
+        assertEquals(10, pojo.code);
+        assertEquals(json, sjf4j.toJsonString(pojo));
+        assertEquals(json, sjf4j.toJsonString(sjf4j.fromNode(sjf4j.fromJson(json), NamedRawCodecPojo.class)));
+    }
+
     @Test
     void testCodecPatternResolvesLocalDateCodec() {
         NodeRegistry.PojoInfo pi = NodeRegistry.registerPojoOrElseThrow(LocalDatePatternPojo.class);
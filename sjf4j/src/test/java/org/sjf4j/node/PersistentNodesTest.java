@@ -0,0 +1,254 @@
+package org.sjf4j.node;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.StreamingContext;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+import org.sjf4j.patch.JsonPatch;
+import org.sjf4j.path.JsonPath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentNodesTest {
+
+    private static final String CONFIG = "{\"server\":{\"port\":80,\"hosts\":[\"a\",\"b\"]},"
+            + "\"db\":{\"pool\":{\"min\":1,\"max\":8}},\"flags\":[true,false]}";
+
+    private static Object config() {
+        return PersistentNodes.from(JsonObject.fromJson(CONFIG));
+    }
+
+    @Test
+    public void testListMatchesArrayList() {
+        Random random = new Random(42);
+        PersistentList list = PersistentList.empty();
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            list = list.plus(i);
+            expected.add(i);
+        }
+        assertEquals(expected, list);
+        PersistentList snapshot = list;
+
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(5);
+            int idx = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            if (op == 0 || expected.isEmpty()) {
+                list = list.plus(-i);
+                expected.add(-i);
+            } else if (op == 1) {
+                list = list.with(idx, "s" + i);
+                expected.set(idx, "s" + i);
+            } else if (op == 2) {
+                list = list.without(expected.size() - 1);
+                expected.remove(expected.size() - 1);
+            } else if (op == 3) {
+                list = list.insert(idx, "i" + i);
+                expected.add(idx, "i" + i);
+            } else {
+                list = list.without(idx);
+                expected.remove(idx);
+            }
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.hashCode(), list.hashCode());
+        assertEquals(3000, snapshot.size());
+        assertEquals(2999, snapshot.get(2999));
+
+        for (int n : new int[]{0, 1, 32, 33, 1024, 1025, 32 * 32 * 32 + 1}) {
+            Object[] values = new Object[n];
+            for (int i = 0; i < n; i++) values[i] = i;
+            PersistentList built = PersistentList.of(values);
+            assertEquals(Arrays.asList(values), built);
+            PersistentList popped = built;
+            for (int i = n - 1; i >= 0; i--) popped = popped.without(i);
+            assertTrue(popped.isEmpty());
+        }
+        assertSame(list, list.with(0, list.get(0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> PersistentList.of(1).get(1));
+    }
+
+    @Test
+    public void testMapMatchesLinkedHashMap() {
+        Random random = new Random(7);
+        PersistentMap map = PersistentMap.empty();
+        Map<String, Object> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            // "Aa" and "BB" share a hash code, so keys built from them collide
+            String key = (random.nextBoolean() ? "Aa" : "BB") + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                map = map.without(key);
+                expected.remove(key);
+            } else {
+                map = map.with(key, i);
+                expected.put(key, i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertFalse(map.containsKey(1));
+
+        PersistentMap collide = PersistentMap.empty().with("Aa", 1).with("BB", 2);
+        assertEquals(1, collide.get("Aa"));
+        assertEquals(2, collide.get("BB"));
+        assertEquals(PersistentMap.empty().with("BB", 2), collide.without("Aa"));
+        assertSame(collide, collide.with("Aa", collide.get("Aa")));
+        assertSame(collide, collide.without("missing"));
+        assertThrows(UnsupportedOperationException.class, () -> collide.put("x", 1));
+        assertThrows(UnsupportedOperationException.class, () -> collide.entrySet().iterator().next().setValue(3));
+        assertThrows(UnsupportedOperationException.class, () -> PersistentList.empty().add(1));
+    }
+
+    @Test
+    public void testPathUpdatesShareUntouchedSubtrees() {
+        Object v1 = config();
+        Object v2 = JsonPath.parse("$.server.port").with(v1, 8080);
+
+        assertEquals(80, JsonPath.parse("$.server.port").getInt(v1, 0));
+        assertEquals(8080, JsonPath.parse("$.server.port").getInt(v2, 0));
+        assertInstanceOf(PersistentMap.class, v2);
+        assertSame(Nodes.getInObject(v1, "db"), Nodes.getInObject(v2, "db"));
+        assertSame(Nodes.getInObject(v1, "flags"), Nodes.getInObject(v2, "flags"));
+        assertSame(JsonPath.parse("$.server.hosts").getNode(v1), JsonPath.parse("$.server.hosts").getNode(v2));
+
+        Object v3 = JsonPath.parse("$.server.tls.enabled").with(v2, true);
+        assertInstanceOf(PersistentMap.class, JsonPath.parse("$.server.tls").getNode(v3));
+        Object v4 = JsonPath.parse("$.db.pool").without(v3);
+        assertEquals(0, Nodes.sizeInObject(Nodes.getInObject(v4, "db")));
+        assertTrue(JsonPath.parse("$.db.pool.max").contains(v3));
+
+        assertThrows(UnsupportedOperationException.class, () -> JsonPath.parse("$.server.port").put(v1, 1));
+        assertTrue(Nodes.equals(JsonObject.fromJson(CONFIG), v1));
+        assertEquals(CONFIG, Sjf4j.builder()
+                .jsonFacadeProvider(SimpleJsonFacade.provider())
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .build().toJsonString(v1));
+    }
+
+    @Test
+    public void testPatchReturnsNewVersion() {
+        Sjf4j runtime = Sjf4j.builder()
+                .jsonFacadeProvider(SimpleJsonFacade.provider())
+                .streamingMode(StreamingContext.StreamingMode.SHARED_IO)
+                .build();
+        JsonPatch patch = runtime.fromJson("[{\"op\":\"test\",\"path\":\"/db/pool/min\",\"value\":1},"
+                + "{\"op\":\"replace\",\"path\":\"/db/pool/max\",\"value\":16},"
+                + "{\"op\":\"add\",\"path\":\"/server/hosts/1\",\"value\":{\"name\":\"c\"}},"
+                + "{\"op\":\"copy\",\"from\":\"/server/hosts/1\",\"path\":\"/backup\"},"
+                + "{\"op\":\"move\",\"from\":\"/flags/0\",\"path\":\"/flags/-\"}]", JsonPatch.class);
+
+        Object v1 = config();
+        Object v2 = patch.apply(v1);
+
+        assertTrue(Nodes.equals(JsonObject.fromJson(CONFIG), v1));
+        assertTrue(Nodes.equals(JsonObject.fromJson("{\"server\":{\"port\":80,\"hosts\":[\"a\",{\"name\":\"c\"},\"b\"]},"
+                + "\"db\":{\"pool\":{\"min\":1,\"max\":16}},\"flags\":[false,true],\"backup\":{\"name\":\"c\"}}"), v2));
+        assertInstanceOf(PersistentMap.class, JsonPath.parse("$.server.hosts[1]").getNode(v2));
+        assertInstanceOf(PersistentMap.class, Nodes.getInObject(v2, "backup"));
+        assertSame(Nodes.getInObject(v1, "server").getClass(), Nodes.getInObject(v2, "server").getClass());
+
+        // A patch that only tests leaves the snapshot as it was
+        JsonPatch test = runtime.fromJson("[{\"op\":\"test\",\"path\":\"/db/pool/min\",\"value\":1}]", JsonPatch.class);
+        assertSame(v1, test.apply(v1));
+
+        JsonPatch failing = runtime.fromJson("[{\"op\":\"remove\",\"path\":\"/missing/x\"}]", JsonPatch.class);
+        assertThrows(JsonException.class, () -> failing.apply(v1));
+        assertTrue(Nodes.equals(JsonObject.fromJson(CONFIG), v1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListViewTracksTouchedContainersAcrossShifts() {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) items.add(PersistentMap.empty().with("i", i));
+        Object v1 = PersistentList.from(items);
+        Object v2 = PersistentNodes.update(v1, root -> {
+            List<Object> view = (List<Object>) root;
+            for (int i = 0; i < view.size(); i += 3) ((Map<String, Object>) view.get(i)).put("seen", true);
+            view.add(0, -1);
+            view.remove(1000);
+            ((Map<String, Object>) view.get(1500)).put("late", 1);
+            view.add(new ArrayList<>(Arrays.asList(1)));
+            return view;
+        });
+
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("i", i);
+            if (i % 3 == 0) m.put("seen", true);
+            if (i == 1500) m.put("late", 1);
+            if (i != 999) expected.add(m);
+        }
+        expected.add(0, -1);
+        expected.add(Arrays.asList(1));
+        assertTrue(Nodes.equals(expected, v2));
+        for (int i = 1; i < 2000; i++) assertInstanceOf(PersistentMap.class, Nodes.getInArray(v2, i));
+        assertInstanceOf(PersistentList.class, Nodes.getInArray(v2, 2000));
+        assertFalse(Nodes.containsInObject(Nodes.getInArray(v1, 0), "seen"));
+    }
+
+    @Test
+    public void testUpdateViewsAndSerialization() throws Exception {
+        Object v1 = config();
+        Object[] leaked = new Object[1];
+        Object v2 = PersistentNodes.update(v1, root -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> view = (Map<String, Object>) root;
+            Map<String, Object> added = new LinkedHashMap<>();
+            view.put("added", added);
+            added.put("late", 1);
+            view.remove("flags");
+            leaked[0] = view;
+            return view;
+        });
+        assertEquals(PersistentMap.empty().with("late", 1), Nodes.getInObject(v2, "added"));
+        assertInstanceOf(PersistentMap.class, Nodes.getInObject(v2, "added"));
+        assertFalse(Nodes.containsInObject(v2, "flags"));
+        assertTrue(Nodes.containsInObject(v1, "flags"));
+        assertThrows(JsonException.class, () -> Nodes.putInObject(leaked[0], "x", 1));
+        assertNull(PersistentNodes.update(v1, root -> null));
+        assertEquals("x", PersistentNodes.update(v1, root -> "x"));
+
+        Map<String, Object> mutable = new LinkedHashMap<>();
+        mutable.put("a", new ArrayList<>(Arrays.asList(1, 2)));
+        Object converted = JsonPath.parse("$.a[0]").with(mutable, 9);
+        assertEquals(Arrays.asList(1, 2), mutable.get("a"));
+        assertEquals(PersistentList.of(9, 2), Nodes.getInObject(converted, "a"));
+        assertSame(v1, PersistentNodes.from(v1));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(v1);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object copy = in.readObject();
+            assertInstanceOf(PersistentMap.class, copy);
+            assertInstanceOf(PersistentList.class, JsonPath.parse("$.server.hosts").getNode(copy));
+            assertEquals(v1, copy);
+        }
+    }
+
+}
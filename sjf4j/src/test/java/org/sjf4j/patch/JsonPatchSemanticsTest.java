@@ -3,18 +3,28 @@ package org.sjf4j.patch;
 import org.junit.jupiter.api.Test;
 import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
+import org.sjf4j.Sjf4j;
 import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+import org.sjf4j.node.Nodes;
 import org.sjf4j.path.JsonPointer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class JsonPatchSemanticsTest {
 
+    private static final Sjf4j SIMPLE = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+
+    private static JsonPatch patch(String json) {
+        return SIMPLE.fromJson(json, JsonPatch.class);
+    }
+
     @Test
     void testDiffTreatsObjectExplicitNullAsValue() {
         JsonObject source = JsonObject.of("a", 1);
@@ -242,4 +252,189 @@ class JsonPatchSemanticsTest {
 
         assertEquals(7, result);
     }
+
+    @Test
+    void testApplyAtomicRollsBackEveryOperationKind() {
+        String doc = "{\"a\":1,\"obj\":{\"x\":1,\"y\":[1,2]},\"arr\":[10,20,30],\"n\":null}";
+        String[] prefixes = {
+                "{\"op\":\"add\",\"path\":\"/b\",\"value\":2}",
+                "{\"op\":\"add\",\"path\":\"/a\",\"value\":{\"k\":1}}",
+                "{\"op\":\"add\",\"path\":\"/arr/1\",\"value\":15},{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40}",
+                "{\"op\":\"remove\",\"path\":\"/arr/0\"},{\"op\":\"remove\",\"path\":\"/obj/x\"}",
+                "{\"op\":\"replace\",\"path\":\"/obj/y/1\",\"value\":9},{\"op\":\"replace\",\"path\":\"/obj\",\"value\":0}",
+                "{\"op\":\"copy\",\"from\":\"/obj\",\"path\":\"/arr/0\"},{\"op\":\"replace\",\"path\":\"/arr/0/x\",\"value\":5}",
+                "{\"op\":\"move\",\"from\":\"/arr/0\",\"path\":\"/arr/2\"},{\"op\":\"move\",\"from\":\"/arr/1\",\"path\":\"/arr/-\"}",
+                "{\"op\":\"move\",\"from\":\"/obj/x\",\"path\":\"/a\"},{\"op\":\"move\",\"from\":\"/obj/y\",\"path\":\"/arr/1\"}",
+                "{\"op\":\"move\",\"from\":\"/obj/y\",\"path\":\"/obj\"},{\"op\":\"add\",\"path\":\"/obj/0\",\"value\":7}",
+                "{\"op\":\"ensurePut\",\"path\":\"/p/q/r\",\"value\":1},{\"op\":\"ensurePut\",\"path\":\"/n/m\",\"value\":2}",
+                "{\"op\":\"ensurePut\",\"path\":\"/obj/x\",\"value\":3},{\"op\":\"ensurePut\",\"path\":\"/arr/3\",\"value\":4}",
+                "{\"op\":\"move\",\"from\":\"/obj\",\"path\":\"\"},{\"op\":\"add\",\"path\":\"/z\",\"value\":1}",
+                "{\"op\":\"replace\",\"path\":\"\",\"value\":{\"fresh\":true}},{\"op\":\"add\",\"path\":\"/more\",\"value\":1}",
+                "{\"op\":\"test\",\"path\":\"/a\",\"value\":1},{\"op\":\"exist\",\"path\":\"/arr/2\"}"};
+        String[] failures = {
+                "{\"op\":\"test\",\"path\":\"/nope\",\"value\":1}",
+                "{\"op\":\"move\",\"from\":\"/nope\",\"path\":\"/x\"}",
+                "{\"op\":\"remove\",\"path\":\"/missing/key\"}"};
+
+        for (String prefix : prefixes) {
+            JsonPatch ok = patch("[" + prefix + "]");
+            JsonObject expected = JsonObject.fromJson(doc);
+            Object expectedResult = ok.apply(expected);
+            JsonObject atomicTarget = JsonObject.fromJson(doc);
+            assertEquals(expectedResult, ok.applyAtomic(atomicTarget), prefix);
+
+            for (String failure : failures) {
+                JsonObject target = JsonObject.fromJson(doc);
+                Object obj = target.getNode("obj");
+                Object arr = target.getNode("arr");
+                JsonPatch patch = patch("[" + prefix + "," + failure + "]");
+                assertThrows(JsonException.class, () -> patch.applyAtomic(target), prefix);
+                assertEquals(JsonObject.fromJson(doc), target, prefix + " then " + failure);
+                assertSame(obj, target.getNode("obj"), prefix);
+                assertSame(arr, target.getNode("arr"), prefix);
+            }
+        }
+    }
+
+    @Test
+    void testApplyAtomicRestoresCustomOperationPath() {
+        OperationRegistry.register("appendTwice", (target, operation) -> {
+            Object array = operation.getPath().getNode(target);
+            Nodes.addInArray(array, operation.getValue());
+            Nodes.addInArray(array, operation.getValue());
+        });
+        JsonObject target = JsonObject.fromJson("{\"arr\":[1],\"k\":0}");
+        JsonPatch patch = patch("[{\"op\":\"appendTwice\",\"path\":\"/arr\",\"value\":5}," +
+                "{\"op\":\"replace\",\"path\":\"/k\",\"value\":1},{\"op\":\"test\",\"path\":\"/k\",\"value\":2}]");
+
+        JsonException error = assertThrows(JsonException.class, () -> patch.applyAtomic(target));
+        assertTrue(error.getMessage().contains("'test'"), error.getMessage());
+        assertEquals(JsonObject.fromJson("{\"arr\":[1],\"k\":0}"), target);
+    }
+
+    @Test
+    void testApplyAtomicLeavesNonAtomicApplyUnchanged() {
+        JsonObject target = JsonObject.fromJson("{\"a\":1}");
+        JsonPatch patch = patch("[{\"op\":\"add\",\"path\":\"/b\",\"value\":2}," +
+                "{\"op\":\"test\",\"path\":\"/a\",\"value\":3}]");
+
+        assertThrows(JsonException.class, () -> patch.apply(target));
+        assertEquals(2, target.getInt("b"));
+        target.remove("b");
+        assertThrows(JsonException.class, () -> patch.applyAtomic(target));
+        assertFalse(target.containsKey("b"));
+    }
+
+    @Test
+    void testCompiledPatchMatchesApply() {
+        String doc = "{\"a\":1,\"obj\":{\"x\":1,\"y\":[1,{\"k\":2}],\"n\":null},\"arr\":[10,20,30],\"s\":\"v\"}";
+        String[] patches = {
+                "{\"op\":\"add\",\"path\":\"/obj/z\",\"value\":1},{\"op\":\"replace\",\"path\":\"/obj/x\",\"value\":2}," +
+                        "{\"op\":\"remove\",\"path\":\"/obj/n\"},{\"op\":\"test\",\"path\":\"/obj/z\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj/y/0\",\"value\":{\"k\":0}},{\"op\":\"replace\",\"path\":\"/obj/y/1/k\",\"value\":5}," +
+                        "{\"op\":\"add\",\"path\":\"/obj/y/2/j\",\"value\":3}",
+                "{\"op\":\"add\",\"path\":\"/obj/z\",\"value\":1},{\"op\":\"add\",\"path\":\"/arr/0\",\"value\":5}," +
+                        "{\"op\":\"replace\",\"path\":\"/obj/y/1/k\",\"value\":3},{\"op\":\"remove\",\"path\":\"/obj/x\"}",
+                "{\"op\":\"replace\",\"path\":\"/obj\",\"value\":{\"fresh\":{}}},{\"op\":\"add\",\"path\":\"/obj/fresh/a\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":50}," +
+                        "{\"op\":\"remove\",\"path\":\"/arr/0\"},{\"op\":\"test\",\"path\":\"/arr/3\",\"value\":50}",
+                "{\"op\":\"add\",\"path\":\"/b\",\"value\":1},{\"op\":\"replace\",\"path\":\"/b\",\"value\":2}," +
+                        "{\"op\":\"replace\",\"path\":\"/b\",\"value\":3}",
+                "{\"op\":\"add\",\"path\":\"/obj/x\",\"value\":7},{\"op\":\"remove\",\"path\":\"/obj/x\"}",
+                "{\"op\":\"add\",\"path\":\"/arr/1\",\"value\":7},{\"op\":\"remove\",\"path\":\"/arr/1\"}",
+                "{\"op\":\"replace\",\"path\":\"/arr/2\",\"value\":7},{\"op\":\"remove\",\"path\":\"/arr/2\"}",
+                "{\"op\":\"copy\",\"from\":\"/obj\",\"path\":\"/arr/0\"},{\"op\":\"replace\",\"path\":\"/arr/0/x\",\"value\":5}," +
+                        "{\"op\":\"move\",\"from\":\"/arr/0/y\",\"path\":\"/y\"},{\"op\":\"add\",\"path\":\"/y/-\",\"value\":3}",
+                "{\"op\":\"ensurePut\",\"path\":\"/p/q\",\"value\":1},{\"op\":\"add\",\"path\":\"/p/r\",\"value\":2}",
+                "{\"op\":\"replace\",\"path\":\"\",\"value\":{\"k\":[]}},{\"op\":\"add\",\"path\":\"/k/0\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj/~1a~0b\",\"value\":1},{\"op\":\"test\",\"path\":\"/obj/~1a~0b\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj/n/x\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/s/x\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/arr/9\",\"value\":1}",
+                "{\"op\":\"replace\",\"path\":\"/obj/missing\",\"value\":1}",
+                "{\"op\":\"replace\",\"path\":\"/obj/missing\",\"value\":1},{\"op\":\"remove\",\"path\":\"/obj/missing\"}",
+                "{\"op\":\"remove\",\"path\":\"/missing/key\"}",
+                "{\"op\":\"test\",\"path\":\"/obj/n\",\"value\":null},{\"op\":\"test\",\"path\":\"/obj/x\",\"value\":2}",
+                "{\"op\":\"test\",\"path\":\"/obj/none\",\"value\":null}"};
+
+        for (String ops : patches) {
+            JsonPatch patch = patch("[" + ops + "]");
+            CompiledPatch compiled = patch.compile();
+            for (int round = 0; round < 2; round++) {
+                JsonObject expected = JsonObject.fromJson(doc);
+                JsonObject actual = JsonObject.fromJson(doc);
+                Object expectedResult;
+                try {
+                    expectedResult = patch.apply(expected);
+                } catch (JsonException e) {
+                    JsonException thrown = assertThrows(JsonException.class, () -> compiled.apply(actual), ops);
+                    assertEquals(e.getMessage(), thrown.getMessage(), ops);
+                    assertEquals(String.valueOf(e.getCause()), String.valueOf(thrown.getCause()), ops);
+                    assertEquals(expected, actual, ops);
+                    continue;
+                }
+                assertEquals(expectedResult, compiled.apply(actual), ops);
+                assertEquals(expected, actual, ops);
+            }
+        }
+    }
+
+    @Test
+    void testCompiledPatchCoalescesAdjacentOperations() {
+        CompiledPatch compiled = patch("[{\"op\":\"add\",\"path\":\"/a/b\",\"value\":1}," +
+                "{\"op\":\"replace\",\"path\":\"/a/b\",\"value\":2}," +
+                "{\"op\":\"replace\",\"path\":\"/a/b\",\"value\":3}," +
+                "{\"op\":\"add\",\"path\":\"/a/c\",\"value\":1}," +
+                "{\"op\":\"remove\",\"path\":\"/a/c\"}," +
+                "{\"op\":\"add\",\"path\":\"/l/-\",\"value\":1}," +
+                "{\"op\":\"add\",\"path\":\"/l/-\",\"value\":2}]").compile();
+        assertEquals(7, compiled.operationCount());
+        assertEquals(4, compiled.stepCount());
+
+        JsonObject target = JsonObject.fromJson("{\"a\":{\"c\":0},\"l\":[]}");
+        compiled.apply(target);
+        assertEquals(JsonObject.fromJson("{\"a\":{\"b\":3},\"l\":[1,2]}"), target);
+    }
+
+    @Test
+    void testCompiledPatchKeepsHandlersResolvedAtCompileTime() {
+        JsonPatch patch = patch("[{\"op\":\"add\",\"path\":\"/a\",\"value\":1}]");
+        CompiledPatch compiled = patch.compile();
+        OperationRegistry.OperationHandler builtIn = OperationRegistry.get(PatchOperation.STD_ADD);
+        OperationRegistry.register(PatchOperation.STD_ADD, (target, operation) -> {
+            throw new JsonException("custom add");
+        });
+        try {
+            JsonObject target = new JsonObject();
+            compiled.apply(target);
+            assertEquals(1, target.getInt("a"));
+            assertThrows(JsonException.class, () -> patch.compile().apply(new JsonObject()));
+        } finally {
+            OperationRegistry.register(PatchOperation.STD_ADD, builtIn);
+        }
+    }
+
+    @Test
+    void testCompiledPatchFallbackUsesCompileTimeHandlers() {
+        // replacing a missing member fails on the fast path and reruns through the handler
+        CompiledPatch replace = patch("[{\"op\":\"replace\",\"path\":\"/missing/x\",\"value\":1}]").compile();
+        CompiledPatch unknown = patch("[{\"op\":\"lateOp\",\"path\":\"/a\",\"value\":1}]").compile();
+        OperationRegistry.OperationHandler builtIn = OperationRegistry.get(PatchOperation.STD_REPLACE);
+        OperationRegistry.register(PatchOperation.STD_REPLACE, (target, operation) -> {
+            throw new JsonException("custom replace");
+        });
+        OperationRegistry.register("lateOp", (target, operation) -> ((JsonObject) target).put("a", operation.getValue()));
+        try {
+            JsonException error = assertThrows(JsonException.class, () -> replace.apply(new JsonObject()));
+            assertFalse(String.valueOf(error.getCause()).contains("custom replace"), String.valueOf(error.getCause()));
+
+            error = assertThrows(JsonException.class, () -> unknown.apply(new JsonObject()));
+            assertTrue(error.getCause().getMessage().contains("no operation handler for 'lateOp'"), error.getCause().getMessage());
+            JsonObject target = new JsonObject();
+            patch("[{\"op\":\"lateOp\",\"path\":\"/a\",\"value\":1}]").compile().apply(target);
+            assertEquals(1, target.getInt("a"));
+        } finally {
+            OperationRegistry.register(PatchOperation.STD_REPLACE, builtIn);
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package org.sjf4j.patch;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.Sjf4j;
+import org.sjf4j.exception.JsonException;
+import org.sjf4j.facade.JsonFacade;
+import org.sjf4j.facade.simple.SimpleJsonFacade;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingPatchTest {
+
+    private static final Sjf4j SIMPLE = Sjf4j.builder().jsonFacadeProvider(SimpleJsonFacade.provider()).build();
+
+    private static final String DOC = "{\"a\":1,\"obj\":{\"x\":1,\"y\":[1,{\"k\":2}],\"n\":null,\"s\":\"v\"}," +
+            "\"arr\":[10,20,30],\"big\":12345678901234567890,\"f\":1.5,\"t\":true}";
+
+    private static String mergePatch(String doc, Object patch) throws IOException {
+        JsonFacade<?, ?> facade = SIMPLE.jsonFacade();
+        StringWriter output = new StringWriter();
+        StreamingPatch.mergePatch(facade.createReader(new StringReader(doc)), facade.createWriter(output), patch);
+        return output.toString();
+    }
+
+    private static String apply(String doc, JsonPatch patch) throws IOException {
+        JsonFacade<?, ?> facade = SIMPLE.jsonFacade();
+        StringWriter output = new StringWriter();
+        StreamingPatch.apply(facade.createReader(new StringReader(doc)), facade.createWriter(output), patch);
+        return output.toString();
+    }
+
+    private static JsonPatch patch(String json) {
+        return SIMPLE.fromJson(json, JsonPatch.class);
+    }
+
+    @Test
+    void testMergePatchMatchesInMemory() throws IOException {
+        String[] patches = {
+                "{}",
+                "{\"a\":2,\"new\":{\"p\":null,\"q\":[1]},\"obj\":{\"x\":null,\"y\":{\"z\":1},\"m\":1}}",
+                "{\"arr\":null,\"obj\":{\"n\":{\"deep\":{\"drop\":null,\"keep\":1}}}}",
+                "{\"a\":{\"b\":1},\"missing\":null,\"t\":[true]}",
+                "{\"obj\":\"flat\",\"f\":{\"g\":2}}",
+                "[1,2]",
+                "7"};
+        for (String patch : patches) {
+            Object expected = Patches.mergePatch(SIMPLE.fromJson(DOC), SIMPLE.fromJson(patch));
+            assertEquals(SIMPLE.toJsonString(expected), mergePatch(DOC, SIMPLE.fromJson(patch)), patch);
+        }
+        assertEquals("{\"b\":2}", mergePatch("[1,2]", SIMPLE.fromJson("{\"a\":null,\"b\":2}")));
+    }
+
+    @Test
+    void testApplyMatchesInMemory() throws IOException {
+        String[] patches = {
+                "{\"op\":\"add\",\"path\":\"/obj/z\",\"value\":{\"w\":1}},{\"op\":\"replace\",\"path\":\"/a\",\"value\":2}," +
+                        "{\"op\":\"remove\",\"path\":\"/obj/n\"},{\"op\":\"test\",\"path\":\"/obj/y/1\",\"value\":{\"k\":2}}",
+                "{\"op\":\"add\",\"path\":\"/obj/x\",\"value\":5},{\"op\":\"add\",\"path\":\"/new\",\"value\":[1]}," +
+                        "{\"op\":\"add\",\"path\":\"/new2\",\"value\":null}",
+                "{\"op\":\"remove\",\"path\":\"/arr/2\"},{\"op\":\"add\",\"path\":\"/arr/1\",\"value\":15}," +
+                        "{\"op\":\"replace\",\"path\":\"/arr/0\",\"value\":5}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"add\",\"path\":\"/arr/3\",\"value\":35}," +
+                        "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":50}",
+                "{\"op\":\"replace\",\"path\":\"/obj/y/1/k\",\"value\":3},{\"op\":\"add\",\"path\":\"/obj/y/0\",\"value\":0}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"replace\",\"path\":\"/arr/0\",\"value\":5}," +
+                        "{\"op\":\"remove\",\"path\":\"/arr/1\"}",
+                "{\"op\":\"exist\",\"path\":\"/big\"},{\"op\":\"test\",\"path\":\"/f\",\"value\":1.5}," +
+                        "{\"op\":\"test\",\"path\":\"/obj/n\",\"value\":null}",
+                "{\"op\":\"add\",\"path\":\"/obj/~1a~0b\",\"value\":1},{\"op\":\"remove\",\"path\":\"/t\"}"};
+        for (String ops : patches) {
+            JsonPatch patch = patch("[" + ops + "]");
+            Object expected = patch.apply(SIMPLE.fromJson(DOC));
+            assertEquals(SIMPLE.toJsonString(expected), apply(DOC, patch), ops);
+        }
+    }
+
+    @Test
+    void testApplyReportsFailedOperations() {
+        String[] patches = {
+                "{\"op\":\"remove\",\"path\":\"/obj/none\"}",
+                "{\"op\":\"replace\",\"path\":\"/arr/3\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/arr/4\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/none/x\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/a/x\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj/-\",\"value\":1}",
+                "{\"op\":\"test\",\"path\":\"/obj/s\",\"value\":\"w\"}",
+                "{\"op\":\"test\",\"path\":\"/obj/none\",\"value\":null}"};
+        for (String ops : patches) {
+            JsonPatch patch = patch("[" + ops + "]");
+            assertThrows(JsonException.class, () -> patch.apply(SIMPLE.fromJson(DOC)), ops);
+            assertThrows(JsonException.class, () -> apply(DOC, patch), ops);
+        }
+    }
+
+    @Test
+    void testApplyRejectsPatchesThatNeedMoreThanOnePass() {
+        String[] patches = {
+                "{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/b\"}",
+                "{\"op\":\"copy\",\"from\":\"/a\",\"path\":\"/b\"}",
+                "{\"op\":\"replace\",\"path\":\"\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj\",\"value\":{}},{\"op\":\"add\",\"path\":\"/obj/x\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj/x\",\"value\":2},{\"op\":\"remove\",\"path\":\"/obj\"}",
+                "{\"op\":\"replace\",\"path\":\"/a\",\"value\":2},{\"op\":\"replace\",\"path\":\"/a\",\"value\":3}",
+                "{\"op\":\"remove\",\"path\":\"/arr/0\"},{\"op\":\"replace\",\"path\":\"/arr/1\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/obj/y/0\",\"value\":0},{\"op\":\"replace\",\"path\":\"/obj/y/1/k\",\"value\":3}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"replace\",\"path\":\"/arr/3\",\"value\":1}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"remove\",\"path\":\"/arr/3\"}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"test\",\"path\":\"/arr/3\",\"value\":40}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"exist\",\"path\":\"/arr/3\"}",
+                "{\"op\":\"add\",\"path\":\"/arr/-\",\"value\":40},{\"op\":\"add\",\"path\":\"/arr/4\",\"value\":45}"};
+        for (String ops : patches) {
+            JsonPatch patch = patch("[" + ops + "]");
+            JsonException e = assertThrows(JsonException.class, () -> apply(DOC, patch), ops);
+            assertTrue(e.getMessage().startsWith("streaming patch does not support"), e.getMessage());
+        }
+    }
+
+}
@@ -5,6 +5,8 @@ import org.sjf4j.JsonArray;
 import org.sjf4j.JsonObject;
 import org.sjf4j.exception.JsonException;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -182,4 +184,95 @@ class FilterExprTest {
         assertFalse(PathSyntax.parseFilter("false && explodeFilterExpr()").evalTruth(null, null));
         assertTrue(PathSyntax.parseFilter("true || explodeFilterExpr()").evalTruth(null, null));
     }
+
+    @Test
+    void testCompiledPredicatesMatchEvalTruth() {
+        JsonObject root = JsonObject.fromJson("{\"limit\":3,\"skus\":[\"a\",\"c\"]}");
+        List<Object> nodes = Arrays.asList(
+                JsonObject.fromJson("{\"sku\":\"a\",\"price\":1,\"tags\":[\"x\",\"yz\"],\"n\":null}"),
+                JsonObject.fromJson("{\"sku\":\"b\",\"price\":2.5,\"tags\":[]}"),
+                JsonObject.fromJson("{\"sku\":\"c\",\"price\":3,\"flag\":true}"),
+                JsonObject.fromJson("{\"price\":\"3\",\"flag\":false}"),
+                JsonObject.of("sku", "a", "price", new BigDecimal("1.00")),
+                JsonObject.of("sku", "d", "price", BigInteger.valueOf(4)),
+                JsonObject.of("sku", "e", "price", 9007199254740993L),
+                7, "a", null, JsonArray.of(1, 2));
+        List<String> filters = Arrays.asList(
+                "@.sku == 'a'", "'a' == @.sku", "@.sku != 'a'", "@.price == 1", "@.price != 1",
+                "@.price > 2", "@.price >= 2.5", "@.price < 3", "@.price <= 3", "@.price > 9007199254740992",
+                "@.sku > 'b'", "@.sku <= 'b'", "@.price == $.limit", "@.price < $.limit", "@.missing == null",
+                "@.n == null", "@.sku in ['a', 'c', 1]", "@.sku nin ['a', 'c']", "@.price in [1, 3.0]",
+                "@.price nin [1, 3.0]", "@.sku in $.skus", "@ in [7, 'a', null]", "@.price in [@.price]",
+                "@.flag", "!@.flag", "@.tags", "!@.sku", "@.sku =~ /^[ab]$/", "@.tags =~ /z/",
+                "length(@.tags) > 1", "length(@.sku) == 1", "count(@.tags[*]) == 0", "match(@.sku, 'a|b')",
+                "search(@.sku, 'c')", "value(@.price) == 3", "@.price > 2 && @.sku != 'c'",
+                "@.price < 2 || @.flag == true", "1 == 1 && @.sku == 'a'", "1 == 2 || @.price == 3",
+                "!(1 == 2) && !(@.price >= 3)", "@.sku == 'a' && 2 > 1", "@.sku == 'a' || 'x' == 'y'",
+                "(@.price > 1) == true", "@.tags[*].length() == 2", "[1, 2] == [1, 2]", "@ == [1, 2]");
+        for (String filter : filters) {
+            FilterExpr expr = PathSyntax.parseFilter(filter);
+            FilterPredicate predicate = expr.compile();
+            for (Object node : nodes) {
+                assertEquals(outcome(() -> expr.evalTruth(root, node)),
+                        outcome(() -> predicate.test(root, node)), filter + " on " + node);
+            }
+        }
+    }
+
+    private static Object outcome(java.util.function.BooleanSupplier test) {
+        try {
+            return test.getAsBoolean();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    @Test
+    void testCompiledInListUsesFilterEquality() {
+        FilterPredicate in = PathSyntax.parseFilter("@ in [1, 2.5, 'a', true, null, [1]]").compile();
+        assertTrue(in.test(null, 1.0));
+        assertTrue(in.test(null, 1L));
+        assertTrue(in.test(null, new BigDecimal("1.00")));
+        assertTrue(in.test(null, BigInteger.ONE));
+        assertTrue(in.test(null, 2.5f));
+        assertTrue(in.test(null, new BigDecimal("2.50")));
+        assertTrue(in.test(null, 'a'));
+        assertTrue(in.test(null, true));
+        assertTrue(in.test(null, null));
+        assertTrue(in.test(null, JsonArray.of(1.0)));
+        assertFalse(in.test(null, 2));
+        assertFalse(in.test(null, "1"));
+        assertFalse(in.test(null, false));
+        assertFalse(in.test(null, JsonArray.of(1, 2)));
+        assertFalse(PathSyntax.parseFilter("@.x nin [1]").compile().test(null, JsonObject.of()));
+    }
+
+    @Test
+    void testCompiledFunctionsRebindOnRegister() {
+        FunctionRegistry.register(new FunctionRegistry.FunctionDescriptor("compiledScale",
+                (target, args) -> ((Number) target).intValue() * 2));
+        FilterPredicate predicate = PathSyntax.parseFilter("compiledScale(@.v) == 4").compile();
+        JsonObject node = JsonObject.of("v", 2);
+        assertTrue(predicate.test(null, node));
+
+        FunctionRegistry.register(new FunctionRegistry.FunctionDescriptor("compiledScale",
+                (target, args) -> ((Number) target).intValue() * 3));
+        assertFalse(predicate.test(null, node));
+
+        FilterPredicate late = PathSyntax.parseFilter("compiledLate(@.v, 1) == 3").compile();
+        JsonException missing = assertThrows(JsonException.class, () -> late.test(null, node));
+        assertTrue(missing.getMessage().contains("'compiledLate' does not exist"));
+        FunctionRegistry.register(new FunctionRegistry.FunctionDescriptor("compiledLate",
+                (target, args) -> ((Number) target).intValue() + ((Number) args[0]).intValue()));
+        assertTrue(late.test(null, node));
+
+        FunctionRegistry.register(new FunctionRegistry.FunctionDescriptor("compiledBoom", (target, args) -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertFalse(PathSyntax.parseFilter("false && compiledBoom(@)").compile().test(null, node));
+        assertTrue(PathSyntax.parseFilter("true || compiledBoom(@)").compile().test(null, node));
+        JsonException failed = assertThrows(JsonException.class,
+                () -> PathSyntax.parseFilter("compiledBoom(@) == 1").compile().test(null, node));
+        assertTrue(failed.getMessage().contains("'compiledBoom' invocation failed"));
+    }
 }
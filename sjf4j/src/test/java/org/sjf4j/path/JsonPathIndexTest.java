@@ -0,0 +1,153 @@
+package org.sjf4j.path;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonArray;
+import org.sjf4j.JsonObject;
+import org.sjf4j.exception.JsonException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonPathIndexTest {
+
+    private static final String JSON = "{\"wanted\":\"b\",\"products\":[" +
+            "{\"sku\":\"a\",\"price\":1,\"meta\":{\"id\":10}}," +
+            "{\"sku\":\"b\",\"price\":2.0,\"meta\":{\"id\":11}}," +
+            "{\"sku\":\"c\",\"price\":3,\"meta\":{\"id\":12}}," +
+            "{\"sku\":\"b\",\"price\":4,\"meta\":{\"id\":13}}," +
+            "{\"sku\":null,\"price\":5}," +
+            "{\"price\":6}," +
+            "7]}";
+
+    private static final List<String> FILTERS = Arrays.asList(
+            "$.products[?@.sku == 'b']",
+            "$.products[?'b' == @.sku]",
+            "$.products[?@.sku == $.wanted]",
+            "$.products[?@.sku == $.missing]",
+            "$.products[?@.sku == null]",
+            "$.products[?@.sku in ['c', 'a', 'c']]",
+            "$.products[?@.sku == 'b' && @.price > 2]",
+            "$.products[?@.price > 2 && @.sku == 'b']",
+            "$.products[?@.sku == 'a' || @.sku == 'c']",
+            "$.products[?@.sku == 'a' || @.price > 4]",
+            "$.products[?@.sku != 'b']",
+            "$.products[?@.price == 2]",
+            "$.products[?@.meta.id == 12].sku",
+            "$..[?@.sku == 'b'].price");
+
+    @Test
+    public void testIndexedFiltersMatchScans() {
+        JsonObject root = JsonObject.fromJson(JSON);
+        JsonObject plain = JsonObject.fromJson(JSON);
+        List<Object> products = root.getList("products");
+        JsonPathIndex.create(products, "@.sku");
+        JsonPathIndex.create(products, "@.meta.id");
+        JsonPathIndex.create(products, "@.price");
+        assertEquals(3, JsonPathIndex.of(products).size());
+
+        for (String filter : FILTERS) {
+            JsonPath path = JsonPath.parse(filter);
+            assertEquals(path.find(plain), path.find(root), filter);
+        }
+        assertArrayEquals(new int[]{1, 3}, JsonPathIndex.of(products).get(0).lookup("b"));
+        assertArrayEquals(new int[]{1}, JsonPathIndex.of(products).get(2).lookup(2));
+        assertArrayEquals(new int[0], JsonPathIndex.of(products).get(0).lookup("z"));
+    }
+
+    enum Status { ACTIVE, IDLE }
+
+    @Test
+    public void testKeysFollowFilterEquality() {
+        List<Object> plain = Arrays.asList(
+                JsonObject.of("v", Status.ACTIVE), JsonObject.of("v", 'x'),
+                JsonObject.of("v", new BigDecimal("2.50")), JsonObject.of("v", Status.IDLE),
+                JsonObject.of("v", 3L));
+        List<Object> indexed = new ArrayList<>(plain);
+        JsonPathIndex index = JsonPathIndex.create(indexed, "@.v");
+
+        for (String filter : Arrays.asList("$[?@.v == 'ACTIVE']", "$[?@.v == 'x']", "$[?@.v == 2.5]",
+                "$[?@.v == 3.0]", "$[?@.v in ['IDLE', 3]]")) {
+            JsonPath path = JsonPath.parse(filter);
+            List<Object> expected = path.find(plain);
+            assertFalse(expected.isEmpty(), filter);
+            assertEquals(expected, path.find(indexed), filter);
+        }
+        assertArrayEquals(new int[]{0}, index.lookup("ACTIVE"));
+        assertArrayEquals(new int[]{1}, index.lookup("x"));
+        assertArrayEquals(new int[]{2}, index.lookup(2.5));
+        assertArrayEquals(new int[]{4}, index.lookup(new BigDecimal("3.0")));
+    }
+
+    @Test
+    public void testArrayMutationsInvalidate() {
+        JsonObject root = JsonObject.fromJson(JSON);
+        JsonArray products = JsonArray.of(root.getList("products").toArray());
+        root.put("products", products);
+        JsonPathIndex index = JsonPathIndex.create(products, "@.sku");
+        JsonPath path = JsonPath.parse("$.products[?@.sku == 'b'].price");
+        assertFalse(index.isStale());
+
+        products.add(JsonObject.of("sku", "b", "price", 8));
+        assertTrue(index.isStale());
+        assertEquals(Arrays.asList(2.0, 4, 8), path.find(root));
+        assertFalse(index.isStale());
+
+        products.remove(1);
+        products.set(0, JsonObject.of("sku", "b", "price", 9));
+        assertEquals(Arrays.asList(9, 4, 8), path.find(root));
+
+        // element changes are not tracked: stale hits are re-checked, new ones need a rebuild
+        root.putByPath("$.products[2].sku", "x");
+        root.putByPath("$.products[1].sku", "b");
+        assertEquals(Arrays.asList(9, 8), path.find(root));
+        index.rebuild();
+        assertEquals(Arrays.asList(9, 3, 8), path.find(root));
+
+        products.clear();
+        assertEquals(Collections.emptyList(), path.find(root));
+        index.drop();
+        assertTrue(JsonPathIndex.of(products).isEmpty());
+    }
+
+    @Test
+    public void testListIndexSeesJsonArrayWrapperMutations() {
+        JsonObject root = JsonObject.fromJson(JSON);
+        List<Object> products = root.getList("products");
+        JsonPathIndex index = JsonPathIndex.create(products, "@.sku");
+        JsonPath path = JsonPath.parse("$.products[?@.sku == 'c'].price");
+        assertEquals(Collections.singletonList(3), path.find(root));
+
+        new JsonArray(products).set(0, JsonObject.of("sku", "c", "price", 0));
+        assertTrue(index.isStale());
+        assertEquals(Arrays.asList(0, 3), path.find(root));
+
+        products.add(JsonObject.of("sku", "c", "price", 9));
+        assertTrue(index.isStale());
+        assertEquals(Arrays.asList(0, 3, 9), path.find(root));
+
+        products.set(0, JsonObject.of("sku", "a", "price", 0));
+        assertFalse(index.isStale());
+        JsonPathIndex.invalidateAll(products);
+        assertTrue(index.isStale());
+        assertEquals(Arrays.asList(3, 9), path.find(root));
+    }
+
+    @Test
+    public void testRejectsNonMemberPaths() {
+        JsonArray array = new JsonArray();
+        assertThrows(JsonException.class, () -> JsonPathIndex.create(array, "$.sku"));
+        assertThrows(JsonException.class, () -> JsonPathIndex.create(array, "@[*].sku"));
+        assertThrows(JsonException.class, () -> JsonPathIndex.create(array, "@"));
+        assertThrows(JsonException.class, () -> JsonPathIndex.create("abc", "@.sku"));
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.sjf4j.path;
+
+import org.junit.jupiter.api.Test;
+import org.sjf4j.JsonObject;
+import org.sjf4j.exception.JsonException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonPathStreamingTest {
+
+    private static final String JSON = "{" +
+            "\"hosts\":[" +
+            "{\"name\":\"a\",\"metrics\":[{\"value\":1.5},{\"value\":2}]}," +
+            "{\"name\":\"b\",\"metrics\":[{\"value\":4},{\"other\":1}]}," +
+            "{\"name\":\"c\",\"metrics\":[]}" +
+            "]," +
+            "\"tags\":{\"env\":\"prod\",\"team\":null}," +
+            "\"single\":[{\"value\":7}]" +
+            "}";
+
+    @Test
+    public void testForEachAndCountMatchFind() {
+        JsonObject root = JsonObject.fromJson(JSON);
+        for (String expr : Arrays.asList("$.hosts[*].name", "$..value", "$.hosts[?@.name > 'a'].metrics[0].value",
+                "$.hosts[1:].name", "$.hosts[0,2].name", "$.tags.*", "$.tags.team", "$.missing", "$..metrics[*]")) {
+            JsonPath path = JsonPath.parse(expr);
+            List<Object> seen = new ArrayList<>();
+            path.forEach(root, seen::add);
+            assertEquals(path.find(root), seen, expr);
+            assertEquals(path.find(root).size(), path.count(root), expr);
+        }
+
+        List<String> names = new ArrayList<>();
+        JsonPath.parse("$.hosts[*].name").forEach(root, String.class, names::add);
+        assertEquals(Arrays.asList("a", "b", "c"), names);
+    }
+
+    @Test
+    public void testAnyMatchStopsAtFirstMatch() {
+        JsonObject root = JsonObject.fromJson(JSON);
+        int[] tested = new int[1];
+        boolean found = JsonPath.parse("$..value").anyMatch(root, (v) -> {
+            tested[0]++;
+            return v instanceof Number && ((Number) v).doubleValue() > 1;
+        });
+        assertTrue(found);
+        assertEquals(1, tested[0]);
+
+        assertFalse(JsonPath.parse("$.hosts[*].name").anyMatch(root, "z"::equals));
+        assertTrue(JsonPath.parse("$.tags.team").anyMatch(root, (v) -> v == null));
+        assertFalse(JsonPath.parse("$.tags.nope").anyMatch(root, (v) -> true));
+    }
+
+    @Test
+    public void testStreamingAggregatesMatchListEvaluation() {
+        JsonObject root = JsonObject.fromJson(JSON);
+        for (String fn : Arrays.asList("sum", "min", "max", "avg", "length", "count", "first", "last")) {
+            for (String target : Arrays.asList("$..metrics[*].value", "$.hosts[0].metrics[*].value",
+                    "$.single[*].value", "$.hosts[2].metrics[*].value")) {
+                List<Object> matches = JsonPath.parse(target).find(root);
+                Object expected = matches.isEmpty() ? null
+                        : FunctionRegistry.invoke(fn, matches.size() == 1 ? matches.get(0) : matches, new Object[0]);
+                assertEquals(expected, JsonPath.parse(target + "." + fn + "()").eval(root), target + "." + fn + "()");
+            }
+        }
+        assertEquals(7.5, JsonPath.parse("$..metrics[*].value.sum()").eval(root, Double.class), 1e-9);
+        assertThrows(JsonException.class, () -> JsonPath.parse("$..metrics[*].value.sum(1)").eval(root));
+    }
+
+    @Test
+    public void testCustomAggregateFoldsWithoutList() {
+        FunctionRegistry.register(new FunctionRegistry.FunctionDescriptor("streamProduct", (target, args) -> {
+            if (target instanceof List) throw new IllegalStateException("list target");
+            return target;
+        }, (args) -> new FunctionRegistry.PathAggregate() {
+            private double product = 1;
+
+            @Override
+            public void accept(Object value) {
+                product *= ((Number) value).doubleValue();
+            }
+
+            @Override
+            public Object result() {
+                return product;
+            }
+        }));
+        JsonObject root = JsonObject.fromJson("{\"a\":[2,3,4],\"b\":[5],\"c\":[]}");
+        assertEquals(24.0, JsonPath.parse("$.a[*].streamProduct()").eval(root));
+        assertEquals(5, JsonPath.parse("$.b[*].streamProduct()").eval(root, Integer.class).intValue());
+        assertNull(JsonPath.parse("$.c[*].streamProduct()").eval(root));
+        assertTrue(FunctionRegistry.get("streamProduct").hasAggregate());
+    }
+
+}